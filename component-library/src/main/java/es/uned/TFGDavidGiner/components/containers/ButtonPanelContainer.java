@@ -166,6 +166,10 @@ public class ButtonPanelContainer extends BaseContainer implements ActionListene
      * Se aprovecha este método del ciclo de vida de Swing para marcar el fin
      * de la inicialización, usando {@code SwingUtilities.invokeLater} para asegurar
      * que se ejecute después de que todos los eventos de AWT hayan sido procesados.
+     * <p>
+     * Una vez completado, {@link BaseContainer#addNotify()} notifica
+     * {@link es.uned.TFGDavidGiner.core.BaseComponent#onShow()} a los componentes
+     * que quedan a la vista.
      */
     @Override
     public void addNotify() {
@@ -11,6 +11,7 @@ import es.uned.TFGDavidGiner.core.BaseComponent;
  */
 public class ButtonPanelContainerBuilder {
     private BaseComponent content;
+    private String bindingScope;
 
     /**
      * Constructor por defecto.
@@ -30,6 +31,18 @@ public class ButtonPanelContainerBuilder {
         return this;
     }
 
+    /**
+     * Une el contenedor a un ámbito de enlace global, para que sus componentes se
+     * sincronicen con los de otras ventanas unidas al mismo ámbito.
+     * @param bindingScope El nombre del ámbito.
+     * @return La instancia del builder para encadenar llamadas.
+     * @see es.uned.TFGDavidGiner.core.BaseContainer#setBindingScope(String)
+     */
+    public ButtonPanelContainerBuilder withBindingScope(String bindingScope) {
+        this.bindingScope = bindingScope;
+        return this;
+    }
+
     /**
      * Construye y devuelve el ButtonPanelContainer final.
      * @return Una instancia de ButtonPanelContainer configurada.
@@ -45,6 +58,7 @@ public class ButtonPanelContainerBuilder {
         
         // Se añade el contenido principal.
         container.getContentPane().add(content); 
+        container.setBindingScope(bindingScope);
         
         return container;
     }
@@ -86,6 +86,10 @@ public class SimpleContainer extends BaseContainer {
     /**
      * Se aprovecha este método del ciclo de vida de Swing para marcar el fin
      * de la inicialización, permitiendo que la lógica de actualización se ejecute.
+     * <p>
+     * Una vez completado, {@link BaseContainer#addNotify()} notifica
+     * {@link es.uned.TFGDavidGiner.core.BaseComponent#onShow()} a los componentes
+     * que quedan a la vista.
      */
     @Override
     public void addNotify() {
@@ -19,6 +19,9 @@ import java.util.List;
  * Una característica clave es la propiedad {@code tabTitles}, que permite configurar
  * los títulos de todas las pestañas desde el inspector de propiedades del IDE mediante
  * una simple cadena de texto separada por comas.
+ * <p>
+ * Al cambiar de pestaña, los componentes de la pestaña que se oculta reciben
+ * {@link BaseComponent#onHide()} y los de la que se muestra, {@link BaseComponent#onShow()}.
  *
  * @author David Giner
  * @version 1.0
@@ -59,6 +62,8 @@ public class TabContainer extends BaseContainer {
             setBorder(BorderFactory.createEtchedBorder());
             setPreferredSize(new Dimension(200, 150));
             contentPane = new CustomTab();
+            // Al cambiar de pestaña se avisa a los componentes que se ocultan y al que se muestra.
+            contentPane.addChangeListener(e -> updateLifecycle());
             add(contentPane, BorderLayout.CENTER);
 
             isDuringInitializationOrLoading = true;
@@ -430,6 +430,9 @@ public class TreeContainer extends BaseContainer {
    /**
     * Actualiza qué componente es visible en el JLayeredPane basándose
     * en el nodo actualmente seleccionado en el JTree.
+    * <p>
+    * Los componentes que dejan de verse reciben {@link BaseComponent#onHide()} y el
+    * que pasa a verse, {@link BaseComponent#onShow()}.
     */
     private void updateVisibleComponent() {
        Object lastNode = jTree1.getLastSelectedPathComponent();
@@ -438,6 +441,7 @@ public class TreeContainer extends BaseContainer {
            for (Component scrollPane : jLayeredPane1.getComponents()) {
                scrollPane.setVisible(false);
            }
+           updateLifecycle();
            return;
        }
 
@@ -451,6 +455,7 @@ public class TreeContainer extends BaseContainer {
        }
        jLayeredPane1.revalidate();
        jLayeredPane1.repaint();
+       updateLifecycle();
     }
 
     /**
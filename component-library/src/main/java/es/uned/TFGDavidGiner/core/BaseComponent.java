@@ -5,6 +5,8 @@
 package es.uned.TFGDavidGiner.core;
 
 import java.awt.LayoutManager;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import es.uned.TFGDavidGiner.core.interfaces.IValidation;
 
 /**
@@ -14,6 +16,12 @@ import es.uned.TFGDavidGiner.core.interfaces.IValidation;
  * Esta clase está diseñada para ser el fundamento de otros componentes Swing
  * personalizados que requieran una lógica de validación. Al ser abstracta, no
  * puede ser instanciada directamente, sino que debe ser extendida por otras clases.
+ * <p>
+ * Los contenedores notifican a sus componentes cuándo pasan a estar a la vista y
+ * cuándo dejan de estarlo ({@link #onShow()}, {@link #onHide()}), por ejemplo al
+ * cambiar de pestaña o de nodo del árbol, y cuándo se retiran de la jerarquía
+ * ({@link #onDispose()}). Un componente costoso puede aprovecharlo para detener
+ * temporizadores, liberar cachés o dejar de pintar mientras no se ve.
  *
  * @author david
  * @version 1.0
@@ -100,6 +108,91 @@ public abstract class BaseComponent extends javax.swing.JPanel implements IValid
     // Variables declaration - do not modify//GEN-BEGIN:variables
     // End of variables declaration//GEN-END:variables
 
+    /**
+     * Indica si el componente está a la vista según el último aviso de su contenedor.
+     */
+    private boolean inView;
+
+    /**
+     * Indica si el componente está a la vista: se ha notificado {@link #onShow()} y
+     * aún no se ha notificado {@link #onHide()}.
+     *
+     * @return {@code true} si el componente está a la vista.
+     */
+    public boolean isInView() {
+        return inView;
+    }
+
+    /**
+     * Se invoca cuando el componente pasa a estar a la vista: está en una jerarquía
+     * visualizable y ni él ni ninguno de sus contenedores está oculto.
+     * <p>
+     * La implementación por defecto no hace nada.
+     */
+    protected void onShow() {
+    }
+
+    /**
+     * Se invoca cuando el componente deja de estar a la vista, por ejemplo porque se
+     * ha seleccionado otra pestaña u otro nodo del árbol.
+     * <p>
+     * La implementación por defecto no hace nada.
+     */
+    protected void onHide() {
+    }
+
+    /**
+     * Se invoca cuando el componente se retira de una jerarquía visualizable (al
+     * quitarlo de su contenedor o al cerrar la ventana), después de {@link #onHide()}
+     * si estaba a la vista. Si el componente se vuelve a añadir, se notificará de
+     * nuevo {@link #onShow()}.
+     * <p>
+     * La implementación por defecto no hace nada.
+     */
+    protected void onDispose() {
+    }
+
+    /**
+     * Actualiza el estado de visibilidad del componente y, si cambia, invoca
+     * {@link #onShow()} u {@link #onHide()}. Lo usan los contenedores.
+     *
+     * @param shown {@code true} si el componente está a la vista.
+     */
+    final void setInView(boolean shown) {
+        if (shown == inView) {
+            return;
+        }
+        inView = shown;
+        try {
+            if (shown) {
+                onShow();
+            } else {
+                onHide();
+            }
+        } catch (RuntimeException e) {
+            Logger.getLogger(BaseComponent.class.getName()).log(Level.SEVERE,
+                    "Error al notificar la visibilidad de " + getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Se invoca cuando el componente se retira de una jerarquía visualizable.
+     * <p>
+     * Una vez retirados los componentes hijos, notifica {@link #onHide()} si el
+     * componente estaba a la vista y después {@link #onDispose()}.
+     */
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        setInView(false);
+        try {
+            onDispose();
+        } catch (RuntimeException e) {
+            Logger.getLogger(BaseComponent.class.getName()).log(Level.SEVERE,
+                    "Error al liberar " + getClass().getName(), e);
+        }
+    }
+
     /**
      * Determina si este componente es una "hoja" (un componente final) o un
      * contenedor que puede tener hijos.
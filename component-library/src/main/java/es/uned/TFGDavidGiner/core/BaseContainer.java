@@ -8,17 +8,26 @@ import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.LayoutManager;
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.awt.Window;
+import java.awt.event.ContainerEvent;
+import java.awt.event.ContainerListener;
+import es.uned.TFGDavidGiner.core.binding.BindingHub;
+import es.uned.TFGDavidGiner.core.binding.BindingScopeRegistry;
+import es.uned.TFGDavidGiner.core.binding.DerivedProperty;
+import es.uned.TFGDavidGiner.core.binding.PropagationPolicy;
+import es.uned.TFGDavidGiner.core.binding.PropertyKey;
+import es.uned.TFGDavidGiner.core.binding.PropertyPublisher;
+import es.uned.TFGDavidGiner.core.binding.UpdateScheduler;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 import javax.swing.SwingUtilities;
 import es.uned.TFGDavidGiner.core.interfaces.IValidation;
 
@@ -35,6 +44,66 @@ import es.uned.TFGDavidGiner.core.interfaces.IValidation;
  */
 public abstract class BaseContainer extends BaseComponent {
 
+    /**
+     * Hub que sincroniza las propiedades compartidas de los componentes hoja
+     * descendientes. Solo lo tiene el contenedor raíz de cada ámbito de enlace
+     * ({@link #getBindingRoot()}); los contenedores anidados registran sus hojas
+     * en el hub de su raíz.
+     */
+    private BindingHub bindingHub;
+
+    /**
+     * Indica si la propagación de propiedades compartidas se agrupa por ciclo del
+     * Event Dispatch Thread. Solo tiene efecto en el contenedor raíz del ámbito.
+     */
+    private boolean coalescePropagation = false;
+
+    /**
+     * Indica si se aplaza la actualización de los componentes hoja ocultos. Solo
+     * tiene efecto en el contenedor raíz del ámbito.
+     */
+    private boolean deferHiddenPropagation = true;
+
+    /**
+     * Planificador de actualizaciones del ámbito, o {@code null}. Solo tiene efecto
+     * en el contenedor raíz del ámbito.
+     */
+    private UpdateScheduler updateScheduler;
+
+    /**
+     * Políticas de propagación que sustituyen a las declaradas por los componentes
+     * hoja, por nombre de propiedad. Solo tienen efecto en el contenedor raíz del ámbito.
+     */
+    private final Map<String, PropagationPolicy> propagationPolicies = new LinkedHashMap<>();
+
+    /**
+     * Indica si el contenedor define su propio ámbito de enlace, aislado del resto
+     * de la jerarquía.
+     */
+    private boolean isolated = false;
+
+    /**
+     * Nombre del ámbito global al que se une el contenedor, o {@code null}.
+     */
+    private String bindingScope;
+
+    /**
+     * Propiedades derivadas declaradas en este contenedor.
+     */
+    private final List<DerivedProperty<?>> derivedProperties = new ArrayList<>();
+
+    /**
+     * Listener que mantiene los enlaces al día cuando se añaden o retiran componentes
+     * de este contenedor (o de sus contenedores Swing intermedios) mientras está
+     * enlazado.
+     */
+    private final ContainerListener scopeListener = new ScopeListener();
+
+    /**
+     * Registro de los componentes hoja descendientes, creado la primera vez que se pide.
+     */
+    private LeafRegistry leafRegistry;
+
     /**
      * Constructor por defecto. Inicializa el contenedor y sus componentes.
      */
@@ -74,77 +143,22 @@ public abstract class BaseContainer extends BaseComponent {
         );
     }// </editor-fold>//GEN-END:initComponents
 
-    /**
-     * Método de ayuda interno que crea y registra un {@link PropertyChangeListener}
-     * para sincronizar una propiedad compartida entre dos componentes.
-     * <p>
-     * El listener creado se añade al componente de origen y, al activarse,
-     * propaga el nuevo valor de la propiedad al componente de destino mediante
-     * reflexión.
-     *
-     * @param originComp El componente de origen que emite el evento.
-     * @param destinyComp El componente de destino que recibirá la actualización.
-     */
-    private void AddListener(Component originComp, Component destinyComp) {
-        IShareableProperties origin = (IShareableProperties) originComp;
-        IShareableProperties destiny = (IShareableProperties) destinyComp;
-        System.out.println("origin: " + originComp.getClass().getName() + origin.getSharedProperies());
-        System.out.println("destiny: " + destinyComp.getClass().getName() + destiny.getSharedProperies());
-        PropertyChangeListener synchronizer = new PropertyChangeListener() {
-            @Override
-            public void propertyChange(PropertyChangeEvent evt) {
-                // Obtener el nombre de la propiedad que ha cambiado.
-                String propertyName = evt.getPropertyName();
-                System.out.println("propertyName: " + evt.getPropertyName());
-                // Identificar las propiedades comunes y compartidas entre los dos componentes.
-                Set<String> setpropcomunes = origin.propertiesInCommon(destiny.getSharedProperies());
-                System.out.println("Propiedades comunes: " + setpropcomunes);
-                // Si la propiedad que cambió está en el conjunto de propiedades comunes...
-                if (setpropcomunes.contains(propertyName)) {
-                    Map<String, Class<?>> map1 = (origin).getPropertiesType(setpropcomunes);
-                    Map<String, Class<?>> map2 = (destiny).getPropertiesType(setpropcomunes);
-                    Class<?> originprop = map1.get(propertyName);
-                    Class<?> destinyprop = map2.get(propertyName);
-                    // ...y si los tipos de la propiedad en ambos componentes son compatibles...
-                    if (destinyprop.getName().equals(originprop.getName())) {
-                        try {
-//                            System.out.println(originComp.getClass().getName() + " " + destinyComp.getClass().getName() + " " + originprop.getName() + " " + destinyprop.getName());
-//                            // Usar reflexión para obtener el valor actualizado del componente de origen.
-//                            String nombreGetter = "get" + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
-//                            System.out.println(nombreGetter + " - " + originComp.getClass().getName() + " " + destinyComp.getClass().getName() + " " + originprop.getName() + " " + destinyprop.getName());
-                            //Obtenemos el valor de la propiedad del propio PropertyChangeEvent
-                            Object newValue = evt.getNewValue();
-
-//                            // Usar reflexión para obtener el valor actual del componente de destino.
-//                            Method getterT = destiny.getClass().getMethod(nombreGetter);
-//                            Object getterTarget = getterT.invoke(destiny);
-//
-//                            System.out.println("getterTarget: " + (getterTarget!=null?getterTarget.toString():"null") + " - " + "getterSource: " + (newValue!=null?newValue.toString():"null"));
-//                            // Actualizar el destino solo si el valor es diferente, para evitar ciclos infinitos.
-                            
-                            //if (getterTarget != getterSource) {
-                                // Construir y invocar el método setter en el componente de destino.
-                                String setterName = "set" + propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
-                                System.out.println(setterName + " - " + originComp.getClass().getName() + " " + destinyComp.getClass().getName() + " " + originprop.getName() + " " + destinyprop.getName());
-                                Method setter = destiny.getClass().getMethod(setterName, destinyprop);
-                                setter.invoke(destiny, newValue);
-                            //}
-                        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | IllegalArgumentException ex) {
-                            // Registrar cualquier excepción ocurrida durante el proceso de reflexión.
-                            Logger.getLogger(BaseContainer.class.getName()).log(Level.SEVERE, "Error al sincronizar propiedad '" + propertyName + "'", ex);
-                        }
-                    }
-                }
-            }
-        };
-        // Añadir el listener al componente de origen para que escuche los cambios.
-        ((BaseComponent)origin).addPropertyChangeListener(synchronizer);
-    }
-
     /**
      * Se invoca cuando el componente se añade a un contenedor.
      * Sobrescribe el método para configurar la sincronización de propiedades entre
      * todos los componentes hoja {@link LeafComponent} que contiene.
+     * <p>
+     * Los componentes hoja se registran en el {@link BindingHub} del contenedor raíz
+     * de su ámbito de enlace. El registro es idempotente, de modo que un componente
+     * hoja anidado en varios contenedores se enlaza una sola vez, independientemente
+     * de la profundidad del anidamiento.
+     * <p>
+     * A partir de ese momento, los componentes que se añaden o retiran del contenedor
+     * se enlazan o se dan de baja de forma incremental, a partir de los
+     * {@link ContainerEvent}s, sin volver a recorrer toda la jerarquía.
+     * <p>
+     * Por último, notifica {@link BaseComponent#onShow()} a los componentes que
+     * quedan a la vista (ver {@link #updateLifecycle()}).
      */
     @Override
     public void addNotify() {
@@ -153,55 +167,594 @@ public abstract class BaseContainer extends BaseComponent {
         SwingUtilities.invokeLater(() -> {
             revalidate();
             repaint();
-            
-            // Obtener todos los componentes hoja (descendientes) de este contenedor.
-            Component[] componentList = this.getComponentsHoja();
-            for (Component c : componentList) {
-                if (c instanceof IShareableProperties ) {
-                    for (Component c2 : componentList) {
-                        // Para cada par de componentes hoja distintos, establecer un listener.
-                        // Esto crea una sincronización en ambas direcciones.
-                        if (c2 instanceof IShareableProperties  && c != c2) {
-                            IShareableProperties origin = (IShareableProperties) c;
-                            IShareableProperties destiny = (IShareableProperties) c2;
-                            //Sólo añadimos el listener si tiene propiedades compartidas en común.
-                            if(!origin.propertiesInCommon(destiny.getSharedProperies()).isEmpty()) {
-                                AddListener(c2, c);
-                            } else {
-                                System.out.println("No creamos listener entre " + c.getClass().getName() + " y " + c2.getClass().getName());
-                            }
-                        }
-                    }
-                }
+
+            // Si el contenedor se ha retirado antes de ejecutar esta tarea, no se enlaza nada.
+            if (!isDisplayable()) {
+                return;
             }
+            bindScope();
+            updateLifecycle();
         });
     }
 
+    /**
+     * Se invoca cuando el componente se retira de su contenedor.
+     * <p>
+     * Da de baja del hub de la raíz los componentes hoja de este contenedor, de modo
+     * que sus listeners no se acumulan en ciclos sucesivos de retirada y añadido. Si
+     * este contenedor es la raíz de su ámbito, se descartan todos los enlaces.
+     */
+    @Override
+    public void removeNotify() {
+        unbindScope();
+        super.removeNotify();
+    }
+
+    /**
+     * Registra en el hub de la raíz los componentes hoja del ámbito de este contenedor.
+     */
+    private void bindScope() {
+        BindingHub hub = getBindingHub();
+        for (Component c : getScopedLeaves()) {
+            if (c instanceof IShareableProperties) {
+                hub.bind(c);
+            }
+        }
+        for (DerivedProperty<?> property : derivedProperties) {
+            hub.addDerivedProperty(property);
+        }
+        watch(this);
+    }
+
+    /**
+     * Da de baja del hub de la raíz los componentes hoja del ámbito de este
+     * contenedor o, si es la raíz, descarta el hub completo.
+     */
+    private void unbindScope() {
+        unwatch(this);
+        BaseContainer root = getBindingRoot();
+        if (root == this && bindingScope != null) {
+            // El hub es compartido: solo se dan de baja los componentes de este contenedor.
+            if (bindingHub != null) {
+                for (Component c : getScopedLeaves()) {
+                    bindingHub.unbind(c);
+                }
+                for (DerivedProperty<?> property : derivedProperties) {
+                    bindingHub.removeDerivedProperty(property.getName());
+                }
+                bindingHub = null;
+                BindingScopeRegistry.leave(bindingScope);
+            }
+        } else if (root == this) {
+            if (bindingHub != null) {
+                bindingHub.unbindAll();
+                bindingHub = null;
+            }
+        } else if (root.bindingHub != null) {
+            for (Component c : getScopedLeaves()) {
+                root.bindingHub.unbind(c);
+            }
+            for (DerivedProperty<?> property : derivedProperties) {
+                root.bindingHub.removeDerivedProperty(property.getName());
+            }
+        }
+    }
+
+    /**
+     * Empieza a escuchar los {@link ContainerEvent}s de un contenedor y de sus
+     * contenedores Swing descendientes. No se entra en los componentes hoja ni en
+     * los {@link BaseContainer} anidados, que escuchan sus propios eventos.
+     *
+     * @param cp El contenedor.
+     */
+    private void watch(Container cp) {
+        // Se retira antes de añadirlo para que el registro sea idempotente.
+        cp.removeContainerListener(scopeListener);
+        cp.addContainerListener(scopeListener);
+        for (Component c : cp.getComponents()) {
+            if (isIntermediate(c)) {
+                watch((Container) c);
+            }
+        }
+    }
+
+    /**
+     * Deja de escuchar los {@link ContainerEvent}s de un contenedor y de sus
+     * contenedores Swing descendientes.
+     *
+     * @param cp El contenedor.
+     */
+    private void unwatch(Container cp) {
+        cp.removeContainerListener(scopeListener);
+        for (Component c : cp.getComponents()) {
+            if (isIntermediate(c)) {
+                unwatch((Container) c);
+            }
+        }
+    }
+
+    /**
+     * Indica si un componente es un contenedor Swing intermedio (ni hoja ni
+     * {@link BaseContainer}) cuyos hijos pertenecen al ámbito de este contenedor.
+     *
+     * @param c El componente.
+     * @return {@code true} si es un contenedor intermedio.
+     */
+    private static boolean isIntermediate(Component c) {
+        return c instanceof Container && !(c instanceof BaseComponent);
+    }
+
+    /**
+     * Notifica {@link BaseComponent#onShow()} u {@link BaseComponent#onHide()} a este
+     * contenedor y a los componentes descendientes cuya visibilidad ha cambiado.
+     * <p>
+     * Los contenedores lo invocan después de mostrar u ocultar parte de su contenido
+     * (al cambiar de pestaña, de nodo del árbol, etc.). Es idempotente: un componente
+     * que ya estaba a la vista, o ya estaba oculto, no recibe ningún aviso.
+     */
+    protected void updateLifecycle() {
+        updateLifecycle(this);
+    }
+
+    /**
+     * Notifica los cambios de visibilidad de un componente y de sus descendientes.
+     *
+     * @param c El componente.
+     */
+    static void updateLifecycle(Component c) {
+        boolean shown = c.isDisplayable();
+        for (Component p = c; shown && p != null && !(p instanceof Window); p = p.getParent()) {
+            shown = p.isVisible();
+        }
+        updateLifecycle(c, shown);
+    }
+
+    /**
+     * Recorre un componente y sus descendientes, hasta los componentes hoja, fijando
+     * si están a la vista.
+     *
+     * @param c El componente.
+     * @param shown {@code true} si el componente está a la vista.
+     */
+    private static void updateLifecycle(Component c, boolean shown) {
+        if (c instanceof BaseComponent) {
+            BaseComponent component = (BaseComponent) c;
+            component.setInView(shown);
+            if (component.isLeaf()) {
+                return;
+            }
+        }
+        if (c instanceof Container) {
+            Container cp = (Container) c;
+            for (int i = 0, n = cp.getComponentCount(); i < n; i++) {
+                Component child = cp.getComponent(i);
+                updateLifecycle(child, shown && child.isVisible());
+            }
+        }
+    }
+
+    /**
+     * Declara una propiedad derivada en el ámbito de enlace de este contenedor.
+     * <p>
+     * La propiedad se calcula a partir de las propiedades compartidas de las que
+     * depende, se memoriza hasta que alguna de ellas cambia y se publica a los
+     * componentes hoja que declaran una propiedad con su nombre, como cualquier otra
+     * propiedad compartida. Así, un valor como el total de dos pesos se recalcula
+     * una vez por cambio de entrada y no en cada componente que lo muestra.
+     *
+     * @param property La propiedad derivada.
+     */
+    public void addDerivedProperty(DerivedProperty<?> property) {
+        if (derivedProperties.contains(property)) {
+            return;
+        }
+        derivedProperties.add(property);
+        if (isDisplayable()) {
+            getBindingHub().addDerivedProperty(property);
+        }
+    }
+
+    /**
+     * Elimina una propiedad derivada declarada en este contenedor.
+     *
+     * @param property La propiedad derivada.
+     */
+    public void removeDerivedProperty(DerivedProperty<?> property) {
+        if (derivedProperties.remove(property) && bindingHubOrNull() != null) {
+            bindingHubOrNull().removeDerivedProperty(property.getName());
+        }
+    }
+
+    /**
+     * Devuelve las propiedades derivadas declaradas en este contenedor.
+     *
+     * @return Una {@link List} inmutable con las propiedades derivadas.
+     */
+    public List<DerivedProperty<?>> getDerivedProperties() {
+        return Collections.unmodifiableList(derivedProperties);
+    }
+
+    /**
+     * Devuelve el hub de la raíz del ámbito sin crearlo.
+     *
+     * @return El hub, o {@code null} si aún no existe.
+     */
+    private BindingHub bindingHubOrNull() {
+        return getBindingRoot().bindingHub;
+    }
+
+    /**
+     * Devuelve los componentes hoja descendientes que pertenecen al mismo ámbito de
+     * enlace que este contenedor, es decir, sin entrar en los contenedores aislados.
+     *
+     * @return Una lista con los componentes hoja del ámbito.
+     */
+    private List<Component> getScopedLeaves() {
+        List<Component> leaves = new ArrayList<>();
+        collectScopedLeaves(this, leaves);
+        return leaves;
+    }
+
+    /**
+     * Recorre recursivamente un contenedor añadiendo sus componentes hoja, sin entrar
+     * en los {@link BaseContainer} aislados.
+     *
+     * @param cp El contenedor a recorrer.
+     * @param leaves La lista en la que se acumulan los componentes hoja.
+     */
+    private static void collectScopedLeaves(Container cp, List<Component> leaves) {
+        for (Component c : cp.getComponents()) {
+            if (c instanceof BaseComponent && ((BaseComponent) c).isLeaf()) {
+                leaves.add(c);
+            } else if (c instanceof BaseContainer && ((BaseContainer) c).isScopeBoundary()) {
+                // Un contenedor aislado o unido a un ámbito global enlaza sus propios componentes hoja.
+            } else if (c instanceof Container) {
+                collectScopedLeaves((Container) c, leaves);
+            }
+        }
+    }
+
+    /**
+     * Devuelve el contenedor raíz de enlace de este contenedor: el
+     * {@link BaseContainer} más externo entre sus ascendientes, sin salir del primer
+     * contenedor aislado ({@link #isIsolated()}) o unido a un ámbito global
+     * ({@link #getBindingScope()}) que se encuentre, o él mismo si no está dentro de
+     * ningún otro o es uno de esos contenedores.
+     *
+     * @return El contenedor raíz de enlace.
+     */
+    public BaseContainer getBindingRoot() {
+        BaseContainer root = this;
+        for (Container parent = getParent(); parent != null && !root.isScopeBoundary(); parent = parent.getParent()) {
+            if (parent instanceof BaseContainer) {
+                root = (BaseContainer) parent;
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Indica si el contenedor define su propio ámbito de enlace.
+     *
+     * @return {@code true} si el contenedor está aislado.
+     */
+    public boolean isIsolated() {
+        return isolated;
+    }
+
+    /**
+     * Establece si el contenedor define su propio ámbito de enlace.
+     * <p>
+     * Los componentes hoja de un contenedor aislado solo se sincronizan entre sí,
+     * aunque compartan nombres de propiedad (como {@code data} o {@code nombre}) con
+     * componentes de otras partes de la jerarquía. Esto reduce el número de
+     * listeners y evita interferencias entre paneles no relacionados. Si el
+     * contenedor ya está visible, sus componentes hoja se vuelven a enlazar en el
+     * nuevo ámbito.
+     *
+     * @param isolated {@code true} para aislar el contenedor.
+     */
+    public void setIsolated(boolean isolated) {
+        if (this.isolated == isolated) {
+            return;
+        }
+        boolean displayable = isDisplayable();
+        if (displayable) {
+            unbindScope();
+        }
+        this.isolated = isolated;
+        if (displayable) {
+            bindScope();
+        }
+    }
+
+    /**
+     * Devuelve el nombre del ámbito global al que se une el contenedor.
+     *
+     * @return El nombre del ámbito, o {@code null} si el contenedor no se une a
+     * ninguno (valor por defecto).
+     */
+    public String getBindingScope() {
+        return bindingScope;
+    }
+
+    /**
+     * Une el contenedor a un ámbito de enlace global con nombre.
+     * <p>
+     * Los contenedores unidos al mismo ámbito comparten un único {@link BindingHub}
+     * del {@link BindingScopeRegistry}, aunque estén en ventanas distintas: por
+     * ejemplo, dos ventanas de socios o una ventana principal y su ventana de detalle
+     * sincronizan así {@code nombre} o {@code nivel} sin código adicional. Como un
+     * contenedor aislado, el contenedor es la raíz de enlace de sus componentes hoja
+     * y no los comparte con sus ascendientes. El primer contenedor que se une al
+     * ámbito aplica al hub su configuración (agrupación, planificador, políticas);
+     * los cambios posteriores de cualquier miembro afectan a todo el ámbito. Si el
+     * contenedor ya está visible, sus componentes hoja se vuelven a enlazar en el
+     * nuevo ámbito.
+     *
+     * @param bindingScope El nombre del ámbito, o {@code null} para abandonarlo.
+     */
+    public void setBindingScope(String bindingScope) {
+        if (Objects.equals(this.bindingScope, bindingScope)) {
+            return;
+        }
+        boolean displayable = isDisplayable();
+        if (displayable) {
+            unbindScope();
+        }
+        this.bindingScope = bindingScope;
+        if (displayable) {
+            bindScope();
+        }
+    }
+
+    /**
+     * Indica si el contenedor es la raíz de su propio ámbito de enlace, porque está
+     * aislado o unido a un ámbito global.
+     *
+     * @return {@code true} si los contenedores que lo contienen no enlazan sus
+     * componentes hoja.
+     */
+    private boolean isScopeBoundary() {
+        return isolated || bindingScope != null;
+    }
+
+    /**
+     * Devuelve el hub de enlace de datos que comparten todos los contenedores del
+     * ámbito, creándolo en el contenedor raíz si aún no existe. Si la raíz se une a
+     * un ámbito global, es el hub de ese ámbito.
+     *
+     * @return El {@link BindingHub} del contenedor raíz.
+     */
+    public BindingHub getBindingHub() {
+        BaseContainer root = getBindingRoot();
+        if (root.bindingHub == null) {
+            // Solo se configura un hub nuevo; el de un ámbito global ya activo conserva
+            // la configuración de su primer miembro.
+            boolean created = root.bindingScope == null || BindingScopeRegistry.getMemberCount(root.bindingScope) == 0;
+            root.bindingHub = root.bindingScope == null ? new BindingHub() : BindingScopeRegistry.join(root.bindingScope);
+            if (!created) {
+                return root.bindingHub;
+            }
+            root.bindingHub.setCoalescing(root.coalescePropagation);
+            root.bindingHub.setDeferHidden(root.deferHiddenPropagation);
+            root.bindingHub.setScheduler(root.updateScheduler);
+            root.propagationPolicies.forEach(root.bindingHub::setPolicy);
+        }
+        return root.bindingHub;
+    }
+
+    /**
+     * Indica si la propagación de propiedades compartidas se agrupa por ciclo del
+     * Event Dispatch Thread.
+     *
+     * @return {@code true} si la agrupación está activa.
+     */
+    public boolean isCoalescePropagation() {
+        return coalescePropagation;
+    }
+
+    /**
+     * Activa o desactiva la agrupación de la propagación de propiedades compartidas.
+     * <p>
+     * Con la agrupación activa, los cambios de cada componente hoja se acumulan por
+     * propiedad y se propagan una sola vez por ciclo del Event Dispatch Thread con el
+     * último valor, en lugar de propagar cada valor intermedio (por ejemplo, durante
+     * el arrastre de un deslizador). La propiedad se aplica a todo el ámbito de
+     * enlace, por lo que debe establecerse en su contenedor raíz
+     * ({@link #getBindingRoot()}).
+     *
+     * @param coalescePropagation {@code true} para agrupar la propagación.
+     */
+    public void setCoalescePropagation(boolean coalescePropagation) {
+        this.coalescePropagation = coalescePropagation;
+        if (bindingHub != null) {
+            bindingHub.setCoalescing(coalescePropagation);
+        }
+    }
+
+    /**
+     * Devuelve el registro de los componentes hoja descendientes de este contenedor.
+     * <p>
+     * El registro guarda el recorrido de la jerarquía hasta que esta cambia y permite
+     * buscar componentes hoja por tipo, por propiedad compartida o por identificador.
+     *
+     * @return El {@link LeafRegistry} del contenedor.
+     */
+    public LeafRegistry getLeafRegistry() {
+        if (leafRegistry == null) {
+            leafRegistry = new LeafRegistry(this);
+        }
+        return leafRegistry;
+    }
+
+    /**
+     * Descarta el recorrido guardado en el registro de componentes hoja. Lo invoca
+     * el propio registro cuando cambia la jerarquía.
+     */
+    void invalidateLeafRegistry() {
+        if (leafRegistry != null) {
+            leafRegistry.invalidate();
+        }
+    }
+
+    /**
+     * Indica si se aplaza la actualización de los componentes hoja que no están a la vista.
+     *
+     * @return {@code true} si se aplaza (valor por defecto).
+     */
+    public boolean isDeferHiddenPropagation() {
+        return deferHiddenPropagation;
+    }
+
+    /**
+     * Activa o desactiva el aplazamiento de la actualización de los componentes hoja
+     * que no están a la vista.
+     * <p>
+     * Con el aplazamiento activo, los componentes de los nodos o pestañas ocultos no
+     * se actualizan con cada cambio: se les entrega el último valor de cada propiedad
+     * cuando vuelven a mostrarse. Como {@link #setCoalescePropagation(boolean)}, se
+     * aplica a todo el ámbito de enlace y debe establecerse en su contenedor raíz.
+     *
+     * @param deferHiddenPropagation {@code true} para aplazar la actualización.
+     */
+    public void setDeferHiddenPropagation(boolean deferHiddenPropagation) {
+        this.deferHiddenPropagation = deferHiddenPropagation;
+        if (bindingHub != null) {
+            bindingHub.setDeferHidden(deferHiddenPropagation);
+        }
+    }
+
+    /**
+     * Devuelve el planificador de actualizaciones del ámbito de enlace.
+     *
+     * @return El planificador, o {@code null} si no se usa ninguno (valor por defecto).
+     */
+    public UpdateScheduler getUpdateScheduler() {
+        return updateScheduler;
+    }
+
+    /**
+     * Establece el planificador de actualizaciones del ámbito de enlace.
+     * <p>
+     * Con un planificador, la propagación agrupada
+     * ({@link #setCoalescePropagation(boolean)}) se ejecuta una vez por fotograma con
+     * prioridad de usuario, y los valores publicados desde otros hilos con
+     * {@link BindingHub#post(String, Object)} se aplican en segundo plano, dentro del
+     * presupuesto de cada fotograma. Como {@link #setCoalescePropagation(boolean)},
+     * se aplica a todo el ámbito de enlace y debe establecerse en su contenedor raíz.
+     *
+     * @param updateScheduler El planificador (por ejemplo,
+     * {@link UpdateScheduler#getDefault()}), o {@code null} para no usar ninguno.
+     */
+    public void setUpdateScheduler(UpdateScheduler updateScheduler) {
+        this.updateScheduler = updateScheduler;
+        if (bindingHub != null) {
+            bindingHub.setScheduler(updateScheduler);
+        }
+    }
+
+    /**
+     * Devuelve la política de propagación que el ámbito de enlace aplica a una propiedad.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return La política establecida con
+     * {@link #setPropagationPolicy(String, PropagationPolicy)}, o {@code null} si se
+     * usa la declarada por cada componente hoja.
+     */
+    public PropagationPolicy getPropagationPolicy(String propertyName) {
+        return propagationPolicies.get(propertyName);
+    }
+
+    /**
+     * Sustituye la política de propagación que declaran los componentes hoja
+     * ({@link es.uned.TFGDavidGiner.core.binding.SharedProperty#policy()}) para una
+     * propiedad.
+     * <p>
+     * Por ejemplo, un formulario que hace cálculos costosos con el peso puede
+     * propagarlo solo al soltar el deslizador con {@link PropagationPolicy#ON_COMMIT},
+     * o limitarlo a unos cambios por segundo con
+     * {@link PropagationPolicy#throttled(int)}. Como
+     * {@link #setCoalescePropagation(boolean)}, se aplica a todo el ámbito de enlace
+     * y debe establecerse en su contenedor raíz.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param policy La política, o {@code null} para volver a la declarada por cada
+     * componente hoja.
+     */
+    public void setPropagationPolicy(String propertyName, PropagationPolicy policy) {
+        if (policy == null) {
+            propagationPolicies.remove(propertyName);
+        } else {
+            propagationPolicies.put(propertyName, policy);
+        }
+        if (bindingHub != null) {
+            bindingHub.setPolicy(propertyName, policy);
+        }
+    }
+
+    /**
+     * Devuelve un publicador de los cambios de una propiedad compartida del ámbito de
+     * enlace, que los entrega en el pool común de {@link ForkJoinPool}.
+     *
+     * @param <T> El tipo de la propiedad.
+     * @param key La clave de la propiedad.
+     * @return El publicador.
+     * @see #getPropertyPublisher(PropertyKey, Executor)
+     */
+    public <T> PropertyPublisher<T> getPropertyPublisher(PropertyKey<T> key) {
+        return getPropertyPublisher(key, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Devuelve un publicador ({@link Flow.Publisher}) de los cambios de una propiedad
+     * compartida del ámbito de enlace.
+     * <p>
+     * Permite que código ajeno a Swing (persistencia, analítica, registro) observe
+     * una propiedad como {@code pesoMaxPressBanca} sin conocer los componentes hoja
+     * que la publican. Los suscriptores lentos reciben solo el último valor, y las
+     * entregas se hacen en el ejecutor indicado, sin bloquear el Event Dispatch
+     * Thread. Cada llamada crea un publicador nuevo, registrado en el hub del
+     * contenedor raíz; se debe cerrar con {@link PropertyPublisher#close()} cuando
+     * deja de usarse. Cada suscriptor recibe primero el valor actual de la propiedad
+     * y después sus cambios. Debe llamarse desde el EDT.
+     *
+     * @param <T> El tipo de la propiedad.
+     * @param key La clave de la propiedad.
+     * @param executor El ejecutor de las entregas a los suscriptores.
+     * @return El publicador.
+     */
+    public <T> PropertyPublisher<T> getPropertyPublisher(PropertyKey<T> key, Executor executor) {
+        return new PropertyPublisher<>(getBindingHub(), key, executor);
+    }
+
+    /**
+     * Propaga los valores retenidos por las políticas de propagación y los cambios
+     * agrupados pendientes, y entrega a los componentes hoja ocultos los valores
+     * aplazados, para que todos reflejen el estado actual antes de configurarlos,
+     * validarlos o consultar sus errores.
+     */
+    private void updateLeaves() {
+        BindingHub hub = bindingHubOrNull();
+        if (hub != null) {
+            hub.releaseHeld();
+            hub.flush();
+            hub.refreshAll();
+        }
+    }
+
     /**
      * Obtiene de forma recursiva todos los componentes de tipo {@link LeafComponent}
      * que descienden de este contenedor.
+     * <p>
+     * El recorrido se obtiene del registro de componentes hoja
+     * ({@link #getLeafRegistry()}), por lo que solo se repite si la jerarquía ha
+     * cambiado.
      *
      * @return Un array de {@link Component} con todos los componentes hoja encontrados.
      */
     public Component[] getComponentsHoja() {
-        List<Component> listaComponentes = new ArrayList<>();
-        Component[] lc = this.getComponents();
-        for (Component c : lc) {
-            if (c instanceof BaseComponent) {
-                BaseComponent baseComp = (BaseComponent) c;
-                if (baseComp.isLeaf()) {
-                    // Si es un componente hoja, se añade a la lista.
-                    listaComponentes.add(baseComp);
-                } else {
-                    // Si es otro BaseContainer, se llama recursivamente para obtener sus hojas.
-                    listaComponentes.addAll(Arrays.asList(((BaseContainer) baseComp).getComponentsHoja()));
-                }
-            } else if (c instanceof Container) {
-                // Si es un contenedor estándar de Swing, se busca recursivamente en él.
-                listaComponentes.addAll(Arrays.asList(this.getComponentsHoja((Container) c)));
-            }
-        }
-        return listaComponentes.toArray(new Component[0]);
+        return getLeafRegistry().getLeaves().toArray(new Component[0]);
     }
 
     /**
@@ -212,6 +765,9 @@ public abstract class BaseContainer extends BaseComponent {
      * @return Un array de {@link Component} con todos los componentes hoja encontrados.
      */
     public Component[] getComponentsHoja(Container cp) {
+        if (cp instanceof BaseContainer) {
+            return ((BaseContainer) cp).getComponentsHoja();
+        }
         List<Component> listaComponentes = new ArrayList<>();
         Component[] lc = cp.getComponents();
         for (Component c : lc) {
@@ -243,9 +799,9 @@ public abstract class BaseContainer extends BaseComponent {
      */
     @Override
     public boolean configurar() {
+        updateLeaves();
         boolean resultado = true;
-        Component[] lc = getComponentsHoja();
-        for (Component c : lc) {
+        for (Component c : getLeafRegistry().getLeaves()) {
             if (c instanceof IValidation) {
                 if (!((IValidation) c).configurar()) {
                     resultado = false;
@@ -264,9 +820,9 @@ public abstract class BaseContainer extends BaseComponent {
      */
     @Override
     public boolean validar() {
+        updateLeaves();
         boolean resultado = true;
-        Component[] lc = getComponentsHoja();
-        for (Component c : lc) {
+        for (Component c : getLeafRegistry().getLeaves()) {
             if (c instanceof IValidation) {
                 if (!((IValidation) c).validar()) {
                     resultado = false;
@@ -287,8 +843,8 @@ public abstract class BaseContainer extends BaseComponent {
     public String getError() {
         String error = "";
         String errorAux;
-        Component[] lc = getComponentsHoja();
-        for (Component c : lc) {
+        updateLeaves();
+        for (Component c : getLeafRegistry().getLeaves()) {
             if (c instanceof IValidation) {
                 errorAux = ((IValidation) c).getError();
                 if (errorAux != null && !errorAux.trim().isEmpty()) {
@@ -306,4 +862,58 @@ public abstract class BaseContainer extends BaseComponent {
     public boolean isLeaf() {
         return false;
     }
+
+    /**
+     * Mantiene los enlaces del ámbito cuando cambia la jerarquía: enlaza los
+     * componentes hoja que se añaden y da de baja los que se retiran, directamente
+     * o dentro de un contenedor Swing intermedio, y notifica
+     * {@link BaseComponent#onShow()} a los que se añaden a la vista. Los {@link BaseContainer} anidados
+     * no se tratan aquí: se enlazan y se dan de baja en su propio
+     * {@link BaseContainer#addNotify()} y {@link BaseContainer#removeNotify()}.
+     */
+    private final class ScopeListener implements ContainerListener {
+
+        @Override
+        public void componentAdded(ContainerEvent e) {
+            Component child = e.getChild();
+            if (child instanceof BaseComponent && ((BaseComponent) child).isLeaf()) {
+                if (child instanceof IShareableProperties) {
+                    getBindingHub().bind(child);
+                }
+            } else if (isIntermediate(child)) {
+                watch((Container) child);
+                BindingHub hub = getBindingHub();
+                List<Component> leaves = new ArrayList<>();
+                collectScopedLeaves((Container) child, leaves);
+                for (Component leaf : leaves) {
+                    if (leaf instanceof IShareableProperties) {
+                        hub.bind(leaf);
+                    }
+                }
+            }
+            // Se aplaza para que el contenedor termine de colocar el componente: un
+            // JTabbedPane, por ejemplo, oculta la pestaña nueva después de añadirla.
+            SwingUtilities.invokeLater(() -> updateLifecycle(child));
+        }
+
+        @Override
+        public void componentRemoved(ContainerEvent e) {
+            Component child = e.getChild();
+            BindingHub hub = bindingHubOrNull();
+            if (child instanceof BaseComponent && ((BaseComponent) child).isLeaf()) {
+                if (hub != null) {
+                    hub.unbind(child);
+                }
+            } else if (isIntermediate(child)) {
+                unwatch((Container) child);
+                if (hub != null) {
+                    List<Component> leaves = new ArrayList<>();
+                    collectScopedLeaves((Container) child, leaves);
+                    for (Component leaf : leaves) {
+                        hub.unbind(leaf);
+                    }
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -4,12 +4,19 @@
  */
 package es.uned.TFGDavidGiner.core;
 
+import es.uned.TFGDavidGiner.core.binding.BindingMetadata;
+import es.uned.TFGDavidGiner.core.binding.PropertyKey;
+import es.uned.TFGDavidGiner.core.binding.PropertyMailbox;
+import es.uned.TFGDavidGiner.core.interfaces.IPrimitivePropertyListener;
 import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
-import java.lang.reflect.Field;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeListenerProxy;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.swing.event.EventListenerList;
 
 /**
@@ -20,6 +27,23 @@ import javax.swing.event.EventListenerList;
  * la interfaz {@link IShareableProperties}, permitiendo a las subclases definir el tipo de
  * dato que manejarán. También incluye mecanismos para la gestión de propiedades
  * mediante reflexión.
+ * <p>
+ * Las propiedades numéricas de uso intensivo (por ejemplo, el valor de un
+ * deslizador) pueden guardarse en ranuras primitivas con
+ * {@link #setIntProperty(PropertyKey, int)} y equivalentes: sus cambios se
+ * notifican sin envolver los valores y, si nadie más los escucha, sin reservar
+ * memoria.
+ * <p>
+ * Los setters de las subclases modifican controles Swing y deben llamarse desde el
+ * Event Dispatch Thread. Para actualizar una propiedad desde otro hilo se usa
+ * {@link #postProperty(String, Object)}, que deja el valor en un buzón de último
+ * valor y lo escribe en el EDT, descartando los valores intermedios.
+ * <p>
+ * Un componente puede guardar su estado y su lógica de validación en un modelo sin
+ * Swing ({@link LeafModel}, ver {@link #setModel(LeafModel)}) y limitarse a ser una
+ * vista sobre él: sus getters y setters delegan en el modelo, y los lotes, los
+ * ajustes y los cambios de las propiedades son los del modelo, que el componente
+ * reemite como propios.
  *
  * @author david
  * @version 1.0
@@ -27,6 +51,60 @@ import javax.swing.event.EventListenerList;
  */
 public abstract class LeafComponent extends BaseComponent implements IShareableProperties {
 
+    /**
+     * Contador con el que se numeran los componentes hoja creados.
+     */
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    /**
+     * Identificador único e inmutable del componente.
+     */
+    private final String componentId = getClass().getSimpleName() + "#" + NEXT_ID.incrementAndGet();
+
+    /**
+     * Implementación de las propiedades compartidas (lotes, ajustes y ranuras
+     * primitivas), común con {@link LeafModel}.
+     */
+    private final SharedPropertiesSupport support =
+            new SharedPropertiesSupport(this, this::hasPropertyChangeListeners, this::firePropertyChange);
+
+    /**
+     * Buzón de los valores enviados desde otros hilos con {@link #postProperty(String, Object)}.
+     */
+    private final PropertyMailbox mailbox = new PropertyMailbox(this);
+
+    /**
+     * Número de {@link PropertyChangeListener}s registrados para cada propiedad.
+     * <p>
+     * Se declara sin inicializador porque el constructor de la superclase puede
+     * registrar listeners antes de que se inicialicen los campos de esta clase.
+     */
+    private Map<String, Integer> namedListenerCounts;
+
+    /**
+     * Número de {@link PropertyChangeListener}s registrados para todas las
+     * propiedades, sin contar el del delegado de interfaz ({@code ui}).
+     * Sin inicializador por el mismo motivo que {@link #namedListenerCounts}.
+     */
+    private int unnamedListenerCount;
+
+    /**
+     * El modelo en el que el componente guarda su estado, o {@code null} si lo
+     * guarda él mismo.
+     */
+    private LeafModel model;
+
+    /**
+     * Listener que reemite como propios los eventos del modelo.
+     */
+    private final PropertyChangeListener modelForwarder = evt -> firePropertyChange(evt.getPropertyName(), evt.getOldValue(), evt.getNewValue());
+
+    /**
+     * Las propiedades del modelo cuyos eventos se reemiten: las que tienen algún
+     * listener en el componente, o {@code null} para todas.
+     */
+    private Set<String> forwardedProperties = Collections.emptySet();
+
     /**
      * Constructor por defecto.
      * <p>
@@ -61,33 +139,16 @@ public abstract class LeafComponent extends BaseComponent implements IShareableP
     /**
      * Obtiene los tipos de datos de un conjunto de propiedades de este componente.
      * <p>
-     * Utiliza reflexión para inspeccionar los campos de la clase y determinar
-     * el tipo de dato de cada propiedad especificada por su nombre.
+     * Los tipos se obtienen de los metadatos de enlace de la clase
+     * ({@link BindingMetadata}), que se resuelven por reflexión una única vez por
+     * clase y propiedad y se reutilizan en las llamadas posteriores.
      *
      * @param nombresDePropiedades Un {@link Set} con los nombres de las propiedades a inspeccionar.
      * @return Un {@link Map} que asocia el nombre de cada propiedad con su tipo ({@link Class}).
      */
     @Override
     public Map<String, Class<?>> getPropertiesType(Set<String> nombresDePropiedades) {
-        // Mapa para almacenar los resultados: NombrePropiedad -> Tipo
-        Map<String, Class<?>> tiposDePropiedades = new HashMap<>();
-
-        // Itera sobre cada nombre de propiedad para encontrar su tipo.
-        for (String nombrePropiedad : nombresDePropiedades) {
-            try {
-                // Usa reflexión para obtener el objeto Field correspondiente al nombre.
-                Field campo = this.getClass().getDeclaredField(nombrePropiedad);
-                
-                // Obtiene el tipo del campo y lo añade al mapa.
-                tiposDePropiedades.put(nombrePropiedad, campo.getType());
-
-            } catch (NoSuchFieldException e) {
-                // Maneja el caso en que la propiedad no exista en esta clase.
-                System.err.println("Error de reflexión: La propiedad '" + nombrePropiedad + "' no existe en la clase " + this.getClass().getSimpleName());
-            }
-        }
-
-        return tiposDePropiedades;
+        return support.getPropertiesType(nombresDePropiedades);
     }
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
@@ -95,9 +156,17 @@ public abstract class LeafComponent extends BaseComponent implements IShareableP
         
     /**
      * {@inheritDoc}
+     * <p>
+     * Por defecto, devuelve las propiedades marcadas con
+     * {@link es.uned.TFGDavidGiner.core.binding.SharedProperty} en la clase del
+     * componente, tal como las publica su adaptador generado
+     * (o, si no existe, tal como se descubren por reflexión).
+     * Las subclases pueden sobrescribirlo para exponer un conjunto distinto.
      */
     @Override
-    public abstract Set<String> getSharedProperies();
+    public Set<String> getSharedProperies() {
+        return BindingMetadata.forClass(this.getClass()).getDeclaredSharedProperties();
+    }
     
     /**
      * Calcula la intersección entre las propiedades compartidas de este componente y
@@ -112,18 +181,343 @@ public abstract class LeafComponent extends BaseComponent implements IShareableP
      */
     @Override
     public Set<String> propertiesInCommon(Set<String> set1) {
-        // Obtiene las propiedades compartidas de este componente.
-        Set<String> set2 = this.getSharedProperies();
+        return support.propertiesInCommon(set1);
+    }
+    
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Al iniciar el lote más externo se guarda el valor de cada propiedad compartida
+     * legible, para saber al confirmarlo cuáles han cambiado.
+     */
+    @Override
+    public void beginUpdate() {
+        if (model != null) {
+            model.beginUpdate();
+            return;
+        }
+        support.beginUpdate();
+    }
 
-        // Crea una copia del primer conjunto para no modificar el original.
-        Set<String> interseccion = new HashSet<>(set1);
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los cambios se detectan comparando los valores actuales con los guardados en
+     * {@link #beginUpdate()}. Los listeners de cada propiedad ya han recibido sus
+     * eventos individuales; el evento de lote es el que usa el motor de enlace para
+     * propagarlos juntos.
+     */
+    @Override
+    public void commitUpdate() {
+        if (model != null) {
+            model.commitUpdate();
+            return;
+        }
+        support.commitUpdate();
+    }
 
-        // Mantiene en 'interseccion' solo los elementos que también están en 'set2'.
-        interseccion.retainAll(set2);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isUpdating() {
+        return model != null ? model.isUpdating() : support.isUpdating();
+    }
 
-        return interseccion;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAdjusting() {
+        return model != null ? model.isAdjusting() : support.isAdjusting();
     }
-    
+
+    /**
+     * Marca el inicio o el fin de un ajuste y lo notifica con un evento
+     * {@link IShareableProperties#ADJUSTING_PROPERTY}. Al terminar el ajuste, el
+     * motor de enlace propaga el último valor de las propiedades con la política
+     * {@link es.uned.TFGDavidGiner.core.binding.PropagationMode#ON_COMMIT}.
+     * <p>
+     * Un componente basado en un {@link javax.swing.JSlider}, por ejemplo, lo llama
+     * en cada {@code stateChanged} con {@code getValueIsAdjusting()}, después de
+     * actualizar su propiedad.
+     *
+     * @param adjusting {@code true} mientras dura el ajuste.
+     */
+    protected final void setAdjusting(boolean adjusting) {
+        if (model != null) {
+            model.setAdjusting(adjusting);
+        } else {
+            support.setAdjusting(adjusting);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Solo se admiten las propiedades que la subclase guarda en ranuras primitivas
+     * (ver {@link #setIntProperty(PropertyKey, int)}) y que ya tienen un valor. Si
+     * el componente tiene un modelo, se registra en el modelo.
+     */
+    @Override
+    public boolean addPrimitivePropertyListener(String propertyName, IPrimitivePropertyListener listener) {
+        if (model != null) {
+            return model.addPrimitivePropertyListener(propertyName, listener);
+        }
+        return support.addPrimitivePropertyListener(propertyName, listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removePrimitivePropertyListener(String propertyName, IPrimitivePropertyListener listener) {
+        if (model != null) {
+            model.removePrimitivePropertyListener(propertyName, listener);
+            return;
+        }
+        support.removePrimitivePropertyListener(propertyName, listener);
+    }
+
+    /**
+     * Lee una propiedad guardada en una ranura {@code int}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0} si nunca se ha escrito.
+     */
+    protected final int getIntProperty(PropertyKey<Integer> key) {
+        return support.getInt(key);
+    }
+
+    /**
+     * Escribe una propiedad guardada en una ranura {@code int} y notifica el cambio.
+     * <p>
+     * Los {@link IPrimitivePropertyListener}s reciben el valor sin envolver. El
+     * {@link java.beans.PropertyChangeEvent} solo se emite si hay algún
+     * {@link PropertyChangeListener} interesado en la propiedad, de modo que, cuando
+     * el único interesado es el motor de enlace, el cambio no reserva memoria.
+     * Pensado para usarse desde el setter de la propiedad:
+     * <pre>{@code
+     * private static final PropertyKey<Integer> PESO = PropertyKey.of("peso", int.class);
+     *
+     * public int getPeso() {
+     *     return getIntProperty(PESO);
+     * }
+     *
+     * public void setPeso(int peso) {
+     *     if (setIntProperty(PESO, peso)) {
+     *         slider.setValue(peso);
+     *     }
+     * }
+     * }</pre>
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    protected final boolean setIntProperty(PropertyKey<Integer> key, int value) {
+        return support.setInt(key, value);
+    }
+
+    /**
+     * Lee una propiedad guardada en una ranura {@code long}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0} si nunca se ha escrito.
+     */
+    protected final long getLongProperty(PropertyKey<Long> key) {
+        return support.getLong(key);
+    }
+
+    /**
+     * Escribe una propiedad guardada en una ranura {@code long} y notifica el cambio,
+     * como {@link #setIntProperty(PropertyKey, int)}.
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    protected final boolean setLongProperty(PropertyKey<Long> key, long value) {
+        return support.setLong(key, value);
+    }
+
+    /**
+     * Lee una propiedad guardada en una ranura {@code double}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0.0} si nunca se ha escrito.
+     */
+    protected final double getDoubleProperty(PropertyKey<Double> key) {
+        return support.getDouble(key);
+    }
+
+    /**
+     * Escribe una propiedad guardada en una ranura {@code double} y notifica el
+     * cambio, como {@link #setIntProperty(PropertyKey, int)}.
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    protected final boolean setDoubleProperty(PropertyKey<Double> key, double value) {
+        return support.setDouble(key, value);
+    }
+
+    /**
+     * Actualiza una propiedad desde cualquier hilo.
+     * <p>
+     * El valor se deja en el buzón del componente ({@link PropertyMailbox}) y se
+     * escribe con el setter de la propiedad en el Event Dispatch Thread. Si antes de
+     * escribirlo llega otro valor para la misma propiedad, el anterior se descarta.
+     * Desde el EDT se puede llamar directamente al setter.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param value El nuevo valor.
+     * @throws IllegalArgumentException si el componente no tiene un setter para la propiedad.
+     */
+    public final void postProperty(String propertyName, Object value) {
+        mailbox.post(propertyName, value);
+    }
+
+    /**
+     * Devuelve el buzón en el que {@link #postProperty(String, Object)} deja los
+     * valores enviados desde otros hilos.
+     *
+     * @return El buzón del componente.
+     */
+    public final PropertyMailbox getPropertyMailbox() {
+        return mailbox;
+    }
+
+    @Override
+    public void addPropertyChangeListener(PropertyChangeListener listener) {
+        super.addPropertyChangeListener(listener);
+        countPropertyChangeListeners();
+    }
+
+    @Override
+    public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+        super.addPropertyChangeListener(propertyName, listener);
+        countPropertyChangeListeners();
+    }
+
+    @Override
+    public void removePropertyChangeListener(PropertyChangeListener listener) {
+        super.removePropertyChangeListener(listener);
+        countPropertyChangeListeners();
+    }
+
+    @Override
+    public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+        super.removePropertyChangeListener(propertyName, listener);
+        countPropertyChangeListeners();
+    }
+
+    /**
+     * Recalcula el número de {@link PropertyChangeListener}s registrados. El
+     * delegado de interfaz ({@code ui}) no cuenta: algunos aspectos (p. ej. Nimbus)
+     * lo registran como listener de todas las propiedades, pero no le interesan las
+     * propiedades compartidas.
+     */
+    private void countPropertyChangeListeners() {
+        Map<String, Integer> named = new HashMap<>();
+        int unnamed = 0;
+        for (PropertyChangeListener listener : super.getPropertyChangeListeners()) {
+            if (listener instanceof PropertyChangeListenerProxy) {
+                named.merge(((PropertyChangeListenerProxy) listener).getPropertyName(), 1, Integer::sum);
+            } else if (listener != ui) {
+                unnamed++;
+            }
+        }
+        namedListenerCounts = named;
+        unnamedListenerCount = unnamed;
+        forwardModelEvents();
+    }
+
+    /**
+     * Establece el modelo en el que el componente guarda su estado. Se llama una sola
+     * vez, desde el constructor de la vista, antes de registrarla en un contenedor.
+     * <p>
+     * A partir de ese momento, los lotes, los ajustes y los listeners de las
+     * propiedades primitivas del componente son los del modelo, y los cambios de las
+     * propiedades del modelo se notifican como cambios del componente. Para no
+     * crear eventos que nadie escucha, solo se reemiten los de las propiedades que
+     * tienen algún {@link PropertyChangeListener} en el componente.
+     *
+     * @param model El modelo.
+     * @throws IllegalStateException si el componente ya tiene un modelo.
+     */
+    protected final void setModel(LeafModel model) {
+        if (this.model != null) {
+            throw new IllegalStateException("El componente " + componentId + " ya tiene un modelo.");
+        }
+        this.model = Objects.requireNonNull(model, "model");
+        forwardModelEvents();
+    }
+
+    /**
+     * Devuelve el modelo en el que el componente guarda su estado.
+     *
+     * @return El modelo, o {@code null} si el componente guarda su propio estado.
+     */
+    public LeafModel getModel() {
+        return model;
+    }
+
+    /**
+     * Ajusta los eventos del modelo que se reemiten a los listeners registrados en
+     * el componente: los de todas las propiedades si hay alguno de todas, o solo los
+     * de las propiedades escuchadas.
+     */
+    private void forwardModelEvents() {
+        if (model == null) {
+            return;
+        }
+        Set<String> wanted = unnamedListenerCount > 0 ? null
+                : namedListenerCounts == null ? Collections.emptySet() : namedListenerCounts.keySet();
+        if (Objects.equals(wanted, forwardedProperties)) {
+            return;
+        }
+        if (forwardedProperties == null) {
+            model.removePropertyChangeListener(modelForwarder);
+        } else {
+            for (String propertyName : forwardedProperties) {
+                model.removePropertyChangeListener(propertyName, modelForwarder);
+            }
+        }
+        if (wanted == null) {
+            model.addPropertyChangeListener(modelForwarder);
+        } else {
+            for (String propertyName : wanted) {
+                model.addPropertyChangeListener(propertyName, modelForwarder);
+            }
+        }
+        forwardedProperties = wanted;
+    }
+
+    /**
+     * Indica si hay algún {@link PropertyChangeListener} interesado en una propiedad.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return {@code true} si hay listeners de esa propiedad o de todas.
+     */
+    private boolean hasPropertyChangeListeners(String propertyName) {
+        return unnamedListenerCount > 0
+                || (namedListenerCounts != null && namedListenerCounts.containsKey(propertyName));
+    }
+
+    /**
+     * Devuelve el identificador del componente: un texto único entre los componentes
+     * hoja de la aplicación que no cambia durante la vida del componente, formado por
+     * el nombre de su clase y un número de orden (por ejemplo {@code SliderPress#3}).
+     * Permite localizarlo con {@link LeafRegistry#getLeaf(String)}.
+     *
+     * @return El identificador del componente.
+     */
+    public String getComponentId() {
+        return componentId;
+    }
+
     @Override
     public boolean isLeaf() {
         return true;
@@ -0,0 +1,267 @@
+package es.uned.TFGDavidGiner.core;
+
+import es.uned.TFGDavidGiner.core.binding.BindingMetadata;
+import es.uned.TFGDavidGiner.core.binding.PropertyKey;
+import es.uned.TFGDavidGiner.core.interfaces.IPrimitivePropertyListener;
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+import es.uned.TFGDavidGiner.core.interfaces.IValidation;
+import java.beans.PropertyChangeListener;
+import java.beans.PropertyChangeSupport;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Clase base abstracta para los modelos de los componentes hoja: el estado y la
+ * lógica de validación de un componente, sin ninguna dependencia de Swing.
+ * <p>
+ * Un modelo declara sus propiedades compartidas con
+ * {@link es.uned.TFGDavidGiner.core.binding.SharedProperty}, igual que un
+ * {@link LeafComponent}, y notifica sus cambios con {@link PropertyChangeListener}s
+ * o, en las propiedades guardadas en ranuras primitivas
+ * ({@link #setIntProperty(PropertyKey, int)} y equivalentes), sin envolver los
+ * valores. Las reglas de validación ({@link IValidation}) se implementan en el
+ * modelo y devuelven el resultado sin pintar nada.
+ * <p>
+ * El componente Swing se convierte así en una vista sobre su modelo
+ * ({@link LeafComponent#setModel(LeafModel)}): sus getters y setters delegan en el
+ * modelo y solo se ocupa de mostrar el estado. Al no necesitar ninguna jerarquía
+ * Swing, los modelos se pueden crear, enlazar con
+ * {@link es.uned.TFGDavidGiner.core.binding.BindingHub#bind(LeafModel)} y validar
+ * en masa (por ejemplo, en pruebas o en una validación por lotes en el servidor),
+ * incluso con {@code java.awt.headless}.
+ * <p>
+ * La implementación de las propiedades compartidas es la misma que la de
+ * {@link LeafComponent}; las dos clases delegan en un {@code SharedPropertiesSupport}.
+ * <p>
+ * Esta clase no es segura para hilos: cada modelo debe usarse desde un único hilo
+ * (el Event Dispatch Thread, si tiene una vista).
+ *
+ * @author david
+ * @version 1.0
+ */
+public abstract class LeafModel implements IShareableProperties, IValidation {
+
+    /**
+     * Gestor de los {@link PropertyChangeListener}s del modelo.
+     */
+    private final PropertyChangeSupport changeSupport = new PropertyChangeSupport(this);
+
+    /**
+     * Implementación de las propiedades compartidas, común con {@link LeafComponent}.
+     */
+    private final SharedPropertiesSupport support =
+            new SharedPropertiesSupport(this, changeSupport::hasListeners, changeSupport::firePropertyChange);
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Por defecto, devuelve las propiedades marcadas con
+     * {@link es.uned.TFGDavidGiner.core.binding.SharedProperty} en la clase del modelo.
+     */
+    @Override
+    public Set<String> getSharedProperies() {
+        return BindingMetadata.forClass(getClass()).getDeclaredSharedProperties();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<String> propertiesInCommon(Set<String> set1) {
+        return support.propertiesInCommon(set1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los tipos se obtienen de los metadatos de enlace de la clase ({@link BindingMetadata}).
+     */
+    @Override
+    public Map<String, Class<?>> getPropertiesType(Set<String> propertiesName) {
+        return support.getPropertiesType(propertiesName);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Al iniciar el lote más externo se guarda el valor de cada propiedad compartida
+     * legible, para saber al confirmarlo cuáles han cambiado.
+     */
+    @Override
+    public void beginUpdate() {
+        support.beginUpdate();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los cambios se detectan comparando los valores actuales con los guardados en
+     * {@link #beginUpdate()}, como en {@link LeafComponent#commitUpdate()}.
+     */
+    @Override
+    public void commitUpdate() {
+        support.commitUpdate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isUpdating() {
+        return support.isUpdating();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAdjusting() {
+        return support.isAdjusting();
+    }
+
+    /**
+     * Marca el inicio o el fin de un ajuste y lo notifica con un evento
+     * {@link IShareableProperties#ADJUSTING_PROPERTY}, como
+     * {@link LeafComponent#setAdjusting(boolean)}. Es público para que la vista lo
+     * llame desde sus controles.
+     *
+     * @param adjusting {@code true} mientras dura el ajuste.
+     */
+    public final void setAdjusting(boolean adjusting) {
+        support.setAdjusting(adjusting);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Solo se admiten las propiedades que la subclase guarda en ranuras primitivas y
+     * que ya tienen un valor.
+     */
+    @Override
+    public boolean addPrimitivePropertyListener(String propertyName, IPrimitivePropertyListener listener) {
+        return support.addPrimitivePropertyListener(propertyName, listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removePrimitivePropertyListener(String propertyName, IPrimitivePropertyListener listener) {
+        support.removePrimitivePropertyListener(propertyName, listener);
+    }
+
+    /**
+     * Registra un listener de los cambios de todas las propiedades del modelo.
+     *
+     * @param listener El listener.
+     */
+    public void addPropertyChangeListener(PropertyChangeListener listener) {
+        changeSupport.addPropertyChangeListener(listener);
+    }
+
+    /**
+     * Elimina un listener registrado con
+     * {@link #addPropertyChangeListener(PropertyChangeListener)}.
+     *
+     * @param listener El listener.
+     */
+    public void removePropertyChangeListener(PropertyChangeListener listener) {
+        changeSupport.removePropertyChangeListener(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addPropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+        changeSupport.addPropertyChangeListener(propertyName, listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removePropertyChangeListener(String propertyName, PropertyChangeListener listener) {
+        changeSupport.removePropertyChangeListener(propertyName, listener);
+    }
+
+    /**
+     * Notifica el cambio de una propiedad a los listeners interesados. No se notifica
+     * nada si el valor antiguo y el nuevo son iguales y no nulos.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param oldValue El valor anterior.
+     * @param newValue El nuevo valor.
+     */
+    protected final void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+        changeSupport.firePropertyChange(propertyName, oldValue, newValue);
+    }
+
+    /**
+     * Lee una propiedad guardada en una ranura {@code int}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0} si nunca se ha escrito.
+     */
+    protected final int getIntProperty(PropertyKey<Integer> key) {
+        return support.getInt(key);
+    }
+
+    /**
+     * Escribe una propiedad guardada en una ranura {@code int} y notifica el cambio,
+     * como {@link LeafComponent#setIntProperty(PropertyKey, int)}: el
+     * {@link java.beans.PropertyChangeEvent} solo se emite si hay algún
+     * {@link PropertyChangeListener} interesado en la propiedad.
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    protected final boolean setIntProperty(PropertyKey<Integer> key, int value) {
+        return support.setInt(key, value);
+    }
+
+    /**
+     * Lee una propiedad guardada en una ranura {@code long}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0} si nunca se ha escrito.
+     */
+    protected final long getLongProperty(PropertyKey<Long> key) {
+        return support.getLong(key);
+    }
+
+    /**
+     * Escribe una propiedad guardada en una ranura {@code long} y notifica el cambio,
+     * como {@link #setIntProperty(PropertyKey, int)}.
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    protected final boolean setLongProperty(PropertyKey<Long> key, long value) {
+        return support.setLong(key, value);
+    }
+
+    /**
+     * Lee una propiedad guardada en una ranura {@code double}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0.0} si nunca se ha escrito.
+     */
+    protected final double getDoubleProperty(PropertyKey<Double> key) {
+        return support.getDouble(key);
+    }
+
+    /**
+     * Escribe una propiedad guardada en una ranura {@code double} y notifica el
+     * cambio, como {@link #setIntProperty(PropertyKey, int)}.
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    protected final boolean setDoubleProperty(PropertyKey<Double> key, double value) {
+        return support.setDouble(key, value);
+    }
+}
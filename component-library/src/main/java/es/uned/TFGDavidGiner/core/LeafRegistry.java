@@ -0,0 +1,254 @@
+package es.uned.TFGDavidGiner.core;
+
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.event.ContainerAdapter;
+import java.awt.event.ContainerEvent;
+import java.awt.event.ContainerListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Registro de los componentes hoja descendientes de un {@link BaseContainer}.
+ * <p>
+ * El recorrido de la jerarquía se hace una sola vez y se guarda hasta que la
+ * jerarquía cambia: el registro escucha los {@link ContainerEvent}s del contenedor
+ * y de sus contenedores intermedios, y cualquier alta o baja por debajo de él lo
+ * invalida, junto con los registros de los {@link BaseContainer} que lo contienen.
+ * Los registros de los contenedores anidados se reutilizan al construir el del
+ * contenedor exterior.
+ * <p>
+ * Sobre el recorrido guardado, el registro ofrece búsquedas por tipo, por
+ * propiedad compartida y por identificador ({@link LeafComponent#getComponentId()}),
+ * que se indexan la primera vez que se usan, y un recorrido
+ * ({@link #forEach(Consumer)}, {@link #stream()}) que no reserva memoria mientras
+ * la jerarquía no cambia.
+ * <p>
+ * Esta clase no es segura para hilos: debe usarse desde el Event Dispatch Thread.
+ *
+ * @author david
+ * @version 1.0
+ * @see BaseContainer#getLeafRegistry()
+ */
+public final class LeafRegistry {
+
+    /**
+     * Listener, compartido por todos los registros, que invalida los registros de
+     * los {@link BaseContainer} que contienen al contenedor que ha cambiado.
+     */
+    private static final ContainerListener INVALIDATOR = new ContainerAdapter() {
+        @Override
+        public void componentAdded(ContainerEvent e) {
+            invalidateFrom(e.getContainer());
+        }
+
+        @Override
+        public void componentRemoved(ContainerEvent e) {
+            invalidateFrom(e.getContainer());
+        }
+    };
+
+    /**
+     * El contenedor propietario del registro.
+     */
+    private final BaseContainer owner;
+
+    /**
+     * Los componentes hoja, en el orden de {@link BaseContainer#getComponentsHoja()},
+     * o {@code null} si el registro está invalidado.
+     */
+    private List<Component> leaves;
+
+    /**
+     * Índice por tipo, construido a demanda.
+     */
+    private final Map<Class<?>, List<?>> byType = new HashMap<>();
+
+    /**
+     * Índice por propiedad compartida, o {@code null} si aún no se ha construido.
+     */
+    private Map<String, List<Component>> byProperty;
+
+    /**
+     * Índice por identificador, o {@code null} si aún no se ha construido.
+     */
+    private Map<String, Component> byId;
+
+    /**
+     * Crea el registro de un contenedor.
+     *
+     * @param owner El contenedor propietario.
+     */
+    LeafRegistry(BaseContainer owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Devuelve los componentes hoja descendientes del contenedor.
+     *
+     * @return Una {@link List} inmutable con los componentes hoja.
+     */
+    public List<Component> getLeaves() {
+        if (leaves == null) {
+            List<Component> collected = new ArrayList<>();
+            collect(owner, collected);
+            leaves = Collections.unmodifiableList(collected);
+        }
+        return leaves;
+    }
+
+    /**
+     * Devuelve los componentes hoja de un tipo.
+     *
+     * @param <T> El tipo buscado.
+     * @param type La clase o interfaz buscada.
+     * @return Una {@link List} inmutable con los componentes hoja de ese tipo.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getLeaves(Class<T> type) {
+        List<Component> all = getLeaves();
+        return (List<T>) byType.computeIfAbsent(type, t -> {
+            List<Object> matching = new ArrayList<>();
+            for (Component c : all) {
+                if (t.isInstance(c)) {
+                    matching.add(c);
+                }
+            }
+            return Collections.unmodifiableList(matching);
+        });
+    }
+
+    /**
+     * Devuelve los componentes hoja que declaran una propiedad compartida.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return Una {@link List} inmutable con los componentes, vacía si ninguno la declara.
+     */
+    public List<Component> getLeavesWithProperty(String propertyName) {
+        List<Component> all = getLeaves();
+        if (byProperty == null) {
+            Map<String, List<Component>> index = new HashMap<>();
+            for (Component c : all) {
+                if (c instanceof IShareableProperties) {
+                    for (String name : ((IShareableProperties) c).getSharedProperies()) {
+                        index.computeIfAbsent(name, k -> new ArrayList<>()).add(c);
+                    }
+                }
+            }
+            index.replaceAll((k, v) -> Collections.unmodifiableList(v));
+            byProperty = index;
+        }
+        return byProperty.getOrDefault(propertyName, Collections.emptyList());
+    }
+
+    /**
+     * Busca un componente hoja por su identificador.
+     *
+     * @param componentId El identificador ({@link LeafComponent#getComponentId()}).
+     * @return El componente, o {@code null} si no hay ninguno con ese identificador.
+     */
+    public Component getLeaf(String componentId) {
+        List<Component> all = getLeaves();
+        if (byId == null) {
+            Map<String, Component> index = new HashMap<>();
+            for (Component c : all) {
+                if (c instanceof LeafComponent) {
+                    index.put(((LeafComponent) c).getComponentId(), c);
+                }
+            }
+            byId = index;
+        }
+        return byId.get(componentId);
+    }
+
+    /**
+     * Aplica una acción a cada componente hoja, en orden.
+     *
+     * @param action La acción.
+     */
+    public void forEach(Consumer<? super Component> action) {
+        List<Component> all = getLeaves();
+        for (int i = 0, n = all.size(); i < n; i++) {
+            action.accept(all.get(i));
+        }
+    }
+
+    /**
+     * Devuelve un {@link Stream} perezoso sobre los componentes hoja.
+     *
+     * @return El stream de componentes hoja.
+     */
+    public Stream<Component> stream() {
+        return getLeaves().stream();
+    }
+
+    /**
+     * Devuelve el número de componentes hoja.
+     *
+     * @return El número de componentes hoja.
+     */
+    public int size() {
+        return getLeaves().size();
+    }
+
+    /**
+     * Indica si el recorrido está guardado.
+     *
+     * @return {@code true} si el registro no está invalidado.
+     */
+    public boolean isValid() {
+        return leaves != null;
+    }
+
+    /**
+     * Descarta el recorrido guardado y los índices.
+     */
+    void invalidate() {
+        leaves = null;
+        byType.clear();
+        byProperty = null;
+        byId = null;
+    }
+
+    /**
+     * Recorre un contenedor acumulando sus componentes hoja y empieza a escuchar
+     * sus cambios. Los {@link BaseContainer} anidados aportan su propio registro.
+     *
+     * @param cp El contenedor.
+     * @param collected La lista en la que se acumulan los componentes hoja.
+     */
+    private static void collect(Container cp, List<Component> collected) {
+        // Se retira antes de añadirlo para que el registro sea idempotente.
+        cp.removeContainerListener(INVALIDATOR);
+        cp.addContainerListener(INVALIDATOR);
+        for (Component c : cp.getComponents()) {
+            if (c instanceof BaseComponent && ((BaseComponent) c).isLeaf()) {
+                collected.add(c);
+            } else if (c instanceof BaseContainer) {
+                collected.addAll(((BaseContainer) c).getLeafRegistry().getLeaves());
+            } else if (c instanceof Container) {
+                collect((Container) c, collected);
+            }
+        }
+    }
+
+    /**
+     * Invalida los registros de los {@link BaseContainer} que contienen a un
+     * contenedor, incluido él mismo.
+     *
+     * @param changed El contenedor cuya lista de hijos ha cambiado.
+     */
+    private static void invalidateFrom(Container changed) {
+        for (Container c = changed; c != null; c = c.getParent()) {
+            if (c instanceof BaseContainer) {
+                ((BaseContainer) c).invalidateLeafRegistry();
+            }
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package es.uned.TFGDavidGiner.core;
+
+import es.uned.TFGDavidGiner.core.binding.BindingMetadata;
+import es.uned.TFGDavidGiner.core.binding.PrimitivePropertyStore;
+import es.uned.TFGDavidGiner.core.binding.PropertyAccessor;
+import es.uned.TFGDavidGiner.core.binding.PropertyKey;
+import es.uned.TFGDavidGiner.core.interfaces.IPrimitivePropertyListener;
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Implementación común de {@link IShareableProperties} para {@link LeafComponent} y
+ * {@link LeafModel}: la intersección y los tipos de las propiedades compartidas, los
+ * lotes de cambios, los ajustes y las propiedades guardadas en ranuras primitivas.
+ * <p>
+ * Las dos clases solo se diferencian en cómo notifican los cambios (un componente
+ * Swing usa su propio soporte de listeners y un modelo un
+ * {@link java.beans.PropertyChangeSupport}), así que cada una se lo indica a esta
+ * clase al crearla y delega en ella el resto.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class SharedPropertiesSupport {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SharedPropertiesSupport.class.getName());
+
+    /**
+     * Destino de las notificaciones de cambio del propietario.
+     */
+    @FunctionalInterface
+    interface PropertyChangeNotifier {
+
+        /**
+         * Notifica el cambio de una propiedad a los listeners del propietario.
+         *
+         * @param propertyName El nombre de la propiedad o del evento.
+         * @param oldValue El valor anterior.
+         * @param newValue El nuevo valor.
+         */
+        void firePropertyChange(String propertyName, Object oldValue, Object newValue);
+    }
+
+    /**
+     * El componente o modelo al que da soporte.
+     */
+    private final IShareableProperties owner;
+
+    /**
+     * Indica si hay algún listener interesado en una propiedad.
+     */
+    private final Predicate<String> hasListeners;
+
+    /**
+     * Notifica los cambios a los listeners del propietario.
+     */
+    private final PropertyChangeNotifier notifier;
+
+    /**
+     * Almacén de las propiedades que el propietario guarda en ranuras primitivas.
+     */
+    private final PrimitivePropertyStore primitiveProperties;
+
+    /**
+     * Profundidad de anidamiento de los lotes de cambios en curso.
+     */
+    private int updateDepth;
+
+    /**
+     * Valores de las propiedades compartidas al iniciar el lote más externo.
+     */
+    private Map<String, Object> updateSnapshot;
+
+    /**
+     * Indica si el propietario está en un ajuste.
+     */
+    private boolean adjusting;
+
+    /**
+     * Crea el soporte de un componente o modelo.
+     *
+     * @param owner El componente o modelo.
+     * @param hasListeners Indica si hay algún listener interesado en una propiedad.
+     * @param notifier Notifica los cambios a los listeners del propietario.
+     */
+    SharedPropertiesSupport(IShareableProperties owner, Predicate<String> hasListeners, PropertyChangeNotifier notifier) {
+        this.owner = owner;
+        this.hasListeners = hasListeners;
+        this.notifier = notifier;
+        this.primitiveProperties = new PrimitivePropertyStore(owner);
+    }
+
+    /**
+     * Calcula la intersección entre las propiedades compartidas del propietario y un
+     * conjunto de propiedades dado.
+     *
+     * @param set1 Un conjunto de nombres de propiedades a comparar.
+     * @return Un nuevo {@link Set} con las propiedades presentes en ambos conjuntos.
+     */
+    Set<String> propertiesInCommon(Set<String> set1) {
+        // Obtiene las propiedades compartidas del propietario.
+        Set<String> set2 = owner.getSharedProperies();
+
+        // Crea una copia del primer conjunto para no modificar el original.
+        Set<String> interseccion = new HashSet<>(set1);
+
+        // Mantiene en 'interseccion' solo los elementos que también están en 'set2'.
+        interseccion.retainAll(set2);
+
+        return interseccion;
+    }
+
+    /**
+     * Obtiene los tipos de un conjunto de propiedades del propietario a partir de
+     * los metadatos de enlace de su clase ({@link BindingMetadata}).
+     *
+     * @param nombresDePropiedades Los nombres de las propiedades.
+     * @return Un {@link Map} con el tipo de cada propiedad existente.
+     */
+    Map<String, Class<?>> getPropertiesType(Set<String> nombresDePropiedades) {
+        Map<String, Class<?>> tiposDePropiedades = new HashMap<>();
+        BindingMetadata metadata = BindingMetadata.forClass(owner.getClass());
+        for (String nombrePropiedad : nombresDePropiedades) {
+            Class<?> tipo = metadata.getType(nombrePropiedad);
+            if (tipo != null) {
+                tiposDePropiedades.put(nombrePropiedad, tipo);
+            } else {
+                LOGGER.log(Level.SEVERE, "La propiedad ''{0}'' no existe en la clase {1}",
+                        new Object[]{nombrePropiedad, owner.getClass().getSimpleName()});
+            }
+        }
+        return tiposDePropiedades;
+    }
+
+    /**
+     * Inicia un lote de cambios. Al iniciar el lote más externo se guarda el valor
+     * de cada propiedad compartida legible.
+     */
+    void beginUpdate() {
+        if (updateDepth++ == 0) {
+            updateSnapshot = readSharedProperties();
+        }
+    }
+
+    /**
+     * Confirma un lote de cambios. Al cerrar el lote más externo compara los valores
+     * actuales con los guardados en {@link #beginUpdate()} y, si alguno ha cambiado,
+     * emite un único evento {@link IShareableProperties#BATCH_PROPERTY}.
+     *
+     * @throws IllegalStateException si no hay ningún lote en curso.
+     */
+    void commitUpdate() {
+        if (updateDepth == 0) {
+            throw new IllegalStateException("commitUpdate() sin beginUpdate() previo.");
+        }
+        if (--updateDepth > 0) {
+            return;
+        }
+        Map<String, Object> before = updateSnapshot;
+        updateSnapshot = null;
+        Map<String, Object> oldValues = new LinkedHashMap<>();
+        Map<String, Object> newValues = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> current : readSharedProperties().entrySet()) {
+            Object oldValue = before.get(current.getKey());
+            if (!Objects.equals(oldValue, current.getValue())) {
+                oldValues.put(current.getKey(), oldValue);
+                newValues.put(current.getKey(), current.getValue());
+            }
+        }
+        if (!newValues.isEmpty()) {
+            notifier.firePropertyChange(IShareableProperties.BATCH_PROPERTY,
+                    Collections.unmodifiableMap(oldValues), Collections.unmodifiableMap(newValues));
+        }
+    }
+
+    /**
+     * Indica si hay un lote de cambios en curso.
+     *
+     * @return {@code true} entre {@link #beginUpdate()} y el {@link #commitUpdate()}
+     * correspondiente.
+     */
+    boolean isUpdating() {
+        return updateDepth > 0;
+    }
+
+    /**
+     * Indica si el propietario está en un ajuste.
+     *
+     * @return {@code true} mientras dura el ajuste.
+     */
+    boolean isAdjusting() {
+        return adjusting;
+    }
+
+    /**
+     * Marca el inicio o el fin de un ajuste y, si cambia, lo notifica con un evento
+     * {@link IShareableProperties#ADJUSTING_PROPERTY}.
+     *
+     * @param adjusting {@code true} mientras dura el ajuste.
+     */
+    void setAdjusting(boolean adjusting) {
+        if (this.adjusting != adjusting) {
+            this.adjusting = adjusting;
+            notifier.firePropertyChange(IShareableProperties.ADJUSTING_PROPERTY, !adjusting, adjusting);
+        }
+    }
+
+    /**
+     * Lee el valor actual de todas las propiedades compartidas legibles.
+     *
+     * @return Un {@link Map} con el valor de cada propiedad.
+     */
+    private Map<String, Object> readSharedProperties() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        BindingMetadata metadata = BindingMetadata.forClass(owner.getClass());
+        for (String nombrePropiedad : owner.getSharedProperies()) {
+            PropertyAccessor accessor = metadata.getAccessor(nombrePropiedad);
+            if (accessor != null && accessor.isReadable()) {
+                values.put(nombrePropiedad, accessor.get(owner));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Registra un listener de cambios sin envolver de una propiedad primitiva, si la
+     * propiedad se guarda en una ranura y ya tiene un valor.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param listener El listener.
+     * @return {@code true} si el listener se ha registrado.
+     */
+    boolean addPrimitivePropertyListener(String propertyName, IPrimitivePropertyListener listener) {
+        int id = PropertyKey.idOf(propertyName);
+        if (!primitiveProperties.isDefined(id)) {
+            return false;
+        }
+        primitiveProperties.addListener(id, listener);
+        return true;
+    }
+
+    /**
+     * Elimina un listener registrado con
+     * {@link #addPrimitivePropertyListener(String, IPrimitivePropertyListener)}.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param listener El listener.
+     */
+    void removePrimitivePropertyListener(String propertyName, IPrimitivePropertyListener listener) {
+        primitiveProperties.removeListener(PropertyKey.idOf(propertyName), listener);
+    }
+
+    /**
+     * Lee una propiedad guardada en una ranura {@code int}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0} si nunca se ha escrito.
+     */
+    int getInt(PropertyKey<Integer> key) {
+        return primitiveProperties.getInt(key);
+    }
+
+    /**
+     * Escribe una propiedad guardada en una ranura {@code int}. El
+     * {@link java.beans.PropertyChangeEvent} solo se emite si hay algún listener
+     * interesado en la propiedad.
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    boolean setInt(PropertyKey<Integer> key, int value) {
+        int oldValue = primitiveProperties.getInt(key);
+        if (!primitiveProperties.setInt(key, value)) {
+            return false;
+        }
+        if (hasListeners.test(key.getName())) {
+            notifier.firePropertyChange(key.getName(), oldValue, value);
+        }
+        return true;
+    }
+
+    /**
+     * Lee una propiedad guardada en una ranura {@code long}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0} si nunca se ha escrito.
+     */
+    long getLong(PropertyKey<Long> key) {
+        return primitiveProperties.getLong(key);
+    }
+
+    /**
+     * Escribe una propiedad guardada en una ranura {@code long}, como
+     * {@link #setInt(PropertyKey, int)}.
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    boolean setLong(PropertyKey<Long> key, long value) {
+        long oldValue = primitiveProperties.getLong(key);
+        if (!primitiveProperties.setLong(key, value)) {
+            return false;
+        }
+        if (hasListeners.test(key.getName())) {
+            notifier.firePropertyChange(key.getName(), oldValue, value);
+        }
+        return true;
+    }
+
+    /**
+     * Lee una propiedad guardada en una ranura {@code double}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0.0} si nunca se ha escrito.
+     */
+    double getDouble(PropertyKey<Double> key) {
+        return primitiveProperties.getDouble(key);
+    }
+
+    /**
+     * Escribe una propiedad guardada en una ranura {@code double}, como
+     * {@link #setInt(PropertyKey, int)}.
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    boolean setDouble(PropertyKey<Double> key, double value) {
+        double oldValue = primitiveProperties.getDouble(key);
+        if (!primitiveProperties.setDouble(key, value)) {
+            return false;
+        }
+        if (hasListeners.test(key.getName())) {
+            notifier.firePropertyChange(key.getName(), oldValue, value);
+        }
+        return true;
+    }
+}
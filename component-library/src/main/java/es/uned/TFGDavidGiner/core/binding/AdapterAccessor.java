@@ -0,0 +1,74 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IBindingAdapter;
+
+/**
+ * Implementación de {@link PropertyAccessor} que delega en un adaptador generado
+ * en tiempo de compilación ({@link IBindingAdapter}).
+ * <p>
+ * El índice de la propiedad dentro del adaptador se resuelve una sola vez, por lo que
+ * cada lectura o escritura se reduce a un {@code switch} sobre un entero y a una
+ * llamada directa al getter o al setter del componente.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class AdapterAccessor extends PropertyAccessor {
+
+    /**
+     * El adaptador generado para la clase del componente.
+     */
+    private final IBindingAdapter<Object> adapter;
+
+    /**
+     * El índice de la propiedad dentro del adaptador.
+     */
+    private final int index;
+
+    /**
+     * Crea un accesor sobre una propiedad de un adaptador generado.
+     *
+     * @param adapter El adaptador generado.
+     * @param index El índice de la propiedad dentro del adaptador.
+     */
+    AdapterAccessor(IBindingAdapter<Object> adapter, int index) {
+        super(adapter.getPropertyName(index), adapter.getPropertyType(index));
+        this.adapter = adapter;
+        this.index = index;
+    }
+
+    @Override
+    public boolean isReadable() {
+        return true;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return true;
+    }
+
+    @Override
+    public Object get(Object target) {
+        return adapter.getProperty(target, index);
+    }
+
+    @Override
+    public void set(Object target, Object value) {
+        adapter.setProperty(target, index, value);
+    }
+
+    @Override
+    public void setInt(Object target, int value) {
+        adapter.setIntProperty(target, index, value);
+    }
+
+    @Override
+    public void setLong(Object target, long value) {
+        adapter.setLongProperty(target, index, value);
+    }
+
+    @Override
+    public void setDouble(Object target, double value) {
+        adapter.setDoubleProperty(target, index, value);
+    }
+}
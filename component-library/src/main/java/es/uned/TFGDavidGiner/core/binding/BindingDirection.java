@@ -0,0 +1,49 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+/**
+ * Sentido en el que una propiedad compartida participa en la sincronización.
+ * <p>
+ * Se declara en {@link SharedProperty#direction()}. Un componente que solo muestra
+ * datos (por ejemplo, un gráfico) declara sus propiedades como
+ * {@link #SUBSCRIBE}, de modo que el motor de enlace no registra listeners sobre él;
+ * un componente que solo produce datos las declara como {@link #PUBLISH} y no
+ * recibe los cambios del resto.
+ *
+ * @author david
+ * @version 1.0
+ */
+public enum BindingDirection {
+
+    /**
+     * El componente publica los cambios de la propiedad, pero no recibe los de otros.
+     */
+    PUBLISH,
+
+    /**
+     * El componente recibe los cambios de otros, pero no publica los suyos.
+     */
+    SUBSCRIBE,
+
+    /**
+     * El componente publica y recibe los cambios de la propiedad.
+     */
+    BIDIRECTIONAL;
+
+    /**
+     * Indica si los cambios de la propiedad se publican al resto de componentes.
+     *
+     * @return {@code true} para {@link #PUBLISH} y {@link #BIDIRECTIONAL}.
+     */
+    public boolean canPublish() {
+        return this != SUBSCRIBE;
+    }
+
+    /**
+     * Indica si la propiedad recibe los cambios del resto de componentes.
+     *
+     * @return {@code true} para {@link #SUBSCRIBE} y {@link #BIDIRECTIONAL}.
+     */
+    public boolean canSubscribe() {
+        return this != PUBLISH;
+    }
+}
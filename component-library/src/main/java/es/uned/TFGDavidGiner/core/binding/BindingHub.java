@@ -0,0 +1,959 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.LeafModel;
+import es.uned.TFGDavidGiner.core.interfaces.IPrimitivePropertyListener;
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+import java.awt.Component;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Concentrador (hub) de enlace de datos de una jerarquía de contenedores, organizado
+ * por temas.
+ * <p>
+ * Cada propiedad compartida es un tema ({@code Topic}) identificado por su nombre.
+ * Cuando un componente hoja se registra con {@link #bind(Component)}, se suscribe a
+ * los temas de sus propiedades compartidas con un único listener por propiedad,
+ * registrado con {@link Component#addPropertyChangeListener(String, PropertyChangeListener)}
+ * (salvo en las propiedades que el componente solo recibe, ver {@link BindingDirection}).
+ * Al cambiar una propiedad, el valor se entrega solo a los suscriptores de ese tema
+ * cuyo tipo coincide con el del origen o al que se puede convertir con un
+ * convertidor de {@link TypeConverterRegistry}, resuelto una vez por enlace.
+ * <p>
+ * De este modo, tanto el coste de montar los enlaces como el de cada evento crecen
+ * linealmente con el número de componentes hoja, en lugar de hacerlo con el número
+ * de parejas de componentes.
+ * <p>
+ * Opcionalmente ({@link #setCoalescing(boolean)}), los cambios se acumulan por
+ * pareja (origen, propiedad) y se propagan una sola vez por ciclo del Event
+ * Dispatch Thread, conservando solo el último valor. Así, una ráfaga de eventos de
+ * un deslizador durante un arrastre cuesta una única pasada de propagación.
+ * <p>
+ * Cada propagación que parte de un cambio externo abre una época
+ * ({@link #getEpoch()}) y registra su componente de origen
+ * ({@link #getPropagationOrigin()}). Durante la época, cada pareja (componente,
+ * propiedad) recibe el valor como mucho una vez: los ecos que provocan los setters
+ * de los destinos no vuelven al origen ni a los destinos ya actualizados, por lo
+ * que cualquier grafo de enlaces termina aunque un setter normalice el valor.
+ * <p>
+ * Los cambios que un componente agrupa entre
+ * {@link IShareableProperties#beginUpdate()} y
+ * {@link IShareableProperties#commitUpdate()} llegan como un único evento
+ * {@link IShareableProperties#BATCH_PROPERTY}. El hub los propaga en una sola
+ * época y entrega a cada componente de destino todas sus propiedades dentro de su
+ * propio lote, de modo que cada destino se actualiza una vez y nunca queda a medio
+ * actualizar.
+ * <p>
+ * El hub también publica las propiedades derivadas ({@link DerivedProperty}) que se
+ * registran con {@link #addDerivedProperty(DerivedProperty)}: al terminar cada
+ * propagación, las propiedades derivadas cuyas entradas han cambiado se recalculan
+ * una sola vez y, si su valor cambia, se publican en la misma época.
+ * <p>
+ * Las propiedades {@code int}, {@code long} y {@code double} que el componente
+ * guarda en ranuras primitivas ({@link PrimitivePropertyStore}) se escuchan con un
+ * {@link IPrimitivePropertyListener} en lugar de un {@link PropertyChangeListener}.
+ * Sus cambios se propagan sin envolver el valor hasta los suscriptores del mismo
+ * tipo primitivo, que se escriben con {@link PropertyAccessor#setInt(Object, int)}
+ * y equivalentes: sin agrupación ni propiedades derivadas que dependan de ellas,
+ * propagar uno de estos cambios no reserva memoria. El valor solo se envuelve para
+ * los suscriptores de otro tipo.
+ * <p>
+ * Por defecto ({@link #setDeferHidden(boolean)}), los componentes que no están a la
+ * vista (porque ellos o alguno de sus contenedores están ocultos, como los nodos
+ * no seleccionados de un árbol o las pestañas no activas) no se actualizan: el hub
+ * guarda el último valor de cada propiedad y se lo entrega, en un único lote, cuando
+ * el componente vuelve a mostrarse o se pide con {@link #refresh(Component)}. Así,
+ * un formulario con muchas vistas solo paga la actualización de la que está en
+ * pantalla.
+ * <p>
+ * Cada propiedad tiene una política de propagación ({@link PropagationPolicy}),
+ * declarada por el componente en {@link SharedProperty#policy()} y que se puede
+ * sustituir para todo el hub con {@link #setPolicy(String, PropagationPolicy)}: los
+ * cambios se propagan de inmediato, solo al terminar un ajuste
+ * ({@link IShareableProperties#isAdjusting()}), tras un intervalo sin cambios o
+ * como mucho una vez por intervalo. Mientras tanto, el hub retiene el último valor
+ * de cada origen; {@link #releaseHeld()} los propaga de inmediato.
+ * <p>
+ * Con un {@link UpdateScheduler} ({@link #setScheduler(UpdateScheduler)}), la
+ * propagación agrupada se ejecuta una vez por fotograma en el carril de usuario
+ * ({@link UpdatePriority#USER}) y los valores recibidos con
+ * {@link #post(String, Object)}, en el de segundo plano.
+ * <p>
+ * Las propiedades de tipo {@link SharedList} se propagan por modificaciones
+ * ({@link ListChange}): el hub escucha la lista del componente de origen y aplica
+ * cada modificación a las listas de los demás suscriptores, con un coste
+ * proporcional a su tamaño, en lugar de copiar la lista completa.
+ * <p>
+ * Fuera de Swing, los cambios de una propiedad se observan con un
+ * {@link PropertyPublisher}, que los entrega en otro hilo.
+ * <p>
+ * Además de componentes, el hub enlaza modelos de componente hoja
+ * ({@link LeafModel}, ver {@link #bind(LeafModel)}): el estado y la validación de
+ * un formulario sin ninguna jerarquía Swing. Un modelo se trata como un componente
+ * que está siempre a la vista. Un hub que solo enlaza modelos, sin agrupación ni
+ * políticas temporizadas, no usa el Event Dispatch Thread y puede usarse desde
+ * cualquier hilo, siempre que sea siempre el mismo.
+ * <p>
+ * El hub coordina la propagación y delega en colaboradores del paquete:
+ * <ul>
+ * <li>{@code Topic} y {@code Subscriber}: los temas y las suscripciones de cada
+ * componente, que reciben y escriben los valores.</li>
+ * <li>{@code LeafBinding}: el enlace de cada componente registrado.</li>
+ * <li>{@code PropagationEpoch}: el número, el anidamiento y el origen de la época
+ * en curso.</li>
+ * <li>{@code ChangeCoalescer}: los cambios pendientes en modo de agrupación.</li>
+ * <li>{@code DerivedPropertyRegistry}: las propiedades derivadas y los
+ * observadores.</li>
+ * <li>{@code DeferredDeliveries}: los valores aplazados de los componentes
+ * ocultos.</li>
+ * <li>{@code PolicyGate}: las políticas de propagación y los valores que
+ * retienen.</li>
+ * <li>{@code ListChangeReplay}: la aplicación de las modificaciones de una
+ * {@link SharedList} a las listas de los demás suscriptores.</li>
+ * </ul>
+ * <p>
+ * Esta clase no es segura para hilos: debe usarse desde el Event Dispatch Thread.
+ * La única excepción es {@link #post(String, Object)}, que admite valores desde
+ * cualquier hilo y los publica en el EDT a través de un {@link PropertyMailbox}.
+ *
+ * @author david
+ * @version 1.0
+ * @see BindingMetadata
+ */
+public final class BindingHub {
+
+    /**
+     * Temas indexados por nombre de propiedad.
+     */
+    private final Map<String, Topic> topics = new HashMap<>();
+
+    /**
+     * Enlace de cada componente o modelo registrado, con sus suscripciones.
+     */
+    private final Map<IShareableProperties, LeafBinding> bindings = new IdentityHashMap<>();
+
+    /**
+     * Buzón de los valores recibidos desde otros hilos con {@link #post(String, Object)}.
+     */
+    private final PropertyMailbox mailbox = new PropertyMailbox(this::publish);
+
+    /**
+     * Las épocas de propagación.
+     */
+    private final PropagationEpoch epoch = new PropagationEpoch();
+
+    /**
+     * La cola de cambios pendientes en modo de agrupación.
+     */
+    private final ChangeCoalescer coalescer = new ChangeCoalescer(this::propagate);
+
+    /**
+     * Las propiedades derivadas y los observadores.
+     */
+    private final DerivedPropertyRegistry derived = new DerivedPropertyRegistry(topics, epoch);
+
+    /**
+     * Los valores aplazados de los componentes ocultos.
+     */
+    private final DeferredDeliveries deferrals = new DeferredDeliveries();
+
+    /**
+     * Las políticas de propagación y los valores que retienen.
+     */
+    private final PolicyGate policies = new PolicyGate(this::propertyChanged);
+
+    /**
+     * Crea un hub vacío.
+     */
+    public BindingHub() {
+    }
+
+    /**
+     * Registra un componente hoja en el hub y lo suscribe a los temas de sus
+     * propiedades compartidas.
+     * <p>
+     * Las propiedades que no tienen un accesor resoluble se ignoran. Si el componente
+     * ya estaba registrado, la llamada no tiene efecto.
+     *
+     * @param leaf El componente hoja; debe implementar {@link IShareableProperties}.
+     * @return {@code true} si el componente se ha registrado, {@code false} si ya lo
+     * estaba o no comparte propiedades.
+     */
+    public boolean bind(Component leaf) {
+        return leaf instanceof IShareableProperties && bindLeaf((IShareableProperties) leaf);
+    }
+
+    /**
+     * Registra un modelo de componente hoja en el hub y lo suscribe a los temas de
+     * sus propiedades compartidas, igual que {@link #bind(Component)}. Como no tiene
+     * vista, el modelo recibe siempre los valores de inmediato.
+     *
+     * @param model El modelo.
+     * @return {@code true} si el modelo se ha registrado, {@code false} si ya lo
+     * estaba o no comparte propiedades.
+     */
+    public boolean bind(LeafModel model) {
+        return model != null && bindLeaf(model);
+    }
+
+    /**
+     * Registra un componente o un modelo en el hub.
+     *
+     * @param leaf El componente o el modelo.
+     * @return {@code true} si se ha registrado.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean bindLeaf(IShareableProperties leaf) {
+        if (bindings.containsKey(leaf)) {
+            return false;
+        }
+        BindingMetadata metadata = BindingMetadata.forClass(leaf.getClass());
+        LeafBinding binding = new LeafBinding(this, leaf);
+        boolean publishes = false;
+        for (String propertyName : leaf.getSharedProperies()) {
+            PropertyAccessor accessor = metadata.getAccessor(propertyName);
+            if (accessor == null) {
+                continue;
+            }
+            BindingDirection direction = metadata.getDirection(propertyName);
+            Topic topic = topics.computeIfAbsent(propertyName, Topic::new);
+            Subscriber subscriber = new Subscriber(binding, topic, accessor, direction);
+            subscriber.policy = policies.policyFor(propertyName, leaf);
+            if (SharedList.class.isAssignableFrom(accessor.getType()) && accessor.isReadable()) {
+                subscriber.list = (SharedList<Object>) accessor.get(leaf);
+            }
+            topic.add(subscriber);
+            // Solo se escucha al componente si publica los cambios de la propiedad; si
+            // la guarda en una ranura primitiva, se escucha sin envolver los valores.
+            if (direction.canPublish()) {
+                subscriber.primitive = leaf.addPrimitivePropertyListener(propertyName, subscriber);
+                if (!subscriber.primitive) {
+                    leaf.addPropertyChangeListener(propertyName, subscriber);
+                }
+                if (subscriber.list != null) {
+                    subscriber.list.addListChangeListener(subscriber);
+                }
+                publishes = true;
+            }
+            binding.subscribers.put(propertyName, subscriber);
+        }
+        if (binding.subscribers.isEmpty()) {
+            return false;
+        }
+        if (publishes) {
+            leaf.addPropertyChangeListener(IShareableProperties.BATCH_PROPERTY, binding);
+            leaf.addPropertyChangeListener(IShareableProperties.ADJUSTING_PROPERTY, binding);
+        }
+        if (leaf instanceof Component) {
+            ((Component) leaf).addHierarchyListener(binding);
+        }
+        bindings.put(leaf, binding);
+        for (Subscriber subscriber : binding.subscribers.values()) {
+            // Un consumidor nuevo de una propiedad derivada recibe su valor actual.
+            derived.subscribed(subscriber);
+        }
+        return true;
+    }
+
+    /**
+     * Da de baja un componente hoja: retira sus listeners y lo elimina de los temas.
+     *
+     * @param leaf El componente hoja.
+     * @return {@code true} si el componente estaba registrado.
+     */
+    public boolean unbind(Component leaf) {
+        return leaf instanceof IShareableProperties && unbindLeaf((IShareableProperties) leaf);
+    }
+
+    /**
+     * Da de baja un modelo registrado con {@link #bind(LeafModel)}.
+     *
+     * @param model El modelo.
+     * @return {@code true} si el modelo estaba registrado.
+     */
+    public boolean unbind(LeafModel model) {
+        return model != null && unbindLeaf(model);
+    }
+
+    /**
+     * Da de baja un componente o un modelo.
+     *
+     * @param leaf El componente o el modelo.
+     * @return {@code true} si estaba registrado.
+     */
+    private boolean unbindLeaf(IShareableProperties leaf) {
+        LeafBinding binding = bindings.remove(leaf);
+        if (binding == null) {
+            return false;
+        }
+        leaf.removePropertyChangeListener(IShareableProperties.BATCH_PROPERTY, binding);
+        leaf.removePropertyChangeListener(IShareableProperties.ADJUSTING_PROPERTY, binding);
+        if (leaf instanceof Component) {
+            ((Component) leaf).removeHierarchyListener(binding);
+        }
+        deferrals.forget(binding);
+        for (Subscriber subscriber : binding.subscribers.values()) {
+            coalescer.discard(subscriber);
+            policies.discard(subscriber);
+            if (subscriber.primitive) {
+                leaf.removePrimitivePropertyListener(subscriber.topic.name, subscriber);
+            } else if (subscriber.direction.canPublish()) {
+                leaf.removePropertyChangeListener(subscriber.topic.name, subscriber);
+            }
+            if (subscriber.list != null) {
+                subscriber.list.removeListChangeListener(subscriber);
+            }
+            subscriber.topic.remove(subscriber);
+            if (subscriber.topic.isEmpty()) {
+                topics.remove(subscriber.topic.name);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registra una propiedad derivada. Si ya hay componentes suscritos a ella,
+     * reciben su valor inicial.
+     *
+     * @param property La propiedad derivada.
+     * @throws IllegalArgumentException si ya hay otra propiedad derivada con el mismo
+     * nombre o si la propiedad depende, directa o indirectamente, de sí misma.
+     */
+    public void addDerivedProperty(DerivedProperty<?> property) {
+        derived.add(property);
+    }
+
+    /**
+     * Elimina una propiedad derivada.
+     *
+     * @param name El nombre de la propiedad derivada.
+     * @return {@code true} si estaba registrada.
+     */
+    public boolean removeDerivedProperty(String name) {
+        return derived.remove(name);
+    }
+
+    /**
+     * Registra un observador que recibe cada valor nuevo de una propiedad, en la
+     * misma propagación que los componentes suscritos. El observador no debe
+     * bloquear ni modificar componentes.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param observer El observador.
+     */
+    void addObserver(String propertyName, Consumer<Object> observer) {
+        derived.addObserver(propertyName, observer);
+    }
+
+    /**
+     * Elimina un observador registrado con {@link #addObserver(String, Consumer)}.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param observer El observador.
+     */
+    void removeObserver(String propertyName, Consumer<Object> observer) {
+        derived.removeObserver(propertyName, observer);
+    }
+
+    /**
+     * Devuelve el valor actual de una propiedad: el de la propiedad derivada con ese
+     * nombre o, si no la hay, el del primer componente registrado que la puede leer
+     * (o el valor aplazado, si está oculto y tiene uno pendiente). Debe llamarse
+     * desde el EDT.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return El valor, o {@code null} si ningún componente registrado la comparte.
+     */
+    Object currentValue(String propertyName) {
+        DerivedProperty<?> property = derived.get(propertyName);
+        if (property != null) {
+            return property.getValue();
+        }
+        Topic topic = topics.get(propertyName);
+        if (topic == null) {
+            return null;
+        }
+        for (Subscriber subscriber : topic.subscribers) {
+            Map<Subscriber, Object> stale = subscriber.binding.stale;
+            if (stale != null && stale.containsKey(subscriber)) {
+                return stale.get(subscriber);
+            }
+            if (subscriber.accessor.isReadable()) {
+                return subscriber.accessor.get(subscriber.leaf);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Da de baja todos los componentes y modelos registrados.
+     */
+    public void unbindAll() {
+        for (IShareableProperties leaf : new ArrayList<>(bindings.keySet())) {
+            unbindLeaf(leaf);
+        }
+    }
+
+    /**
+     * Indica si los cambios se agrupan por ciclo del Event Dispatch Thread.
+     *
+     * @return {@code true} si la agrupación está activa.
+     */
+    public boolean isCoalescing() {
+        return coalescer.isEnabled();
+    }
+
+    /**
+     * Activa o desactiva la agrupación de cambios por ciclo del Event Dispatch Thread.
+     * <p>
+     * Con la agrupación activa, cada cambio de una propiedad compartida se guarda
+     * como pendiente para su pareja (origen, propiedad), sustituyendo al valor
+     * anterior, y todos los pendientes se propagan juntos en una tarea posterior del
+     * EDT. Al desactivarla, los cambios pendientes se propagan de inmediato.
+     *
+     * @param coalescing {@code true} para agrupar los cambios.
+     */
+    public void setCoalescing(boolean coalescing) {
+        coalescer.setEnabled(coalescing);
+    }
+
+    /**
+     * Propaga inmediatamente todos los cambios pendientes.
+     * <p>
+     * Se invoca automáticamente una vez por ciclo del EDT cuando la agrupación está
+     * activa; también puede llamarse para forzar la propagación, por ejemplo antes de
+     * validar los datos.
+     */
+    public void flush() {
+        coalescer.flush();
+    }
+
+    /**
+     * Devuelve el número de la época de propagación en curso o, fuera de una
+     * propagación, el de la última época.
+     *
+     * @return El número de época.
+     */
+    public long getEpoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Devuelve el componente cuyo cambio originó la propagación en curso.
+     * <p>
+     * Permite a un componente distinguir, desde su setter, si el cambio procede de
+     * otro componente enlazado.
+     *
+     * @return El componente de origen, o {@code null} si no hay ninguna propagación
+     * en curso o la originó un modelo.
+     */
+    public Component getPropagationOrigin() {
+        IShareableProperties origin = epoch.getOrigin();
+        return origin instanceof Component ? (Component) origin : null;
+    }
+
+    /**
+     * Devuelve el componente o el modelo cuyo cambio originó la propagación en curso.
+     *
+     * @return El origen, o {@code null} si no hay ninguna propagación en curso.
+     */
+    public IShareableProperties getPropagationSource() {
+        return epoch.getOrigin();
+    }
+
+    /**
+     * Indica si se aplaza la actualización de los componentes que no están a la vista.
+     *
+     * @return {@code true} si se aplaza (valor por defecto).
+     */
+    public boolean isDeferHidden() {
+        return deferrals.isEnabled();
+    }
+
+    /**
+     * Activa o desactiva el aplazamiento de la actualización de los componentes que
+     * no están a la vista. Al desactivarlo, se entregan todos los valores pendientes.
+     *
+     * @param deferHidden {@code true} para aplazar la actualización de los
+     * componentes ocultos.
+     */
+    public void setDeferHidden(boolean deferHidden) {
+        deferrals.setEnabled(deferHidden);
+        if (!deferHidden) {
+            refreshAll();
+        }
+    }
+
+    /**
+     * Sustituye, para todos los componentes del hub, la política de propagación
+     * declarada de una propiedad. Los valores retenidos con la política anterior se
+     * propagan de inmediato.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param policy La nueva política, o {@code null} para volver a la declarada
+     * por cada componente.
+     */
+    public void setPolicy(String propertyName, PropagationPolicy policy) {
+        policies.setOverride(propertyName, policy);
+        Topic topic = topics.get(propertyName);
+        if (topic == null) {
+            return;
+        }
+        for (Subscriber subscriber : topic.subscribers) {
+            policies.reset(subscriber);
+        }
+    }
+
+    /**
+     * Devuelve la política de propagación que sustituye a la declarada para una propiedad.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return La política establecida con {@link #setPolicy(String, PropagationPolicy)},
+     * o {@code null} si se usa la declarada por cada componente.
+     */
+    public PropagationPolicy getPolicy(String propertyName) {
+        return policies.getOverride(propertyName);
+    }
+
+    /**
+     * Propaga de inmediato los valores retenidos por las políticas de propagación,
+     * por ejemplo antes de validar los datos de un formulario.
+     */
+    public void releaseHeld() {
+        policies.releaseAll();
+    }
+
+    /**
+     * Recibe el cambio de una propiedad cuya política no es inmediata y lo propaga o
+     * lo retiene según la política.
+     *
+     * @param source El suscriptor que ha originado el cambio.
+     * @param value El nuevo valor de la propiedad.
+     */
+    void hold(Subscriber source, Object value) {
+        policies.hold(source, value);
+    }
+
+    /**
+     * Propaga el valor retenido de una suscripción de origen, si lo tiene.
+     *
+     * @param source La suscripción.
+     */
+    void release(Subscriber source) {
+        policies.release(source);
+    }
+
+    /**
+     * Descarta el valor retenido de una suscripción de origen y detiene su temporizador.
+     *
+     * @param source La suscripción.
+     */
+    void discardHeld(Subscriber source) {
+        policies.discard(source);
+    }
+
+    /**
+     * Indica si un componente oculto tiene valores pendientes de recibir.
+     *
+     * @param leaf El componente.
+     * @return {@code true} si el componente está desactualizado.
+     */
+    public boolean isStale(Component leaf) {
+        LeafBinding binding = bindings.get(leaf);
+        return binding != null && binding.stale != null;
+    }
+
+    /**
+     * Entrega a un componente los valores que se le aplazaron mientras estaba oculto,
+     * aunque siga oculto.
+     * <p>
+     * Se invoca automáticamente cuando el componente vuelve a estar a la vista.
+     *
+     * @param leaf El componente.
+     * @return {@code true} si el componente tenía valores pendientes.
+     */
+    public boolean refresh(Component leaf) {
+        LeafBinding binding = bindings.get(leaf);
+        if (binding == null || binding.stale == null) {
+            return false;
+        }
+        refresh(binding);
+        return true;
+    }
+
+    /**
+     * Entrega a todos los componentes desactualizados los valores que tienen
+     * pendientes, por ejemplo antes de validar los datos de un formulario.
+     */
+    public void refreshAll() {
+        while (deferrals.hasStale()) {
+            refresh(deferrals.firstStale());
+        }
+    }
+
+    /**
+     * Publica un valor a todos los componentes del ámbito suscritos a una propiedad.
+     * Se puede llamar desde cualquier hilo.
+     * <p>
+     * El valor se deja en el buzón del hub y se publica en el Event Dispatch Thread,
+     * en una época sin componente de origen, como si lo hubiera cambiado un
+     * componente externo al ámbito. Si antes de publicarlo llega otro valor para la
+     * misma propiedad, el anterior se descarta.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param value El nuevo valor.
+     */
+    public void post(String propertyName, Object value) {
+        mailbox.post(propertyName, value);
+    }
+
+    /**
+     * Devuelve el planificador de actualizaciones del hub.
+     *
+     * @return El planificador, o {@code null} si no se usa ninguno.
+     */
+    public UpdateScheduler getScheduler() {
+        return coalescer.getScheduler();
+    }
+
+    /**
+     * Establece el planificador de actualizaciones del hub.
+     * <p>
+     * En modo de agrupación ({@link #setCoalescing(boolean)}), los cambios pendientes
+     * se propagan en el carril de usuario del planificador, una vez por fotograma,
+     * en lugar de al final del ciclo del EDT. Los valores de
+     * {@link #post(String, Object)} se publican en su carril de segundo plano.
+     *
+     * @param scheduler El planificador, o {@code null} para no usar ninguno.
+     */
+    public void setScheduler(UpdateScheduler scheduler) {
+        coalescer.setScheduler(scheduler);
+        mailbox.setScheduler(scheduler, UpdatePriority.BACKGROUND);
+    }
+
+    /**
+     * Devuelve el buzón en el que {@link #post(String, Object)} deja los valores
+     * recibidos desde otros hilos.
+     *
+     * @return El buzón del hub.
+     */
+    public PropertyMailbox getMailbox() {
+        return mailbox;
+    }
+
+    /**
+     * Publica, en una época nueva sin componente de origen, un valor recibido con
+     * {@link #post(String, Object)} o de otro proceso ({@link MappedPropertyBridge}).
+     * Debe llamarse desde el EDT.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param value El nuevo valor.
+     */
+    void publish(String propertyName, Object value) {
+        boolean outermost = epoch.enter(null);
+        try {
+            Topic topic = topics.get(propertyName);
+            if (topic != null) {
+                topic.publish(value == null ? Object.class : value.getClass(), value, epoch.get(), null);
+            }
+            derived.inputChanged(propertyName, value);
+            if (outermost) {
+                derived.update();
+            }
+        } finally {
+            epoch.exit(outermost);
+        }
+    }
+
+    /**
+     * Entrega a un componente, en un único lote y dentro de una época, los valores
+     * que tiene pendientes. Los cambios que provocan sus setters se propagan en la
+     * misma época, como en cualquier otra entrega.
+     *
+     * @param binding El enlace del componente.
+     */
+    void refresh(LeafBinding binding) {
+        Map<Subscriber, Object> values = deferrals.take(binding);
+        boolean outermost = epoch.enter(binding.leaf);
+        try {
+            List<Delivery> deliveries = new ArrayList<>(values.size());
+            for (Map.Entry<Subscriber, Object> value : values.entrySet()) {
+                value.getKey().seenEpoch = epoch.get();
+                deliveries.add(new Delivery(value.getKey(), value.getValue()));
+            }
+            DeferredDeliveries.writeBatch(binding.leaf, deliveries);
+            if (outermost) {
+                derived.update();
+            }
+        } finally {
+            epoch.exit(outermost);
+        }
+    }
+
+    /**
+     * Indica si la actualización de un componente debe aplazarse porque no está a la
+     * vista.
+     *
+     * @param leaf El componente o el modelo.
+     * @return {@code true} si sus valores deben guardarse como pendientes.
+     */
+    boolean hides(IShareableProperties leaf) {
+        return deferrals.hides(leaf);
+    }
+
+    /**
+     * Guarda un valor pendiente de entregar a un componente oculto.
+     *
+     * @param subscriber El suscriptor de destino.
+     * @param value El valor, ya convertido al tipo de la propiedad.
+     */
+    void defer(Subscriber subscriber, Object value) {
+        deferrals.defer(subscriber, value);
+    }
+
+    /**
+     * Propaga los cambios de uno o varios suscriptores de un mismo componente dentro
+     * de la época actual.
+     * <p>
+     * Si no hay ninguna propagación en curso, se abre una época nueva con el
+     * componente de los suscriptores como origen. Los cambios que provocan los setters
+     * de los destinos se propagan anidados en la misma época. Si hay más de un cambio,
+     * las escrituras se agrupan por componente de destino y cada destino las recibe
+     * dentro de su propio lote.
+     *
+     * @param changes Los nuevos valores, por suscriptor de origen.
+     */
+    private void propagate(Map<Subscriber, Object> changes) {
+        boolean outermost = epoch.enter(changes.keySet().iterator().next().leaf);
+        for (Subscriber source : changes.keySet()) {
+            source.seenEpoch = epoch.get();
+        }
+        try {
+            if (changes.size() == 1) {
+                Map.Entry<Subscriber, Object> change = changes.entrySet().iterator().next();
+                change.getKey().topic.publish(change.getKey().accessor.getType(), change.getValue(), epoch.get(), null);
+            } else {
+                Map<IShareableProperties, List<Delivery>> deliveries = new LinkedHashMap<>();
+                for (Map.Entry<Subscriber, Object> change : changes.entrySet()) {
+                    change.getKey().topic.publish(change.getKey().accessor.getType(), change.getValue(), epoch.get(), deliveries);
+                }
+                for (Map.Entry<IShareableProperties, List<Delivery>> destiny : deliveries.entrySet()) {
+                    deferrals.deliver(destiny.getKey(), destiny.getValue());
+                }
+            }
+            for (Map.Entry<Subscriber, Object> change : changes.entrySet()) {
+                derived.inputChanged(change.getKey().topic.name, change.getValue());
+            }
+            if (outermost) {
+                derived.update();
+            }
+        } finally {
+            epoch.exit(outermost);
+        }
+    }
+
+    /**
+     * Propaga, sin envolver el valor, el cambio de una propiedad {@code int} guardada
+     * en una ranura primitiva. En modo de agrupación, el cambio se deja pendiente
+     * como cualquier otro.
+     *
+     * @param source El suscriptor que ha originado el cambio.
+     * @param value El nuevo valor.
+     */
+    void intChanged(Subscriber source, int value) {
+        if (coalescer.isDeferring()) {
+            propertyChanged(source, value);
+            return;
+        }
+        boolean outermost = epoch.enter(source.leaf);
+        source.seenEpoch = epoch.get();
+        try {
+            source.topic.publishInt(value, epoch.get());
+            if (derived.isObserved(source.topic.name)) {
+                derived.inputChanged(source.topic.name, value);
+            }
+            if (outermost) {
+                derived.update();
+            }
+        } finally {
+            epoch.exit(outermost);
+        }
+    }
+
+    /**
+     * Propaga, sin envolver el valor, el cambio de una propiedad {@code long}
+     * guardada en una ranura primitiva, como {@link #intChanged(Subscriber, int)}.
+     *
+     * @param source El suscriptor que ha originado el cambio.
+     * @param value El nuevo valor.
+     */
+    void longChanged(Subscriber source, long value) {
+        if (coalescer.isDeferring()) {
+            propertyChanged(source, value);
+            return;
+        }
+        boolean outermost = epoch.enter(source.leaf);
+        source.seenEpoch = epoch.get();
+        try {
+            source.topic.publishLong(value, epoch.get());
+            if (derived.isObserved(source.topic.name)) {
+                derived.inputChanged(source.topic.name, value);
+            }
+            if (outermost) {
+                derived.update();
+            }
+        } finally {
+            epoch.exit(outermost);
+        }
+    }
+
+    /**
+     * Propaga, sin envolver el valor, el cambio de una propiedad {@code double}
+     * guardada en una ranura primitiva, como {@link #intChanged(Subscriber, int)}.
+     *
+     * @param source El suscriptor que ha originado el cambio.
+     * @param value El nuevo valor.
+     */
+    void doubleChanged(Subscriber source, double value) {
+        if (coalescer.isDeferring()) {
+            propertyChanged(source, value);
+            return;
+        }
+        boolean outermost = epoch.enter(source.leaf);
+        source.seenEpoch = epoch.get();
+        try {
+            source.topic.publishDouble(value, epoch.get());
+            if (derived.isObserved(source.topic.name)) {
+                derived.inputChanged(source.topic.name, value);
+            }
+            if (outermost) {
+                derived.update();
+            }
+        } finally {
+            epoch.exit(outermost);
+        }
+    }
+
+    /**
+     * Propaga una modificación de la lista compartida de un componente aplicándola a
+     * las listas de los demás suscriptores. A los observadores y a las propiedades
+     * derivadas se les comunica la lista completa.
+     *
+     * @param source El suscriptor cuya lista se ha modificado.
+     * @param change La modificación.
+     */
+    void listChanged(Subscriber source, ListChange<?> change) {
+        if (isEcho(source)) {
+            return;
+        }
+        boolean outermost = epoch.enter(source.leaf);
+        source.seenEpoch = epoch.get();
+        try {
+            ListChangeReplay.publish(source.topic, source, change, epoch.get());
+            if (derived.isObserved(source.topic.name)) {
+                derived.inputChanged(source.topic.name, change.getList());
+            }
+            if (outermost) {
+                derived.update();
+            }
+        } finally {
+            epoch.exit(outermost);
+        }
+    }
+
+    /**
+     * Indica si el cambio de una suscripción es el eco de un valor que el propio hub
+     * acaba de escribirle en la propagación en curso. Los ecos no se propagan: los
+     * demás suscriptores ya tienen el valor, y los observadores y las propiedades
+     * derivadas ya lo han recibido.
+     *
+     * @param source El suscriptor que ha originado el cambio.
+     * @return {@code true} si el cambio es un eco.
+     */
+    boolean isEcho(Subscriber source) {
+        return epoch.isPropagating() && source.seenEpoch == epoch.get();
+    }
+
+    /**
+     * Recibe el cambio de una propiedad de un componente registrado y lo propaga o,
+     * en modo de agrupación, lo deja pendiente.
+     *
+     * @param source El suscriptor que ha originado el cambio.
+     * @param value El nuevo valor de la propiedad.
+     */
+    void propertyChanged(Subscriber source, Object value) {
+        propertiesChanged(Collections.singletonMap(source, value));
+    }
+
+    /**
+     * Recibe un lote de cambios de un componente registrado y lo propaga o, en modo
+     * de agrupación, lo deja pendiente.
+     *
+     * @param changes Los nuevos valores, por suscriptor de origen.
+     */
+    void propertiesChanged(Map<Subscriber, Object> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (coalescer.isDeferring()) {
+            coalescer.add(changes);
+        } else {
+            propagate(changes);
+        }
+    }
+
+    /**
+     * Indica si un componente está registrado en el hub.
+     *
+     * @param leaf El componente.
+     * @return {@code true} si está registrado.
+     */
+    public boolean isBound(Component leaf) {
+        return bindings.containsKey(leaf);
+    }
+
+    /**
+     * Indica si un modelo está registrado en el hub.
+     *
+     * @param model El modelo.
+     * @return {@code true} si está registrado.
+     */
+    public boolean isBound(LeafModel model) {
+        return bindings.containsKey(model);
+    }
+
+    /**
+     * Devuelve los componentes registrados en el hub, sin los modelos.
+     *
+     * @return Un {@link Set} inmutable con los componentes registrados.
+     */
+    public Set<Component> getBoundComponents() {
+        Set<Component> components = new LinkedHashSet<>();
+        for (IShareableProperties leaf : bindings.keySet()) {
+            if (leaf instanceof Component) {
+                components.add((Component) leaf);
+            }
+        }
+        return Collections.unmodifiableSet(components);
+    }
+
+    /**
+     * Devuelve el número de suscriptores de una propiedad.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return El número de componentes suscritos a esa propiedad.
+     */
+    public int getSubscriberCount(String propertyName) {
+        Topic topic = topics.get(propertyName);
+        return topic == null ? 0 : topic.subscribers.length;
+    }
+}
@@ -0,0 +1,383 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IBindingAdapter;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Metadatos de enlace (data binding) de una clase de componente.
+ * <p>
+ * Resuelve una única vez, por clase y por propiedad, el tipo, el getter y el setter
+ * de cada propiedad compartida y los guarda como {@link PropertyAccessor}. Las
+ * instancias se cachean por clase mediante un {@link ClassValue}, por lo que el
+ * camino caliente de la sincronización no realiza búsquedas por reflexión.
+ * <p>
+ * Si existe el adaptador generado en tiempo de compilación
+ * ({@code <Componente>BindingAdapter}, ver {@link SharedProperty}), los accesores
+ * delegan en él y el conjunto de propiedades compartidas se toma de él. En caso
+ * contrario se usan {@link java.lang.invoke.MethodHandle}s y las anotaciones
+ * {@link SharedProperty} se leen por reflexión. El tipo de una propiedad se obtiene
+ * del campo con el mismo nombre (buscándolo en la jerarquía de clases) y, si no
+ * existe, del tipo de retorno de su getter.
+ *
+ * @author david
+ * @version 1.1
+ * @see PropertyAccessor
+ */
+public final class BindingMetadata {
+
+    /**
+     * Caché de metadatos por clase.
+     */
+    private static final ClassValue<BindingMetadata> CACHE = new ClassValue<BindingMetadata>() {
+        @Override
+        protected BindingMetadata computeValue(Class<?> type) {
+            return new BindingMetadata(type);
+        }
+    };
+
+    /**
+     * La clase a la que pertenecen estos metadatos.
+     */
+    private final Class<?> beanClass;
+
+    /**
+     * El adaptador generado para la clase, o {@code null} si no existe.
+     */
+    private final IBindingAdapter<Object> adapter;
+
+    /**
+     * El conjunto de propiedades declaradas con {@link SharedProperty}.
+     */
+    private final Set<String> declaredSharedProperties;
+
+    /**
+     * El sentido declarado de cada propiedad compartida.
+     */
+    private final Map<String, BindingDirection> directions;
+
+    /**
+     * La política de propagación declarada de cada propiedad compartida.
+     */
+    private final Map<String, PropagationPolicy> policies;
+
+    /**
+     * Accesores ya resueltos, indexados por nombre de propiedad. Se usa
+     * {@link Optional#empty()} para recordar las propiedades que no existen.
+     */
+    private final ConcurrentMap<String, Optional<PropertyAccessor>> accessors = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor privado; las instancias se obtienen con {@link #forClass(Class)}.
+     *
+     * @param beanClass La clase del componente.
+     */
+    private BindingMetadata(Class<?> beanClass) {
+        this.beanClass = beanClass;
+        this.adapter = loadAdapter(beanClass);
+        if (adapter != null) {
+            this.directions = adapterDirections(adapter);
+            this.policies = adapterPolicies(adapter);
+        } else {
+            Map<String, SharedProperty> annotations = scanAnnotations(beanClass);
+            Map<String, BindingDirection> scannedDirections = new HashMap<>();
+            Map<String, PropagationPolicy> scannedPolicies = new HashMap<>();
+            for (Map.Entry<String, SharedProperty> entry : annotations.entrySet()) {
+                SharedProperty annotation = entry.getValue();
+                scannedDirections.put(entry.getKey(), annotation.direction());
+                scannedPolicies.put(entry.getKey(), policyOf(beanClass, entry.getKey(), annotation));
+            }
+            this.directions = Map.copyOf(scannedDirections);
+            this.policies = Map.copyOf(scannedPolicies);
+        }
+        this.declaredSharedProperties = adapter != null
+                ? adapter.getSharedProperties()
+                : Set.copyOf(directions.keySet());
+    }
+
+    /**
+     * Devuelve los metadatos (cacheados) de la clase indicada.
+     *
+     * @param beanClass La clase del componente.
+     * @return Los metadatos de enlace de la clase.
+     */
+    public static BindingMetadata forClass(Class<?> beanClass) {
+        return CACHE.get(beanClass);
+    }
+
+    /**
+     * Devuelve la clase a la que pertenecen estos metadatos.
+     *
+     * @return La clase del componente.
+     */
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    /**
+     * Indica si la clase dispone de un adaptador generado en tiempo de compilación.
+     *
+     * @return {@code true} si existe el adaptador generado.
+     */
+    public boolean hasGeneratedAdapter() {
+        return adapter != null;
+    }
+
+    /**
+     * Devuelve el conjunto de propiedades declaradas con {@link SharedProperty}.
+     *
+     * @return Un {@link Set} inmutable con los nombres de las propiedades (vacío si no hay ninguna).
+     */
+    public Set<String> getDeclaredSharedProperties() {
+        return declaredSharedProperties;
+    }
+
+    /**
+     * Devuelve el sentido declarado de una propiedad compartida.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return El sentido declarado con {@link SharedProperty#direction()}, o
+     * {@link BindingDirection#BIDIRECTIONAL} si la propiedad no está anotada.
+     */
+    public BindingDirection getDirection(String propertyName) {
+        return directions.getOrDefault(propertyName, BindingDirection.BIDIRECTIONAL);
+    }
+
+    /**
+     * Devuelve la política de propagación declarada de una propiedad compartida.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return La política declarada con {@link SharedProperty#policy()}, o
+     * {@link PropagationPolicy#IMMEDIATE} si la propiedad no está anotada.
+     */
+    public PropagationPolicy getPolicy(String propertyName) {
+        return policies.getOrDefault(propertyName, PropagationPolicy.IMMEDIATE);
+    }
+
+    /**
+     * Devuelve el accesor de una propiedad, resolviéndolo la primera vez que se pide.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return El accesor, o {@code null} si la clase no tiene esa propiedad.
+     */
+    public PropertyAccessor getAccessor(String propertyName) {
+        Optional<PropertyAccessor> accessor = accessors.get(propertyName);
+        if (accessor == null) {
+            accessor = accessors.computeIfAbsent(propertyName, name -> Optional.ofNullable(resolve(name)));
+        }
+        return accessor.orElse(null);
+    }
+
+    /**
+     * Devuelve el tipo de una propiedad.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return El tipo de la propiedad, o {@code null} si la clase no tiene esa propiedad.
+     */
+    public Class<?> getType(String propertyName) {
+        PropertyAccessor accessor = getAccessor(propertyName);
+        return accessor == null ? null : accessor.getType();
+    }
+
+    /**
+     * Resuelve el accesor de una propiedad, usando el adaptador generado si existe
+     * y, si no, el getter y el setter obtenidos por reflexión.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return El accesor resuelto, o {@code null} si no se puede determinar su tipo.
+     */
+    private PropertyAccessor resolve(String propertyName) {
+        if (propertyName == null || propertyName.isEmpty()) {
+            return null;
+        }
+        if (adapter != null) {
+            int index = adapter.indexOf(propertyName);
+            if (index >= 0) {
+                return new AdapterAccessor(adapter, index);
+            }
+        }
+        String capitalized = propertyName.substring(0, 1).toUpperCase() + propertyName.substring(1);
+        Method getter = findMethod("get" + capitalized);
+        if (getter == null) {
+            getter = findMethod("is" + capitalized);
+        }
+        Class<?> type = findFieldType(propertyName);
+        if (type == null && getter != null) {
+            type = getter.getReturnType();
+        }
+        if (type == null) {
+            return null;
+        }
+        Method setter = findMethod("set" + capitalized, type);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            MethodHandle getterHandle = getter == null ? null : lookup.unreflect(getter);
+            MethodHandle setterHandle = setter == null ? null : lookup.unreflect(setter);
+            return new MethodHandleAccessor(propertyName, type, getterHandle, setterHandle);
+        } catch (IllegalAccessException e) {
+            return new MethodHandleAccessor(propertyName, type, null, null);
+        }
+    }
+
+    /**
+     * Carga e instancia el adaptador generado para una clase, si existe.
+     *
+     * @param beanClass La clase del componente.
+     * @return El adaptador, o {@code null} si la clase no tiene adaptador generado.
+     */
+    @SuppressWarnings("unchecked")
+    private static IBindingAdapter<Object> loadAdapter(Class<?> beanClass) {
+        try {
+            Class<?> adapterClass = Class.forName(beanClass.getName() + IBindingAdapter.SUFFIX, true, beanClass.getClassLoader());
+            if (IBindingAdapter.class.isAssignableFrom(adapterClass)) {
+                return (IBindingAdapter<Object>) adapterClass.getDeclaredConstructor().newInstance();
+            }
+        } catch (ClassNotFoundException e) {
+            // La clase no tiene adaptador generado: se usarán MethodHandles.
+        } catch (ReflectiveOperationException | LinkageError e) {
+            Logger.getLogger(BindingMetadata.class.getName()).log(Level.WARNING,
+                    "No se pudo instanciar el adaptador generado de " + beanClass.getName(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene el sentido de cada propiedad de un adaptador generado.
+     *
+     * @param adapter El adaptador generado.
+     * @return Un {@link Map} inmutable con el sentido de cada propiedad.
+     */
+    private static Map<String, BindingDirection> adapterDirections(IBindingAdapter<Object> adapter) {
+        Map<String, BindingDirection> result = new HashMap<>();
+        for (String propertyName : adapter.getSharedProperties()) {
+            result.put(propertyName, adapter.getPropertyDirection(adapter.indexOf(propertyName)));
+        }
+        return Map.copyOf(result);
+    }
+
+    /**
+     * Obtiene la política de propagación de cada propiedad de un adaptador generado.
+     *
+     * @param adapter El adaptador generado.
+     * @return Un {@link Map} inmutable con la política de cada propiedad.
+     */
+    private static Map<String, PropagationPolicy> adapterPolicies(IBindingAdapter<Object> adapter) {
+        Map<String, PropagationPolicy> result = new HashMap<>();
+        for (String propertyName : adapter.getSharedProperties()) {
+            result.put(propertyName, adapter.getPropertyPolicy(adapter.indexOf(propertyName)));
+        }
+        return Map.copyOf(result);
+    }
+
+    /**
+     * Obtiene la política de propagación declarada en una anotación. Una política no
+     * válida (p. ej. con un intervalo negativo) se registra y se sustituye por
+     * {@link PropagationPolicy#IMMEDIATE}.
+     *
+     * @param beanClass La clase del componente.
+     * @param propertyName El nombre de la propiedad.
+     * @param annotation La anotación de la propiedad.
+     * @return La política de la propiedad.
+     */
+    private static PropagationPolicy policyOf(Class<?> beanClass, String propertyName, SharedProperty annotation) {
+        try {
+            return PropagationPolicy.of(annotation.policy(), annotation.debounceMillis(), annotation.maxRate());
+        } catch (IllegalArgumentException e) {
+            Logger.getLogger(BindingMetadata.class.getName()).log(Level.WARNING,
+                    "Política de propagación no válida en " + beanClass.getName() + "." + propertyName, e);
+            return PropagationPolicy.IMMEDIATE;
+        }
+    }
+
+    /**
+     * Obtiene por reflexión las propiedades marcadas con {@link SharedProperty} en
+     * la jerarquía de la clase, con su anotación. Se usa solo cuando no existe el
+     * adaptador generado.
+     *
+     * @param beanClass La clase del componente.
+     * @return Un {@link Map} con la anotación de cada propiedad, en orden de declaración.
+     */
+    private static Map<String, SharedProperty> scanAnnotations(Class<?> beanClass) {
+        Map<String, SharedProperty> result = new LinkedHashMap<>();
+        for (Class<?> c = beanClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                SharedProperty annotation = field.getAnnotation(SharedProperty.class);
+                if (annotation != null) {
+                    result.putIfAbsent(field.getName(), annotation);
+                }
+            }
+            for (Method method : c.getDeclaredMethods()) {
+                SharedProperty annotation = method.getAnnotation(SharedProperty.class);
+                if (annotation != null) {
+                    String propertyName = propertyNameOfGetter(method.getName());
+                    if (propertyName != null) {
+                        result.putIfAbsent(propertyName, annotation);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Obtiene el nombre de la propiedad a partir del nombre de su getter.
+     *
+     * @param methodName El nombre del getter ({@code getX} o {@code isX}).
+     * @return El nombre de la propiedad, o {@code null} si el método no sigue la convención.
+     */
+    static String propertyNameOfGetter(String methodName) {
+        String base;
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            base = methodName.substring(3);
+        } else if (methodName.startsWith("is") && methodName.length() > 2) {
+            base = methodName.substring(2);
+        } else {
+            return null;
+        }
+        return base.substring(0, 1).toLowerCase() + base.substring(1);
+    }
+
+    /**
+     * Busca el tipo del campo con el nombre indicado en la jerarquía de la clase.
+     *
+     * @param fieldName El nombre del campo.
+     * @return El tipo del campo, o {@code null} si no existe.
+     */
+    private Class<?> findFieldType(String fieldName) {
+        for (Class<?> c = beanClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(fieldName);
+                return field.getType();
+            } catch (NoSuchFieldException e) {
+                // Se continúa con la superclase.
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca un método público por nombre y tipos de parámetros.
+     *
+     * @param name El nombre del método.
+     * @param parameterTypes Los tipos de los parámetros.
+     * @return El método, o {@code null} si no existe.
+     */
+    private Method findMethod(String name, Class<?>... parameterTypes) {
+        try {
+            return beanClass.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
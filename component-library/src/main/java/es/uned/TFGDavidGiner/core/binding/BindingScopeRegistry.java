@@ -0,0 +1,111 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Registro global de ámbitos de enlace con nombre.
+ * <p>
+ * Un ámbito con nombre es un {@link BindingHub} compartido por contenedores de
+ * distintas jerarquías, por ejemplo de dos ventanas o de una ventana principal y
+ * una ventana de detalle: los contenedores que se unen al mismo ámbito
+ * ({@link es.uned.TFGDavidGiner.core.BaseContainer#setBindingScope(String)})
+ * registran sus componentes hoja en el mismo hub, de modo que sus propiedades
+ * compartidas se sincronizan sin código adicional. Como cada ámbito tiene su propio
+ * hub, la propagación de uno solo recorre sus suscriptores.
+ * <p>
+ * El hub de un ámbito se crea cuando se une el primer contenedor y se descarta
+ * cuando lo abandona el último. Como el resto del motor de enlace, esta clase debe
+ * usarse desde el Event Dispatch Thread.
+ *
+ * @author david
+ * @version 1.0
+ */
+public final class BindingScopeRegistry {
+
+    /**
+     * Los ámbitos activos, por nombre.
+     */
+    private static final Map<String, Scope> SCOPES = new LinkedHashMap<>();
+
+    /**
+     * Constructor privado; la clase solo expone métodos estáticos.
+     */
+    private BindingScopeRegistry() {
+    }
+
+    /**
+     * Une un miembro a un ámbito, creando su hub si es el primero.
+     *
+     * @param name El nombre del ámbito.
+     * @return El hub del ámbito.
+     */
+    public static BindingHub join(String name) {
+        Scope scope = SCOPES.computeIfAbsent(Objects.requireNonNull(name, "name"), k -> new Scope());
+        scope.members++;
+        return scope.hub;
+    }
+
+    /**
+     * Retira un miembro de un ámbito. Cuando sale el último, el hub se descarta.
+     *
+     * @param name El nombre del ámbito.
+     */
+    public static void leave(String name) {
+        Scope scope = SCOPES.get(name);
+        if (scope != null && --scope.members <= 0) {
+            SCOPES.remove(name);
+            scope.hub.unbindAll();
+        }
+    }
+
+    /**
+     * Devuelve el hub de un ámbito activo.
+     *
+     * @param name El nombre del ámbito.
+     * @return El hub, o {@code null} si ningún contenedor se ha unido al ámbito.
+     */
+    public static BindingHub getHub(String name) {
+        Scope scope = SCOPES.get(name);
+        return scope == null ? null : scope.hub;
+    }
+
+    /**
+     * Devuelve el número de miembros de un ámbito.
+     *
+     * @param name El nombre del ámbito.
+     * @return El número de contenedores unidos al ámbito, o {@code 0} si no está activo.
+     */
+    public static int getMemberCount(String name) {
+        Scope scope = SCOPES.get(name);
+        return scope == null ? 0 : scope.members;
+    }
+
+    /**
+     * Devuelve los nombres de los ámbitos activos.
+     *
+     * @return Un conjunto no modificable con los nombres.
+     */
+    public static Set<String> getScopeNames() {
+        return Collections.unmodifiableSet(SCOPES.keySet());
+    }
+
+    /**
+     * Un ámbito activo: su hub y el número de miembros.
+     */
+    private static final class Scope {
+
+        /**
+         * El hub del ámbito.
+         */
+        private final BindingHub hub = new BindingHub();
+
+        /**
+         * El número de contenedores unidos al ámbito.
+         */
+        private int members;
+    }
+}
@@ -0,0 +1,160 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * Cola de los cambios pendientes de propagar de un {@link BindingHub} en modo de
+ * agrupación.
+ * <p>
+ * Guarda el último valor de cada pareja (origen, propiedad) y, la primera vez que
+ * recibe un cambio, encola una única tarea en el Event Dispatch Thread (o en el
+ * carril de usuario de un {@link UpdateScheduler}) que los propaga todos juntos,
+ * agrupados por componente de origen.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class ChangeCoalescer {
+
+    /**
+     * Propaga los cambios de un mismo componente de origen, por suscriptor.
+     */
+    private final Consumer<Map<Subscriber, Object>> propagation;
+
+    /**
+     * Últimos valores pendientes de propagar, por suscriptor de origen (es decir, por
+     * pareja origen-propiedad), en orden de llegada.
+     */
+    private final Map<Subscriber, Object> pending = new LinkedHashMap<>();
+
+    /**
+     * El planificador de la propagación agrupada, o {@code null}.
+     */
+    private UpdateScheduler scheduler;
+
+    /**
+     * Indica si los cambios se agrupan por ciclo del EDT.
+     */
+    private boolean enabled;
+
+    /**
+     * Indica si se está vaciando la cola de cambios pendientes. Los cambios que
+     * provocan los propios setters durante el vaciado se propagan en la misma pasada.
+     */
+    private boolean flushing;
+
+    /**
+     * Crea una cola vacía, con la agrupación desactivada.
+     *
+     * @param propagation Propaga los cambios de un mismo componente de origen.
+     */
+    ChangeCoalescer(Consumer<Map<Subscriber, Object>> propagation) {
+        this.propagation = propagation;
+    }
+
+    /**
+     * Indica si la agrupación está activa.
+     *
+     * @return {@code true} si los cambios se agrupan.
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Activa o desactiva la agrupación. Al desactivarla, los cambios pendientes se
+     * propagan de inmediato.
+     *
+     * @param enabled {@code true} para agrupar los cambios.
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            flush();
+        }
+    }
+
+    /**
+     * Indica si un cambio que llega ahora debe quedar pendiente en lugar de
+     * propagarse: la agrupación está activa y no se está vaciando la cola.
+     *
+     * @return {@code true} si el cambio se debe añadir con {@link #add(Map)}.
+     */
+    boolean isDeferring() {
+        return enabled && !flushing;
+    }
+
+    /**
+     * Devuelve el planificador de la propagación agrupada.
+     *
+     * @return El planificador, o {@code null} si se usa la cola de eventos.
+     */
+    UpdateScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Establece el planificador de la propagación agrupada.
+     *
+     * @param scheduler El planificador, o {@code null} para usar la cola de eventos.
+     */
+    void setScheduler(UpdateScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Añade cambios pendientes. Cada uno sustituye al valor pendiente anterior de su
+     * suscriptor; si la cola estaba vacía, se programa su vaciado.
+     *
+     * @param changes Los nuevos valores, por suscriptor de origen.
+     */
+    void add(Map<Subscriber, Object> changes) {
+        if (pending.isEmpty()) {
+            if (scheduler != null) {
+                scheduler.submit(UpdatePriority.USER, this::flush);
+            } else {
+                SwingUtilities.invokeLater(this::flush);
+            }
+        }
+        // La última escritura gana: se sustituye el valor pendiente anterior.
+        pending.putAll(changes);
+    }
+
+    /**
+     * Descarta el cambio pendiente de un suscriptor, por ejemplo al darlo de baja.
+     *
+     * @param subscriber El suscriptor.
+     */
+    void discard(Subscriber subscriber) {
+        pending.remove(subscriber);
+    }
+
+    /**
+     * Propaga inmediatamente todos los cambios pendientes, agrupados por componente
+     * de origen.
+     */
+    void flush() {
+        if (flushing || pending.isEmpty()) {
+            return;
+        }
+        // Los cambios pendientes se agrupan por componente de origen, de modo que los
+        // de un mismo componente se entregan juntos, como un lote.
+        Map<IShareableProperties, Map<Subscriber, Object>> changes = new LinkedHashMap<>();
+        for (Map.Entry<Subscriber, Object> change : pending.entrySet()) {
+            changes.computeIfAbsent(change.getKey().leaf, k -> new LinkedHashMap<>()).put(change.getKey(), change.getValue());
+        }
+        pending.clear();
+        flushing = true;
+        try {
+            for (Map<Subscriber, Object> sourceChanges : changes.values()) {
+                propagation.accept(sourceChanges);
+            }
+        } finally {
+            flushing = false;
+        }
+    }
+}
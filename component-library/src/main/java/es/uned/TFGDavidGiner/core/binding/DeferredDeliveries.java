@@ -0,0 +1,186 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+import java.awt.Component;
+import java.awt.Window;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Valores aplazados de los componentes de un {@link BindingHub} que no están a la
+ * vista.
+ * <p>
+ * Mientras el aplazamiento está activo, las escrituras destinadas a un componente
+ * oculto no se hacen: se guarda el último valor de cada propiedad en su enlace
+ * ({@link LeafBinding}) y el componente queda desactualizado hasta que el hub le
+ * entrega, en un único lote, los valores que {@link #take(LeafBinding)} le devuelve.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class DeferredDeliveries {
+
+    /**
+     * Componentes ocultos con valores pendientes de entregar.
+     */
+    private final Set<LeafBinding> staleBindings = new LinkedHashSet<>();
+
+    /**
+     * Indica si se aplaza la actualización de los componentes ocultos.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Indica si se aplaza la actualización de los componentes ocultos.
+     *
+     * @return {@code true} si se aplaza.
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Activa o desactiva el aplazamiento. Los valores ya aplazados se conservan hasta
+     * que se entregan.
+     *
+     * @param enabled {@code true} para aplazar la actualización de los componentes
+     * ocultos.
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Indica si la actualización de un componente debe aplazarse porque no está a la
+     * vista.
+     *
+     * @param leaf El componente o el modelo.
+     * @return {@code true} si sus valores deben guardarse como pendientes.
+     */
+    boolean hides(IShareableProperties leaf) {
+        return enabled && !isVisible(leaf);
+    }
+
+    /**
+     * Guarda un valor pendiente de entregar a un suscriptor; sustituye al anterior de
+     * la misma propiedad.
+     *
+     * @param subscriber El suscriptor de destino.
+     * @param value El valor, ya convertido al tipo de la propiedad.
+     */
+    void defer(Subscriber subscriber, Object value) {
+        LeafBinding binding = subscriber.binding;
+        if (binding.stale == null) {
+            binding.stale = new LinkedHashMap<>();
+            staleBindings.add(binding);
+        }
+        binding.stale.put(subscriber, value);
+    }
+
+    /**
+     * Escribe en un componente de destino todas las propiedades de un lote o, si el
+     * componente está oculto, las guarda como pendientes.
+     *
+     * @param destiny El componente de destino.
+     * @param deliveries Las escrituras pendientes en el componente.
+     */
+    void deliver(IShareableProperties destiny, List<Delivery> deliveries) {
+        if (hides(destiny)) {
+            for (Delivery delivery : deliveries) {
+                defer(delivery.destiny, delivery.value);
+            }
+            return;
+        }
+        writeBatch(destiny, deliveries);
+    }
+
+    /**
+     * Indica si algún componente tiene valores pendientes.
+     *
+     * @return {@code true} si hay componentes desactualizados.
+     */
+    boolean hasStale() {
+        return !staleBindings.isEmpty();
+    }
+
+    /**
+     * Devuelve el primer componente desactualizado.
+     *
+     * @return El enlace del componente.
+     */
+    LeafBinding firstStale() {
+        return staleBindings.iterator().next();
+    }
+
+    /**
+     * Retira los valores pendientes de un componente desactualizado.
+     *
+     * @param binding El enlace del componente.
+     * @return Los valores pendientes, por suscriptor.
+     */
+    Map<Subscriber, Object> take(LeafBinding binding) {
+        Map<Subscriber, Object> values = binding.stale;
+        forget(binding);
+        return values;
+    }
+
+    /**
+     * Descarta los valores pendientes de un componente, por ejemplo al darlo de baja.
+     *
+     * @param binding El enlace del componente.
+     */
+    void forget(LeafBinding binding) {
+        binding.stale = null;
+        staleBindings.remove(binding);
+    }
+
+    /**
+     * Escribe en un componente todas las propiedades de un lote, entre
+     * {@code beginUpdate()} y {@code commitUpdate()}, esté o no a la vista.
+     *
+     * @param destiny El componente de destino.
+     * @param deliveries Las escrituras.
+     */
+    static void writeBatch(IShareableProperties destiny, List<Delivery> deliveries) {
+        destiny.beginUpdate();
+        try {
+            for (Delivery delivery : deliveries) {
+                delivery.destiny.apply(delivery.value);
+            }
+        } finally {
+            destiny.commitUpdate();
+        }
+    }
+
+    /**
+     * Indica si un componente o un modelo registrado está a la vista. Un modelo lo
+     * está siempre.
+     *
+     * @param leaf El componente o el modelo.
+     * @return {@code true} si no es un componente oculto.
+     */
+    static boolean isVisible(IShareableProperties leaf) {
+        return !(leaf instanceof Component) || isVisible((Component) leaf);
+    }
+
+    /**
+     * Indica si un componente está a la vista dentro de su ventana: él y todos sus
+     * contenedores son visibles. La visibilidad de la propia ventana no se tiene en
+     * cuenta, de modo que una jerarquía que aún no se ha mostrado se actualiza
+     * normalmente.
+     *
+     * @param c El componente.
+     * @return {@code true} si ni él ni ninguno de sus contenedores está oculto.
+     */
+    private static boolean isVisible(Component c) {
+        for (; c != null && !(c instanceof Window); c = c.getParent()) {
+            if (!c.isVisible()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
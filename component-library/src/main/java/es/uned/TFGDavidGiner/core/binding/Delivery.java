@@ -0,0 +1,31 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+/**
+ * Escritura pendiente de un lote: un valor ya convertido para un suscriptor.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class Delivery {
+
+    /**
+     * El suscriptor de destino.
+     */
+    final Subscriber destiny;
+
+    /**
+     * El valor que se escribirá.
+     */
+    final Object value;
+
+    /**
+     * Crea una escritura pendiente.
+     *
+     * @param destiny El suscriptor de destino.
+     * @param value El valor que se escribirá.
+     */
+    Delivery(Subscriber destiny, Object value) {
+        this.destiny = destiny;
+        this.value = value;
+    }
+}
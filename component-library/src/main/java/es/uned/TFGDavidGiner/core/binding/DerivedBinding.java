@@ -0,0 +1,45 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+/**
+ * Registro de una propiedad derivada en el hub.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class DerivedBinding {
+
+    /**
+     * La propiedad derivada.
+     */
+    final DerivedProperty<?> property;
+
+    /**
+     * Posición en el orden de dependencias: {@code 0} si no depende de ninguna otra
+     * propiedad derivada y, si no, una más que la mayor de las suyas.
+     */
+    int rank;
+
+    /**
+     * Última época en la que se ha recalculado.
+     */
+    long seenEpoch;
+
+    /**
+     * Indica si ya se ha publicado algún valor.
+     */
+    boolean published;
+
+    /**
+     * El último valor publicado.
+     */
+    Object lastValue;
+
+    /**
+     * Crea el registro de una propiedad derivada.
+     *
+     * @param property La propiedad derivada.
+     */
+    DerivedBinding(DerivedProperty<?> property) {
+        this.property = property;
+    }
+}
@@ -0,0 +1,196 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Propiedad compartida derivada: un valor calculado a partir de otras propiedades
+ * compartidas, por ejemplo el total {@code pesoMaxPressBanca + pesoMaxSentadilla}.
+ * <p>
+ * Se declara en un {@link es.uned.TFGDavidGiner.core.BaseContainer} con sus
+ * dependencias explícitas y una función de cálculo. El motor de enlace
+ * ({@link BindingHub}) le comunica cada cambio de una dependencia; el valor se
+ * memoriza hasta que alguna entrada cambia y solo se recalcula cuando alguien lo
+ * necesita: una vez por cambio de entrada si hay componentes suscritos a la
+ * propiedad derivada, o de forma perezosa al llamar a {@link #getValue()}.
+ * <p>
+ * Los componentes hoja reciben la propiedad derivada como cualquier otra propiedad
+ * compartida, declarando una propiedad con el mismo nombre.
+ * <p>
+ * Ejemplo:
+ * <pre>{@code
+ * contenedor.addDerivedProperty(new DerivedProperty<>("pesoTotal", Integer.class,
+ *         in -> (Integer) in.get("pesoMaxPressBanca") + (Integer) in.get("pesoMaxSentadilla"),
+ *         "pesoMaxPressBanca", "pesoMaxSentadilla"));
+ * }</pre>
+ *
+ * @param <T> El tipo del valor derivado.
+ * @author david
+ * @version 1.0
+ */
+public final class DerivedProperty<T> {
+
+    /**
+     * El nombre de la propiedad derivada.
+     */
+    private final String name;
+
+    /**
+     * El tipo del valor derivado.
+     */
+    private final Class<T> type;
+
+    /**
+     * Los nombres de las propiedades de las que depende.
+     */
+    private final List<String> dependencies;
+
+    /**
+     * La función de cálculo; recibe el último valor conocido de cada dependencia.
+     */
+    private final Function<Map<String, Object>, ? extends T> function;
+
+    /**
+     * Último valor conocido de cada dependencia.
+     */
+    private final Map<String, Object> inputs = new HashMap<>();
+
+    /**
+     * Vista inmutable de las entradas que se pasa a la función.
+     */
+    private final Map<String, Object> inputsView = Collections.unmodifiableMap(inputs);
+
+    /**
+     * El último valor calculado.
+     */
+    private T value;
+
+    /**
+     * Indica si alguna entrada ha cambiado desde el último cálculo.
+     */
+    private boolean dirty = true;
+
+    /**
+     * Número de veces que se ha evaluado la función.
+     */
+    private long evaluations = 0;
+
+    /**
+     * Crea una propiedad derivada.
+     *
+     * @param name El nombre de la propiedad derivada.
+     * @param type El tipo del valor derivado.
+     * @param function La función de cálculo. Recibe un {@link Map} inmutable con el
+     * último valor conocido de cada dependencia ({@code null} si aún no se conoce).
+     * @param dependencies Los nombres de las propiedades de las que depende.
+     */
+    public DerivedProperty(String name, Class<T> type, Function<Map<String, Object>, ? extends T> function, String... dependencies) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.type = Objects.requireNonNull(type, "type");
+        this.function = Objects.requireNonNull(function, "function");
+        this.dependencies = List.of(dependencies);
+        if (this.dependencies.contains(name)) {
+            throw new IllegalArgumentException("La propiedad derivada '" + name + "' no puede depender de sí misma.");
+        }
+    }
+
+    /**
+     * Devuelve el nombre de la propiedad derivada.
+     *
+     * @return El nombre de la propiedad.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Devuelve el tipo del valor derivado.
+     *
+     * @return El tipo del valor.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Devuelve los nombres de las propiedades de las que depende.
+     *
+     * @return Una {@link List} inmutable con las dependencias.
+     */
+    public List<String> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Devuelve el valor derivado, recalculándolo solo si alguna entrada ha cambiado
+     * desde el último cálculo.
+     *
+     * @return El valor derivado.
+     */
+    public T getValue() {
+        if (dirty) {
+            value = function.apply(inputsView);
+            dirty = false;
+            evaluations++;
+        }
+        return value;
+    }
+
+    /**
+     * Indica si el valor memorizado está desactualizado.
+     *
+     * @return {@code true} si alguna entrada ha cambiado desde el último cálculo.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Devuelve el número de veces que se ha evaluado la función de cálculo.
+     *
+     * @return El número de evaluaciones.
+     */
+    public long getEvaluationCount() {
+        return evaluations;
+    }
+
+    /**
+     * Fuerza el recálculo del valor en la próxima lectura.
+     */
+    public void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * Comunica el nuevo valor de una dependencia.
+     *
+     * @param dependency El nombre de la dependencia.
+     * @param newValue Su nuevo valor.
+     * @return {@code true} si el valor ha cambiado y el valor derivado queda desactualizado.
+     */
+    boolean inputChanged(String dependency, Object newValue) {
+        if (inputs.containsKey(dependency) && Objects.equals(inputs.get(dependency), newValue)) {
+            return false;
+        }
+        inputs.put(dependency, newValue);
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Establece el valor inicial de una dependencia si aún no se conocía.
+     *
+     * @param dependency El nombre de la dependencia.
+     * @param initialValue Su valor actual.
+     */
+    void seedInput(String dependency, Object initialValue) {
+        if (!inputs.containsKey(dependency)) {
+            inputs.put(dependency, initialValue);
+            dirty = true;
+        }
+    }
+}
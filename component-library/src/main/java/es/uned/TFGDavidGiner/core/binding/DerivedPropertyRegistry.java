@@ -0,0 +1,377 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Propiedades derivadas y observadores de un {@link BindingHub}.
+ * <p>
+ * El hub le comunica cada valor nuevo de una propiedad con
+ * {@link #inputChanged(String, Object)}: el registro lo entrega a los observadores
+ * y marca como pendientes las propiedades derivadas que dependen de él. Al terminar
+ * la propagación más externa, {@link #update()} recalcula cada pendiente una sola
+ * vez y, si su valor cambia, lo publica en el tema de la propiedad dentro de la
+ * misma época.
+ * <p>
+ * Una propiedad derivada puede depender de otras: las pendientes se recalculan en
+ * orden de dependencias, de forma que cada una ve ya actualizadas las derivadas de
+ * las que depende, sea cual sea el orden en que se registraron. No se admiten
+ * dependencias circulares.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class DerivedPropertyRegistry {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger LOGGER = Logger.getLogger(DerivedPropertyRegistry.class.getName());
+
+    /**
+     * Los temas del hub, por nombre de propiedad.
+     */
+    private final Map<String, Topic> topics;
+
+    /**
+     * Las épocas de propagación del hub.
+     */
+    private final PropagationEpoch epoch;
+
+    /**
+     * Propiedades derivadas registradas, por nombre.
+     */
+    private final Map<String, DerivedBinding> derived = new HashMap<>();
+
+    /**
+     * Propiedades derivadas que dependen de cada propiedad, por nombre de la dependencia.
+     */
+    private final Map<String, List<DerivedBinding>> dependents = new HashMap<>();
+
+    /**
+     * Observadores de los cambios de cada propiedad ({@link PropertyPublisher}), por
+     * nombre de propiedad.
+     */
+    private final Map<String, List<Consumer<Object>>> observers = new HashMap<>();
+
+    /**
+     * Propiedades derivadas con entradas modificadas en la propagación en curso.
+     */
+    private final Set<DerivedBinding> dirtyDerived = new LinkedHashSet<>();
+
+    /**
+     * Crea el registro de un hub.
+     *
+     * @param topics Los temas del hub, por nombre de propiedad.
+     * @param epoch Las épocas de propagación del hub.
+     */
+    DerivedPropertyRegistry(Map<String, Topic> topics, PropagationEpoch epoch) {
+        this.topics = topics;
+        this.epoch = epoch;
+    }
+
+    /**
+     * Registra una propiedad derivada. Si no hay ninguna propagación en curso, la
+     * calcula y publica su valor inicial en una época nueva.
+     *
+     * @param property La propiedad derivada.
+     * @throws IllegalArgumentException si ya hay otra propiedad derivada con el mismo
+     * nombre o si la propiedad depende, directa o indirectamente, de sí misma.
+     */
+    void add(DerivedProperty<?> property) {
+        DerivedBinding existing = derived.get(property.getName());
+        if (existing != null) {
+            if (existing.property == property) {
+                return;
+            }
+            throw new IllegalArgumentException("Ya existe una propiedad derivada '" + property.getName() + "'.");
+        }
+        if (dependsOn(property, property.getName(), new HashSet<>())) {
+            throw new IllegalArgumentException("La propiedad derivada '" + property.getName()
+                    + "' depende de sí misma.");
+        }
+        DerivedBinding derivedBinding = new DerivedBinding(property);
+        derived.put(property.getName(), derivedBinding);
+        for (String dependency : property.getDependencies()) {
+            dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(derivedBinding);
+            Topic topic = topics.get(dependency);
+            if (topic != null) {
+                for (Subscriber subscriber : topic.subscribers) {
+                    seedInputs(subscriber);
+                }
+            }
+        }
+        rank();
+        if (!epoch.isPropagating()) {
+            dirtyDerived.add(derivedBinding);
+            boolean outermost = epoch.enter(null);
+            try {
+                update();
+            } finally {
+                epoch.exit(outermost);
+            }
+        }
+    }
+
+    /**
+     * Elimina una propiedad derivada.
+     *
+     * @param name El nombre de la propiedad derivada.
+     * @return {@code true} si estaba registrada.
+     */
+    boolean remove(String name) {
+        DerivedBinding derivedBinding = derived.remove(name);
+        if (derivedBinding == null) {
+            return false;
+        }
+        for (String dependency : derivedBinding.property.getDependencies()) {
+            List<DerivedBinding> list = dependents.get(dependency);
+            list.remove(derivedBinding);
+            if (list.isEmpty()) {
+                dependents.remove(dependency);
+            }
+        }
+        dirtyDerived.remove(derivedBinding);
+        rank();
+        return true;
+    }
+
+    /**
+     * Devuelve una propiedad derivada registrada.
+     *
+     * @param name El nombre de la propiedad derivada.
+     * @return La propiedad, o {@code null} si no hay ninguna con ese nombre.
+     */
+    DerivedProperty<?> get(String name) {
+        DerivedBinding derivedBinding = derived.get(name);
+        return derivedBinding == null ? null : derivedBinding.property;
+    }
+
+    /**
+     * Registra un observador de los cambios de una propiedad.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param observer El observador.
+     */
+    void addObserver(String propertyName, Consumer<Object> observer) {
+        observers.computeIfAbsent(propertyName, k -> new ArrayList<>()).add(observer);
+    }
+
+    /**
+     * Elimina un observador registrado con {@link #addObserver(String, Consumer)}.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param observer El observador.
+     */
+    void removeObserver(String propertyName, Consumer<Object> observer) {
+        List<Consumer<Object>> list = observers.get(propertyName);
+        if (list != null && list.remove(observer) && list.isEmpty()) {
+            observers.remove(propertyName);
+        }
+    }
+
+    /**
+     * Indica si algún observador o alguna propiedad derivada depende de una propiedad.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return {@code true} si sus cambios se deben comunicar con
+     * {@link #inputChanged(String, Object)}.
+     */
+    boolean isObserved(String propertyName) {
+        return dependents.containsKey(propertyName) || observers.containsKey(propertyName);
+    }
+
+    /**
+     * Comunica el nuevo valor de una propiedad a sus observadores y a las propiedades
+     * derivadas que dependen de ella, y marca como pendientes las que cambian.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param value Su nuevo valor.
+     */
+    void inputChanged(String propertyName, Object value) {
+        List<Consumer<Object>> observerList = observers.get(propertyName);
+        if (observerList != null) {
+            for (Consumer<Object> observer : observerList) {
+                observer.accept(value);
+            }
+        }
+        List<DerivedBinding> list = dependents.get(propertyName);
+        if (list == null) {
+            return;
+        }
+        for (DerivedBinding derivedBinding : list) {
+            if (derivedBinding.property.inputChanged(propertyName, value)) {
+                dirtyDerived.add(derivedBinding);
+            }
+        }
+    }
+
+    /**
+     * Prepara una suscripción recién registrada en el hub: establece, si aún no se
+     * conocía, el valor inicial de las dependencias de las propiedades derivadas y,
+     * si la suscripción consume una propiedad derivada, le escribe su valor actual.
+     *
+     * @param subscriber La suscripción.
+     */
+    void subscribed(Subscriber subscriber) {
+        seedInputs(subscriber);
+        DerivedBinding derivedBinding = derived.get(subscriber.topic.name);
+        if (derivedBinding != null && subscriber.direction.canSubscribe()) {
+            write(derivedBinding, subscriber);
+        }
+    }
+
+    /**
+     * Recalcula y publica, dentro de la época actual, las propiedades derivadas con
+     * entradas modificadas, en orden de dependencias. Cada una se recalcula como mucho
+     * una vez por época, y solo si hay componentes suscritos a ella o algo depende de
+     * ella; si no, queda pendiente hasta que se lea.
+     */
+    void update() {
+        while (!dirtyDerived.isEmpty()) {
+            DerivedBinding derivedBinding = nextDirty();
+            dirtyDerived.remove(derivedBinding);
+            String name = derivedBinding.property.getName();
+            Topic topic = topics.get(name);
+            if (derivedBinding.seenEpoch == epoch.get() || (topic == null && !isObserved(name))) {
+                continue;
+            }
+            derivedBinding.seenEpoch = epoch.get();
+            Object value;
+            try {
+                value = derivedBinding.property.getValue();
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.SEVERE, "Error al calcular la propiedad derivada '" + name + "'", ex);
+                continue;
+            }
+            if (derivedBinding.published && Objects.equals(derivedBinding.lastValue, value)) {
+                continue;
+            }
+            derivedBinding.published = true;
+            derivedBinding.lastValue = value;
+            if (topic != null) {
+                topic.publish(derivedBinding.property.getType(), value, epoch.get(), null);
+            }
+            inputChanged(name, value);
+        }
+    }
+
+    /**
+     * Devuelve la propiedad derivada pendiente que va primero en el orden de
+     * dependencias; entre las del mismo rango, la primera marcada.
+     *
+     * @return La propiedad derivada pendiente.
+     */
+    private DerivedBinding nextDirty() {
+        DerivedBinding next = null;
+        for (DerivedBinding derivedBinding : dirtyDerived) {
+            if (next == null || derivedBinding.rank < next.rank) {
+                next = derivedBinding;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Indica si una propiedad derivada depende, directa o indirectamente a través
+     * de las propiedades derivadas registradas, de una propiedad.
+     *
+     * @param property La propiedad derivada.
+     * @param name El nombre de la propiedad buscada.
+     * @param visited Los nombres de las propiedades derivadas ya recorridas.
+     * @return {@code true} si alguna de sus dependencias lleva hasta {@code name}.
+     */
+    private boolean dependsOn(DerivedProperty<?> property, String name, Set<String> visited) {
+        for (String dependency : property.getDependencies()) {
+            if (dependency.equals(name)) {
+                return true;
+            }
+            DerivedBinding next = derived.get(dependency);
+            if (next != null && visited.add(dependency) && dependsOn(next.property, name, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recalcula el rango de todas las propiedades derivadas registradas. Se llama al
+     * registrar o eliminar una, ya que puede cambiar el de las que dependen de ella.
+     */
+    private void rank() {
+        Set<DerivedBinding> ranked = new HashSet<>();
+        for (DerivedBinding derivedBinding : derived.values()) {
+            rank(derivedBinding, ranked);
+        }
+    }
+
+    /**
+     * Calcula el rango de una propiedad derivada a partir del de sus dependencias.
+     *
+     * @param derivedBinding La propiedad derivada.
+     * @param ranked Las propiedades derivadas cuyo rango ya está calculado.
+     * @return Su rango.
+     */
+    private int rank(DerivedBinding derivedBinding, Set<DerivedBinding> ranked) {
+        if (ranked.add(derivedBinding)) {
+            int rank = 0;
+            for (String dependency : derivedBinding.property.getDependencies()) {
+                DerivedBinding input = derived.get(dependency);
+                if (input != null) {
+                    rank = Math.max(rank, rank(input, ranked) + 1);
+                }
+            }
+            derivedBinding.rank = rank;
+        }
+        return derivedBinding.rank;
+    }
+
+    /**
+     * Establece, si aún no se conocía, el valor inicial de las dependencias de las
+     * propiedades derivadas a partir de un componente registrado.
+     *
+     * @param subscriber La suscripción del componente.
+     */
+    private void seedInputs(Subscriber subscriber) {
+        List<DerivedBinding> list = dependents.get(subscriber.topic.name);
+        if (list == null || !subscriber.accessor.isReadable()) {
+            return;
+        }
+        Object value = subscriber.accessor.get(subscriber.leaf);
+        for (DerivedBinding derivedBinding : list) {
+            derivedBinding.property.seedInput(subscriber.topic.name, value);
+        }
+    }
+
+    /**
+     * Escribe el valor actual de una propiedad derivada en una suscripción.
+     *
+     * @param derivedBinding La propiedad derivada.
+     * @param subscriber La suscripción de destino.
+     */
+    private static void write(DerivedBinding derivedBinding, Subscriber subscriber) {
+        Function<Object, Object> converter = subscriber.converterFrom(derivedBinding.property.getType());
+        if (converter == null || !subscriber.accessor.isWritable()) {
+            return;
+        }
+        try {
+            Object value = derivedBinding.property.getValue();
+            Object converted = value == null ? null : converter.apply(value);
+            if (converted != null || !subscriber.accessor.getType().isPrimitive()) {
+                subscriber.write(converted);
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.SEVERE, "Error al publicar la propiedad derivada '" + subscriber.topic.name + "'", ex);
+        }
+    }
+}
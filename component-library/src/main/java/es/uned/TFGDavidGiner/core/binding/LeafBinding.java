@@ -0,0 +1,90 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Enlace de un componente registrado: sus suscripciones, por nombre de propiedad.
+ * Es, a la vez, el listener de los eventos de lote
+ * ({@link IShareableProperties#BATCH_PROPERTY}) y de ajuste
+ * ({@link IShareableProperties#ADJUSTING_PROPERTY}) del componente y el de los
+ * cambios de jerarquía que lo muestran o lo ocultan.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class LeafBinding implements PropertyChangeListener, HierarchyListener {
+
+    /**
+     * El hub en el que está registrado el componente.
+     */
+    final BindingHub hub;
+
+    /**
+     * El componente o el modelo registrado.
+     */
+    final IShareableProperties leaf;
+
+    /**
+     * Las suscripciones del componente, por nombre de propiedad.
+     */
+    final Map<String, Subscriber> subscribers = new LinkedHashMap<>();
+
+    /**
+     * Últimos valores aplazados mientras el componente está oculto, por
+     * suscripción, o {@code null} si no tiene ninguno.
+     */
+    Map<Subscriber, Object> stale;
+
+    /**
+     * Crea el enlace de un componente.
+     *
+     * @param hub El hub.
+     * @param leaf El componente.
+     */
+    LeafBinding(BindingHub hub, IShareableProperties leaf) {
+        this.hub = hub;
+        this.leaf = leaf;
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        if (IShareableProperties.ADJUSTING_PROPERTY.equals(evt.getPropertyName())) {
+            // Al terminar el ajuste se propagan los valores retenidos hasta entonces.
+            if (Boolean.FALSE.equals(evt.getNewValue())) {
+                for (Subscriber source : subscribers.values()) {
+                    if (source.policy.getMode() == PropagationMode.ON_COMMIT) {
+                        hub.release(source);
+                    }
+                }
+            }
+            return;
+        }
+        if (!(evt.getNewValue() instanceof Map)) {
+            return;
+        }
+        // Un lote se propaga siempre de inmediato y sustituye a los valores retenidos.
+        Map<Subscriber, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> change : ((Map<?, ?>) evt.getNewValue()).entrySet()) {
+            Subscriber source = subscribers.get(String.valueOf(change.getKey()));
+            if (source != null && source.direction.canPublish()) {
+                hub.discardHeld(source);
+                changes.put(source, change.getValue());
+            }
+        }
+        hub.propertiesChanged(changes);
+    }
+
+    @Override
+    public void hierarchyChanged(HierarchyEvent e) {
+        // Al volver a la vista, el componente recibe los valores aplazados.
+        if (stale != null && (e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && DeferredDeliveries.isVisible(leaf)) {
+            hub.refresh(this);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.util.List;
+
+/**
+ * Modificación de una {@link SharedList}: el tipo de cambio, el rango afectado y
+ * los elementos que intervienen.
+ * <p>
+ * Los rangos son semiabiertos ({@code [from, to)}) y se refieren a la lista antes
+ * del cambio en las eliminaciones y después del cambio en el resto. Los elementos
+ * son los insertados ({@link Kind#INSERT}), los eliminados ({@link Kind#REMOVE}),
+ * los nuevos valores ({@link Kind#UPDATE}) o el contenido completo
+ * ({@link Kind#REPLACE}). Las instancias son inmutables.
+ *
+ * @param <E> El tipo de los elementos de la lista.
+ * @author david
+ * @version 1.0
+ * @see es.uned.TFGDavidGiner.core.interfaces.IListChangeListener
+ */
+public final class ListChange<E> {
+
+    /**
+     * Tipo de modificación.
+     */
+    public enum Kind {
+
+        /**
+         * Se han insertado elementos en el rango.
+         */
+        INSERT,
+
+        /**
+         * Se han eliminado los elementos del rango.
+         */
+        REMOVE,
+
+        /**
+         * Se han sustituido o modificado los elementos del rango.
+         */
+        UPDATE,
+
+        /**
+         * Se ha sustituido todo el contenido de la lista.
+         */
+        REPLACE
+    }
+
+    /**
+     * La lista modificada.
+     */
+    private final SharedList<E> list;
+
+    /**
+     * El tipo de modificación.
+     */
+    private final Kind kind;
+
+    /**
+     * El inicio del rango, incluido.
+     */
+    private final int from;
+
+    /**
+     * El final del rango, excluido.
+     */
+    private final int to;
+
+    /**
+     * Los elementos de la modificación, en una lista no modificable.
+     */
+    private final List<E> elements;
+
+    /**
+     * Crea una modificación. Solo la crea {@link SharedList}.
+     *
+     * @param list La lista modificada.
+     * @param kind El tipo de modificación.
+     * @param from El inicio del rango, incluido.
+     * @param to El final del rango, excluido.
+     * @param elements Los elementos de la modificación, en una lista no modificable.
+     */
+    ListChange(SharedList<E> list, Kind kind, int from, int to, List<E> elements) {
+        this.list = list;
+        this.kind = kind;
+        this.from = from;
+        this.to = to;
+        this.elements = elements;
+    }
+
+    /**
+     * Devuelve la lista modificada, con la modificación ya aplicada.
+     *
+     * @return La lista.
+     */
+    public SharedList<E> getList() {
+        return list;
+    }
+
+    /**
+     * Devuelve el tipo de modificación.
+     *
+     * @return El tipo.
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Devuelve el inicio del rango afectado.
+     *
+     * @return El índice del primer elemento afectado.
+     */
+    public int getFrom() {
+        return from;
+    }
+
+    /**
+     * Devuelve el final del rango afectado.
+     *
+     * @return El índice siguiente al último elemento afectado.
+     */
+    public int getTo() {
+        return to;
+    }
+
+    /**
+     * Devuelve los elementos de la modificación: los insertados, los eliminados, los
+     * nuevos valores del rango o el contenido completo, según el tipo.
+     *
+     * @return Los elementos, en una lista no modificable.
+     */
+    public List<E> getElements() {
+        return elements;
+    }
+
+    /**
+     * Aplica la modificación a otra lista que tenía el mismo contenido que la lista
+     * modificada antes del cambio. El coste es proporcional al tamaño de la
+     * modificación, salvo en {@link Kind#REPLACE}.
+     *
+     * @param target La lista de destino.
+     */
+    public void applyTo(List<? super E> target) {
+        switch (kind) {
+            case INSERT:
+                target.addAll(from, elements);
+                break;
+            case REMOVE:
+                target.subList(from, to).clear();
+                break;
+            case UPDATE:
+                for (int i = 0; i < elements.size(); i++) {
+                    target.set(from + i, elements.get(i));
+                }
+                break;
+            default:
+                target.clear();
+                target.addAll(elements);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return kind + "[" + from + ", " + to + ")";
+    }
+}
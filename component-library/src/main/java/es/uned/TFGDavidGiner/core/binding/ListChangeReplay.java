@@ -0,0 +1,84 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reproducción de las modificaciones de una {@link SharedList} en las listas de
+ * los demás suscriptores de su tema.
+ * <p>
+ * Una modificación ({@link ListChange}) solo se puede aplicar a una lista con el
+ * mismo contenido que tenía la de origen antes de modificarse. Como el hub no
+ * guarda copias, lo comprueba por el tamaño: si la lista de destino no tiene el
+ * tamaño previo a la modificación (o el suscriptor está oculto o no guarda una
+ * {@link SharedList}), se le escribe la lista completa con el setter.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class ListChangeReplay {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger LOGGER = Logger.getLogger(ListChangeReplay.class.getName());
+
+    /**
+     * Constructor privado; la clase solo expone métodos estáticos.
+     */
+    private ListChangeReplay() {
+    }
+
+    /**
+     * Entrega una modificación de una lista compartida a los suscriptores de un tema
+     * que aún no la hayan recibido en la época indicada. Los que tienen una
+     * {@link SharedList} con el contenido previo a la modificación la aplican; al
+     * resto (componentes ocultos, listas desincronizadas o de otro tipo) se les
+     * escribe la lista completa con el setter.
+     *
+     * @param topic El tema de la propiedad.
+     * @param source El suscriptor de origen.
+     * @param change La modificación.
+     * @param epoch La época de la propagación.
+     */
+    static void publish(Topic topic, Subscriber source, ListChange<?> change, long epoch) {
+        SharedList<?> list = change.getList();
+        int expected = sizeBefore(change);
+        for (Subscriber destiny : topic.subscribers) {
+            if (!destiny.accepts(epoch)) {
+                continue;
+            }
+            if (destiny.list == list) {
+                destiny.seenEpoch = epoch;
+            } else if (destiny.list != null && !destiny.hidden()
+                    && (change.getKind() == ListChange.Kind.REPLACE || destiny.list.size() == expected)) {
+                destiny.seenEpoch = epoch;
+                try {
+                    destiny.list.apply(change);
+                } catch (RuntimeException ex) {
+                    LOGGER.log(Level.SEVERE, "Error al aplicar la modificación " + change + " de la propiedad '" + topic.name + "'", ex);
+                }
+            } else {
+                Class<?> type = destiny.accessor.getType().isInstance(list) ? destiny.accessor.getType() : source.accessor.getType();
+                topic.offer(destiny, type, list, epoch, null);
+            }
+        }
+    }
+
+    /**
+     * Calcula el tamaño que tenía la lista de origen antes de una modificación, a
+     * partir de su tamaño actual y del rango insertado o eliminado.
+     *
+     * @param change La modificación, ya aplicada a su lista.
+     * @return El tamaño previo a la modificación.
+     */
+    static int sizeBefore(ListChange<?> change) {
+        int size = change.getList().size();
+        if (change.getKind() == ListChange.Kind.INSERT) {
+            size -= change.getTo() - change.getFrom();
+        } else if (change.getKind() == ListChange.Kind.REMOVE) {
+            size += change.getTo() - change.getFrom();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,728 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Puente que sincroniza propiedades compartidas entre varios procesos de la misma
+ * máquina a través de un fichero proyectado en memoria.
+ * <p>
+ * Por ejemplo, dos instancias de la aplicación (recepción y pantalla del
+ * entrenador) crean un puente sobre el mismo fichero y el hub de su ámbito, con las
+ * propiedades que deben compartir ({@code nombre}, {@code pesoMaxPressBanca}...):
+ * cada cambio de esas propiedades en un proceso se publica en el hub del otro como
+ * si lo hubiera hecho uno de sus componentes.
+ * <p>
+ * El fichero es un búfer circular de ranuras de tamaño fijo. Para escribir, un
+ * proceso reserva la siguiente secuencia con una operación atómica sobre la memoria
+ * compartida ({@link MethodHandles#byteBufferViewVarHandle(Class, ByteOrder)}),
+ * copia el mensaje en su ranura y la publica con una escritura de liberación; no
+ * hay bloqueos entre procesos. Cada mensaje lleva, en un formato binario compacto,
+ * todos los cambios de un ciclo del Event Dispatch Thread (nombre, tipo y valor
+ * de cada propiedad), de modo que bajo carga los cambios se agrupan.
+ * <p>
+ * Un hilo lector sigue la secuencia y entrega los cambios de los demás procesos a
+ * un {@link PropertyMailbox}, que los aplica en el EDT quedándose solo con el
+ * último valor de cada propiedad. Mientras llegan mensajes, el lector espera
+ * activamente, con una latencia de pocos microsegundos; tras un periodo sin
+ * mensajes, comprueba el canal cada {@value #IDLE_PARK_NANOS} ns. Si un proceso
+ * escribe más rápido de lo que otro lee y da la vuelta al búfer, el lector salta
+ * los mensajes perdidos ({@link #getLostCount()}); como cada mensaje lleva valores
+ * completos, el siguiente cambio de cada propiedad vuelve a sincronizarla.
+ * <p>
+ * Se admiten valores {@code null}, {@link Integer}, {@link Long}, {@link Double},
+ * {@link Boolean} y {@link String}; los de otros tipos no se envían. El puente se
+ * crea, se arranca ({@link #start()}) y se cierra ({@link #close()}) en el EDT.
+ *
+ * @author david
+ * @version 1.0
+ * @see BindingScopeRegistry
+ */
+public final class MappedPropertyBridge implements AutoCloseable {
+
+    /**
+     * Número de ranuras por defecto de un canal nuevo.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * Tamaño por defecto de cada ranura de un canal nuevo, en bytes.
+     */
+    public static final int DEFAULT_SLOT_SIZE = 256;
+
+    /**
+     * Intervalo de comprobación del canal cuando no llegan mensajes, en nanosegundos.
+     */
+    public static final long IDLE_PARK_NANOS = 100_000L;
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger LOGGER = Logger.getLogger(MappedPropertyBridge.class.getName());
+
+    /**
+     * Acceso atómico a los enteros largos del fichero proyectado.
+     */
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    /**
+     * Marca de un fichero de canal ("TFGB").
+     */
+    private static final int MAGIC = 0x54464742;
+
+    /**
+     * Versión del formato del canal.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Tamaño de la cabecera del fichero; la secuencia de escritura ocupa su propia
+     * línea de caché.
+     */
+    private static final int HEADER_SIZE = 128;
+
+    /**
+     * Posiciones de los campos de la cabecera.
+     */
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SLOT_SIZE_OFFSET = 12;
+    private static final int WRITE_SEQ_OFFSET = 64;
+
+    /**
+     * Posiciones de los campos de cada ranura: la secuencia publicada más uno
+     * ({@code 0} mientras se escribe), el proceso que la escribe, la longitud del
+     * mensaje y el mensaje.
+     */
+    private static final int SLOT_SEQ = 0;
+    private static final int SLOT_WRITER = 8;
+    private static final int SLOT_LENGTH = 16;
+    private static final int SLOT_PAYLOAD = 24;
+
+    /**
+     * Etiquetas de tipo de los valores.
+     */
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_INT = 1;
+    private static final byte TYPE_LONG = 2;
+    private static final byte TYPE_DOUBLE = 3;
+    private static final byte TYPE_BOOLEAN = 4;
+    private static final byte TYPE_STRING = 5;
+
+    /**
+     * Iteraciones de espera activa del lector antes de ceder el procesador.
+     */
+    private static final int SPIN_LIMIT = 20_000;
+
+    /**
+     * Tiempo que el lector espera a que se publique una ranura ya reservada antes de
+     * darla por perdida (por ejemplo, si el proceso que la reservó ha terminado).
+     */
+    private static final long STALL_NANOS = 50_000_000L;
+
+    /**
+     * El hub cuyas propiedades se sincronizan.
+     */
+    private final BindingHub hub;
+
+    /**
+     * Los nombres de las propiedades sincronizadas.
+     */
+    private final Set<String> properties;
+
+    /**
+     * El canal del fichero.
+     */
+    private final FileChannel channel;
+
+    /**
+     * El fichero proyectado en memoria.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Número de ranuras del canal.
+     */
+    private final int capacity;
+
+    /**
+     * Tamaño de cada ranura, en bytes.
+     */
+    private final int slotSize;
+
+    /**
+     * Identificador de este puente, para descartar sus propios mensajes.
+     */
+    private final long writerId;
+
+    /**
+     * Observadores registrados en el hub, por nombre de propiedad.
+     */
+    private final Map<String, Consumer<Object>> observers = new LinkedHashMap<>();
+
+    /**
+     * Cambios locales pendientes de enviar, por nombre de propiedad. Solo se usa en el EDT.
+     */
+    private final Map<String, Object> outgoing = new LinkedHashMap<>();
+
+    /**
+     * Nombres de propiedad ya codificados. Solo se usa en el EDT.
+     */
+    private final Map<String, byte[]> encodedNames = new HashMap<>();
+
+    /**
+     * Búfer en el que se compone cada mensaje. Solo se usa en el EDT.
+     */
+    private final ByteBuffer message;
+
+    /**
+     * Buzón en el que el lector deja los cambios recibidos.
+     */
+    private final PropertyMailbox inbox = new PropertyMailbox(this::applyRemote);
+
+    /**
+     * Número de mensajes enviados.
+     */
+    private final AtomicLong sent = new AtomicLong();
+
+    /**
+     * Número de mensajes recibidos de otros procesos.
+     */
+    private final AtomicLong received = new AtomicLong();
+
+    /**
+     * Número de mensajes perdidos por desbordamiento del búfer.
+     */
+    private final AtomicLong lost = new AtomicLong();
+
+    /**
+     * El hilo lector, o {@code null} si el puente no está arrancado.
+     */
+    private Thread reader;
+
+    /**
+     * Indica si el puente está arrancado.
+     */
+    private volatile boolean running;
+
+    /**
+     * Indica si hay un envío encolado en el EDT.
+     */
+    private boolean flushScheduled;
+
+    /**
+     * Indica si se está publicando en el hub un cambio recibido, para no reenviarlo.
+     */
+    private boolean applying;
+
+    /**
+     * Crea un puente sobre un fichero de canal, creándolo con la capacidad y el
+     * tamaño de ranura por defecto si no existe.
+     *
+     * @param hub El hub cuyas propiedades se sincronizan.
+     * @param file El fichero del canal, común a todos los procesos.
+     * @param properties Los nombres de las propiedades sincronizadas.
+     * @throws IOException si no se puede abrir o proyectar el fichero, o no es un canal.
+     */
+    public MappedPropertyBridge(BindingHub hub, Path file, String... properties) throws IOException {
+        this(hub, file, DEFAULT_CAPACITY, DEFAULT_SLOT_SIZE, properties);
+    }
+
+    /**
+     * Crea un puente sobre un fichero de canal. Si el fichero ya es un canal, se usan
+     * su capacidad y su tamaño de ranura, y se ignoran los indicados.
+     *
+     * @param hub El hub cuyas propiedades se sincronizan.
+     * @param file El fichero del canal, común a todos los procesos.
+     * @param capacity El número de ranuras de un canal nuevo.
+     * @param slotSize El tamaño de cada ranura de un canal nuevo, en bytes (múltiplo
+     * de 8 y de al menos 64).
+     * @param properties Los nombres de las propiedades sincronizadas.
+     * @throws IOException si no se puede abrir o proyectar el fichero, o no es un canal.
+     * @throws IllegalArgumentException si la capacidad o el tamaño de ranura no son válidos.
+     */
+    public MappedPropertyBridge(BindingHub hub, Path file, int capacity, int slotSize, String... properties) throws IOException {
+        if (capacity <= 0 || slotSize < 64 || slotSize % 8 != 0) {
+            throw new IllegalArgumentException("Capacidad o tamaño de ranura no válidos: " + capacity + ", " + slotSize);
+        }
+        this.hub = hub;
+        this.properties = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(properties)));
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.buffer = map(channel, capacity, slotSize);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.capacity = buffer.getInt(CAPACITY_OFFSET);
+        this.slotSize = buffer.getInt(SLOT_SIZE_OFFSET);
+        this.message = ByteBuffer.allocate(this.slotSize - SLOT_PAYLOAD);
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        this.writerId = id;
+    }
+
+    /**
+     * Proyecta el fichero del canal, inicializando la cabecera si es nuevo. La
+     * inicialización se hace con el fichero bloqueado, para que dos procesos que
+     * arrancan a la vez no la repitan.
+     *
+     * @param channel El canal del fichero.
+     * @param capacity El número de ranuras de un canal nuevo.
+     * @param slotSize El tamaño de ranura de un canal nuevo.
+     * @return El fichero proyectado.
+     * @throws IOException si no se puede proyectar o el fichero no es un canal.
+     */
+    private static MappedByteBuffer map(FileChannel channel, int capacity, int slotSize) throws IOException {
+        FileLock lock = channel.lock();
+        try {
+            long size = channel.size();
+            if (size >= HEADER_SIZE) {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+                header.order(ByteOrder.nativeOrder());
+                if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+                    throw new IOException("El fichero no es un canal de propiedades compartidas compatible.");
+                }
+                capacity = header.getInt(CAPACITY_OFFSET);
+                slotSize = header.getInt(SLOT_SIZE_OFFSET);
+            } else if (size > 0) {
+                throw new IOException("El fichero no es un canal de propiedades compartidas.");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * slotSize);
+            mapped.order(ByteOrder.nativeOrder());
+            if (size == 0) {
+                mapped.putInt(VERSION_OFFSET, VERSION);
+                mapped.putInt(CAPACITY_OFFSET, capacity);
+                mapped.putInt(SLOT_SIZE_OFFSET, slotSize);
+                // La marca se escribe la última: el fichero solo es un canal cuando está completo.
+                mapped.putInt(MAGIC_OFFSET, MAGIC);
+                mapped.force();
+            }
+            return mapped;
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * Arranca el puente: empieza a enviar los cambios de las propiedades y a recibir
+     * los de los demás procesos. Solo se reciben los mensajes publicados a partir de
+     * este momento. Debe llamarse desde el EDT.
+     */
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        UpdateScheduler scheduler = hub.getScheduler();
+        if (scheduler != null) {
+            inbox.setScheduler(scheduler, UpdatePriority.BACKGROUND);
+        }
+        for (String name : properties) {
+            Consumer<Object> observer = value -> send(name, value);
+            observers.put(name, observer);
+            hub.addObserver(name, observer);
+        }
+        // La posición de lectura se fija aquí y no al arrancar el hilo: los mensajes
+        // publicados entre tanto también se reciben.
+        long from = (long) LONGS.getVolatile(buffer, WRITE_SEQ_OFFSET);
+        reader = new Thread(() -> readLoop(from), "MappedPropertyBridge-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Detiene el puente y cierra el fichero. Los procesos que siguen usando el canal
+     * no se ven afectados. Debe llamarse desde el EDT.
+     *
+     * @throws IOException si no se puede cerrar el fichero.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        for (Map.Entry<String, Consumer<Object>> observer : observers.entrySet()) {
+            hub.removeObserver(observer.getKey(), observer.getValue());
+        }
+        observers.clear();
+        outgoing.clear();
+        if (reader != null) {
+            LockSupport.unpark(reader);
+            try {
+                reader.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            reader = null;
+        }
+        channel.close();
+    }
+
+    /**
+     * Devuelve los nombres de las propiedades sincronizadas.
+     *
+     * @return Un conjunto no modificable con los nombres.
+     */
+    public Set<String> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Devuelve el número de ranuras del canal.
+     *
+     * @return La capacidad del búfer circular.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Devuelve el tamaño de cada ranura del canal, que limita el tamaño de un mensaje.
+     *
+     * @return El tamaño de ranura, en bytes.
+     */
+    public int getSlotSize() {
+        return slotSize;
+    }
+
+    /**
+     * Devuelve el número de mensajes enviados por este puente.
+     *
+     * @return El número de mensajes enviados.
+     */
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    /**
+     * Devuelve el número de mensajes recibidos de otros procesos.
+     *
+     * @return El número de mensajes recibidos.
+     */
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    /**
+     * Devuelve el número de mensajes que el lector no ha llegado a leer porque se
+     * sobrescribieron antes.
+     *
+     * @return El número de mensajes perdidos.
+     */
+    public long getLostCount() {
+        return lost.get();
+    }
+
+    /**
+     * Recibe del hub un cambio local y lo deja pendiente de enviar al final del
+     * ciclo actual del EDT, junto con el resto de cambios del ciclo.
+     *
+     * @param name El nombre de la propiedad.
+     * @param value El nuevo valor.
+     */
+    private void send(String name, Object value) {
+        if (applying || !running) {
+            return;
+        }
+        outgoing.put(name, value);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    /**
+     * Envía los cambios pendientes, en tantos mensajes como sea necesario según el
+     * tamaño de ranura.
+     */
+    private void flush() {
+        flushScheduled = false;
+        if (!running) {
+            outgoing.clear();
+            return;
+        }
+        message.clear();
+        message.putShort((short) 0);
+        int count = 0;
+        for (Map.Entry<String, Object> change : outgoing.entrySet()) {
+            int mark = message.position();
+            try {
+                if (!encode(change.getKey(), change.getValue())) {
+                    continue;
+                }
+                count++;
+            } catch (BufferOverflowException e) {
+                message.position(mark);
+                if (count > 0) {
+                    // El mensaje está lleno: se envía y el cambio pasa al siguiente.
+                    write(count);
+                    message.clear();
+                    message.putShort((short) 0);
+                    count = 0;
+                    try {
+                        if (encode(change.getKey(), change.getValue())) {
+                            count++;
+                        }
+                        continue;
+                    } catch (BufferOverflowException retry) {
+                        message.position(2);
+                    }
+                }
+                LOGGER.log(Level.WARNING, "El valor de la propiedad ''{0}'' no cabe en una ranura del canal", change.getKey());
+            }
+        }
+        outgoing.clear();
+        if (count > 0) {
+            write(count);
+        }
+    }
+
+    /**
+     * Codifica un cambio en el mensaje en composición: nombre, tipo y valor.
+     *
+     * @param name El nombre de la propiedad.
+     * @param value El valor.
+     * @return {@code false} si el tipo del valor no se admite.
+     * @throws BufferOverflowException si el cambio no cabe en el mensaje.
+     */
+    private boolean encode(String name, Object value) {
+        byte type;
+        if (value == null) {
+            type = TYPE_NULL;
+        } else if (value instanceof Integer) {
+            type = TYPE_INT;
+        } else if (value instanceof Long) {
+            type = TYPE_LONG;
+        } else if (value instanceof Double) {
+            type = TYPE_DOUBLE;
+        } else if (value instanceof Boolean) {
+            type = TYPE_BOOLEAN;
+        } else if (value instanceof String) {
+            type = TYPE_STRING;
+        } else {
+            LOGGER.log(Level.FINE, "No se envía la propiedad ''{0}'': tipo no admitido", name);
+            return false;
+        }
+        byte[] encodedName = encodedNames.computeIfAbsent(name, n -> n.getBytes(StandardCharsets.UTF_8));
+        message.putShort((short) encodedName.length).put(encodedName).put(type);
+        switch (type) {
+            case TYPE_INT:
+                message.putInt((Integer) value);
+                break;
+            case TYPE_LONG:
+                message.putLong((Long) value);
+                break;
+            case TYPE_DOUBLE:
+                message.putDouble((Double) value);
+                break;
+            case TYPE_BOOLEAN:
+                message.put((byte) ((Boolean) value ? 1 : 0));
+                break;
+            case TYPE_STRING:
+                byte[] text = ((String) value).getBytes(StandardCharsets.UTF_8);
+                message.putInt(text.length).put(text);
+                break;
+            default:
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Publica el mensaje en composición en la siguiente ranura del canal.
+     *
+     * @param count El número de cambios del mensaje.
+     */
+    private void write(int count) {
+        message.putShort(0, (short) count);
+        int length = message.position();
+        long seq = (long) LONGS.getAndAdd(buffer, WRITE_SEQ_OFFSET, 1L);
+        int base = slotOffset(seq);
+        // La ranura queda marcada como en escritura hasta publicar la nueva secuencia.
+        LONGS.setVolatile(buffer, base + SLOT_SEQ, 0L);
+        // Las escrituras siguientes no pueden adelantarse a la marca: un lector que
+        // lleve una vuelta de retraso vería el mensaje nuevo con la secuencia antigua.
+        VarHandle.storeStoreFence();
+        buffer.putLong(base + SLOT_WRITER, writerId);
+        buffer.putInt(base + SLOT_LENGTH, length);
+        buffer.put(base + SLOT_PAYLOAD, message.array(), 0, length);
+        LONGS.setRelease(buffer, base + SLOT_SEQ, seq + 1);
+        sent.incrementAndGet();
+    }
+
+    /**
+     * Bucle del hilo lector: sigue la secuencia del canal y entrega los mensajes de
+     * los demás procesos.
+     *
+     * @param from La primera secuencia que se debe leer.
+     */
+    private void readLoop(long from) {
+        long next = from;
+        byte[] payload = new byte[slotSize - SLOT_PAYLOAD];
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        int idle = 0;
+        long stalledSince = 0;
+        while (running) {
+            int base = slotOffset(next);
+            long published = (long) LONGS.getAcquire(buffer, base + SLOT_SEQ);
+            if (published == next + 1) {
+                long writer = buffer.getLong(base + SLOT_WRITER);
+                int length = buffer.getInt(base + SLOT_LENGTH);
+                boolean valid = length >= 0 && length <= payload.length;
+                if (valid) {
+                    buffer.get(base + SLOT_PAYLOAD, payload, 0, length);
+                }
+                VarHandle.acquireFence();
+                if (!valid || (long) LONGS.getAcquire(buffer, base + SLOT_SEQ) != published) {
+                    // Se ha sobrescrito mientras se leía: el lector se ha quedado atrás.
+                    next = skipOverrun(next);
+                    stalledSince = 0;
+                    continue;
+                }
+                next++;
+                idle = 0;
+                stalledSince = 0;
+                if (writer != writerId) {
+                    received.incrementAndGet();
+                    decode(in, length);
+                }
+            } else if (published > next + 1) {
+                next = skipOverrun(next);
+                stalledSince = 0;
+            } else if ((long) LONGS.getVolatile(buffer, WRITE_SEQ_OFFSET) > next) {
+                // Ranura reservada pero aún no publicada.
+                long now = System.nanoTime();
+                if (stalledSince == 0) {
+                    stalledSince = now;
+                } else if (now - stalledSince > STALL_NANOS) {
+                    lost.incrementAndGet();
+                    next++;
+                    stalledSince = 0;
+                }
+                Thread.onSpinWait();
+            } else {
+                // La espera de una ranura reservada solo cuenta si es ininterrumpida.
+                stalledSince = 0;
+                if (++idle < SPIN_LIMIT) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Salta los mensajes que se han sobrescrito antes de leerlos y continúa por el
+     * más antiguo que sigue en el búfer.
+     *
+     * @param next La secuencia que se esperaba leer.
+     * @return La siguiente secuencia que se debe leer.
+     */
+    private long skipOverrun(long next) {
+        long head = (long) LONGS.getVolatile(buffer, WRITE_SEQ_OFFSET);
+        long resume = Math.max(next + 1, head - capacity + 1);
+        lost.addAndGet(resume - next);
+        return resume;
+    }
+
+    /**
+     * Decodifica un mensaje y deja sus cambios en el buzón.
+     *
+     * @param in El búfer con el mensaje.
+     * @param length La longitud del mensaje.
+     */
+    private void decode(ByteBuffer in, int length) {
+        in.clear().limit(length);
+        try {
+            int count = in.getShort() & 0xFFFF;
+            for (int i = 0; i < count; i++) {
+                int nameLength = in.getShort() & 0xFFFF;
+                String name = new String(in.array(), in.position(), nameLength, StandardCharsets.UTF_8);
+                in.position(in.position() + nameLength);
+                Object value;
+                switch (in.get()) {
+                    case TYPE_INT:
+                        value = in.getInt();
+                        break;
+                    case TYPE_LONG:
+                        value = in.getLong();
+                        break;
+                    case TYPE_DOUBLE:
+                        value = in.getDouble();
+                        break;
+                    case TYPE_BOOLEAN:
+                        value = in.get() != 0;
+                        break;
+                    case TYPE_STRING:
+                        int textLength = in.getInt();
+                        value = new String(in.array(), in.position(), textLength, StandardCharsets.UTF_8);
+                        in.position(in.position() + textLength);
+                        break;
+                    default:
+                        value = null;
+                }
+                if (properties.contains(name)) {
+                    inbox.post(name, value);
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Mensaje no válido en el canal de propiedades compartidas", e);
+        }
+    }
+
+    /**
+     * Publica en el hub, en el EDT, un cambio recibido de otro proceso, sin volver a
+     * enviarlo al canal.
+     *
+     * @param name El nombre de la propiedad.
+     * @param value El nuevo valor.
+     */
+    private void applyRemote(String name, Object value) {
+        if (!running) {
+            return;
+        }
+        applying = true;
+        try {
+            hub.publish(name, value);
+        } finally {
+            applying = false;
+        }
+    }
+
+    /**
+     * Devuelve la posición en el fichero de la ranura de una secuencia.
+     *
+     * @param seq La secuencia.
+     * @return La posición de la ranura.
+     */
+    private int slotOffset(long seq) {
+        return HEADER_SIZE + (int) (seq % capacity) * slotSize;
+    }
+}
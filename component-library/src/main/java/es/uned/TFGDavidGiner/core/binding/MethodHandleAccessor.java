@@ -0,0 +1,159 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+/**
+ * Implementación de {@link PropertyAccessor} basada en {@link MethodHandle}s.
+ * <p>
+ * El getter y el setter se resuelven una única vez y se adaptan a las firmas
+ * genéricas {@code (Object)Object} y {@code (Object, Object)void}, de modo que se
+ * pueden invocar con {@code invokeExact} desde el motor de sincronización.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class MethodHandleAccessor extends PropertyAccessor {
+
+    /**
+     * Firma genérica a la que se adaptan los getters.
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Firma genérica a la que se adaptan los setters.
+     */
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * Firma a la que se adapta el setter de una propiedad {@code int}.
+     */
+    private static final MethodType INT_SETTER_TYPE = MethodType.methodType(void.class, Object.class, int.class);
+
+    /**
+     * Firma a la que se adapta el setter de una propiedad {@code long}.
+     */
+    private static final MethodType LONG_SETTER_TYPE = MethodType.methodType(void.class, Object.class, long.class);
+
+    /**
+     * Firma a la que se adapta el setter de una propiedad {@code double}.
+     */
+    private static final MethodType DOUBLE_SETTER_TYPE = MethodType.methodType(void.class, Object.class, double.class);
+
+    /**
+     * Getter adaptado a {@code (Object)Object}, o {@code null} si la propiedad no es legible.
+     */
+    private final MethodHandle getter;
+
+    /**
+     * Setter adaptado a {@code (Object, Object)void}, o {@code null} si la propiedad no es escribible.
+     */
+    private final MethodHandle setter;
+
+    /**
+     * Setter sin envolver, adaptado a {@code (Object, int|long|double)void} si la
+     * propiedad es de uno de esos tipos primitivos, o {@code null}.
+     */
+    private final MethodHandle primitiveSetter;
+
+    /**
+     * Crea un accesor a partir de los manejadores ya resueltos.
+     *
+     * @param name El nombre de la propiedad.
+     * @param type El tipo declarado de la propiedad.
+     * @param getter El manejador del getter, o {@code null}.
+     * @param setter El manejador del setter, o {@code null}.
+     */
+    MethodHandleAccessor(String name, Class<?> type, MethodHandle getter, MethodHandle setter) {
+        super(name, type);
+        this.getter = getter == null ? null : getter.asType(GETTER_TYPE);
+        this.setter = setter == null ? null : setter.asType(SETTER_TYPE);
+        MethodType primitiveType = type == int.class ? INT_SETTER_TYPE
+                : type == long.class ? LONG_SETTER_TYPE
+                : type == double.class ? DOUBLE_SETTER_TYPE : null;
+        this.primitiveSetter = setter == null || primitiveType == null ? null : setter.asType(primitiveType);
+    }
+
+    @Override
+    public boolean isReadable() {
+        return getter != null;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return setter != null;
+    }
+
+    @Override
+    public Object get(Object target) {
+        if (getter == null) {
+            throw new UnsupportedOperationException("La propiedad '" + getName() + "' no tiene getter.");
+        }
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error al leer la propiedad '" + getName() + "'", t);
+        }
+    }
+
+    @Override
+    public void set(Object target, Object value) {
+        if (setter == null) {
+            throw new UnsupportedOperationException("La propiedad '" + getName() + "' no tiene setter.");
+        }
+        try {
+            setter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error al escribir la propiedad '" + getName() + "'", t);
+        }
+    }
+
+    @Override
+    public void setInt(Object target, int value) {
+        if (primitiveSetter == null || getType() != int.class) {
+            super.setInt(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error al escribir la propiedad '" + getName() + "'", t);
+        }
+    }
+
+    @Override
+    public void setLong(Object target, long value) {
+        if (primitiveSetter == null || getType() != long.class) {
+            super.setLong(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error al escribir la propiedad '" + getName() + "'", t);
+        }
+    }
+
+    @Override
+    public void setDouble(Object target, double value) {
+        if (primitiveSetter == null || getType() != double.class) {
+            super.setDouble(target, value);
+            return;
+        }
+        try {
+            primitiveSetter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Error al escribir la propiedad '" + getName() + "'", t);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import javax.swing.Timer;
+
+/**
+ * Aplica las políticas de propagación ({@link PropagationPolicy}) de un
+ * {@link BindingHub}.
+ * <p>
+ * Recibe los cambios de las propiedades cuya política no es inmediata y, según la
+ * política, los deja pasar o retiene el último valor de cada suscripción de origen
+ * hasta que termina el ajuste o vence su temporizador. Guarda también las políticas
+ * que sustituyen a las declaradas para todo el hub.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class PolicyGate {
+
+    /**
+     * Marca de suscripción sin valor retenido.
+     */
+    static final Object NO_VALUE = new Object();
+
+    /**
+     * Propaga el cambio de una suscripción de origen que la política deja pasar.
+     */
+    private final BiConsumer<Subscriber, Object> propagation;
+
+    /**
+     * Políticas de propagación que sustituyen a las declaradas, por nombre de propiedad.
+     */
+    private final Map<String, PropagationPolicy> policyOverrides = new HashMap<>();
+
+    /**
+     * Suscripciones de origen con un valor retenido por su política de propagación.
+     */
+    private final Set<Subscriber> held = new LinkedHashSet<>();
+
+    /**
+     * Crea la compuerta de un hub.
+     *
+     * @param propagation Propaga el cambio de una suscripción de origen.
+     */
+    PolicyGate(BiConsumer<Subscriber, Object> propagation) {
+        this.propagation = propagation;
+    }
+
+    /**
+     * Devuelve la política que sustituye a la declarada para una propiedad.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return La política, o {@code null} si se usa la declarada.
+     */
+    PropagationPolicy getOverride(String propertyName) {
+        return policyOverrides.get(propertyName);
+    }
+
+    /**
+     * Sustituye la política declarada de una propiedad. Las suscripciones ya
+     * registradas deben actualizarse con {@link #reset(Subscriber)}.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param policy La nueva política, o {@code null} para volver a la declarada.
+     */
+    void setOverride(String propertyName, PropagationPolicy policy) {
+        if (policy == null) {
+            policyOverrides.remove(propertyName);
+        } else {
+            policyOverrides.put(propertyName, policy);
+        }
+    }
+
+    /**
+     * Devuelve la política de propagación de una propiedad en un componente.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param leaf El componente.
+     * @return La política sustituida en el hub o, si no la hay, la declarada.
+     */
+    PropagationPolicy policyFor(String propertyName, IShareableProperties leaf) {
+        PropagationPolicy policy = policyOverrides.get(propertyName);
+        return policy != null ? policy : BindingMetadata.forClass(leaf.getClass()).getPolicy(propertyName);
+    }
+
+    /**
+     * Propaga el valor retenido de una suscripción y le asigna de nuevo su política,
+     * por ejemplo tras sustituir la de su propiedad.
+     *
+     * @param subscriber La suscripción.
+     */
+    void reset(Subscriber subscriber) {
+        release(subscriber);
+        subscriber.policy = policyFor(subscriber.topic.name, subscriber.leaf);
+        subscriber.lastRelease = Long.MIN_VALUE;
+    }
+
+    /**
+     * Recibe el cambio de una propiedad cuya política no es inmediata y lo propaga o
+     * lo retiene según la política.
+     *
+     * @param source El suscriptor que ha originado el cambio.
+     * @param value El nuevo valor de la propiedad.
+     */
+    void hold(Subscriber source, Object value) {
+        PropagationPolicy policy = source.policy;
+        switch (policy.getMode()) {
+            case ON_COMMIT:
+                if (source.leaf.isAdjusting()) {
+                    retain(source, value);
+                } else {
+                    discard(source);
+                    propagation.accept(source, value);
+                }
+                return;
+            case DEBOUNCED:
+                retain(source, value);
+                Timer debounce = source.timer(policy.getIntervalMillis());
+                debounce.restart();
+                return;
+            case THROTTLED:
+                long now = System.nanoTime();
+                long interval = policy.getIntervalMillis() * 1_000_000L;
+                long elapsed = now - source.lastRelease;
+                if (source.held == NO_VALUE && (source.lastRelease == Long.MIN_VALUE || elapsed >= interval)) {
+                    source.lastRelease = now;
+                    propagation.accept(source, value);
+                    return;
+                }
+                retain(source, value);
+                Timer throttle = source.timer(policy.getIntervalMillis());
+                if (!throttle.isRunning()) {
+                    throttle.setInitialDelay((int) Math.max(0, (interval - elapsed) / 1_000_000L));
+                    throttle.restart();
+                }
+                return;
+            default:
+                propagation.accept(source, value);
+        }
+    }
+
+    /**
+     * Propaga el valor retenido de una suscripción de origen, si lo tiene.
+     *
+     * @param source La suscripción.
+     */
+    void release(Subscriber source) {
+        if (source.held == NO_VALUE) {
+            return;
+        }
+        Object value = source.held;
+        discard(source);
+        source.lastRelease = System.nanoTime();
+        propagation.accept(source, value);
+    }
+
+    /**
+     * Propaga de inmediato todos los valores retenidos.
+     */
+    void releaseAll() {
+        while (!held.isEmpty()) {
+            release(held.iterator().next());
+        }
+    }
+
+    /**
+     * Descarta el valor retenido de una suscripción de origen y detiene su temporizador.
+     *
+     * @param source La suscripción.
+     */
+    void discard(Subscriber source) {
+        source.held = NO_VALUE;
+        held.remove(source);
+        if (source.timer != null) {
+            source.timer.stop();
+        }
+    }
+
+    /**
+     * Retiene el último valor de una suscripción de origen.
+     *
+     * @param source La suscripción.
+     * @param value El valor; sustituye al retenido anterior.
+     */
+    private void retain(Subscriber source, Object value) {
+        source.held = value;
+        held.add(source);
+    }
+}
@@ -0,0 +1,311 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IPrimitivePropertyListener;
+import java.util.Arrays;
+
+/**
+ * Almacén de propiedades de tipo primitivo ({@code int}, {@code long} y
+ * {@code double}) de un componente, con los valores guardados en ranuras de arrays
+ * primitivos.
+ * <p>
+ * Cada propiedad se identifica por su {@link PropertyKey} y ocupa una ranura que se
+ * asigna la primera vez que se lee o se escribe. A partir de ahí, leer o escribir
+ * una propiedad es un acceso a un array, y los cambios se notifican a los
+ * {@link IPrimitivePropertyListener} con los valores sin envolver: escribir una
+ * propiedad y notificar su cambio no reserva memoria.
+ * <p>
+ * El almacén no emite {@link java.beans.PropertyChangeEvent}s; eso queda a cargo
+ * del componente propietario (ver {@link es.uned.TFGDavidGiner.core.LeafComponent}
+ * y {@link es.uned.TFGDavidGiner.core.LeafModel}).
+ * <p>
+ * Esta clase no es segura para hilos: debe usarse desde el Event Dispatch Thread.
+ *
+ * @author david
+ * @version 1.0
+ * @see IPrimitivePropertyListener
+ */
+public final class PrimitivePropertyStore {
+
+    /**
+     * Identificador con el que se registran los listeners de todas las propiedades.
+     */
+    public static final int ALL_PROPERTIES = -1;
+
+    /**
+     * Tipo de ranura: propiedad no definida.
+     */
+    private static final byte NONE = 0;
+
+    /**
+     * Tipo de ranura: {@code int}.
+     */
+    private static final byte INT = 1;
+
+    /**
+     * Tipo de ranura: {@code long}.
+     */
+    private static final byte LONG = 2;
+
+    /**
+     * Tipo de ranura: {@code double}.
+     */
+    private static final byte DOUBLE = 3;
+
+    /**
+     * El componente propietario, que se comunica como origen de los cambios.
+     */
+    private final Object owner;
+
+    /**
+     * Tipo de ranura de cada propiedad, indexado por identificador de propiedad.
+     */
+    private byte[] kinds = new byte[0];
+
+    /**
+     * Posición de cada propiedad en el array de su tipo, indexada por identificador.
+     */
+    private int[] slots = new int[0];
+
+    /**
+     * Valores de las propiedades {@code int}.
+     */
+    private int[] ints = new int[0];
+
+    /**
+     * Valores de las propiedades {@code long}.
+     */
+    private long[] longs = new long[0];
+
+    /**
+     * Valores de las propiedades {@code double}.
+     */
+    private double[] doubles = new double[0];
+
+    /**
+     * Identificador de la propiedad de cada listener, o {@link #ALL_PROPERTIES}.
+     * Se sustituye, junto con {@link #listeners}, en cada alta o baja.
+     */
+    private int[] listenerIds = new int[0];
+
+    /**
+     * Los listeners registrados.
+     */
+    private IPrimitivePropertyListener[] listeners = new IPrimitivePropertyListener[0];
+
+    /**
+     * Crea un almacén vacío.
+     *
+     * @param owner El componente o el modelo propietario.
+     */
+    public PrimitivePropertyStore(Object owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Indica si una propiedad tiene ranura en el almacén.
+     *
+     * @param propertyId El identificador de la propiedad.
+     * @return {@code true} si la propiedad se ha leído o escrito alguna vez.
+     */
+    public boolean isDefined(int propertyId) {
+        return propertyId >= 0 && propertyId < kinds.length && kinds[propertyId] != NONE;
+    }
+
+    /**
+     * Lee una propiedad {@code int}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0} si nunca se ha escrito.
+     */
+    public int getInt(PropertyKey<Integer> key) {
+        // La ranura se resuelve antes de leer el array, que puede crecer al asignarla.
+        int slot = slot(key, INT);
+        return ints[slot];
+    }
+
+    /**
+     * Escribe una propiedad {@code int} y, si cambia, lo notifica a los listeners.
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    public boolean setInt(PropertyKey<Integer> key, int value) {
+        int slot = slot(key, INT);
+        int oldValue = ints[slot];
+        if (oldValue == value) {
+            return false;
+        }
+        ints[slot] = value;
+        int id = key.getId();
+        IPrimitivePropertyListener[] current = listeners;
+        int[] ids = listenerIds;
+        for (int i = 0; i < current.length; i++) {
+            if (ids[i] == id || ids[i] == ALL_PROPERTIES) {
+                current[i].intPropertyChanged(owner, id, oldValue, value);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lee una propiedad {@code long}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0} si nunca se ha escrito.
+     */
+    public long getLong(PropertyKey<Long> key) {
+        // La ranura se resuelve antes de leer el array, que puede crecer al asignarla.
+        int slot = slot(key, LONG);
+        return longs[slot];
+    }
+
+    /**
+     * Escribe una propiedad {@code long} y, si cambia, lo notifica a los listeners.
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    public boolean setLong(PropertyKey<Long> key, long value) {
+        int slot = slot(key, LONG);
+        long oldValue = longs[slot];
+        if (oldValue == value) {
+            return false;
+        }
+        longs[slot] = value;
+        int id = key.getId();
+        IPrimitivePropertyListener[] current = listeners;
+        int[] ids = listenerIds;
+        for (int i = 0; i < current.length; i++) {
+            if (ids[i] == id || ids[i] == ALL_PROPERTIES) {
+                current[i].longPropertyChanged(owner, id, oldValue, value);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Lee una propiedad {@code double}.
+     *
+     * @param key La clave de la propiedad.
+     * @return Su valor; {@code 0.0} si nunca se ha escrito.
+     */
+    public double getDouble(PropertyKey<Double> key) {
+        // La ranura se resuelve antes de leer el array, que puede crecer al asignarla.
+        int slot = slot(key, DOUBLE);
+        return doubles[slot];
+    }
+
+    /**
+     * Escribe una propiedad {@code double} y, si cambia, lo notifica a los
+     * listeners. Dos valores se consideran iguales si tienen la misma representación
+     * binaria, de modo que escribir {@code NaN} dos veces no notifica nada.
+     *
+     * @param key La clave de la propiedad.
+     * @param value El nuevo valor.
+     * @return {@code true} si el valor ha cambiado.
+     */
+    public boolean setDouble(PropertyKey<Double> key, double value) {
+        int slot = slot(key, DOUBLE);
+        double oldValue = doubles[slot];
+        if (Double.doubleToLongBits(oldValue) == Double.doubleToLongBits(value)) {
+            return false;
+        }
+        doubles[slot] = value;
+        int id = key.getId();
+        IPrimitivePropertyListener[] current = listeners;
+        int[] ids = listenerIds;
+        for (int i = 0; i < current.length; i++) {
+            if (ids[i] == id || ids[i] == ALL_PROPERTIES) {
+                current[i].doublePropertyChanged(owner, id, oldValue, value);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registra un listener de una propiedad.
+     *
+     * @param propertyId El identificador de la propiedad, o {@link #ALL_PROPERTIES}.
+     * @param listener El listener.
+     */
+    public void addListener(int propertyId, IPrimitivePropertyListener listener) {
+        if (listener == null) {
+            return;
+        }
+        int n = listeners.length;
+        int[] ids = Arrays.copyOf(listenerIds, n + 1);
+        IPrimitivePropertyListener[] updated = Arrays.copyOf(listeners, n + 1);
+        ids[n] = propertyId;
+        updated[n] = listener;
+        listenerIds = ids;
+        listeners = updated;
+    }
+
+    /**
+     * Elimina un listener registrado con {@link #addListener(int, IPrimitivePropertyListener)}.
+     *
+     * @param propertyId El identificador con el que se registró.
+     * @param listener El listener.
+     * @return {@code true} si estaba registrado.
+     */
+    public boolean removeListener(int propertyId, IPrimitivePropertyListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listenerIds[i] == propertyId && listeners[i] == listener) {
+                int n = listeners.length - 1;
+                int[] ids = new int[n];
+                IPrimitivePropertyListener[] updated = new IPrimitivePropertyListener[n];
+                System.arraycopy(listenerIds, 0, ids, 0, i);
+                System.arraycopy(listenerIds, i + 1, ids, i, n - i);
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, n - i);
+                listenerIds = ids;
+                listeners = updated;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Devuelve la ranura de una propiedad, asignándola si es la primera vez que se usa.
+     *
+     * @param key La clave de la propiedad.
+     * @param kind El tipo de ranura esperado.
+     * @return La posición de la propiedad en el array de su tipo.
+     * @throws IllegalArgumentException si la propiedad ya tiene una ranura de otro tipo.
+     */
+    private int slot(PropertyKey<?> key, byte kind) {
+        int id = key.getId();
+        if (id < kinds.length && kinds[id] == kind) {
+            return slots[id];
+        }
+        if (id < kinds.length && kinds[id] != NONE) {
+            throw new IllegalArgumentException("La propiedad '" + key.getName() + "' ya está definida con otro tipo.");
+        }
+        if (id >= kinds.length) {
+            int size = Math.max(id + 1, kinds.length * 2);
+            kinds = Arrays.copyOf(kinds, size);
+            slots = Arrays.copyOf(slots, size);
+        }
+        int slot;
+        switch (kind) {
+            case INT:
+                slot = ints.length;
+                ints = Arrays.copyOf(ints, slot + 1);
+                break;
+            case LONG:
+                slot = longs.length;
+                longs = Arrays.copyOf(longs, slot + 1);
+                break;
+            default:
+                slot = doubles.length;
+                doubles = Arrays.copyOf(doubles, slot + 1);
+                break;
+        }
+        kinds[id] = kind;
+        slots[id] = slot;
+        return slot;
+    }
+}
@@ -0,0 +1,90 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+
+/**
+ * Contador de las épocas de propagación de un {@link BindingHub}.
+ * <p>
+ * Cada propagación que parte de un cambio externo abre una época nueva y registra su
+ * origen; las propagaciones que provocan los setters de los destinos se anidan en la
+ * misma época. Los suscriptores recuerdan la última época en la que han emitido o
+ * recibido un valor, de modo que cada uno lo recibe como mucho una vez por época.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class PropagationEpoch {
+
+    /**
+     * Número de la época de propagación actual o de la última terminada.
+     */
+    private long epoch;
+
+    /**
+     * Profundidad de anidamiento de la propagación en curso; {@code 0} fuera de ella.
+     */
+    private int depth;
+
+    /**
+     * El componente cuyo cambio originó la propagación en curso, o {@code null}.
+     */
+    private IShareableProperties origin;
+
+    /**
+     * Entra en una propagación. Si no hay ninguna en curso, abre una época nueva con
+     * el componente indicado como origen.
+     *
+     * @param source El componente o el modelo que origina el cambio, o {@code null}.
+     * @return {@code true} si se ha abierto una época nueva (propagación más externa).
+     */
+    boolean enter(IShareableProperties source) {
+        boolean outermost = depth++ == 0;
+        if (outermost) {
+            epoch++;
+            origin = source;
+        }
+        return outermost;
+    }
+
+    /**
+     * Sale de una propagación abierta con {@link #enter(IShareableProperties)}.
+     *
+     * @param outermost El valor devuelto por {@code enter}.
+     */
+    void exit(boolean outermost) {
+        depth--;
+        if (outermost) {
+            origin = null;
+        }
+    }
+
+    /**
+     * Indica si hay una propagación en curso.
+     *
+     * @return {@code true} entre {@link #enter(IShareableProperties)} y el
+     * {@link #exit(boolean)} correspondiente.
+     */
+    boolean isPropagating() {
+        return depth > 0;
+    }
+
+    /**
+     * Devuelve el número de la época en curso o, fuera de una propagación, el de la
+     * última época.
+     *
+     * @return El número de época.
+     */
+    long get() {
+        return epoch;
+    }
+
+    /**
+     * Devuelve el componente o el modelo cuyo cambio originó la propagación en curso.
+     *
+     * @return El origen, o {@code null} si no hay ninguna propagación en curso o no
+     * tiene origen.
+     */
+    IShareableProperties getOrigin() {
+        return origin;
+    }
+}
@@ -0,0 +1,40 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+/**
+ * Momento en el que el motor de enlace propaga los cambios de una propiedad
+ * compartida al resto de componentes.
+ * <p>
+ * Se declara en {@link SharedProperty#policy()} y, junto con su intervalo, forma la
+ * {@link PropagationPolicy} de la propiedad.
+ *
+ * @author david
+ * @version 1.0
+ * @see PropagationPolicy
+ */
+public enum PropagationMode {
+
+    /**
+     * Cada cambio se propaga en cuanto se produce.
+     */
+    IMMEDIATE,
+
+    /**
+     * Los cambios que se producen mientras el componente está en un estado
+     * intermedio ({@link es.uned.TFGDavidGiner.core.interfaces.IShareableProperties#isAdjusting()},
+     * por ejemplo, mientras se arrastra un deslizador) no se propagan; al terminar,
+     * se propaga el último valor.
+     */
+    ON_COMMIT,
+
+    /**
+     * Los cambios se propagan cuando la propiedad lleva un intervalo sin cambiar,
+     * con el último valor.
+     */
+    DEBOUNCED,
+
+    /**
+     * Los cambios se propagan como mucho una vez por intervalo; el último valor de
+     * cada ráfaga se propaga siempre.
+     */
+    THROTTLED
+}
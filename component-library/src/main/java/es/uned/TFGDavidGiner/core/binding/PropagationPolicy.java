@@ -0,0 +1,141 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+/**
+ * Política de propagación de una propiedad compartida: el {@link PropagationMode}
+ * y, para los modos temporizados, su intervalo.
+ * <p>
+ * Cada componente declara la política de sus propiedades en
+ * {@link SharedProperty#policy()}; un contenedor puede sustituirla para todo su
+ * ámbito con
+ * {@link es.uned.TFGDavidGiner.core.BaseContainer#setPropagationPolicy(String, PropagationPolicy)}.
+ * Las instancias son inmutables.
+ *
+ * @author david
+ * @version 1.0
+ * @see BindingHub#setPolicy(String, PropagationPolicy)
+ */
+public final class PropagationPolicy {
+
+    /**
+     * Política por defecto: cada cambio se propaga en cuanto se produce.
+     */
+    public static final PropagationPolicy IMMEDIATE = new PropagationPolicy(PropagationMode.IMMEDIATE, 0);
+
+    /**
+     * Política que solo propaga el valor final de cada ajuste.
+     */
+    public static final PropagationPolicy ON_COMMIT = new PropagationPolicy(PropagationMode.ON_COMMIT, 0);
+
+    /**
+     * El modo de propagación.
+     */
+    private final PropagationMode mode;
+
+    /**
+     * El intervalo de los modos temporizados, en milisegundos; {@code 0} en el resto.
+     */
+    private final int intervalMillis;
+
+    /**
+     * Constructor privado; las instancias se obtienen con las constantes y los
+     * métodos de factoría.
+     *
+     * @param mode El modo de propagación.
+     * @param intervalMillis El intervalo, en milisegundos.
+     */
+    private PropagationPolicy(PropagationMode mode, int intervalMillis) {
+        this.mode = mode;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * Devuelve la política que propaga el último valor cuando la propiedad lleva un
+     * intervalo sin cambiar.
+     *
+     * @param quietMillis El intervalo sin cambios, en milisegundos.
+     * @return La política.
+     * @throws IllegalArgumentException si el intervalo no es positivo.
+     */
+    public static PropagationPolicy debounced(int quietMillis) {
+        if (quietMillis <= 0) {
+            throw new IllegalArgumentException("El intervalo debe ser positivo: " + quietMillis);
+        }
+        return new PropagationPolicy(PropagationMode.DEBOUNCED, quietMillis);
+    }
+
+    /**
+     * Devuelve la política que propaga como mucho un número de cambios por segundo.
+     *
+     * @param maxPerSecond El número máximo de cambios propagados por segundo.
+     * @return La política.
+     * @throws IllegalArgumentException si el número no es positivo.
+     */
+    public static PropagationPolicy throttled(int maxPerSecond) {
+        if (maxPerSecond <= 0) {
+            throw new IllegalArgumentException("La frecuencia debe ser positiva: " + maxPerSecond);
+        }
+        return new PropagationPolicy(PropagationMode.THROTTLED, (999 + maxPerSecond) / maxPerSecond);
+    }
+
+    /**
+     * Devuelve la política correspondiente a los valores de {@link SharedProperty}.
+     *
+     * @param mode El modo de propagación.
+     * @param debounceMillis El intervalo sin cambios del modo {@link PropagationMode#DEBOUNCED}.
+     * @param maxRate El número máximo de cambios por segundo del modo
+     * {@link PropagationMode#THROTTLED}.
+     * @return La política.
+     * @throws IllegalArgumentException si el valor del modo elegido no es positivo.
+     */
+    public static PropagationPolicy of(PropagationMode mode, int debounceMillis, int maxRate) {
+        switch (mode) {
+            case ON_COMMIT:
+                return ON_COMMIT;
+            case DEBOUNCED:
+                return debounced(debounceMillis);
+            case THROTTLED:
+                return throttled(maxRate);
+            default:
+                return IMMEDIATE;
+        }
+    }
+
+    /**
+     * Devuelve el modo de propagación.
+     *
+     * @return El modo.
+     */
+    public PropagationMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Devuelve el intervalo de los modos temporizados: el tiempo sin cambios en
+     * {@link PropagationMode#DEBOUNCED} o el tiempo mínimo entre propagaciones en
+     * {@link PropagationMode#THROTTLED}.
+     *
+     * @return El intervalo, en milisegundos; {@code 0} en los demás modos.
+     */
+    public int getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof PropagationPolicy)) {
+            return false;
+        }
+        PropagationPolicy other = (PropagationPolicy) obj;
+        return mode == other.mode && intervalMillis == other.intervalMillis;
+    }
+
+    @Override
+    public int hashCode() {
+        return mode.hashCode() * 31 + intervalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return intervalMillis == 0 ? mode.name() : mode.name() + "(" + intervalMillis + " ms)";
+    }
+}
@@ -0,0 +1,134 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+/**
+ * Accesor compilado para una propiedad compartida de un componente.
+ * <p>
+ * Permite leer y escribir el valor de la propiedad sin realizar ninguna búsqueda
+ * por reflexión en cada evento. Existen dos implementaciones:
+ * <ul>
+ * <li>Una basada en el adaptador generado en tiempo de compilación por
+ * {@link es.uned.TFGDavidGiner.core.binding.processor.SharedPropertyProcessor},
+ * que llama directamente al getter y al setter.</li>
+ * <li>Otra basada en {@link java.lang.invoke.MethodHandle}s, que se usa como
+ * alternativa cuando la clase no dispone de adaptador generado.</li>
+ * </ul>
+ * Las instancias son inmutables y se obtienen a través de {@link BindingMetadata}.
+ *
+ * @author david
+ * @version 1.1
+ * @see BindingMetadata
+ */
+public abstract class PropertyAccessor {
+
+    /**
+     * Nombre de la propiedad.
+     */
+    private final String name;
+
+    /**
+     * Tipo declarado de la propiedad.
+     */
+    private final Class<?> type;
+
+    /**
+     * Constructor para las implementaciones del paquete.
+     *
+     * @param name El nombre de la propiedad.
+     * @param type El tipo declarado de la propiedad.
+     */
+    PropertyAccessor(String name, Class<?> type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * Devuelve el nombre de la propiedad.
+     *
+     * @return El nombre de la propiedad.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Devuelve el tipo declarado de la propiedad.
+     *
+     * @return El tipo de la propiedad.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Indica si la propiedad dispone de getter.
+     *
+     * @return {@code true} si la propiedad se puede leer.
+     */
+    public abstract boolean isReadable();
+
+    /**
+     * Indica si la propiedad dispone de setter.
+     *
+     * @return {@code true} si la propiedad se puede escribir.
+     */
+    public abstract boolean isWritable();
+
+    /**
+     * Lee el valor de la propiedad en el objeto indicado.
+     *
+     * @param target El objeto del que se lee la propiedad.
+     * @return El valor actual de la propiedad.
+     * @throws UnsupportedOperationException si la propiedad no tiene getter.
+     */
+    public abstract Object get(Object target);
+
+    /**
+     * Escribe el valor de la propiedad en el objeto indicado.
+     *
+     * @param target El objeto en el que se escribe la propiedad.
+     * @param value El nuevo valor.
+     * @throws UnsupportedOperationException si la propiedad no tiene setter.
+     */
+    public abstract void set(Object target, Object value);
+
+    /**
+     * Escribe una propiedad de tipo {@code int} sin envolver el valor, si la
+     * implementación lo permite; por defecto delega en {@link #set(Object, Object)}.
+     *
+     * @param target El objeto en el que se escribe la propiedad.
+     * @param value El nuevo valor.
+     * @throws UnsupportedOperationException si la propiedad no tiene setter.
+     */
+    public void setInt(Object target, int value) {
+        set(target, value);
+    }
+
+    /**
+     * Escribe una propiedad de tipo {@code long} sin envolver el valor, si la
+     * implementación lo permite; por defecto delega en {@link #set(Object, Object)}.
+     *
+     * @param target El objeto en el que se escribe la propiedad.
+     * @param value El nuevo valor.
+     * @throws UnsupportedOperationException si la propiedad no tiene setter.
+     */
+    public void setLong(Object target, long value) {
+        set(target, value);
+    }
+
+    /**
+     * Escribe una propiedad de tipo {@code double} sin envolver el valor, si la
+     * implementación lo permite; por defecto delega en {@link #set(Object, Object)}.
+     *
+     * @param target El objeto en el que se escribe la propiedad.
+     * @param value El nuevo valor.
+     * @throws UnsupportedOperationException si la propiedad no tiene setter.
+     */
+    public void setDouble(Object target, double value) {
+        set(target, value);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + name + ": " + type.getName() + "]";
+    }
+}
@@ -0,0 +1,141 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Clave tipada e internada de una propiedad compartida.
+ * <p>
+ * Cada nombre de propiedad recibe, la primera vez que se usa, un identificador
+ * entero pequeño y estable durante la ejecución ({@link #getId()}), que sirve de
+ * índice de su ranura en los almacenes de propiedades primitivas
+ * ({@link PrimitivePropertyStore}).
+ * <p>
+ * Las claves se internan por nombre y tipo: {@link #of(String, Class)} devuelve
+ * siempre la misma instancia para la misma pareja, por lo que se pueden comparar
+ * con {@code ==}. El identificador depende solo del nombre, así que dos propiedades
+ * homónimas de distinto tipo (por ejemplo {@code data} como {@link String} y como
+ * {@link Integer}) comparten identificador.
+ *
+ * @param <T> El tipo de la propiedad.
+ * @author david
+ * @version 1.0
+ */
+public final class PropertyKey<T> {
+
+    /**
+     * Identificador de cada nombre de propiedad.
+     */
+    private static final ConcurrentMap<String, Integer> IDS = new ConcurrentHashMap<>();
+
+    /**
+     * Siguiente identificador que se asignará.
+     */
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    /**
+     * Claves internadas, por nombre y tipo.
+     */
+    private static final ConcurrentMap<String, PropertyKey<?>> KEYS = new ConcurrentHashMap<>();
+
+    /**
+     * El nombre de la propiedad.
+     */
+    private final String name;
+
+    /**
+     * El tipo de la propiedad (los primitivos se guardan como su envoltorio).
+     */
+    private final Class<T> type;
+
+    /**
+     * El identificador del nombre de la propiedad.
+     */
+    private final int id;
+
+    /**
+     * Constructor privado; las claves se obtienen con {@link #of(String, Class)}.
+     *
+     * @param name El nombre de la propiedad.
+     * @param type El tipo de la propiedad.
+     * @param id El identificador del nombre.
+     */
+    private PropertyKey(String name, Class<T> type, int id) {
+        this.name = name;
+        this.type = type;
+        this.id = id;
+    }
+
+    /**
+     * Devuelve la clave internada de una propiedad.
+     *
+     * @param <T> El tipo de la propiedad.
+     * @param name El nombre de la propiedad.
+     * @param type El tipo de la propiedad; un tipo primitivo equivale a su envoltorio.
+     * @return La clave de la propiedad.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PropertyKey<T> of(String name, Class<T> type) {
+        Objects.requireNonNull(name, "name");
+        Class<T> wrapped = (Class<T>) TypeConverterRegistry.wrap(Objects.requireNonNull(type, "type"));
+        return (PropertyKey<T>) KEYS.computeIfAbsent(name + ':' + wrapped.getName(),
+                k -> new PropertyKey<>(name, wrapped, idOf(name)));
+    }
+
+    /**
+     * Devuelve el identificador de un nombre de propiedad, asignándolo si es la
+     * primera vez que se usa.
+     *
+     * @param name El nombre de la propiedad.
+     * @return El identificador, mayor o igual que cero.
+     */
+    public static int idOf(String name) {
+        Integer id = IDS.get(name);
+        return id != null ? id : IDS.computeIfAbsent(name, n -> NEXT_ID.getAndIncrement());
+    }
+
+    /**
+     * Devuelve el nombre de la propiedad.
+     *
+     * @return El nombre de la propiedad.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Devuelve el tipo de la propiedad.
+     *
+     * @return El tipo (envuelto, si es primitivo).
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Devuelve el identificador del nombre de la propiedad.
+     *
+     * @return El identificador.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Convierte un valor al tipo de la clave.
+     *
+     * @param value El valor.
+     * @return El valor con el tipo de la clave.
+     * @throws ClassCastException si el valor no es del tipo de la clave.
+     */
+    public T cast(Object value) {
+        return type.cast(value);
+    }
+
+    @Override
+    public String toString() {
+        return name + ":" + type.getSimpleName() + "#" + id;
+    }
+}
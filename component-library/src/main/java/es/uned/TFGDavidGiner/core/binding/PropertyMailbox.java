@@ -0,0 +1,279 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+import java.awt.Component;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Buzón de último valor para actualizar las propiedades de un componente desde
+ * cualquier hilo.
+ * <p>
+ * Cada propiedad tiene una ranura que guarda solo el último valor recibido: un
+ * valor nuevo sustituye al pendiente con una operación atómica, sin bloqueos, y el
+ * intermedio se descarta. Mientras haya valores pendientes, el buzón tiene una
+ * única tarea encolada en el Event Dispatch Thread, que vacía todas las ranuras y
+ * escribe cada valor con el setter de la propiedad ({@link PropertyAccessor}). Así,
+ * un productor rápido no inunda la cola de eventos ni adelanta a la interfaz: como
+ * mucho hay una tarea en cola por componente.
+ * <p>
+ * Por defecto, la tarea se encola con {@code SwingUtilities.invokeLater}. Con
+ * {@link #setScheduler(UpdateScheduler, UpdatePriority)} se encola en un carril de
+ * un {@link UpdateScheduler}, de modo que los valores se escriben en el siguiente
+ * fotograma, detrás de las acciones del usuario.
+ * <p>
+ * Si al vaciar el buzón hay varias propiedades pendientes y el componente implementa
+ * {@link IShareableProperties}, los valores se escriben dentro de un lote
+ * ({@link IShareableProperties#beginUpdate()}) y se propagan de una sola vez.
+ * <p>
+ * El {@link BindingHub} usa también un buzón, sin componente, para publicar en su
+ * ámbito los valores recibidos con {@link BindingHub#post(String, Object)}.
+ *
+ * @author david
+ * @version 1.0
+ * @see es.uned.TFGDavidGiner.core.LeafComponent#postProperty(String, Object)
+ */
+public final class PropertyMailbox {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger LOGGER = Logger.getLogger(PropertyMailbox.class.getName());
+
+    /**
+     * Marca de ranura vacía; permite enviar {@code null} como valor.
+     */
+    private static final Object EMPTY = new Object();
+
+    /**
+     * El componente cuyas propiedades se actualizan, o {@code null} si los valores
+     * se entregan a {@link #writer}.
+     */
+    private final Component target;
+
+    /**
+     * Destino de los valores de un buzón sin componente, o {@code null}.
+     */
+    private final BiConsumer<String, Object> writer;
+
+    /**
+     * Ranuras por nombre de propiedad. Se crean la primera vez que se envía un valor
+     * a la propiedad y no se eliminan.
+     */
+    private final ConcurrentMap<String, Slot> slots = new ConcurrentHashMap<>();
+
+    /**
+     * Indica si hay una tarea de vaciado encolada en el EDT.
+     */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Número de valores sustituidos por otro antes de llegar a escribirse.
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * El planificador en el que se encola el vaciado, o {@code null} para usar
+     * {@code SwingUtilities.invokeLater}.
+     */
+    private volatile UpdateScheduler scheduler;
+
+    /**
+     * El carril del planificador en el que se encola el vaciado.
+     */
+    private volatile UpdatePriority priority = UpdatePriority.BACKGROUND;
+
+    /**
+     * Crea el buzón de un componente.
+     *
+     * @param target El componente cuyas propiedades se actualizan.
+     */
+    public PropertyMailbox(Component target) {
+        this.target = target;
+        this.writer = null;
+    }
+
+    /**
+     * Crea un buzón que entrega los valores, en el EDT, a una función en lugar de a
+     * los setters de un componente.
+     *
+     * @param writer La función que recibe el nombre de la propiedad y su valor.
+     */
+    PropertyMailbox(BiConsumer<String, Object> writer) {
+        this.target = null;
+        this.writer = writer;
+    }
+
+    /**
+     * Deja un valor para una propiedad, sustituyendo al pendiente si lo hay. Se
+     * puede llamar desde cualquier hilo.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param value El nuevo valor.
+     * @throws IllegalArgumentException si el componente no tiene un setter para la propiedad.
+     */
+    public void post(String propertyName, Object value) {
+        Slot slot = slots.get(propertyName);
+        if (slot == null) {
+            slot = slots.computeIfAbsent(propertyName, this::createSlot);
+        }
+        if (slot.getAndSet(value) != EMPTY) {
+            dropped.incrementAndGet();
+        }
+        if (scheduled.compareAndSet(false, true)) {
+            UpdateScheduler current = scheduler;
+            if (current != null) {
+                current.submit(priority, this::drain);
+            } else {
+                SwingUtilities.invokeLater(this::drain);
+            }
+        }
+    }
+
+    /**
+     * Hace que el vaciado se encole en un planificador de actualizaciones en lugar de
+     * con {@code SwingUtilities.invokeLater}.
+     *
+     * @param scheduler El planificador, o {@code null} para volver a {@code invokeLater}.
+     * @param priority El carril en el que se encola el vaciado.
+     */
+    public void setScheduler(UpdateScheduler scheduler, UpdatePriority priority) {
+        this.priority = priority;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Devuelve el planificador en el que se encola el vaciado.
+     *
+     * @return El planificador, o {@code null} si se usa {@code invokeLater}.
+     */
+    public UpdateScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Indica si hay algún valor pendiente de escribir.
+     *
+     * @return {@code true} si alguna ranura tiene un valor pendiente.
+     */
+    public boolean hasPending() {
+        for (Slot slot : slots.values()) {
+            if (slot.get() != EMPTY) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Devuelve el número de valores que se han descartado porque llegó otro más
+     * reciente antes de escribirlos.
+     *
+     * @return El número de valores descartados.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Escribe en el componente los valores pendientes. Debe llamarse desde el EDT;
+     * normalmente lo hace la tarea que encola {@link #post(String, Object)}.
+     */
+    public void drain() {
+        // Se libera antes de vaciar: un valor que llegue durante el vaciado encola
+        // una tarea nueva en lugar de perderse.
+        scheduled.set(false);
+        int count = 0;
+        for (Slot slot : slots.values()) {
+            if (slot.get() != EMPTY) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return;
+        }
+        IShareableProperties batch = count > 1 && target instanceof IShareableProperties
+                ? (IShareableProperties) target
+                : null;
+        if (batch != null) {
+            batch.beginUpdate();
+        }
+        try {
+            for (Map.Entry<String, Slot> entry : slots.entrySet()) {
+                Slot slot = entry.getValue();
+                Object value = slot.getAndSet(EMPTY);
+                if (value == EMPTY) {
+                    continue;
+                }
+                try {
+                    if (slot.accessor != null) {
+                        slot.accessor.set(target, value);
+                    } else {
+                        writer.accept(entry.getKey(), value);
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.SEVERE, "Error al escribir la propiedad '" + entry.getKey() + "'", e);
+                }
+            }
+        } finally {
+            if (batch != null) {
+                batch.commitUpdate();
+            }
+        }
+    }
+
+    /**
+     * Crea la ranura de una propiedad, comprobando que el componente puede escribirla.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return La ranura, vacía.
+     * @throws IllegalArgumentException si el componente no tiene un setter para la propiedad.
+     */
+    private Slot createSlot(String propertyName) {
+        if (target == null) {
+            return new Slot(null);
+        }
+        PropertyAccessor accessor = BindingMetadata.forClass(target.getClass()).getAccessor(propertyName);
+        if (accessor == null || !accessor.isWritable()) {
+            throw new IllegalArgumentException("El componente " + target.getClass().getName()
+                    + " no tiene un setter para la propiedad '" + propertyName + "'.");
+        }
+        return new Slot(accessor);
+    }
+
+    /**
+     * Ranura de una propiedad: el último valor pendiente, o {@link #EMPTY}, y el
+     * accesor con el que se escribe.
+     */
+    private static final class Slot extends AtomicReference<Object> {
+
+        /**
+         * Versión de serialización (la clase no se serializa; se declara por heredar
+         * de {@link AtomicReference}).
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * El accesor de la propiedad, o {@code null} en un buzón sin componente.
+         */
+        private final PropertyAccessor accessor;
+
+        /**
+         * Crea una ranura vacía.
+         *
+         * @param accessor El accesor de la propiedad.
+         */
+        Slot(PropertyAccessor accessor) {
+            super(EMPTY);
+            this.accessor = accessor;
+        }
+    }
+}
@@ -0,0 +1,370 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Publicador ({@link Flow.Publisher}) de los cambios de una propiedad compartida de
+ * un ámbito de enlace, para que código ajeno a Swing (persistencia, analítica,
+ * registro) los observe sin registrar listeners en los componentes hoja.
+ * <p>
+ * El publicador recibe del {@link BindingHub}, en el Event Dispatch Thread, cada
+ * valor nuevo de la propiedad, lo publique un componente, una propiedad derivada o
+ * {@link BindingHub#post(String, Object)}. Cada suscriptor tiene una ranura con el
+ * último valor no entregado: si el suscriptor no ha pedido más elementos
+ * ({@link Flow.Subscription#request(long)}) o va más lento que los cambios, el valor
+ * nuevo sustituye al pendiente en lugar de encolarse. Las entregas se hacen en el
+ * {@link Executor} del publicador, nunca en el EDT, y las de un mismo suscriptor no
+ * se solapan.
+ * <p>
+ * Cada suscripción nueva recibe primero el valor actual de la propiedad en el hub,
+ * leído en el EDT, salvo que antes le llegue un cambio. Los valores
+ * {@code null} no se publican, como exige {@link Flow}, y los de otro tipo se
+ * convierten con {@link TypeConverterRegistry} o, si no es posible, se descartan.
+ * <p>
+ * El publicador se crea y se cierra ({@link #close()}) en el EDT; las suscripciones
+ * se pueden hacer y cancelar desde cualquier hilo. Al cerrarlo, cada suscriptor
+ * recibe los valores que ya había pedido y {@code onComplete}.
+ *
+ * @param <T> El tipo de la propiedad.
+ * @author david
+ * @version 1.0
+ * @see es.uned.TFGDavidGiner.core.BaseContainer#getPropertyPublisher(PropertyKey, Executor)
+ */
+public final class PropertyPublisher<T> implements Flow.Publisher<T>, AutoCloseable {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger LOGGER = Logger.getLogger(PropertyPublisher.class.getName());
+
+    /**
+     * Marca de ranura vacía.
+     */
+    private static final Object EMPTY = new Object();
+
+    /**
+     * El hub del que se reciben los cambios.
+     */
+    private final BindingHub hub;
+
+    /**
+     * La clave de la propiedad publicada.
+     */
+    private final PropertyKey<T> key;
+
+    /**
+     * El ejecutor de las entregas.
+     */
+    private final Executor executor;
+
+    /**
+     * El observador registrado en el hub.
+     */
+    private final Consumer<Object> observer = this::offer;
+
+    /**
+     * Las suscripciones activas.
+     */
+    private final CopyOnWriteArrayList<PropertySubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Indica si el publicador está cerrado.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Crea el publicador de una propiedad y lo registra en el hub. Debe llamarse
+     * desde el EDT.
+     *
+     * @param hub El hub del ámbito de enlace.
+     * @param key La clave de la propiedad.
+     * @param executor El ejecutor de las entregas a los suscriptores.
+     */
+    public PropertyPublisher(BindingHub hub, PropertyKey<T> key, Executor executor) {
+        this.hub = Objects.requireNonNull(hub, "hub");
+        this.key = Objects.requireNonNull(key, "key");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        hub.addObserver(key.getName(), observer);
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        PropertySubscription subscription = new PropertySubscription(subscriber);
+        if (closed) {
+            subscription.completed = true;
+        } else {
+            subscriptions.add(subscription);
+            if (SwingUtilities.isEventDispatchThread()) {
+                seed(subscription);
+            } else {
+                SwingUtilities.invokeLater(() -> seed(subscription));
+            }
+        }
+        subscription.schedule();
+    }
+
+    /**
+     * Deja en la ranura de una suscripción nueva el valor actual de la propiedad,
+     * salvo que ya haya recibido un cambio. Se ejecuta en el EDT.
+     *
+     * @param subscription La suscripción.
+     */
+    private void seed(PropertySubscription subscription) {
+        if (closed || subscription.done || subscription.received) {
+            return;
+        }
+        Object current;
+        try {
+            current = convert(hub.currentValue(key.getName()));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error al leer el valor actual de la propiedad '" + key.getName() + "'", e);
+            return;
+        }
+        if (current != null) {
+            subscription.offer(current);
+        }
+    }
+
+    /**
+     * Devuelve la clave de la propiedad publicada.
+     *
+     * @return La clave.
+     */
+    public PropertyKey<T> getKey() {
+        return key;
+    }
+
+    /**
+     * Devuelve el número de suscriptores activos.
+     *
+     * @return El número de suscripciones no canceladas ni completadas.
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Indica si el publicador está cerrado.
+     *
+     * @return {@code true} si se ha llamado a {@link #close()}.
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Cierra el publicador: deja de recibir cambios del hub y completa todas las
+     * suscripciones. Debe llamarse desde el EDT.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        hub.removeObserver(key.getName(), observer);
+        for (PropertySubscription subscription : subscriptions) {
+            subscription.completed = true;
+            subscription.schedule();
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * Recibe del hub un valor nuevo de la propiedad y lo deja en la ranura de cada
+     * suscriptor.
+     *
+     * @param value El nuevo valor.
+     */
+    private void offer(Object value) {
+        if (value == null || subscriptions.isEmpty()) {
+            return;
+        }
+        Object converted = convert(value);
+        if (converted == null) {
+            return;
+        }
+        for (PropertySubscription subscription : subscriptions) {
+            subscription.offer(converted);
+        }
+    }
+
+    /**
+     * Convierte un valor de la propiedad al tipo de su clave.
+     *
+     * @param value El valor.
+     * @return El valor convertido, o {@code null} si es {@code null} o no se puede convertir.
+     */
+    private Object convert(Object value) {
+        if (value == null || key.getType().isInstance(value)) {
+            return value;
+        }
+        Function<Object, Object> converter = TypeConverterRegistry.getConverter(value.getClass(), key.getType());
+        return converter != null ? converter.apply(value) : null;
+    }
+
+    /**
+     * Suscripción de un suscriptor: su demanda pendiente y la ranura con el último
+     * valor no entregado.
+     * <p>
+     * Las señales al suscriptor las emite una única tarea de vaciado en el ejecutor;
+     * el contador {@link #work} garantiza que no hay dos tareas a la vez y que un
+     * cambio llegado durante el vaciado no se pierde.
+     */
+    private final class PropertySubscription implements Flow.Subscription, Runnable {
+
+        /**
+         * El suscriptor.
+         */
+        private final Flow.Subscriber<? super T> subscriber;
+
+        /**
+         * El último valor no entregado, o {@link #EMPTY}.
+         */
+        private final AtomicReference<Object> latest = new AtomicReference<>(EMPTY);
+
+        /**
+         * Número de elementos pedidos y aún no entregados ({@link Long#MAX_VALUE}
+         * equivale a una demanda ilimitada).
+         */
+        private final AtomicLong demand = new AtomicLong();
+
+        /**
+         * Número de peticiones de vaciado pendientes; la tarea se encola al pasar de 0 a 1.
+         */
+        private final AtomicInteger work = new AtomicInteger();
+
+        /**
+         * Indica si ya se ha llamado a {@code onSubscribe}. Solo lo usa la tarea de vaciado.
+         */
+        private boolean subscribed;
+
+        /**
+         * Indica si la ranura ya ha recibido algún valor. Solo se usa en el EDT.
+         */
+        private boolean received;
+
+        /**
+         * Indica si se debe completar la suscripción.
+         */
+        private volatile boolean completed;
+
+        /**
+         * Indica si la suscripción ha terminado (cancelada, completada o con error).
+         */
+        private volatile boolean done;
+
+        /**
+         * Error que se debe señalar al suscriptor, o {@code null}.
+         */
+        private volatile Throwable error;
+
+        /**
+         * Crea la suscripción de un suscriptor.
+         *
+         * @param subscriber El suscriptor.
+         */
+        PropertySubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Deja un valor en la ranura, sustituyendo al pendiente, y encola el vaciado.
+         *
+         * @param value El valor.
+         */
+        void offer(Object value) {
+            received = true;
+            latest.set(value);
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("La demanda debe ser positiva: " + n);
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            subscriptions.remove(this);
+        }
+
+        /**
+         * Encola la tarea de vaciado si no hay ninguna en marcha.
+         */
+        void schedule() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                LOGGER.log(Level.SEVERE, "El ejecutor ha rechazado la entrega de la propiedad '" + key.getName() + "'", e);
+                cancel();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            int missed = 1;
+            do {
+                if (done) {
+                    return;
+                }
+                try {
+                    if (!subscribed) {
+                        subscribed = true;
+                        subscriber.onSubscribe(this);
+                    }
+                    long requested = demand.get();
+                    while (requested > 0 && !done && error == null) {
+                        Object value = latest.getAndSet(EMPTY);
+                        if (value == EMPTY) {
+                            break;
+                        }
+                        if (requested != Long.MAX_VALUE) {
+                            requested = demand.decrementAndGet();
+                        }
+                        subscriber.onNext((T) value);
+                    }
+                    if (!done && error != null) {
+                        cancel();
+                        subscriber.onError(error);
+                        return;
+                    }
+                    if (!done && completed) {
+                        cancel();
+                        subscriber.onComplete();
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    // Un suscriptor que falla deja de recibir señales (regla 2.13 de Flow).
+                    LOGGER.log(Level.SEVERE, "Error en un suscriptor de la propiedad '" + key.getName() + "'", e);
+                    cancel();
+                    return;
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IListChangeListener;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lista observable para las propiedades compartidas de tipo colección.
+ * <p>
+ * Cada modificación se notifica a sus {@link IListChangeListener} como un
+ * {@link ListChange} con el rango afectado, en lugar de como un cambio de la lista
+ * completa. Si un componente hoja comparte una propiedad de este tipo, el
+ * {@link BindingHub} escucha su lista y aplica cada modificación a las listas de
+ * los demás componentes suscritos con {@link #apply(ListChange)}, con un coste
+ * proporcional al tamaño de la modificación; a su vez, cada componente escucha su
+ * propia lista para actualizar su vista solo en el rango afectado.
+ * <p>
+ * Para ello, el componente guarda la lista en un campo final y el getter de la
+ * propiedad devuelve siempre la misma instancia. El setter, que el hub usa cuando
+ * no puede aplicar una modificación (por ejemplo, al mostrar un componente oculto),
+ * debe copiar el contenido con {@link #setAll(Collection)} en lugar de quedarse
+ * con la lista recibida.
+ * <p>
+ * Las modificaciones de una lista compartida se propagan siempre de inmediato y en
+ * orden: no se agrupan ni se retienen por la política de propagación, porque cada
+ * una depende de la anterior. Los elementos se comparten por referencia entre las
+ * listas enlazadas. Como el resto del motor de enlace, esta clase debe usarse
+ * desde el Event Dispatch Thread.
+ *
+ * @param <E> El tipo de los elementos.
+ * @author david
+ * @version 1.0
+ */
+public final class SharedList<E> extends AbstractList<E> implements RandomAccess {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SharedList.class.getName());
+
+    /**
+     * Los elementos de la lista.
+     */
+    private final ArrayList<E> elements;
+
+    /**
+     * Los listeners registrados. Se sustituye el array al modificarlo, de modo que
+     * un listener puede darse de baja mientras se notifica un cambio.
+     */
+    private IListChangeListener<? super E>[] listeners = newListeners(0);
+
+    /**
+     * Crea una lista vacía.
+     */
+    public SharedList() {
+        this.elements = new ArrayList<>();
+    }
+
+    /**
+     * Crea una lista con los elementos de una colección.
+     *
+     * @param initial Los elementos iniciales.
+     */
+    public SharedList(Collection<? extends E> initial) {
+        this.elements = new ArrayList<>(initial);
+    }
+
+    /**
+     * Registra un listener de las modificaciones de la lista.
+     *
+     * @param listener El listener.
+     */
+    public void addListChangeListener(IListChangeListener<? super E> listener) {
+        IListChangeListener<? super E>[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Elimina un listener registrado con
+     * {@link #addListChangeListener(IListChangeListener)}.
+     *
+     * @param listener El listener.
+     */
+    public void removeListChangeListener(IListChangeListener<? super E> listener) {
+        List<IListChangeListener<? super E>> updated = new ArrayList<>(Arrays.asList(listeners));
+        if (updated.remove(listener)) {
+            listeners = updated.toArray(newListeners(0));
+        }
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E old = elements.set(index, element);
+        fire(ListChange.Kind.UPDATE, index, index + 1, Collections.singletonList(element));
+        return old;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        elements.add(index, element);
+        modCount++;
+        fire(ListChange.Kind.INSERT, index, index + 1, Collections.singletonList(element));
+    }
+
+    @Override
+    public E remove(int index) {
+        E old = elements.remove(index);
+        modCount++;
+        fire(ListChange.Kind.REMOVE, index, index + 1, Collections.singletonList(old));
+        return old;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(elements.size(), c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        if (c.isEmpty()) {
+            return false;
+        }
+        List<E> added = Collections.unmodifiableList(new ArrayList<>(c));
+        elements.addAll(index, added);
+        modCount++;
+        fire(ListChange.Kind.INSERT, index, index + added.size(), added);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (!elements.isEmpty()) {
+            removeRange(0, elements.size());
+        }
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        List<E> range = elements.subList(fromIndex, toIndex);
+        List<E> removed = listeners.length == 0 ? null : Collections.unmodifiableList(new ArrayList<>(range));
+        range.clear();
+        modCount++;
+        fire(ListChange.Kind.REMOVE, fromIndex, toIndex, removed);
+    }
+
+    /**
+     * Sustituye todo el contenido de la lista y lo notifica como una única
+     * modificación de tipo {@link ListChange.Kind#REPLACE}.
+     *
+     * @param c Los nuevos elementos.
+     */
+    public void setAll(Collection<? extends E> c) {
+        List<E> content = Collections.unmodifiableList(new ArrayList<>(c));
+        elements.clear();
+        elements.addAll(content);
+        modCount++;
+        fire(ListChange.Kind.REPLACE, 0, content.size(), content);
+    }
+
+    /**
+     * Notifica que un elemento se ha modificado sin sustituirlo (por ejemplo, al
+     * cambiar uno de sus campos).
+     *
+     * @param index El índice del elemento.
+     * @throws IndexOutOfBoundsException si el índice no es válido.
+     */
+    public void update(int index) {
+        fire(ListChange.Kind.UPDATE, index, index + 1, Collections.singletonList(elements.get(index)));
+    }
+
+    /**
+     * Aplica a esta lista una modificación de otra con el mismo contenido y la
+     * notifica a los listeners de esta.
+     *
+     * @param change La modificación.
+     */
+    @SuppressWarnings("unchecked")
+    public void apply(ListChange<? extends E> change) {
+        change.applyTo(elements);
+        if (change.getKind() != ListChange.Kind.UPDATE) {
+            modCount++;
+        }
+        // Los elementos de la modificación no se pueden modificar, así que se comparten.
+        fire(change.getKind(), change.getFrom(), change.getTo(), (List<E>) change.getElements());
+    }
+
+    /**
+     * Notifica una modificación a los listeners.
+     *
+     * @param kind El tipo de modificación.
+     * @param from El inicio del rango, incluido.
+     * @param to El final del rango, excluido.
+     * @param changed Los elementos de la modificación.
+     */
+    private void fire(ListChange.Kind kind, int from, int to, List<E> changed) {
+        IListChangeListener<? super E>[] current = listeners;
+        if (current.length == 0) {
+            return;
+        }
+        ListChange<E> change = new ListChange<>(this, kind, from, to, changed);
+        for (IListChangeListener<? super E> listener : current) {
+            try {
+                listener.listChanged(change);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Error al notificar la modificación " + change + " de una lista compartida", e);
+            }
+        }
+    }
+
+    /**
+     * Crea un array de listeners.
+     *
+     * @param <E> El tipo de los elementos.
+     * @param length La longitud del array.
+     * @return El array.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> IListChangeListener<? super E>[] newListeners(int length) {
+        return (IListChangeListener<? super E>[]) new IListChangeListener<?>[length];
+    }
+}
@@ -0,0 +1,84 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un campo o un getter de un componente hoja como propiedad compartida.
+ * <p>
+ * Los componentes y modelos de la librería la colocan siempre en el getter, que
+ * existe también cuando la propiedad no tiene un campo propio (porque se guarda en
+ * una ranura primitiva o la vista delega en su modelo).
+ * <p>
+ * Las propiedades marcadas forman el conjunto que devuelve
+ * {@link es.uned.TFGDavidGiner.core.LeafComponent#getSharedProperies()} y son las que
+ * el {@link es.uned.TFGDavidGiner.core.BaseContainer} sincroniza entre componentes.
+ * <p>
+ * En tiempo de compilación, el procesador
+ * {@link es.uned.TFGDavidGiner.core.binding.processor.SharedPropertyProcessor}
+ * comprueba que cada propiedad marcada tenga un getter y un setter públicos con el
+ * tipo correcto (un error tipográfico en el nombre hace fallar la compilación) y
+ * genera el adaptador {@code <Componente>BindingAdapter} con el acceso directo a
+ * las propiedades.
+ * <p>
+ * Por defecto la propiedad es bidireccional; con {@link #direction()} se puede
+ * declarar que el componente solo publica o solo recibe sus cambios.
+ * <p>
+ * Con {@link #policy()} se declara cuándo se propagan los cambios (ver
+ * {@link PropagationMode}): de inmediato (por defecto), solo al terminar un ajuste,
+ * tras un intervalo sin cambios ({@link #debounceMillis()}) o como mucho un número
+ * de veces por segundo ({@link #maxRate()}).
+ * <p>
+ * Ejemplo:
+ * <pre>{@code
+ * @SharedProperty
+ * public int getPesoMaxPressBanca() { return pesoMaxPressBanca; }
+ *
+ * @SharedProperty(direction = BindingDirection.SUBSCRIBE)
+ * public int getPesoMaxSentadilla() { return pesoMaxSentadilla; }
+ *
+ * @SharedProperty(policy = PropagationMode.DEBOUNCED, debounceMillis = 300)
+ * public String getNombre() { return nombre; }
+ * }</pre>
+ *
+ * @author david
+ * @version 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SharedProperty {
+
+    /**
+     * Sentido en el que la propiedad participa en la sincronización.
+     *
+     * @return El sentido de la propiedad; por defecto, {@link BindingDirection#BIDIRECTIONAL}.
+     */
+    BindingDirection direction() default BindingDirection.BIDIRECTIONAL;
+
+    /**
+     * Momento en el que se propagan los cambios de la propiedad.
+     *
+     * @return El modo de propagación; por defecto, {@link PropagationMode#IMMEDIATE}.
+     */
+    PropagationMode policy() default PropagationMode.IMMEDIATE;
+
+    /**
+     * Intervalo sin cambios tras el que se propaga la propiedad, en milisegundos.
+     * Solo se usa con {@link PropagationMode#DEBOUNCED}.
+     *
+     * @return El intervalo; por defecto, 250 ms.
+     */
+    int debounceMillis() default 250;
+
+    /**
+     * Número máximo de cambios de la propiedad que se propagan por segundo. Solo se
+     * usa con {@link PropagationMode#THROTTLED}.
+     *
+     * @return La frecuencia máxima; por defecto, 10 por segundo.
+     */
+    int maxRate() default 10;
+}
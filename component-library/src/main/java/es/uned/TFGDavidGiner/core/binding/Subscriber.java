@@ -0,0 +1,318 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IListChangeListener;
+import es.uned.TFGDavidGiner.core.interfaces.IPrimitivePropertyListener;
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.Timer;
+
+/**
+ * Suscripción de un componente hoja a un tema. Es, a la vez, el listener que se
+ * registra en el componente para la propiedad del tema: un
+ * {@link IPrimitivePropertyListener} si el componente la guarda en una ranura
+ * primitiva o, si no, un {@link PropertyChangeListener}. Si la propiedad es una
+ * {@link SharedList}, escucha además sus modificaciones.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class Subscriber implements PropertyChangeListener, IPrimitivePropertyListener, IListChangeListener<Object> {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Subscriber.class.getName());
+
+    /**
+     * El hub en el que está registrada la suscripción.
+     */
+    private final BindingHub hub;
+
+    /**
+     * El enlace del componente suscrito.
+     */
+    final LeafBinding binding;
+
+    /**
+     * El tema al que pertenece la suscripción.
+     */
+    final Topic topic;
+
+    /**
+     * El componente o el modelo suscrito.
+     */
+    final IShareableProperties leaf;
+
+    /**
+     * El accesor de la propiedad en la clase del componente.
+     */
+    final PropertyAccessor accessor;
+
+    /**
+     * El sentido declarado de la propiedad en el componente.
+     */
+    final BindingDirection direction;
+
+    /**
+     * Última época de propagación en la que esta suscripción ha emitido o
+     * recibido un valor.
+     */
+    long seenEpoch;
+
+    /**
+     * Indica si la suscripción escucha al componente como
+     * {@link IPrimitivePropertyListener}.
+     */
+    boolean primitive;
+
+    /**
+     * La política de propagación de la propiedad en el componente.
+     */
+    PropagationPolicy policy = PropagationPolicy.IMMEDIATE;
+
+    /**
+     * El último valor retenido por la política, o {@link PolicyGate#NO_VALUE}.
+     */
+    Object held = PolicyGate.NO_VALUE;
+
+    /**
+     * Temporizador de las políticas temporizadas, creado la primera vez que se usa.
+     */
+    Timer timer;
+
+    /**
+     * Momento ({@link System#nanoTime()}) de la última propagación de un valor
+     * retenido o limitado, o {@link Long#MIN_VALUE} si no ha habido ninguna.
+     */
+    long lastRelease = Long.MIN_VALUE;
+
+    /**
+     * La lista compartida del componente, si la propiedad es una {@link SharedList},
+     * o {@code null}.
+     */
+    SharedList<Object> list;
+
+    /**
+     * Convertidores ya resueltos hacia el tipo de esta suscripción, por tipo de
+     * origen. Se guarda {@link Optional#empty()} si no hay convertidor.
+     */
+    private final Map<Class<?>, Optional<Function<Object, Object>>> converters = new IdentityHashMap<>();
+
+    /**
+     * Crea una suscripción.
+     *
+     * @param binding El enlace del componente suscrito.
+     * @param topic El tema.
+     * @param accessor El accesor de la propiedad.
+     * @param direction El sentido de la propiedad.
+     */
+    Subscriber(LeafBinding binding, Topic topic, PropertyAccessor accessor, BindingDirection direction) {
+        this.hub = binding.hub;
+        this.binding = binding;
+        this.topic = topic;
+        this.leaf = binding.leaf;
+        this.accessor = accessor;
+        this.direction = direction;
+    }
+
+    /**
+     * Devuelve el convertidor de valores de un tipo de origen al tipo de esta
+     * suscripción, resolviéndolo en {@link TypeConverterRegistry} la primera vez.
+     *
+     * @param sourceType El tipo de la propiedad en el componente de origen.
+     * @return El convertidor, o {@code null} si los tipos no son compatibles.
+     */
+    Function<Object, Object> converterFrom(Class<?> sourceType) {
+        return converters.computeIfAbsent(sourceType,
+                t -> Optional.ofNullable(TypeConverterRegistry.getConverter(t, accessor.getType()))).orElse(null);
+    }
+
+    /**
+     * Devuelve el temporizador de la suscripción, de un solo disparo, que propaga
+     * el valor retenido.
+     *
+     * @param delayMillis El retardo del temporizador, en milisegundos.
+     * @return El temporizador.
+     */
+    Timer timer(int delayMillis) {
+        if (timer == null) {
+            timer = new Timer(delayMillis, e -> hub.release(this));
+            timer.setRepeats(false);
+        }
+        timer.setInitialDelay(delayMillis);
+        return timer;
+    }
+
+    /**
+     * Escribe un valor en la propiedad del componente suscrito o, si el componente
+     * está oculto y se aplaza su actualización, lo guarda como pendiente.
+     *
+     * @param value El valor, ya convertido al tipo de la propiedad.
+     */
+    void write(Object value) {
+        if (hidden()) {
+            defer(value);
+            return;
+        }
+        apply(value);
+    }
+
+    /**
+     * Escribe un valor en la propiedad del componente suscrito, esté o no a la vista.
+     *
+     * @param value El valor, ya convertido al tipo de la propiedad.
+     */
+    void apply(Object value) {
+        try {
+            accessor.set(leaf, value);
+        } catch (RuntimeException ex) {
+            // Registrar cualquier excepción ocurrida durante la propagación.
+            LOGGER.log(Level.SEVERE, "Error al sincronizar propiedad '" + topic.name + "'", ex);
+        }
+    }
+
+    /**
+     * Escribe un valor {@code int} sin envolver en la propiedad del componente suscrito.
+     *
+     * @param value El valor.
+     */
+    void writeInt(int value) {
+        if (hidden()) {
+            defer(value);
+            return;
+        }
+        try {
+            accessor.setInt(leaf, value);
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.SEVERE, "Error al sincronizar propiedad '" + topic.name + "'", ex);
+        }
+    }
+
+    /**
+     * Escribe un valor {@code long} sin envolver en la propiedad del componente suscrito.
+     *
+     * @param value El valor.
+     */
+    void writeLong(long value) {
+        if (hidden()) {
+            defer(value);
+            return;
+        }
+        try {
+            accessor.setLong(leaf, value);
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.SEVERE, "Error al sincronizar propiedad '" + topic.name + "'", ex);
+        }
+    }
+
+    /**
+     * Escribe un valor {@code double} sin envolver en la propiedad del componente suscrito.
+     *
+     * @param value El valor.
+     */
+    void writeDouble(double value) {
+        if (hidden()) {
+            defer(value);
+            return;
+        }
+        try {
+            accessor.setDouble(leaf, value);
+        } catch (RuntimeException ex) {
+            LOGGER.log(Level.SEVERE, "Error al sincronizar propiedad '" + topic.name + "'", ex);
+        }
+    }
+
+    /**
+     * Indica si la actualización del componente suscrito debe aplazarse porque no
+     * está a la vista.
+     *
+     * @return {@code true} si el valor debe guardarse como pendiente.
+     */
+    boolean hidden() {
+        return hub.hides(leaf);
+    }
+
+    /**
+     * Guarda un valor pendiente de entregar; sustituye al anterior de la misma
+     * propiedad.
+     *
+     * @param value El valor, ya convertido al tipo de la propiedad.
+     */
+    void defer(Object value) {
+        hub.defer(this, value);
+    }
+
+    /**
+     * Indica si la suscripción puede recibir un valor en la época indicada.
+     *
+     * @param epoch La época de la propagación.
+     * @return {@code true} si recibe cambios, es escribible y aún no ha recibido
+     * ni emitido ningún valor en la época.
+     */
+    boolean accepts(long epoch) {
+        return seenEpoch != epoch && direction.canSubscribe() && accessor.isWritable();
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent evt) {
+        // Los cambios hechos dentro de un lote se propagan juntos al confirmarlo, y
+        // los ecos de los valores escritos por el hub no se vuelven a propagar.
+        if (leaf.isUpdating() || hub.isEcho(this)) {
+            return;
+        }
+        if (policy == PropagationPolicy.IMMEDIATE) {
+            hub.propertyChanged(this, evt.getNewValue());
+        } else {
+            hub.hold(this, evt.getNewValue());
+        }
+    }
+
+    @Override
+    public void intPropertyChanged(Object source, int propertyId, int oldValue, int newValue) {
+        if (leaf.isUpdating() || hub.isEcho(this)) {
+            return;
+        }
+        if (policy == PropagationPolicy.IMMEDIATE) {
+            hub.intChanged(this, newValue);
+        } else {
+            hub.hold(this, newValue);
+        }
+    }
+
+    @Override
+    public void longPropertyChanged(Object source, int propertyId, long oldValue, long newValue) {
+        if (leaf.isUpdating() || hub.isEcho(this)) {
+            return;
+        }
+        if (policy == PropagationPolicy.IMMEDIATE) {
+            hub.longChanged(this, newValue);
+        } else {
+            hub.hold(this, newValue);
+        }
+    }
+
+    @Override
+    public void listChanged(ListChange<?> change) {
+        // Las modificaciones no se agrupan ni se retienen: cada una depende de la anterior.
+        hub.listChanged(this, change);
+    }
+
+    @Override
+    public void doublePropertyChanged(Object source, int propertyId, double oldValue, double newValue) {
+        if (leaf.isUpdating() || hub.isEcho(this)) {
+            return;
+        }
+        if (policy == PropagationPolicy.IMMEDIATE) {
+            hub.doubleChanged(this, newValue);
+        } else {
+            hub.hold(this, newValue);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.interfaces.IShareableProperties;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tema de una propiedad compartida: la lista de suscriptores que la declaran.
+ * <p>
+ * Los suscriptores se guardan en un array que se sustituye en cada alta o baja,
+ * de forma que una entrega en curso no se ve afectada por modificaciones
+ * reentrantes.
+ *
+ * @author david
+ * @version 1.0
+ */
+final class Topic {
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger LOGGER = Logger.getLogger(Topic.class.getName());
+
+    /**
+     * El nombre de la propiedad.
+     */
+    final String name;
+
+    /**
+     * Los suscriptores actuales del tema.
+     */
+    Subscriber[] subscribers = new Subscriber[0];
+
+    /**
+     * Crea un tema vacío.
+     *
+     * @param name El nombre de la propiedad.
+     */
+    Topic(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Añade un suscriptor al tema.
+     *
+     * @param subscriber El suscriptor.
+     */
+    void add(Subscriber subscriber) {
+        Subscriber[] updated = Arrays.copyOf(subscribers, subscribers.length + 1);
+        updated[subscribers.length] = subscriber;
+        subscribers = updated;
+    }
+
+    /**
+     * Elimina un suscriptor del tema.
+     *
+     * @param subscriber El suscriptor.
+     */
+    void remove(Subscriber subscriber) {
+        List<Subscriber> updated = new ArrayList<>(Arrays.asList(subscribers));
+        updated.remove(subscriber);
+        subscribers = updated.toArray(new Subscriber[0]);
+    }
+
+    /**
+     * Indica si el tema no tiene suscriptores.
+     *
+     * @return {@code true} si está vacío.
+     */
+    boolean isEmpty() {
+        return subscribers.length == 0;
+    }
+
+    /**
+     * Entrega un nuevo valor a todos los suscriptores compatibles que aún no lo
+     * hayan recibido en la época indicada.
+     *
+     * @param sourceType El tipo de la propiedad en el origen del cambio.
+     * @param value El nuevo valor de la propiedad.
+     * @param epoch La época de la propagación.
+     * @param deliveries Si no es {@code null}, las escrituras no se realizan sino
+     * que se añaden a este mapa, agrupadas por componente de destino.
+     */
+    void publish(Class<?> sourceType, Object value, long epoch, Map<IShareableProperties, List<Delivery>> deliveries) {
+        for (Subscriber destiny : subscribers) {
+            offer(destiny, sourceType, value, epoch, deliveries);
+        }
+    }
+
+    /**
+     * Entrega un nuevo valor {@code int} a los suscriptores que aún no lo hayan
+     * recibido en la época indicada. Los de tipo {@code int} lo reciben sin
+     * envolver; para el resto, el valor se envuelve una sola vez.
+     *
+     * @param value El nuevo valor de la propiedad.
+     * @param epoch La época de la propagación.
+     */
+    void publishInt(int value, long epoch) {
+        Object boxed = null;
+        for (Subscriber destiny : subscribers) {
+            if (!destiny.accepts(epoch)) {
+                continue;
+            }
+            if (destiny.accessor.getType() == int.class) {
+                destiny.seenEpoch = epoch;
+                destiny.writeInt(value);
+            } else {
+                if (boxed == null) {
+                    boxed = value;
+                }
+                offer(destiny, int.class, boxed, epoch, null);
+            }
+        }
+    }
+
+    /**
+     * Entrega un nuevo valor {@code long}, como {@link #publishInt(int, long)}.
+     *
+     * @param value El nuevo valor de la propiedad.
+     * @param epoch La época de la propagación.
+     */
+    void publishLong(long value, long epoch) {
+        Object boxed = null;
+        for (Subscriber destiny : subscribers) {
+            if (!destiny.accepts(epoch)) {
+                continue;
+            }
+            if (destiny.accessor.getType() == long.class) {
+                destiny.seenEpoch = epoch;
+                destiny.writeLong(value);
+            } else {
+                if (boxed == null) {
+                    boxed = value;
+                }
+                offer(destiny, long.class, boxed, epoch, null);
+            }
+        }
+    }
+
+    /**
+     * Entrega un nuevo valor {@code double}, como {@link #publishInt(int, long)}.
+     *
+     * @param value El nuevo valor de la propiedad.
+     * @param epoch La época de la propagación.
+     */
+    void publishDouble(double value, long epoch) {
+        Object boxed = null;
+        for (Subscriber destiny : subscribers) {
+            if (!destiny.accepts(epoch)) {
+                continue;
+            }
+            if (destiny.accessor.getType() == double.class) {
+                destiny.seenEpoch = epoch;
+                destiny.writeDouble(value);
+            } else {
+                if (boxed == null) {
+                    boxed = value;
+                }
+                offer(destiny, double.class, boxed, epoch, null);
+            }
+        }
+    }
+
+    /**
+     * Entrega un nuevo valor a un suscriptor, si es compatible y aún no lo ha
+     * recibido en la época indicada.
+     *
+     * @param destiny El suscriptor de destino.
+     * @param sourceType El tipo de la propiedad en el origen del cambio.
+     * @param value El nuevo valor de la propiedad.
+     * @param epoch La época de la propagación.
+     * @param deliveries Si no es {@code null}, la escritura no se realiza sino que
+     * se añade a este mapa, agrupada por componente de destino.
+     */
+    void offer(Subscriber destiny, Class<?> sourceType, Object value, long epoch, Map<IShareableProperties, List<Delivery>> deliveries) {
+        if (!destiny.accepts(epoch)) {
+            return;
+        }
+        Function<Object, Object> converter = destiny.converterFrom(sourceType);
+        if (converter == null) {
+            return;
+        }
+        // Se marca antes de escribir para que el eco del setter no vuelva a él.
+        destiny.seenEpoch = epoch;
+        Object converted;
+        try {
+            converted = value == null ? null : converter.apply(value);
+        } catch (IllegalArgumentException ex) {
+            // Un valor que no se puede convertir (p. ej. un texto no numérico) no se propaga.
+            LOGGER.log(Level.FINE, "No se puede convertir el valor '" + value + "' de la propiedad '" + name
+                    + "' a " + destiny.accessor.getType().getSimpleName(), ex);
+            return;
+        }
+        if (converted == null && destiny.accessor.getType().isPrimitive()) {
+            return;
+        }
+        if (deliveries != null) {
+            deliveries.computeIfAbsent(destiny.leaf, k -> new ArrayList<>()).add(new Delivery(destiny, converted));
+        } else {
+            destiny.write(converted);
+        }
+    }
+}
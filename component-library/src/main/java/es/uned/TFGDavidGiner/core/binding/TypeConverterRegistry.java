@@ -0,0 +1,180 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Registro de convertidores de tipo para enlazar propiedades compartidas con el
+ * mismo nombre pero distinto tipo, por ejemplo {@code data} como {@link String} en
+ * un componente y como {@link Integer} en otro.
+ * <p>
+ * Incluye convertidores predefinidos entre {@link String} y {@code int}/{@link Integer}
+ * y entre {@link String} y {@code double}/{@link Double}. Se pueden registrar otros
+ * con {@link #register(Class, Class, Function)}. Los tipos primitivos se tratan como
+ * sus envoltorios, y la conversión entre un tipo y sí mismo es la identidad.
+ * <p>
+ * La búsqueda de un convertidor para una pareja de tipos se resuelve una sola vez y
+ * se cachea; el motor de enlace, además, guarda el convertidor en cada enlace, por lo
+ * que en cada evento solo se aplica la función ya resuelta. Los convertidores deben
+ * registrarse antes de que se enlacen los componentes que los usan.
+ * <p>
+ * Un convertidor recibe siempre un valor no nulo; el valor {@code null} se propaga
+ * sin convertir. Si la conversión no es posible, debe lanzar una
+ * {@link IllegalArgumentException} (por ejemplo, {@link NumberFormatException}), y el
+ * valor no se propaga.
+ *
+ * @author david
+ * @version 1.0
+ */
+public final class TypeConverterRegistry {
+
+    /**
+     * Convertidores registrados, indexados por pareja de tipos (ya envueltos).
+     */
+    private static final Map<TypePair, Function<Object, Object>> CONVERTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Resultado cacheado de las búsquedas, incluidas las que no encuentran convertidor.
+     */
+    private static final ConcurrentMap<TypePair, Optional<Function<Object, Object>>> RESOLVED = new ConcurrentHashMap<>();
+
+    static {
+        register(String.class, Integer.class, s -> Integer.valueOf(s.trim()));
+        register(Integer.class, String.class, String::valueOf);
+        register(String.class, Double.class, s -> Double.valueOf(s.trim()));
+        register(Double.class, String.class, String::valueOf);
+    }
+
+    /**
+     * Constructor privado; la clase solo expone métodos estáticos.
+     */
+    private TypeConverterRegistry() {
+    }
+
+    /**
+     * Registra (o sustituye) el convertidor entre dos tipos.
+     *
+     * @param <S> El tipo de origen.
+     * @param <T> El tipo de destino.
+     * @param from El tipo de origen; un tipo primitivo equivale a su envoltorio.
+     * @param to El tipo de destino; un tipo primitivo equivale a su envoltorio.
+     * @param converter La función de conversión.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> void register(Class<S> from, Class<T> to, Function<? super S, ? extends T> converter) {
+        Objects.requireNonNull(converter, "converter");
+        CONVERTERS.put(new TypePair(wrap(from), wrap(to)), (Function<Object, Object>) converter);
+        RESOLVED.clear();
+    }
+
+    /**
+     * Devuelve el convertidor entre dos tipos.
+     *
+     * @param from El tipo de origen.
+     * @param to El tipo de destino.
+     * @return La función de conversión (la identidad si los tipos son equivalentes),
+     * o {@code null} si no hay ningún convertidor registrado.
+     */
+    public static Function<Object, Object> getConverter(Class<?> from, Class<?> to) {
+        return RESOLVED.computeIfAbsent(new TypePair(wrap(from), wrap(to)), TypeConverterRegistry::resolve).orElse(null);
+    }
+
+    /**
+     * Indica si existe un convertidor entre dos tipos.
+     *
+     * @param from El tipo de origen.
+     * @param to El tipo de destino.
+     * @return {@code true} si los valores del primer tipo se pueden convertir al segundo.
+     */
+    public static boolean canConvert(Class<?> from, Class<?> to) {
+        return getConverter(from, to) != null;
+    }
+
+    /**
+     * Resuelve el convertidor de una pareja de tipos.
+     *
+     * @param pair La pareja de tipos, ya envueltos.
+     * @return El convertidor, o {@link Optional#empty()} si no existe.
+     */
+    private static Optional<Function<Object, Object>> resolve(TypePair pair) {
+        if (pair.from == pair.to) {
+            return Optional.of(Function.identity());
+        }
+        return Optional.ofNullable(CONVERTERS.get(pair));
+    }
+
+    /**
+     * Devuelve el envoltorio de un tipo primitivo, o el propio tipo si no lo es.
+     *
+     * @param type El tipo.
+     * @return El tipo envuelto.
+     */
+    static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == char.class) {
+            return Character.class;
+        }
+        return Void.class;
+    }
+
+    /**
+     * Pareja de tipos (origen, destino) usada como clave del registro.
+     */
+    private static final class TypePair {
+
+        /**
+         * El tipo de origen.
+         */
+        private final Class<?> from;
+
+        /**
+         * El tipo de destino.
+         */
+        private final Class<?> to;
+
+        /**
+         * Crea una pareja de tipos.
+         *
+         * @param from El tipo de origen.
+         * @param to El tipo de destino.
+         */
+        TypePair(Class<?> from, Class<?> to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TypePair)) {
+                return false;
+            }
+            TypePair other = (TypePair) obj;
+            return from == other.from && to == other.to;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * from.hashCode() + to.hashCode();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+/**
+ * Carril de prioridad de una tarea de {@link UpdateScheduler}.
+ * <p>
+ * En cada fotograma, el planificador atiende los carriles en el orden en que se
+ * declaran aquí: primero las acciones del usuario, que se aplican siempre
+ * completas, y después las actualizaciones normales y las de segundo plano, hasta
+ * agotar el presupuesto del fotograma.
+ *
+ * @author david
+ * @version 1.0
+ */
+public enum UpdatePriority {
+
+    /**
+     * Cambios originados por el usuario (arrastrar un deslizador, escribir en un
+     * campo). Se aplican todos en el siguiente fotograma, sin límite de tiempo.
+     */
+    USER,
+
+    /**
+     * Actualizaciones ordinarias de la interfaz, como repintados.
+     */
+    NORMAL,
+
+    /**
+     * Actualizaciones masivas o que llegan desde otros hilos (fuentes de datos,
+     * cargas de tablas). Son las primeras que se aplazan si el fotograma se queda
+     * sin tiempo.
+     */
+    BACKGROUND
+}
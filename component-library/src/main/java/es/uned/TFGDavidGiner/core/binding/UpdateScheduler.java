@@ -0,0 +1,383 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.swing.Timer;
+
+/**
+ * Planificador que aplica las actualizaciones de la interfaz una vez por fotograma,
+ * dentro de un presupuesto de tiempo.
+ * <p>
+ * Las tareas (escrituras de propiedades, repintados, etc.) se encolan desde
+ * cualquier hilo en uno de los carriles de {@link UpdatePriority} y se ejecutan en
+ * el Event Dispatch Thread con un {@link Timer} de Swing a la frecuencia indicada
+ * (60 fotogramas por segundo por defecto). En cada fotograma se ejecutan todas las
+ * tareas del carril {@link UpdatePriority#USER} y, después, las de los carriles
+ * siguientes mientras quede presupuesto; lo que no cabe se queda en cola para el
+ * fotograma siguiente. Cada carril ejecuta al menos una tarea por fotograma, de modo
+ * que ninguno se queda parado indefinidamente. Así, la respuesta a las acciones del
+ * usuario no empeora aunque haya mucho trabajo en segundo plano.
+ * <p>
+ * Las tareas encoladas con una clave ({@link #submit(UpdatePriority, Object, Runnable)})
+ * se agrupan: mientras una tarea con esa clave espera en cola, las siguientes la
+ * sustituyen y solo se ejecuta la última.
+ * <p>
+ * El temporizador solo está activo mientras hay tareas pendientes.
+ *
+ * @author david
+ * @version 1.0
+ * @see UpdatePriority
+ */
+public final class UpdateScheduler {
+
+    /**
+     * Frecuencia por defecto, en fotogramas por segundo.
+     */
+    public static final int DEFAULT_FRAME_RATE = 60;
+
+    /**
+     * Presupuesto por defecto de cada fotograma, en nanosegundos: la mitad de un
+     * fotograma a 60 Hz, para dejar tiempo al pintado y a los eventos de entrada.
+     */
+    public static final long DEFAULT_FRAME_BUDGET_NANOS = 8_000_000L;
+
+    /**
+     * Logger de la clase.
+     */
+    private static final Logger LOGGER = Logger.getLogger(UpdateScheduler.class.getName());
+
+    /**
+     * Los carriles, en orden de prioridad.
+     */
+    private static final UpdatePriority[] PRIORITIES = UpdatePriority.values();
+
+    /**
+     * Colas de tareas, una por carril, indexadas por {@link UpdatePriority#ordinal()}.
+     */
+    private final List<Queue<Task>> lanes;
+
+    /**
+     * Tareas con clave que esperan en cola, por clave.
+     */
+    private final ConcurrentMap<Object, Task> keyed = new ConcurrentHashMap<>();
+
+    /**
+     * Número de tareas en cola.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * El temporizador que marca los fotogramas.
+     */
+    private final Timer timer;
+
+    /**
+     * Presupuesto de cada fotograma, en nanosegundos.
+     */
+    private volatile long frameBudgetNanos;
+
+    /**
+     * Número de fotogramas ejecutados.
+     */
+    private long frameCount;
+
+    /**
+     * Número de fotogramas que han agotado el presupuesto.
+     */
+    private long overBudgetCount;
+
+    /**
+     * Crea un planificador con la frecuencia y el presupuesto por defecto.
+     */
+    public UpdateScheduler() {
+        this(DEFAULT_FRAME_RATE, DEFAULT_FRAME_BUDGET_NANOS);
+    }
+
+    /**
+     * Crea un planificador.
+     *
+     * @param frameRate La frecuencia, en fotogramas por segundo.
+     * @param frameBudgetNanos El presupuesto de cada fotograma, en nanosegundos.
+     * @throws IllegalArgumentException si alguno de los valores no es positivo.
+     */
+    public UpdateScheduler(int frameRate, long frameBudgetNanos) {
+        if (frameRate <= 0 || frameBudgetNanos <= 0) {
+            throw new IllegalArgumentException("La frecuencia y el presupuesto deben ser positivos.");
+        }
+        this.frameBudgetNanos = frameBudgetNanos;
+        this.lanes = new ArrayList<>(PRIORITIES.length);
+        for (int i = 0; i < PRIORITIES.length; i++) {
+            lanes.add(new ConcurrentLinkedQueue<>());
+        }
+        this.timer = new Timer(1000 / frameRate, e -> runFrame());
+        // El primer fotograma tras un periodo de inactividad se ejecuta sin esperar.
+        timer.setInitialDelay(0);
+    }
+
+    /**
+     * Devuelve el planificador compartido, con la frecuencia y el presupuesto por
+     * defecto.
+     *
+     * @return El planificador compartido.
+     */
+    public static UpdateScheduler getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Encola una tarea. Se puede llamar desde cualquier hilo.
+     *
+     * @param priority El carril de la tarea.
+     * @param task La tarea, que se ejecutará en el EDT.
+     */
+    public void submit(UpdatePriority priority, Runnable task) {
+        Task entry = new Task(null);
+        entry.set(task);
+        enqueue(priority, entry);
+    }
+
+    /**
+     * Encola una tarea con clave. Si ya hay en cola una tarea con la misma clave, la
+     * nueva la sustituye y conserva su posición. Se puede llamar desde cualquier hilo.
+     *
+     * @param priority El carril de la tarea; solo se usa si no había ninguna en cola.
+     * @param key La clave de la tarea.
+     * @param task La tarea, que se ejecutará en el EDT.
+     */
+    public void submit(UpdatePriority priority, Object key, Runnable task) {
+        Task entry = keyed.get(key);
+        if (entry == null) {
+            entry = keyed.computeIfAbsent(key, Task::new);
+        }
+        // Solo se encola si la tarea no estaba ya en cola.
+        if (entry.getAndSet(task) == null) {
+            enqueue(priority, entry);
+        }
+    }
+
+    /**
+     * Encola el repintado de un componente. Los repintados pendientes del mismo
+     * componente se agrupan en uno.
+     *
+     * @param priority El carril del repintado.
+     * @param component El componente.
+     */
+    public void repaint(UpdatePriority priority, Component component) {
+        submit(priority, new RepaintKey(component), component::repaint);
+    }
+
+    /**
+     * Devuelve el número de tareas en cola.
+     *
+     * @return El número de tareas pendientes.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Devuelve la frecuencia del planificador.
+     *
+     * @return La frecuencia, en fotogramas por segundo.
+     */
+    public int getFrameRate() {
+        return 1000 / timer.getDelay();
+    }
+
+    /**
+     * Cambia la frecuencia del planificador.
+     *
+     * @param frameRate La frecuencia, en fotogramas por segundo.
+     * @throws IllegalArgumentException si no es positiva.
+     */
+    public void setFrameRate(int frameRate) {
+        if (frameRate <= 0) {
+            throw new IllegalArgumentException("La frecuencia debe ser positiva.");
+        }
+        timer.setDelay(1000 / frameRate);
+    }
+
+    /**
+     * Devuelve el presupuesto de cada fotograma.
+     *
+     * @return El presupuesto, en nanosegundos.
+     */
+    public long getFrameBudgetNanos() {
+        return frameBudgetNanos;
+    }
+
+    /**
+     * Cambia el presupuesto de cada fotograma.
+     *
+     * @param frameBudgetNanos El presupuesto, en nanosegundos.
+     * @throws IllegalArgumentException si no es positivo.
+     */
+    public void setFrameBudgetNanos(long frameBudgetNanos) {
+        if (frameBudgetNanos <= 0) {
+            throw new IllegalArgumentException("El presupuesto debe ser positivo.");
+        }
+        this.frameBudgetNanos = frameBudgetNanos;
+    }
+
+    /**
+     * Devuelve el número de fotogramas ejecutados.
+     *
+     * @return El número de fotogramas.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Devuelve el número de fotogramas que han agotado el presupuesto.
+     *
+     * @return El número de fotogramas fuera de presupuesto.
+     */
+    public long getOverBudgetCount() {
+        return overBudgetCount;
+    }
+
+    /**
+     * Añade una tarea a su carril y pone en marcha el temporizador si estaba parado.
+     *
+     * @param priority El carril.
+     * @param task La tarea.
+     */
+    private void enqueue(UpdatePriority priority, Task task) {
+        lanes.get(priority.ordinal()).offer(task);
+        pending.incrementAndGet();
+        if (!timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    /**
+     * Ejecuta un fotograma: el carril de usuario completo y el resto hasta agotar el
+     * presupuesto. Se ejecuta en el EDT.
+     */
+    private void runFrame() {
+        long deadline = System.nanoTime() + frameBudgetNanos;
+        frameCount++;
+        for (UpdatePriority priority : PRIORITIES) {
+            Queue<Task> lane = lanes.get(priority.ordinal());
+            boolean unbounded = priority == UpdatePriority.USER;
+            boolean first = true;
+            Task task;
+            while ((unbounded || first || System.nanoTime() < deadline) && (task = lane.poll()) != null) {
+                first = false;
+                pending.decrementAndGet();
+                run(task);
+            }
+        }
+        if (System.nanoTime() > deadline) {
+            overBudgetCount++;
+        }
+        if (pending.get() == 0) {
+            timer.stop();
+            // Una tarea encolada mientras se paraba el temporizador lo vuelve a poner en marcha.
+            if (pending.get() > 0) {
+                timer.start();
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una tarea, registrando los errores sin interrumpir el fotograma.
+     *
+     * @param task La tarea.
+     */
+    private void run(Task task) {
+        if (task.key != null) {
+            // Se retira antes de tomar la acción: una tarea con la misma clave que
+            // llegue a partir de aquí se encola de nuevo en lugar de perderse.
+            keyed.remove(task.key, task);
+        }
+        Runnable action = task.getAndSet(null);
+        if (action == null) {
+            return;
+        }
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error en una tarea del planificador de actualizaciones", e);
+        }
+    }
+
+    /**
+     * Tarea en cola: la acción que se ejecutará, sustituible mientras espera, y su
+     * clave, si la tiene.
+     */
+    private static final class Task extends AtomicReference<Runnable> {
+
+        /**
+         * Versión de serialización (la clase no se serializa; se declara por heredar
+         * de {@link AtomicReference}).
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * La clave de la tarea, o {@code null}.
+         */
+        private final Object key;
+
+        /**
+         * Crea una tarea sin acción.
+         *
+         * @param key La clave de la tarea, o {@code null}.
+         */
+        Task(Object key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Clave de los repintados, distinta de cualquier otra clave que use el propio
+     * componente.
+     */
+    private static final class RepaintKey {
+
+        /**
+         * El componente.
+         */
+        private final Component component;
+
+        /**
+         * Crea la clave del repintado de un componente.
+         *
+         * @param component El componente.
+         */
+        RepaintKey(Component component) {
+            this.component = component;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof RepaintKey && ((RepaintKey) obj).component == component;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(component);
+        }
+    }
+
+    /**
+     * Inicialización diferida del planificador compartido.
+     */
+    private static final class DefaultHolder {
+
+        /**
+         * El planificador compartido.
+         */
+        private static final UpdateScheduler INSTANCE = new UpdateScheduler();
+    }
+}
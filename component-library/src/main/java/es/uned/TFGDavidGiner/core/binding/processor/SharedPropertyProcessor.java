@@ -0,0 +1,600 @@
+package es.uned.TFGDavidGiner.core.binding.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Procesador de anotaciones que genera los adaptadores de enlace de los
+ * componentes hoja.
+ * <p>
+ * Para cada clase con campos o getters marcados con
+ * {@link es.uned.TFGDavidGiner.core.binding.SharedProperty} genera, en el mismo
+ * paquete, una clase {@code <Componente>BindingAdapter} que implementa
+ * {@link es.uned.TFGDavidGiner.core.interfaces.IBindingAdapter}: contiene el
+ * conjunto de propiedades compartidas, sus tipos y el código de acceso directo a
+ * sus getters y setters. El adaptador de una subclase incluye también las
+ * propiedades que hereda. Las subclases que no declaran ninguna propiedad propia
+ * tienen adaptador si se compilan junto con alguna clase anotada; si no, sus
+ * propiedades se leen por reflexión en {@code BindingMetadata}.
+ * <p>
+ * Además valida cada propiedad: si no existe un getter público ({@code getX} o
+ * {@code isX}) y un setter público {@code setX} con el tipo de la propiedad, se
+ * emite un error de compilación. Así, un error tipográfico en el nombre de una
+ * propiedad se detecta al compilar y no en tiempo de ejecución.
+ * <p>
+ * El procesador se registra mediante
+ * {@code META-INF/services/javax.annotation.processing.Processor}, de modo que se
+ * activa en los módulos que compilan contra {@code component-library}.
+ *
+ * @author david
+ * @version 1.0
+ */
+@SupportedAnnotationTypes(SharedPropertyProcessor.ANNOTATION)
+public class SharedPropertyProcessor extends AbstractProcessor {
+
+    /**
+     * Nombre cualificado de la anotación procesada.
+     */
+    static final String ANNOTATION = "es.uned.TFGDavidGiner.core.binding.SharedProperty";
+
+    /**
+     * Nombre cualificado de la interfaz que implementan los adaptadores.
+     */
+    private static final String ADAPTER_INTERFACE = "es.uned.TFGDavidGiner.core.interfaces.IBindingAdapter";
+
+    /**
+     * Nombre cualificado del enumerado con el sentido de las propiedades.
+     */
+    private static final String DIRECTION_ENUM = "es.uned.TFGDavidGiner.core.binding.BindingDirection";
+
+    /**
+     * Sentido por defecto de las propiedades compartidas.
+     */
+    private static final String DEFAULT_DIRECTION = "BIDIRECTIONAL";
+
+    /**
+     * Nombre cualificado de la clase con la política de propagación de las propiedades.
+     */
+    private static final String POLICY_CLASS = "es.uned.TFGDavidGiner.core.binding.PropagationPolicy";
+
+    /**
+     * Nombre cualificado del enumerado con el modo de propagación de las propiedades.
+     */
+    private static final String MODE_ENUM = "es.uned.TFGDavidGiner.core.binding.PropagationMode";
+
+    /**
+     * Sufijo de las clases generadas.
+     */
+    private static final String SUFFIX = "BindingAdapter";
+
+    /**
+     * Constructor por defecto, requerido por el mecanismo de {@link java.util.ServiceLoader}.
+     */
+    public SharedPropertyProcessor() {
+        // Constructor vacío.
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(ANNOTATION);
+        if (annotation == null) {
+            return false;
+        }
+
+        // Se genera un adaptador para cada clase que declara propiedades anotadas y
+        // para cada clase de esta ronda que las hereda de una superclase.
+        Set<TypeElement> owners = new LinkedHashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            owners.add((TypeElement) element.getEnclosingElement());
+        }
+        Map<TypeElement, List<Property>> declaredByClass = new HashMap<>();
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            if (type.getKind() == ElementKind.CLASS && !collectProperties(type, declaredByClass).isEmpty()) {
+                owners.add(type);
+            }
+        }
+
+        for (TypeElement owner : owners) {
+            if (owner.getNestingKind() != NestingKind.TOP_LEVEL) {
+                error(owner, "@SharedProperty solo se admite en clases de nivel superior.");
+                continue;
+            }
+            List<Property> properties = collectProperties(owner, declaredByClass);
+            if (validate(owner, properties)) {
+                generate(owner, properties);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene las propiedades compartidas de una clase, incluidas las que hereda.
+     * <p>
+     * Como en {@code BindingMetadata}, se recorre la jerarquía desde la clase hacia
+     * sus superclases y, si una subclase vuelve a declarar una propiedad heredada,
+     * prevalece la declaración de la subclase.
+     *
+     * @param owner La clase.
+     * @param declaredByClass Las propiedades ya leídas de cada clase de la jerarquía.
+     * @return Las propiedades de la clase, primero las que declara.
+     */
+    private List<Property> collectProperties(TypeElement owner, Map<TypeElement, List<Property>> declaredByClass) {
+        List<Property> properties = new ArrayList<>(declaredProperties(owner, declaredByClass));
+        Set<String> names = new HashSet<>();
+        for (Property property : properties) {
+            names.add(property.name);
+        }
+        TypeMirror superclass = owner.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement type = (TypeElement) processingEnv.getTypeUtils().asElement(superclass);
+            for (Property property : declaredProperties(type, declaredByClass)) {
+                if (names.add(property.name)) {
+                    properties.add(property);
+                }
+            }
+            superclass = type.getSuperclass();
+        }
+        return properties;
+    }
+
+    /**
+     * Obtiene las propiedades compartidas que declara una clase, sin las heredadas.
+     * Cada clase se lee una sola vez, de modo que sus errores se emiten una sola vez.
+     *
+     * @param type La clase.
+     * @param declaredByClass Las propiedades ya leídas de cada clase.
+     * @return Las propiedades válidas que declara la clase, en orden de declaración.
+     */
+    private List<Property> declaredProperties(TypeElement type, Map<TypeElement, List<Property>> declaredByClass) {
+        List<Property> declared = declaredByClass.get(type);
+        if (declared == null) {
+            declared = new ArrayList<>();
+            for (Element element : type.getEnclosedElements()) {
+                if (!isAnnotated(element)) {
+                    continue;
+                }
+                Property property = toProperty(element);
+                if (property != null && readPolicy(property)) {
+                    declared.add(property);
+                }
+            }
+            declaredByClass.put(type, declared);
+        }
+        return declared;
+    }
+
+    /**
+     * Indica si un elemento está marcado con {@code @SharedProperty}.
+     *
+     * @param element El elemento.
+     * @return {@code true} si el elemento tiene la anotación.
+     */
+    private static boolean isAnnotated(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (mirror.getAnnotationType().toString().equals(ANNOTATION)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Convierte un elemento anotado en la descripción de una propiedad.
+     *
+     * @param element El campo o getter anotado.
+     * @return La propiedad, o {@code null} si el elemento no es válido (se emite un error).
+     */
+    private Property toProperty(Element element) {
+        if (element.getKind() == ElementKind.FIELD) {
+            return new Property(element.getSimpleName().toString(), element.asType(), element, direction(element));
+        }
+        if (element.getKind() == ElementKind.METHOD) {
+            ExecutableElement method = (ExecutableElement) element;
+            String name = propertyNameOfGetter(method.getSimpleName().toString());
+            if (name == null || !method.getParameters().isEmpty() || method.getReturnType().getKind() == TypeKind.VOID) {
+                error(element, "@SharedProperty en un método solo se admite en getters (getX() o isX()).");
+                return null;
+            }
+            return new Property(name, method.getReturnType(), element, direction(element));
+        }
+        error(element, "@SharedProperty solo se admite en campos y getters.");
+        return null;
+    }
+
+    /**
+     * Obtiene el sentido declarado en la anotación de un elemento.
+     *
+     * @param element El campo o getter anotado.
+     * @return El nombre de la constante de {@code BindingDirection}.
+     */
+    private String direction(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().toString().equals(ANNOTATION)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : mirror.getElementValues().entrySet()) {
+                if (value.getKey().getSimpleName().contentEquals("direction")) {
+                    return ((Element) value.getValue().getValue()).getSimpleName().toString();
+                }
+            }
+        }
+        return DEFAULT_DIRECTION;
+    }
+
+    /**
+     * Lee la política de propagación declarada en la anotación de una propiedad.
+     *
+     * @param property La propiedad.
+     * @return {@code true} si la política es válida (si no, se emite un error).
+     */
+    private boolean readPolicy(Property property) {
+        for (AnnotationMirror mirror : property.element.getAnnotationMirrors()) {
+            if (!mirror.getAnnotationType().toString().equals(ANNOTATION)) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value
+                    : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+                String name = value.getKey().getSimpleName().toString();
+                if (name.equals("policy")) {
+                    property.policy = ((Element) value.getValue().getValue()).getSimpleName().toString();
+                } else if (name.equals("debounceMillis")) {
+                    property.debounceMillis = (Integer) value.getValue().getValue();
+                } else if (name.equals("maxRate")) {
+                    property.maxRate = (Integer) value.getValue().getValue();
+                }
+            }
+        }
+        if (property.policy.equals("DEBOUNCED") && property.debounceMillis <= 0) {
+            error(property.element, "debounceMillis debe ser positivo en la propiedad '" + property.name + "'.");
+            return false;
+        }
+        if (property.policy.equals("THROTTLED") && property.maxRate <= 0) {
+            error(property.element, "maxRate debe ser positivo en la propiedad '" + property.name + "'.");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Comprueba que cada propiedad tenga un getter y un setter públicos con el tipo correcto.
+     *
+     * @param owner La clase del componente.
+     * @param properties Las propiedades declaradas.
+     * @return {@code true} si todas las propiedades son válidas.
+     */
+    private boolean validate(TypeElement owner, List<Property> properties) {
+        boolean valid = true;
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(owner));
+        List<String> seen = new ArrayList<>();
+        for (Property property : properties) {
+            if (seen.contains(property.name)) {
+                error(property.element, "La propiedad compartida '" + property.name + "' está declarada más de una vez.");
+                valid = false;
+                continue;
+            }
+            seen.add(property.name);
+            ExecutableElement getter = findGetter(methods, property);
+            ExecutableElement setter = findSetter(methods, property);
+            if (getter == null) {
+                error(property.element, "La propiedad compartida '" + property.name + "' no tiene un getter público "
+                        + property.getterName() + "() que devuelva " + property.type + ".");
+                valid = false;
+            } else {
+                property.getter = getter.getSimpleName().toString();
+            }
+            if (setter == null) {
+                error(property.element, "La propiedad compartida '" + property.name + "' no tiene un setter público "
+                        + property.setterName() + "(" + property.type + ").");
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Busca el getter público de una propiedad.
+     *
+     * @param methods Los métodos de la clase (incluidos los heredados).
+     * @param property La propiedad.
+     * @return El getter, o {@code null} si no existe.
+     */
+    private ExecutableElement findGetter(List<ExecutableElement> methods, Property property) {
+        for (ExecutableElement method : methods) {
+            String name = method.getSimpleName().toString();
+            if ((name.equals(property.getterName()) || name.equals("is" + property.capitalized()))
+                    && method.getParameters().isEmpty()
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && processingEnv.getTypeUtils().isSameType(method.getReturnType(), property.type)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca el setter público de una propiedad.
+     *
+     * @param methods Los métodos de la clase (incluidos los heredados).
+     * @param property La propiedad.
+     * @return El setter, o {@code null} si no existe.
+     */
+    private ExecutableElement findSetter(List<ExecutableElement> methods, Property property) {
+        for (ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals(property.setterName())
+                    && method.getParameters().size() == 1
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), property.type)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Genera el código fuente del adaptador de una clase.
+     *
+     * @param owner La clase del componente.
+     * @param properties Las propiedades (ya validadas).
+     */
+    private void generate(TypeElement owner, List<Property> properties) {
+        PackageElement pkg = processingEnv.getElementUtils().getPackageOf(owner);
+        String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        String simpleName = owner.getSimpleName().toString();
+        String adapterName = simpleName + SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? adapterName : packageName + "." + adapterName;
+
+        StringBuilder src = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            src.append("package ").append(packageName).append(";\n\n");
+        }
+        src.append("/**\n")
+           .append(" * Adaptador de enlace generado para {@link ").append(simpleName).append("}.\n")
+           .append(" * <p>\n")
+           .append(" * Generado por ").append(SharedPropertyProcessor.class.getName()).append(". No modificar.\n")
+           .append(" */\n")
+           .append("public final class ").append(adapterName)
+           .append(" implements ").append(ADAPTER_INTERFACE).append("<").append(simpleName).append("> {\n\n");
+
+        // Nombres, tipos y conjunto de propiedades.
+        src.append("    private static final String[] NAMES = {");
+        for (int i = 0; i < properties.size(); i++) {
+            src.append(i == 0 ? "" : ", ").append('"').append(properties.get(i).name).append('"');
+        }
+        src.append("};\n\n");
+        src.append("    private static final Class<?>[] TYPES = {");
+        for (int i = 0; i < properties.size(); i++) {
+            src.append(i == 0 ? "" : ", ").append(classLiteral(properties.get(i).type));
+        }
+        src.append("};\n\n");
+        src.append("    private static final ").append(DIRECTION_ENUM).append("[] DIRECTIONS = {");
+        for (int i = 0; i < properties.size(); i++) {
+            src.append(i == 0 ? "" : ", ").append(DIRECTION_ENUM).append('.').append(properties.get(i).direction);
+        }
+        src.append("};\n\n");
+        src.append("    private static final ").append(POLICY_CLASS).append("[] POLICIES = {");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            src.append(i == 0 ? "" : ", ").append(POLICY_CLASS).append(".of(").append(MODE_ENUM).append('.')
+               .append(property.policy).append(", ").append(property.debounceMillis).append(", ")
+               .append(property.maxRate).append(')');
+        }
+        src.append("};\n\n");
+        src.append("    private static final java.util.Set<String> PROPERTIES = java.util.Set.of(NAMES);\n\n");
+
+        src.append("    /** Constructor por defecto. */\n")
+           .append("    public ").append(adapterName).append("() {\n    }\n\n");
+
+        src.append("    @Override\n    public java.util.Set<String> getSharedProperties() {\n        return PROPERTIES;\n    }\n\n");
+
+        src.append("    @Override\n    public int indexOf(String propertyName) {\n        switch (propertyName) {\n");
+        for (int i = 0; i < properties.size(); i++) {
+            src.append("            case \"").append(properties.get(i).name).append("\": return ").append(i).append(";\n");
+        }
+        src.append("            default: return -1;\n        }\n    }\n\n");
+
+        src.append("    @Override\n    public String getPropertyName(int index) {\n        return NAMES[index];\n    }\n\n");
+        src.append("    @Override\n    public Class<?> getPropertyType(int index) {\n        return TYPES[index];\n    }\n\n");
+        src.append("    @Override\n    public ").append(DIRECTION_ENUM)
+           .append(" getPropertyDirection(int index) {\n        return DIRECTIONS[index];\n    }\n\n");
+        src.append("    @Override\n    public ").append(POLICY_CLASS)
+           .append(" getPropertyPolicy(int index) {\n        return POLICIES[index];\n    }\n\n");
+
+        src.append("    @Override\n    public Object getProperty(").append(simpleName).append(" component, int index) {\n")
+           .append("        switch (index) {\n");
+        for (int i = 0; i < properties.size(); i++) {
+            src.append("            case ").append(i).append(": return component.").append(properties.get(i).getter).append("();\n");
+        }
+        src.append("            default: throw new IllegalArgumentException(\"Índice de propiedad no válido: \" + index);\n")
+           .append("        }\n    }\n\n");
+
+        src.append("    @Override\n    @SuppressWarnings(\"unchecked\")\n    public void setProperty(")
+           .append(simpleName).append(" component, int index, Object value) {\n")
+           .append("        switch (index) {\n");
+        for (int i = 0; i < properties.size(); i++) {
+            Property p = properties.get(i);
+            src.append("            case ").append(i).append(": component.").append(p.setterName())
+               .append("((").append(castType(p.type)).append(") value); return;\n");
+        }
+        src.append("            default: throw new IllegalArgumentException(\"Índice de propiedad no válido: \" + index);\n")
+           .append("        }\n    }\n");
+
+        // Setters sin envolver de las propiedades int, long y double.
+        appendPrimitiveSetter(src, simpleName, properties, TypeKind.INT, "setIntProperty", "int");
+        appendPrimitiveSetter(src, simpleName, properties, TypeKind.LONG, "setLongProperty", "long");
+        appendPrimitiveSetter(src, simpleName, properties, TypeKind.DOUBLE, "setDoubleProperty", "double");
+        src.append("}\n");
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, owner);
+            try (Writer writer = file.openWriter()) {
+                writer.write(src.toString());
+            }
+        } catch (IOException e) {
+            error(owner, "No se pudo generar " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Genera la sobrescritura de un setter sin envolver de {@code IBindingAdapter}
+     * para las propiedades de un tipo primitivo, si la clase tiene alguna.
+     *
+     * @param src El código fuente en construcción.
+     * @param simpleName El nombre simple de la clase del componente.
+     * @param properties Las propiedades.
+     * @param kind El tipo primitivo.
+     * @param method El nombre del método del adaptador.
+     * @param typeName El nombre del tipo primitivo.
+     */
+    private void appendPrimitiveSetter(StringBuilder src, String simpleName, List<Property> properties,
+            TypeKind kind, String method, String typeName) {
+        boolean any = false;
+        for (Property p : properties) {
+            any |= p.type.getKind() == kind;
+        }
+        if (!any) {
+            return;
+        }
+        src.append("\n    @Override\n    public void ").append(method).append("(")
+           .append(simpleName).append(" component, int index, ").append(typeName).append(" value) {\n")
+           .append("        switch (index) {\n");
+        for (int i = 0; i < properties.size(); i++) {
+            Property p = properties.get(i);
+            if (p.type.getKind() == kind) {
+                src.append("            case ").append(i).append(": component.").append(p.setterName()).append("(value); return;\n");
+            }
+        }
+        src.append("            default: setProperty(component, index, value); return;\n")
+           .append("        }\n    }\n");
+    }
+
+    /**
+     * Devuelve el literal de clase de un tipo (por ejemplo {@code int.class}).
+     *
+     * @param type El tipo.
+     * @return El literal de clase de su borrado.
+     */
+    private String classLiteral(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString() + ".class";
+    }
+
+    /**
+     * Devuelve el tipo al que se convierte el valor antes de llamar al setter.
+     * Los tipos primitivos se convierten a su envoltorio (se desenvuelven automáticamente).
+     *
+     * @param type El tipo de la propiedad.
+     * @return El texto del tipo para el cast.
+     */
+    private String castType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((javax.lang.model.type.PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    /**
+     * Obtiene el nombre de la propiedad a partir del nombre de su getter.
+     *
+     * @param methodName El nombre del getter.
+     * @return El nombre de la propiedad, o {@code null} si no sigue la convención.
+     */
+    private static String propertyNameOfGetter(String methodName) {
+        String base;
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            base = methodName.substring(3);
+        } else if (methodName.startsWith("is") && methodName.length() > 2) {
+            base = methodName.substring(2);
+        } else {
+            return null;
+        }
+        return base.substring(0, 1).toLowerCase() + base.substring(1);
+    }
+
+    /**
+     * Emite un error de compilación asociado a un elemento.
+     *
+     * @param element El elemento.
+     * @param message El mensaje.
+     */
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * Descripción de una propiedad compartida durante el procesamiento.
+     */
+    private static final class Property {
+
+        /** Nombre de la propiedad. */
+        final String name;
+
+        /** Tipo de la propiedad. */
+        final TypeMirror type;
+
+        /** Elemento anotado (campo o getter). */
+        final Element element;
+
+        /** Nombre de la constante con el sentido de la propiedad. */
+        final String direction;
+
+        /** Nombre de la constante con el modo de propagación de la propiedad. */
+        String policy = "IMMEDIATE";
+
+        /** Intervalo sin cambios del modo {@code DEBOUNCED}, en milisegundos. */
+        int debounceMillis;
+
+        /** Frecuencia máxima del modo {@code THROTTLED}, en cambios por segundo. */
+        int maxRate;
+
+        /** Nombre del getter encontrado durante la validación. */
+        String getter;
+
+        Property(String name, TypeMirror type, Element element, String direction) {
+            this.name = name;
+            this.type = type;
+            this.element = element;
+            this.direction = direction;
+        }
+
+        String capitalized() {
+            return name.substring(0, 1).toUpperCase() + name.substring(1);
+        }
+
+        String getterName() {
+            return "get" + capitalized();
+        }
+
+        String setterName() {
+            return "set" + capitalized();
+        }
+    }
+}
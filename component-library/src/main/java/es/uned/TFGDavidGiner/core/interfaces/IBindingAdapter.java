@@ -0,0 +1,142 @@
+package es.uned.TFGDavidGiner.core.interfaces;
+
+import es.uned.TFGDavidGiner.core.binding.BindingDirection;
+import es.uned.TFGDavidGiner.core.binding.PropagationPolicy;
+import java.util.Set;
+
+/**
+ * Define el contrato de los adaptadores de enlace (data binding) que se generan en
+ * tiempo de compilación para cada componente hoja.
+ * <p>
+ * El procesador de anotaciones
+ * {@link es.uned.TFGDavidGiner.core.binding.processor.SharedPropertyProcessor}
+ * genera, para cada clase con campos o getters marcados con
+ * {@link es.uned.TFGDavidGiner.core.binding.SharedProperty}, una clase
+ * {@code <Componente>BindingAdapter} en el mismo paquete que implementa esta
+ * interfaz. El adaptador conoce el conjunto de propiedades compartidas, sus tipos
+ * y llama directamente a sus getters y setters, sin usar reflexión.
+ * <p>
+ * Las propiedades se identifican por un índice estable dentro del adaptador, que
+ * el motor de sincronización resuelve una sola vez.
+ *
+ * @param <T> El tipo del componente al que da servicio el adaptador.
+ * @author david
+ * @version 1.0
+ */
+public interface IBindingAdapter<T> {
+
+    /**
+     * Sufijo que se añade al nombre de la clase del componente para obtener el
+     * nombre de la clase del adaptador generado.
+     */
+    String SUFFIX = "BindingAdapter";
+
+    /**
+     * Devuelve el conjunto de propiedades compartidas del componente.
+     *
+     * @return Un {@link Set} inmutable con los nombres de las propiedades.
+     */
+    Set<String> getSharedProperties();
+
+    /**
+     * Devuelve el índice de una propiedad dentro del adaptador.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return El índice de la propiedad, o {@code -1} si no es una propiedad compartida.
+     */
+    int indexOf(String propertyName);
+
+    /**
+     * Devuelve el nombre de la propiedad con el índice indicado.
+     *
+     * @param index El índice de la propiedad.
+     * @return El nombre de la propiedad.
+     */
+    String getPropertyName(int index);
+
+    /**
+     * Devuelve el tipo declarado de la propiedad con el índice indicado.
+     *
+     * @param index El índice de la propiedad.
+     * @return El tipo de la propiedad.
+     */
+    Class<?> getPropertyType(int index);
+
+    /**
+     * Devuelve el sentido declarado de la propiedad con el índice indicado.
+     *
+     * @param index El índice de la propiedad.
+     * @return El sentido de la propiedad.
+     */
+    BindingDirection getPropertyDirection(int index);
+
+    /**
+     * Devuelve la política de propagación declarada de la propiedad con el índice indicado.
+     * <p>
+     * Los adaptadores generados lo sobrescriben con la política de
+     * {@link es.uned.TFGDavidGiner.core.binding.SharedProperty#policy()}; por defecto
+     * devuelve {@link PropagationPolicy#IMMEDIATE}.
+     * @param index El índice de la propiedad.
+     * @return La política de la propiedad.
+     */
+    default PropagationPolicy getPropertyPolicy(int index) {
+        return PropagationPolicy.IMMEDIATE;
+    }
+
+    /**
+     * Lee el valor de una propiedad del componente.
+     *
+     * @param component El componente.
+     * @param index El índice de la propiedad.
+     * @return El valor actual de la propiedad.
+     */
+    Object getProperty(T component, int index);
+
+    /**
+     * Escribe el valor de una propiedad del componente.
+     *
+     * @param component El componente.
+     * @param index El índice de la propiedad.
+     * @param value El nuevo valor.
+     */
+    void setProperty(T component, int index, Object value);
+
+    /**
+     * Escribe una propiedad de tipo {@code int} sin envolver el valor.
+     * <p>
+     * Los adaptadores generados lo sobrescriben para llamar directamente al setter de
+     * las propiedades {@code int}; por defecto delega en
+     * {@link #setProperty(Object, int, Object)}.
+     *
+     * @param component El componente.
+     * @param index El índice de la propiedad.
+     * @param value El nuevo valor.
+     */
+    default void setIntProperty(T component, int index, int value) {
+        setProperty(component, index, value);
+    }
+
+    /**
+     * Escribe una propiedad de tipo {@code long} sin envolver el valor, como
+     * {@link #setIntProperty(Object, int, int)}.
+     *
+     * @param component El componente.
+     * @param index El índice de la propiedad.
+     * @param value El nuevo valor.
+     */
+    default void setLongProperty(T component, int index, long value) {
+        setProperty(component, index, value);
+    }
+
+    /**
+     * Escribe una propiedad de tipo {@code double} sin envolver el valor, como
+     * {@link #setIntProperty(Object, int, int)}.
+     *
+     * @param component El componente.
+     * @param index El índice de la propiedad.
+     * @param value El nuevo valor.
+     */
+    default void setDoubleProperty(T component, int index, double value) {
+        setProperty(component, index, value);
+    }
+}
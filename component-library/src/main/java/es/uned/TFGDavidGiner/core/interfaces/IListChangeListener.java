@@ -0,0 +1,27 @@
+package es.uned.TFGDavidGiner.core.interfaces;
+
+import es.uned.TFGDavidGiner.core.binding.ListChange;
+import java.util.EventListener;
+
+/**
+ * Listener de los cambios de una {@link es.uned.TFGDavidGiner.core.binding.SharedList}.
+ * <p>
+ * Recibe cada modificación como un {@link ListChange} con el rango afectado y los
+ * elementos insertados, eliminados o sustituidos, de modo que quien lo escucha
+ * (por ejemplo, un modelo de tabla) puede aplicar solo la diferencia en lugar de
+ * reconstruirse a partir de la lista completa.
+ *
+ * @param <E> El tipo de los elementos de la lista.
+ * @author david
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface IListChangeListener<E> extends EventListener {
+
+    /**
+     * Notifica una modificación de la lista.
+     *
+     * @param change La modificación, ya aplicada a la lista.
+     */
+    void listChanged(ListChange<? extends E> change);
+}
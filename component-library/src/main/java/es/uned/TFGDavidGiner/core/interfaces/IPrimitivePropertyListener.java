@@ -0,0 +1,55 @@
+package es.uned.TFGDavidGiner.core.interfaces;
+
+import java.util.EventListener;
+
+/**
+ * Listener de cambios de propiedades de tipo primitivo ({@code int}, {@code long}
+ * y {@code double}).
+ * <p>
+ * A diferencia de {@link java.beans.PropertyChangeListener}, recibe el valor
+ * antiguo y el nuevo sin envolverlos en objetos y sin crear ningún evento, de modo
+ * que notificar un cambio no reserva memoria. La propiedad se identifica por su
+ * identificador ({@link es.uned.TFGDavidGiner.core.binding.PropertyKey#getId()}).
+ * <p>
+ * Cada método tiene una implementación vacía por defecto, para que cada listener
+ * sobrescriba solo los tipos que le interesan.
+ *
+ * @author david
+ * @version 1.0
+ * @see es.uned.TFGDavidGiner.core.binding.PrimitivePropertyStore
+ */
+public interface IPrimitivePropertyListener extends EventListener {
+
+    /**
+     * Notifica el cambio de una propiedad de tipo {@code int}.
+     *
+     * @param source El componente o el modelo cuya propiedad ha cambiado.
+     * @param propertyId El identificador de la propiedad.
+     * @param oldValue El valor anterior.
+     * @param newValue El nuevo valor.
+     */
+    default void intPropertyChanged(Object source, int propertyId, int oldValue, int newValue) {
+    }
+
+    /**
+     * Notifica el cambio de una propiedad de tipo {@code long}.
+     *
+     * @param source El componente o el modelo cuya propiedad ha cambiado.
+     * @param propertyId El identificador de la propiedad.
+     * @param oldValue El valor anterior.
+     * @param newValue El nuevo valor.
+     */
+    default void longPropertyChanged(Object source, int propertyId, long oldValue, long newValue) {
+    }
+
+    /**
+     * Notifica el cambio de una propiedad de tipo {@code double}.
+     *
+     * @param source El componente o el modelo cuya propiedad ha cambiado.
+     * @param propertyId El identificador de la propiedad.
+     * @param oldValue El valor anterior.
+     * @param newValue El nuevo valor.
+     */
+    default void doublePropertyChanged(Object source, int propertyId, double oldValue, double newValue) {
+    }
+}
@@ -4,6 +4,7 @@
  */
 package es.uned.TFGDavidGiner.core.interfaces;
 
+import java.beans.PropertyChangeListener;
 import java.util.Map;
 import java.util.Set;
 
@@ -13,9 +14,26 @@ import java.util.Set;
  * <p>
  * Esta interfaz desacopla la lógica de data-binding de la jerarquía de clases base,
  * permitiendo que solo los componentes relevantes (como LeafComponent) la implementen.
+ * También la implementan los modelos sin vista ({@link es.uned.TFGDavidGiner.core.LeafModel}),
+ * que el motor de enlace trata igual que a los componentes.
  */
 public interface IShareableProperties {
 
+    /**
+     * Nombre del evento con el que un componente notifica, al confirmar un lote
+     * ({@link #commitUpdate()}), todas las propiedades compartidas que han cambiado.
+     * <p>
+     * El valor antiguo y el nuevo del evento son sendos {@link Map} inmutables del
+     * nombre de cada propiedad cambiada a su valor.
+     */
+    String BATCH_PROPERTY = "sharedPropertiesBatch";
+
+    /**
+     * Nombre del evento con el que un componente notifica que empieza o termina un
+     * ajuste ({@link #isAdjusting()}). El valor antiguo y el nuevo son {@link Boolean}.
+     */
+    String ADJUSTING_PROPERTY = "sharedPropertiesAdjusting";
+
     /**
      * Devuelve el conjunto de propiedades que este componente puede compartir.
      * @return Un Set con los nombres de las propiedades compartidas.
@@ -28,15 +46,110 @@ public interface IShareableProperties {
      * @return Un nuevo Set con las propiedades en común.
      */
     Set<String> propertiesInCommon(Set<String> set1);     
-    
+
      /**
      * Obtiene los tipos de datos de un conjunto de propiedades de este componente.
      * <p>
-     * Utiliza reflexión para inspeccionar los campos de la clase y determinar
-     * el tipo de dato de cada propiedad especificada por su nombre.
+     * Los tipos se toman de las propiedades marcadas con
+     * {@link es.uned.TFGDavidGiner.core.binding.SharedProperty}, a través del
+     * adaptador generado de la clase o, si no existe, de sus metadatos de enlace.
      *
      * @param propertiesName Un {@link Set} con los nombres de las propiedades a inspeccionar.
      * @return Un {@link Map} que asocia el nombre de cada propiedad con su tipo ({@link Class}).
      */
     Map<String, Class<?>> getPropertiesType(Set<String> propertiesName);
+
+    /**
+     * Inicia un lote de cambios de propiedades compartidas.
+     * <p>
+     * Hasta la llamada correspondiente a {@link #commitUpdate()}, los cambios no se
+     * propagan a los demás componentes de uno en uno. Los lotes se pueden anidar.
+     * <p>
+     * Por defecto no hace nada: los componentes que no admiten lotes propagan cada
+     * cambio por separado.
+     */
+    default void beginUpdate() {
+        // Sin lotes: cada cambio se propaga por separado.
+    }
+
+    /**
+     * Confirma un lote de cambios iniciado con {@link #beginUpdate()}.
+     * <p>
+     * Al cerrar el lote más externo, el componente emite un único evento
+     * {@link #BATCH_PROPERTY} con todas las propiedades compartidas que han cambiado.
+     * <p>
+     * Por defecto no hace nada.
+     */
+    default void commitUpdate() {
+        // Sin lotes: no hay nada que confirmar.
+    }
+
+    /**
+     * Indica si hay un lote de cambios en curso.
+     *
+     * @return {@code true} entre {@link #beginUpdate()} y el {@link #commitUpdate()}
+     * correspondiente. Por defecto, {@code false}.
+     */
+    default boolean isUpdating() {
+        return false;
+    }
+
+    /**
+     * Indica si el componente está en un estado intermedio, como un deslizador que
+     * se está arrastrando. Las propiedades con la política
+     * {@link es.uned.TFGDavidGiner.core.binding.PropagationMode#ON_COMMIT} no se
+     * propagan hasta que termina el ajuste.
+     *
+     * @return {@code true} mientras dura el ajuste. Por defecto, {@code false}.
+     */
+    default boolean isAdjusting() {
+        return false;
+    }
+
+    /**
+     * Registra un listener de cambios sin envolver de una propiedad primitiva.
+     * <p>
+     * Solo las propiedades que el componente guarda en ranuras primitivas notifican
+     * sus cambios por esta vía. Para el resto, el listener no se registra y los
+     * cambios deben escucharse con un {@link java.beans.PropertyChangeListener}.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param listener El listener.
+     * @return {@code true} si la propiedad se guarda en una ranura primitiva y el
+     * listener se ha registrado. Por defecto, {@code false}: el componente no tiene
+     * ranuras primitivas.
+     */
+    default boolean addPrimitivePropertyListener(String propertyName, IPrimitivePropertyListener listener) {
+        return false;
+    }
+
+    /**
+     * Elimina un listener registrado con
+     * {@link #addPrimitivePropertyListener(String, IPrimitivePropertyListener)}.
+     * Por defecto no hace nada.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @param listener El listener.
+     */
+    default void removePrimitivePropertyListener(String propertyName, IPrimitivePropertyListener listener) {
+        // Sin ranuras primitivas: no hay listeners que eliminar.
+    }
+
+    /**
+     * Registra un listener de los cambios de una propiedad. Los componentes Swing
+     * ya lo implementan a través de {@link java.awt.Component}.
+     *
+     * @param propertyName El nombre de la propiedad o del evento.
+     * @param listener El listener.
+     */
+    void addPropertyChangeListener(String propertyName, PropertyChangeListener listener);
+
+    /**
+     * Elimina un listener registrado con
+     * {@link #addPropertyChangeListener(String, PropertyChangeListener)}.
+     *
+     * @param propertyName El nombre de la propiedad o del evento.
+     * @param listener El listener.
+     */
+    void removePropertyChangeListener(String propertyName, PropertyChangeListener listener);
 }
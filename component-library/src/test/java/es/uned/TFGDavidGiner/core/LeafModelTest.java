@@ -0,0 +1,85 @@
+package es.uned.TFGDavidGiner.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import es.uned.TFGDavidGiner.core.binding.BindingHub;
+import es.uned.TFGDavidGiner.core.binding.TestModel;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de {@link LeafModel} enlazados en un {@link BindingHub} sin ningún
+ * componente Swing: la propagación entre modelos, los lotes de cambios y la
+ * validación. Se ejecutan con {@code java.awt.headless}.
+ *
+ * @author david
+ * @version 1.0
+ */
+class LeafModelTest {
+
+    /**
+     * El cambio de una propiedad de un modelo llega al otro modelo enlazado, en los
+     * dos sentidos.
+     */
+    @Test
+    void propagatesChangesBetweenBoundModels() {
+        BindingHub hub = new BindingHub();
+        TestModel first = new TestModel();
+        TestModel second = new TestModel();
+        assertTrue(hub.bind(first));
+        assertTrue(hub.bind(second));
+
+        first.setPeso(80);
+        assertEquals(80, second.getPeso());
+
+        second.setNombre("Ana");
+        assertEquals("Ana", first.getNombre());
+    }
+
+    /**
+     * Los cambios hechos dentro de un lote no se propagan hasta confirmarlo, y al
+     * confirmarlo llegan todos.
+     */
+    @Test
+    void propagatesBatchedChangesOnCommit() {
+        BindingHub hub = new BindingHub();
+        TestModel first = new TestModel();
+        TestModel second = new TestModel();
+        hub.bind(first);
+        hub.bind(second);
+
+        first.beginUpdate();
+        first.setPeso(100);
+        first.setNombre("David");
+        assertTrue(first.isUpdating());
+        assertEquals(null, second.getPeso());
+        assertEquals(null, second.getNombre());
+
+        first.commitUpdate();
+        assertFalse(first.isUpdating());
+        assertEquals(100, second.getPeso());
+        assertEquals("David", second.getNombre());
+    }
+
+    /**
+     * La validación de un modelo usa el valor recibido del hub y devuelve el error
+     * sin pintar nada.
+     */
+    @Test
+    void validatesReceivedValues() {
+        BindingHub hub = new BindingHub();
+        TestModel first = new TestModel();
+        TestModel second = new TestModel();
+        hub.bind(first);
+        hub.bind(second);
+
+        first.setPeso(-5);
+        assertFalse(second.validar());
+        assertFalse(second.getError().isEmpty());
+
+        first.setPeso(5);
+        assertTrue(second.validar());
+        assertEquals("", second.getError());
+    }
+}
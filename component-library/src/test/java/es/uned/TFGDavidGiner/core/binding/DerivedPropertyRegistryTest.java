@@ -0,0 +1,79 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de las propiedades derivadas de un {@link BindingHub}: el orden de
+ * recálculo cuando una propiedad derivada depende de otra y el rechazo de las
+ * dependencias circulares.
+ *
+ * @author david
+ * @version 1.0
+ */
+class DerivedPropertyRegistryTest {
+
+    /**
+     * Una propiedad derivada registrada antes que otra derivada de la que depende
+     * se recalcula después de ella, una sola vez por cambio, y nunca publica un
+     * valor calculado con la entrada desactualizada.
+     */
+    @Test
+    void evaluatesDerivedPropertiesInDependencyOrder() {
+        BindingHub hub = new BindingHub();
+        DerivedProperty<Integer> total = new DerivedProperty<>("pesoTotal", Integer.class,
+                in -> value(in, "peso") + value(in, "pesoDoble"), "peso", "pesoDoble");
+        DerivedProperty<Integer> doble = new DerivedProperty<>("pesoDoble", Integer.class,
+                in -> 2 * value(in, "peso"), "peso");
+        hub.addDerivedProperty(total);
+        hub.addDerivedProperty(doble);
+        List<Object> published = new ArrayList<>();
+        hub.addObserver("pesoTotal", published::add);
+        TestModel model = new TestModel();
+        hub.bind(model);
+
+        long evaluations = total.getEvaluationCount();
+        model.setPeso(10);
+        assertEquals(List.of(30), published);
+        assertEquals(evaluations + 1, total.getEvaluationCount());
+
+        model.setPeso(20);
+        assertEquals(List.of(30, 60), published);
+        assertEquals(evaluations + 2, total.getEvaluationCount());
+    }
+
+    /**
+     * Una propiedad derivada que depende, directa o indirectamente, de sí misma se
+     * rechaza y no queda registrada.
+     */
+    @Test
+    void rejectsCircularDependencies() {
+        BindingHub hub = new BindingHub();
+        assertThrows(IllegalArgumentException.class, () -> hub.addDerivedProperty(
+                new DerivedProperty<>("a", Integer.class, in -> 0, "peso", "a")));
+
+        hub.addDerivedProperty(new DerivedProperty<>("a", Integer.class, in -> 0, "b"));
+        hub.addDerivedProperty(new DerivedProperty<>("b", Integer.class, in -> 0, "c"));
+        assertThrows(IllegalArgumentException.class, () -> hub.addDerivedProperty(
+                new DerivedProperty<>("c", Integer.class, in -> 0, "a")));
+        assertFalse(hub.removeDerivedProperty("c"));
+    }
+
+    /**
+     * Devuelve el valor entero de una entrada, o {@code 0} si aún no se conoce.
+     *
+     * @param inputs Las entradas de la función de cálculo.
+     * @param name El nombre de la entrada.
+     * @return Su valor.
+     */
+    private static int value(Map<String, Object> inputs, String name) {
+        Object value = inputs.get(name);
+        return value == null ? 0 : (Integer) value;
+    }
+}
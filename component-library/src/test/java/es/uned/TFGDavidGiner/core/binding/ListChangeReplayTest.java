@@ -0,0 +1,130 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de la propagación de las modificaciones de una {@link SharedList}
+ * ({@link ListChangeReplay}): el tamaño previo a cada modificación, la aplicación
+ * de la diferencia en las listas sincronizadas, la escritura de la lista completa
+ * en las desincronizadas u ocultas y la supresión del eco de la diferencia aplicada.
+ *
+ * @author david
+ * @version 1.0
+ */
+class ListChangeReplayTest {
+
+    /**
+     * El tamaño previo se obtiene deshaciendo el rango insertado o eliminado; las
+     * actualizaciones no lo cambian. Las sustituciones completas se aplican sea cual
+     * sea el tamaño, así que no se comprueban.
+     */
+    @Test
+    void computesTheSizeBeforeEachChange() {
+        SharedList<String> list = new SharedList<>(List.of("a", "b", "c"));
+        List<Integer> sizes = new ArrayList<>();
+        list.addListChangeListener(change -> sizes.add(ListChangeReplay.sizeBefore(change)));
+
+        list.addAll(1, List.of("x", "y"));
+        list.subList(0, 3).clear();
+        list.update(0);
+        list.set(1, "z");
+
+        // Tamaños: 3 -> 5 (inserción) -> 2 (eliminación) -> 2 -> 2.
+        assertEquals(List.of(3, 5, 2, 2), sizes);
+    }
+
+    /**
+     * Una lista con el mismo tamaño previo recibe la diferencia, sin pasar por el
+     * setter, y el eco de aplicarla no vuelve a la lista de origen.
+     */
+    @Test
+    void appliesChangesToSynchronizedLists() {
+        BindingHub hub = new BindingHub();
+        TestModel first = new TestModel();
+        TestModel second = new TestModel();
+        hub.bind(first);
+        hub.bind(second);
+        List<ListChange.Kind> received = new ArrayList<>();
+        second.getEtiquetas().addListChangeListener(change -> received.add(change.getKind()));
+        List<ListChange.Kind> echoed = new ArrayList<>();
+        first.getEtiquetas().addListChangeListener(change -> echoed.add(change.getKind()));
+
+        first.getEtiquetas().add("a");
+        first.getEtiquetas().addAll(List.of("b", "c"));
+        first.getEtiquetas().remove(0);
+        first.getEtiquetas().update(0);
+
+        assertEquals(List.of("b", "c"), second.getEtiquetas());
+        assertEquals(List.of(ListChange.Kind.INSERT, ListChange.Kind.INSERT,
+                ListChange.Kind.REMOVE, ListChange.Kind.UPDATE), received);
+        assertEquals(0, second.getWrites("etiquetas"));
+        // La lista de origen solo ve sus propias modificaciones.
+        assertEquals(received, echoed);
+        assertEquals(List.of("b", "c"), first.getEtiquetas());
+    }
+
+    /**
+     * Una lista que no tiene el tamaño previo a la modificación no puede aplicarla:
+     * recibe la lista completa con el setter y queda sincronizada.
+     */
+    @Test
+    void writesTheWholeListToOutOfSyncSubscribers() {
+        BindingHub hub = new BindingHub();
+        TestModel first = new TestModel();
+        TestModel second = new TestModel();
+        hub.bind(first);
+        // Se modifica antes de enlazarlo, para que no tenga el contenido del primero.
+        second.getEtiquetas().add("x");
+        hub.bind(second);
+
+        first.getEtiquetas().add("a");
+        assertEquals(List.of("a"), second.getEtiquetas());
+        assertEquals(1, second.getWrites("etiquetas"));
+
+        // Ya sincronizada, la siguiente modificación llega como diferencia.
+        first.getEtiquetas().add("b");
+        assertEquals(List.of("a", "b"), second.getEtiquetas());
+        assertEquals(1, second.getWrites("etiquetas"));
+    }
+
+    /**
+     * Un componente oculto no aplica las diferencias: al mostrarlo recibe la lista
+     * completa una sola vez.
+     */
+    @Test
+    void writesTheWholeListToHiddenSubscribersWhenRefreshed() throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                BindingHub hub = new BindingHub();
+                TestModel model = new TestModel();
+                TestLeaf leaf = new TestLeaf();
+                hub.bind(model);
+                hub.bind(leaf);
+                leaf.setVisible(false);
+
+                model.getEtiquetas().add("a");
+                model.getEtiquetas().add("b");
+                assertEquals(List.of(), leaf.getEtiquetas());
+                assertEquals(0, leaf.getWrites());
+
+                leaf.setVisible(true);
+                hub.refresh(leaf);
+                assertEquals(List.of("a", "b"), leaf.getEtiquetas());
+                assertEquals(1, leaf.getWrites());
+                assertEquals(List.of("a", "b"), model.getEtiquetas());
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+}
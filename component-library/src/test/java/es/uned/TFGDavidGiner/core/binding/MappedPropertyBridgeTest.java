@@ -0,0 +1,204 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pruebas de {@link MappedPropertyBridge} con dos puentes sobre el mismo fichero,
+ * cada uno con su propio hub, como si fueran dos procesos.
+ *
+ * @author david
+ * @version 1.0
+ */
+class MappedPropertyBridgeTest {
+
+    /**
+     * Tiempo máximo de espera de cada condición, en milisegundos.
+     */
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * Directorio temporal de los ficheros de canal.
+     */
+    @TempDir
+    Path dir;
+
+    /**
+     * Los puentes creados en la prueba, que se cierran al terminar.
+     */
+    private MappedPropertyBridge first;
+
+    /**
+     * El segundo puente de la prueba.
+     */
+    private MappedPropertyBridge second;
+
+    @AfterEach
+    void closeBridges() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                if (first != null) {
+                    first.close();
+                }
+                if (second != null) {
+                    second.close();
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * Un cambio publicado en el hub de un puente llega al hub del otro, con su tipo,
+     * y la respuesta vuelve al primero sin reenviarse en bucle.
+     */
+    @Test
+    void deliversChangesInBothDirections() throws Exception {
+        Path file = dir.resolve("canal.bin");
+        BindingHub hubA = new BindingHub();
+        BindingHub hubB = new BindingHub();
+        Map<String, Object> seenByA = new ConcurrentHashMap<>();
+        Map<String, Object> seenByB = new ConcurrentHashMap<>();
+        SwingUtilities.invokeAndWait(() -> {
+            first = open(hubA, file, 64, 256);
+            second = open(hubB, file, 64, 256);
+            hubA.addObserver("nombre", value -> seenByA.put("nombre", value));
+            hubB.addObserver("nombre", value -> seenByB.put("nombre", value));
+            hubB.addObserver("peso", value -> seenByB.put("peso", value));
+            first.start();
+            second.start();
+        });
+
+        hubA.post("nombre", "Dávid");
+        hubA.post("peso", 120);
+        waitFor(() -> "Dávid".equals(seenByB.get("nombre")) && Integer.valueOf(120).equals(seenByB.get("peso")));
+
+        hubB.post("nombre", "Ana");
+        waitFor(() -> "Ana".equals(seenByA.get("nombre")));
+
+        // Los cambios recibidos no se reenvían: cada puente solo ha enviado los suyos.
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(first.getSentCount(), second.getReceivedCount());
+        assertEquals(second.getSentCount(), first.getReceivedCount());
+        assertEquals(0, first.getLostCount());
+        assertEquals(0, second.getLostCount());
+    }
+
+    /**
+     * El segundo puente usa la capacidad y el tamaño de ranura del canal existente.
+     */
+    @Test
+    void reusesTheLayoutOfAnExistingChannel() throws Exception {
+        Path file = dir.resolve("canal.bin");
+        BindingHub hub = new BindingHub();
+        SwingUtilities.invokeAndWait(() -> {
+            first = open(hub, file, 16, 128);
+            second = open(hub, file, 1024, 512);
+        });
+        assertEquals(16, second.getCapacity());
+        assertEquals(128, second.getSlotSize());
+    }
+
+    /**
+     * Un fichero que no es un canal se rechaza.
+     */
+    @Test
+    void rejectsAFileThatIsNotAChannel() throws Exception {
+        Path file = dir.resolve("otro.bin");
+        Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> new MappedPropertyBridge(new BindingHub(), file, "nombre"));
+    }
+
+    /**
+     * Si un puente escribe más mensajes de los que caben en el búfer antes de que el
+     * otro los lea, cada mensaje se recibe o se cuenta como perdido, y el siguiente
+     * cambio vuelve a sincronizar la propiedad.
+     */
+    @Test
+    void accountsForOverrunMessagesAndResynchronizes() throws Exception {
+        Path file = dir.resolve("canal.bin");
+        BindingHub hubA = new BindingHub();
+        BindingHub hubB = new BindingHub();
+        String[] properties = new String[200];
+        for (int i = 0; i < properties.length; i++) {
+            properties[i] = "p" + i;
+        }
+        Map<String, Object> seenByB = new ConcurrentHashMap<>();
+        SwingUtilities.invokeAndWait(() -> {
+            // Ranuras mínimas: cada mensaje lleva uno o dos cambios, y el búfer da
+            // la vuelta varias veces en un solo ciclo del EDT.
+            first = open(hubA, file, 4, 64, properties);
+            second = open(hubB, file, 4, 64, properties);
+            hubB.addObserver("p0", value -> seenByB.put("p0", value));
+            first.start();
+            second.start();
+        });
+
+        for (int round = 0; round < 20; round++) {
+            final int value = round;
+            SwingUtilities.invokeAndWait(() -> {
+                for (String property : properties) {
+                    hubA.post(property, "valor-" + value);
+                }
+            });
+        }
+        // El hub publica los valores en un ciclo posterior del EDT, y el puente los
+        // envía en el siguiente: tras dos ciclos más ya se ha enviado todo.
+        SwingUtilities.invokeAndWait(() -> { });
+        SwingUtilities.invokeAndWait(() -> { });
+        waitFor(() -> second.getReceivedCount() + second.getLostCount() == first.getSentCount());
+        assertTrue(first.getSentCount() > 4 * 20, "Cada ciclo debe ocupar varias vueltas del búfer");
+
+        // Tras el desbordamiento, un cambio nuevo se recibe con normalidad.
+        hubA.post("p0", "final");
+        waitFor(() -> "final".equals(seenByB.get("p0")));
+        assertEquals(first.getSentCount(), second.getReceivedCount() + second.getLostCount());
+    }
+
+    /**
+     * Crea un puente y convierte la excepción de E/S en una no comprobada, para
+     * poder llamarlo desde el EDT.
+     *
+     * @param hub El hub del puente.
+     * @param file El fichero del canal.
+     * @param capacity La capacidad de un canal nuevo.
+     * @param slotSize El tamaño de ranura de un canal nuevo.
+     * @param properties Las propiedades sincronizadas; por defecto, {@code nombre} y {@code peso}.
+     * @return El puente.
+     */
+    private static MappedPropertyBridge open(BindingHub hub, Path file, int capacity, int slotSize, String... properties) {
+        try {
+            return new MappedPropertyBridge(hub, file, capacity, slotSize,
+                    properties.length > 0 ? properties : new String[]{"nombre", "peso"});
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Espera a que se cumpla una condición, como mucho {@link #TIMEOUT_MILLIS}.
+     *
+     * @param condition La condición.
+     */
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "La condición no se ha cumplido a tiempo");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import es.uned.TFGDavidGiner.core.BaseContainer;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de las políticas de propagación ({@link PropagationPolicy}) entre dos
+ * modelos enlazados: la retención hasta el fin del ajuste, el reinicio del
+ * intervalo sin cambios, el espaciado de los cambios limitados y la liberación de
+ * los valores retenidos al validar un contenedor.
+ * <p>
+ * Los temporizadores de las políticas se disparan en el Event Dispatch Thread, por
+ * lo que los modelos solo se modifican y se leen desde él.
+ *
+ * @author david
+ * @version 1.0
+ */
+class PolicyGateTest {
+
+    /**
+     * Tiempo máximo de espera de cada condición, en milisegundos.
+     */
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * Con {@link PropagationPolicy#ON_COMMIT}, los valores de un ajuste se retienen y
+     * al terminarlo se propaga solo el último.
+     */
+    @Test
+    void holdsValuesUntilTheAdjustmentEnds() throws Exception {
+        onEdt(() -> {
+            BindingHub hub = new BindingHub();
+            hub.setPolicy("peso", PropagationPolicy.ON_COMMIT);
+            TestModel first = new TestModel();
+            TestModel second = new TestModel();
+            hub.bind(first);
+            hub.bind(second);
+
+            first.setAdjusting(true);
+            first.setPeso(1);
+            first.setPeso(2);
+            assertEquals(null, second.getPeso());
+            assertEquals(0, second.getWrites("peso"));
+
+            first.setAdjusting(false);
+            assertEquals(2, second.getPeso());
+            assertEquals(1, second.getWrites("peso"));
+
+            // Fuera de un ajuste, el cambio se propaga de inmediato.
+            first.setPeso(3);
+            assertEquals(3, second.getPeso());
+        });
+    }
+
+    /**
+     * Con una política {@link PropagationPolicy#debounced(int)}, cada cambio reinicia
+     * el intervalo sin cambios, y al vencer se propaga solo el último valor.
+     */
+    @Test
+    void restartsTheDebounceIntervalOnEachChange() throws Exception {
+        BindingHub hub = new BindingHub();
+        TestModel first = new TestModel();
+        TestModel second = new TestModel();
+        onEdt(() -> {
+            hub.setPolicy("peso", PropagationPolicy.debounced(600));
+            hub.bind(first);
+            hub.bind(second);
+            first.setPeso(1);
+        });
+        Thread.sleep(250);
+        onEdt(() -> first.setPeso(2));
+        Thread.sleep(400);
+        // Ya han pasado más de 600 ms desde el primer cambio, pero no desde el segundo.
+        assertEquals(null, read(second::getPeso));
+
+        waitFor(() -> read(second::getPeso) != null);
+        assertEquals(2, read(second::getPeso));
+        assertEquals(1, (int) read(() -> second.getWrites("peso")));
+    }
+
+    /**
+     * Con una política {@link PropagationPolicy#throttled(int)}, el primer cambio se
+     * propaga de inmediato y los siguientes se reducen al último, que se propaga
+     * cuando ha pasado el intervalo desde el anterior.
+     */
+    @Test
+    void spacesThrottledChangesByTheInterval() throws Exception {
+        BindingHub hub = new BindingHub();
+        TestModel first = new TestModel();
+        TestModel second = new TestModel();
+        List<Object> values = new CopyOnWriteArrayList<>();
+        List<Long> times = new CopyOnWriteArrayList<>();
+        PropagationPolicy policy = PropagationPolicy.throttled(5);
+        onEdt(() -> {
+            hub.setPolicy("peso", policy);
+            hub.bind(first);
+            hub.bind(second);
+            hub.addObserver("peso", value -> {
+                values.add(value);
+                times.add(System.nanoTime());
+            });
+            first.setPeso(1);
+            first.setPeso(2);
+            first.setPeso(3);
+            assertEquals(1, second.getPeso());
+        });
+
+        waitFor(() -> values.size() == 2);
+        assertEquals(List.of(1, 3), values);
+        assertEquals(3, read(second::getPeso));
+        long gapMillis = TimeUnit.NANOSECONDS.toMillis(times.get(1) - times.get(0));
+        // El retardo del temporizador se trunca a milisegundos.
+        assertTrue(gapMillis >= policy.getIntervalMillis() - 1, "Intervalo de " + gapMillis + " ms");
+    }
+
+    /**
+     * Validar un contenedor propaga los valores retenidos por las políticas, aunque
+     * el ajuste no haya terminado, para validar el estado actual.
+     */
+    @Test
+    void releasesHeldValuesWhenTheContainerIsValidated() throws Exception {
+        onEdt(() -> {
+            BaseContainer container = new BaseContainer() { };
+            BindingHub hub = container.getBindingHub();
+            hub.setPolicy("peso", PropagationPolicy.ON_COMMIT);
+            TestModel first = new TestModel();
+            TestModel second = new TestModel();
+            hub.bind(first);
+            hub.bind(second);
+
+            first.setAdjusting(true);
+            first.setPeso(7);
+            assertEquals(null, second.getPeso());
+
+            container.validar();
+            assertEquals(7, second.getPeso());
+            assertTrue(first.isAdjusting());
+        });
+    }
+
+    /**
+     * Ejecuta una acción en el Event Dispatch Thread y espera a que termine. Los
+     * errores de las comprobaciones se relanzan en el hilo de la prueba.
+     *
+     * @param action La acción.
+     */
+    private static void onEdt(Runnable action) throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                action.run();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        if (failure.get() instanceof Error) {
+            throw (Error) failure.get();
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException(failure.get());
+        }
+    }
+
+    /**
+     * Lee un valor en el Event Dispatch Thread.
+     *
+     * @param <T> El tipo del valor.
+     * @param getter El getter.
+     * @return El valor.
+     */
+    private static <T> T read(Supplier<T> getter) throws Exception {
+        AtomicReference<T> value = new AtomicReference<>();
+        onEdt(() -> value.set(getter.get()));
+        return value.get();
+    }
+
+    /**
+     * Espera a que se cumpla una condición, como mucho {@link #TIMEOUT_MILLIS}.
+     *
+     * @param condition La condición.
+     */
+    private static void waitFor(Callable<Boolean> condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (!condition.call()) {
+            assertTrue(System.nanoTime() < deadline, "La condición no se ha cumplido a tiempo");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de la supresión de ecos con las épocas de propagación
+ * ({@link PropagationEpoch}): dos modelos que comparten una propiedad se la
+ * devuelven el uno al otro sin entrar en bucle.
+ *
+ * @author david
+ * @version 1.0
+ */
+class PropagationEpochTest {
+
+    /**
+     * Cada cambio llama una sola vez al setter de cada modelo, en los dos sentidos,
+     * y los observadores lo reciben una sola vez aunque el destino lo notifique de
+     * nuevo al escribirlo.
+     */
+    @Test
+    void deliversEachChangeOnceInBothDirections() {
+        BindingHub hub = new BindingHub();
+        TestModel first = new TestModel();
+        TestModel second = new TestModel();
+        hub.bind(first);
+        hub.bind(second);
+        List<Object> observed = new ArrayList<>();
+        hub.addObserver("peso", observed::add);
+
+        first.setPeso(1);
+        assertEquals(1, second.getPeso());
+        assertEquals(1, first.getWrites("peso"));
+        assertEquals(1, second.getWrites("peso"));
+
+        second.setPeso(2);
+        assertEquals(2, first.getPeso());
+        assertEquals(2, first.getWrites("peso"));
+        assertEquals(2, second.getWrites("peso"));
+
+        assertEquals(List.of(1, 2), observed);
+    }
+
+    /**
+     * Los cambios de las propiedades guardadas en ranuras primitivas, que se
+     * propagan sin envolver el valor, también se entregan una sola vez.
+     */
+    @Test
+    void deliversEachPrimitiveChangeOnceInBothDirections() {
+        BindingHub hub = new BindingHub();
+        TestModel first = new TestModel();
+        TestModel second = new TestModel();
+        hub.bind(first);
+        hub.bind(second);
+        List<Object> observed = new ArrayList<>();
+        hub.addObserver("repeticiones", observed::add);
+
+        first.setRepeticiones(8);
+        assertEquals(8, second.getRepeticiones());
+        second.setRepeticiones(10);
+        assertEquals(10, first.getRepeticiones());
+
+        assertEquals(2, first.getWrites("repeticiones"));
+        assertEquals(2, second.getWrites("repeticiones"));
+        assertEquals(List.of(8, 10), observed);
+    }
+
+    /**
+     * Cada cambio abre una época nueva, y los ecos se quedan en la misma época.
+     */
+    @Test
+    void opensOneEpochPerChange() {
+        BindingHub hub = new BindingHub();
+        TestModel first = new TestModel();
+        TestModel second = new TestModel();
+        hub.bind(first);
+        hub.bind(second);
+
+        long before = hub.getEpoch();
+        first.setPeso(1);
+        second.setNombre("Ana");
+        assertEquals(before + 2, hub.getEpoch());
+    }
+}
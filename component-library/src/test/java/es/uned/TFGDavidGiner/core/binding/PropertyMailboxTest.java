@@ -0,0 +1,124 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de {@link PropertyMailbox}: la sustitución de los valores pendientes y la
+ * cuenta de valores descartados cuando un productor escribe desde otro hilo.
+ *
+ * @author david
+ * @version 1.0
+ */
+class PropertyMailboxTest {
+
+    /**
+     * Número de valores que envía el productor en cada prueba.
+     */
+    private static final int VALUES = 10_000;
+
+    /**
+     * Con el EDT ocupado, todos los valores enviados a una propiedad se reducen al
+     * último: se escribe uno solo y el resto cuentan como descartados.
+     */
+    @Test
+    void conflatesValuesPostedWhileTheEdtIsBusy() throws Exception {
+        List<Object> written = new ArrayList<>();
+        PropertyMailbox mailbox = new PropertyMailbox((name, value) -> written.add(value));
+
+        CountDownLatch edtBlocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            edtBlocked.countDown();
+            await(release);
+        });
+        assertTrue(edtBlocked.await(5, TimeUnit.SECONDS));
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < VALUES; i++) {
+                mailbox.post("valor", i);
+            }
+        });
+        producer.start();
+        producer.join();
+        assertTrue(mailbox.hasPending());
+
+        release.countDown();
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(List.of(VALUES - 1), written);
+        assertEquals(VALUES - 1, mailbox.getDroppedCount());
+        assertFalse(mailbox.hasPending());
+    }
+
+    /**
+     * Con el EDT vaciando el buzón a la vez que escribe el productor, cada valor se
+     * escribe o se descarta, nunca las dos cosas, y el último siempre se escribe.
+     */
+    @Test
+    void countsEveryValueAsWrittenOrDroppedUnderAConcurrentProducer() throws Exception {
+        AtomicLong writes = new AtomicLong();
+        Object[] last = new Object[1];
+        PropertyMailbox mailbox = new PropertyMailbox((name, value) -> {
+            writes.incrementAndGet();
+            last[0] = value;
+        });
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < VALUES; i++) {
+                mailbox.post("valor", i);
+            }
+        });
+        producer.start();
+        producer.join();
+        // La última tarea de vaciado se encoló antes de esta.
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(VALUES - 1, last[0]);
+        assertEquals(VALUES, writes.get() + mailbox.getDroppedCount());
+        assertFalse(mailbox.hasPending());
+    }
+
+    /**
+     * Los valores de propiedades distintas no se sustituyen entre sí.
+     */
+    @Test
+    void keepsOneSlotPerProperty() throws Exception {
+        List<String> written = new ArrayList<>();
+        PropertyMailbox mailbox = new PropertyMailbox((name, value) -> written.add(name + "=" + value));
+
+        SwingUtilities.invokeAndWait(() -> {
+            mailbox.post("a", 1);
+            mailbox.post("b", 2);
+            mailbox.post("a", 3);
+        });
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(2, written.size());
+        assertTrue(written.contains("a=3"));
+        assertTrue(written.contains("b=2"));
+        assertEquals(1, mailbox.getDroppedCount());
+    }
+
+    /**
+     * Espera a que se abra un cerrojo, sin propagar la interrupción.
+     *
+     * @param latch El cerrojo.
+     */
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.SwingUtilities;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de {@link PropertyPublisher}: el valor inicial de cada suscripción, la
+ * demanda y la sustitución de los valores no entregados, el error de una demanda no
+ * positiva y la finalización al cerrar el publicador.
+ * <p>
+ * Las entregas se hacen en el propio hilo que publica, de modo que cada señal llega
+ * antes de que termine el cambio que la provoca.
+ *
+ * @author david
+ * @version 1.0
+ */
+class PropertyPublisherTest {
+
+    /**
+     * Clave de la propiedad publicada.
+     */
+    private static final PropertyKey<Integer> PESO = PropertyKey.of("peso", Integer.class);
+
+    /**
+     * Una suscripción nueva recibe primero el valor actual de la propiedad.
+     */
+    @Test
+    void seedsNewSubscriptionsWithTheCurrentValue() throws Exception {
+        onEdt(() -> {
+            BindingHub hub = new BindingHub();
+            TestModel model = new TestModel();
+            hub.bind(model);
+            model.setPeso(70);
+            PropertyPublisher<Integer> publisher = new PropertyPublisher<>(hub, PESO, Runnable::run);
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+
+            subscriber.subscription.request(5);
+            assertEquals(List.of("next 70"), subscriber.events);
+
+            model.setPeso(75);
+            assertEquals(List.of("next 70", "next 75"), subscriber.events);
+        });
+    }
+
+    /**
+     * Sin demanda no se entrega nada, y los cambios se reducen al último; cada
+     * elemento pedido recibe como mucho el valor pendiente.
+     */
+    @Test
+    void conflatesValuesUntilRequested() throws Exception {
+        onEdt(() -> {
+            BindingHub hub = new BindingHub();
+            TestModel model = new TestModel();
+            hub.bind(model);
+            PropertyPublisher<Integer> publisher = new PropertyPublisher<>(hub, PESO, Runnable::run);
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+
+            model.setPeso(1);
+            model.setPeso(2);
+            model.setPeso(3);
+            assertEquals(List.of(), subscriber.events);
+
+            subscriber.subscription.request(1);
+            assertEquals(List.of("next 3"), subscriber.events);
+
+            model.setPeso(4);
+            model.setPeso(5);
+            subscriber.subscription.request(2);
+            assertEquals(List.of("next 3", "next 5"), subscriber.events);
+
+            // Queda un elemento pedido: el siguiente cambio se entrega en el acto.
+            model.setPeso(6);
+            assertEquals(List.of("next 3", "next 5", "next 6"), subscriber.events);
+        });
+    }
+
+    /**
+     * Una demanda no positiva termina la suscripción con
+     * {@link IllegalArgumentException}.
+     */
+    @Test
+    void signalsAnErrorForANonPositiveRequest() throws Exception {
+        onEdt(() -> {
+            BindingHub hub = new BindingHub();
+            TestModel model = new TestModel();
+            hub.bind(model);
+            PropertyPublisher<Integer> publisher = new PropertyPublisher<>(hub, PESO, Runnable::run);
+            RecordingSubscriber subscriber = new RecordingSubscriber();
+            publisher.subscribe(subscriber);
+
+            subscriber.subscription.request(0);
+            assertEquals(List.of("error IllegalArgumentException"), subscriber.events);
+            assertEquals(0, publisher.getSubscriberCount());
+
+            model.setPeso(1);
+            subscriber.subscription.request(1);
+            assertEquals(List.of("error IllegalArgumentException"), subscriber.events);
+        });
+    }
+
+    /**
+     * Al cerrar el publicador, cada suscriptor recibe lo que ya había pedido y
+     * {@code onComplete}; una suscripción posterior se completa de inmediato.
+     */
+    @Test
+    void completesSubscribersOnClose() throws Exception {
+        onEdt(() -> {
+            BindingHub hub = new BindingHub();
+            TestModel model = new TestModel();
+            hub.bind(model);
+            PropertyPublisher<Integer> publisher = new PropertyPublisher<>(hub, PESO, Runnable::run);
+            RecordingSubscriber first = new RecordingSubscriber();
+            RecordingSubscriber second = new RecordingSubscriber();
+            publisher.subscribe(first);
+            publisher.subscribe(second);
+            first.subscription.request(1);
+            model.setPeso(9);
+
+            publisher.close();
+            assertEquals(List.of("next 9", "complete"), first.events);
+            assertEquals(List.of("complete"), second.events);
+            assertEquals(0, publisher.getSubscriberCount());
+
+            model.setPeso(10);
+            RecordingSubscriber late = new RecordingSubscriber();
+            publisher.subscribe(late);
+            assertEquals(List.of("complete"), late.events);
+        });
+    }
+
+    /**
+     * Ejecuta una acción en el Event Dispatch Thread y espera a que termine. Los
+     * errores de las comprobaciones se relanzan en el hilo de la prueba.
+     *
+     * @param action La acción.
+     */
+    private static void onEdt(Runnable action) throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                action.run();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    /**
+     * Suscriptor que anota las señales recibidas.
+     */
+    private static final class RecordingSubscriber implements Flow.Subscriber<Integer> {
+
+        /**
+         * Las señales recibidas, en orden.
+         */
+        private final List<String> events = new ArrayList<>();
+
+        /**
+         * La suscripción recibida en {@code onSubscribe}.
+         */
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            events.add("next " + item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            events.add("error " + throwable.getClass().getSimpleName());
+        }
+
+        @Override
+        public void onComplete() {
+            events.add("complete");
+        }
+    }
+}
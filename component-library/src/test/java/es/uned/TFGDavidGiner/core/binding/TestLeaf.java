@@ -0,0 +1,86 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.LeafComponent;
+
+/**
+ * Componente hoja para las pruebas del motor de enlace que necesitan un
+ * {@link java.awt.Component}, por ejemplo para ocultarlo. Comparte la misma lista
+ * de etiquetas que {@link TestModel} y cuenta las llamadas a su setter. Es público
+ * para que el hub pueda acceder a sus propiedades.
+ *
+ * @author david
+ * @version 1.0
+ */
+public class TestLeaf extends LeafComponent {
+
+    /**
+     * Las etiquetas; siempre la misma instancia.
+     */
+    private final SharedList<String> etiquetas = new SharedList<>();
+
+    /**
+     * Número de llamadas a {@link #setEtiquetas(SharedList)}.
+     */
+    private int writes;
+
+    /**
+     * Obtiene la lista de etiquetas.
+     *
+     * @return Las etiquetas.
+     */
+    @SharedProperty
+    public SharedList<String> getEtiquetas() {
+        return etiquetas;
+    }
+
+    /**
+     * Sustituye el contenido de la lista de etiquetas por el de otra lista.
+     *
+     * @param etiquetas La lista con el nuevo contenido.
+     */
+    public void setEtiquetas(SharedList<String> etiquetas) {
+        writes++;
+        if (etiquetas != this.etiquetas) {
+            this.etiquetas.setAll(etiquetas);
+        }
+    }
+
+    /**
+     * Devuelve el número de llamadas a {@link #setEtiquetas(SharedList)}.
+     *
+     * @return El número de escrituras.
+     */
+    public int getWrites() {
+        return writes;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code true} siempre.
+     */
+    @Override
+    public boolean configurar() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code true} siempre.
+     */
+    @Override
+    public boolean validar() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return Una cadena vacía.
+     */
+    @Override
+    public String getError() {
+        return "";
+    }
+}
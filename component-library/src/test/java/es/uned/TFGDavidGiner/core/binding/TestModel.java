@@ -0,0 +1,193 @@
+package es.uned.TFGDavidGiner.core.binding;
+
+import es.uned.TFGDavidGiner.core.LeafModel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Modelo de componente hoja para las pruebas del motor de enlace: comparte un peso,
+ * un nombre, un número de repeticiones (en una ranura primitiva) y una lista de
+ * etiquetas, cuenta las llamadas a cada setter y valida que el peso no sea negativo. Es público para que
+ * el hub pueda acceder a sus propiedades.
+ *
+ * @author david
+ * @version 1.0
+ */
+public class TestModel extends LeafModel {
+
+    /**
+     * Clave del número de repeticiones.
+     */
+    private static final PropertyKey<Integer> REPETICIONES = PropertyKey.of("repeticiones", int.class);
+
+    /**
+     * El peso, en kg.
+     */
+    private Integer peso;
+
+    /**
+     * El nombre.
+     */
+    private String nombre;
+
+    /**
+     * Las etiquetas; siempre la misma instancia.
+     */
+    private final SharedList<String> etiquetas = new SharedList<>();
+
+    /**
+     * Almacena el mensaje de la última validación fallida.
+     */
+    private String error = "";
+
+    /**
+     * Número de llamadas a cada setter, por nombre de propiedad.
+     */
+    private final Map<String, Integer> writes = new HashMap<>();
+
+    /**
+     * Crea un modelo sin peso ni nombre y con las repeticiones a 0.
+     */
+    public TestModel() {
+        // Escribir el valor inicial reserva la ranura de la propiedad.
+        setIntProperty(REPETICIONES, 0);
+    }
+
+    /**
+     * Obtiene el peso.
+     *
+     * @return El peso, en kg.
+     */
+    @SharedProperty
+    public Integer getPeso() {
+        return peso;
+    }
+
+    /**
+     * Establece el peso y notifica el cambio.
+     *
+     * @param peso El nuevo peso, en kg.
+     */
+    public void setPeso(Integer peso) {
+        writes.merge("peso", 1, Integer::sum);
+        Integer old = this.peso;
+        this.peso = peso;
+        firePropertyChange("peso", old, peso);
+    }
+
+    /**
+     * Obtiene el nombre.
+     *
+     * @return El nombre.
+     */
+    @SharedProperty
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Establece el nombre y notifica el cambio.
+     *
+     * @param nombre El nuevo nombre.
+     */
+    public void setNombre(String nombre) {
+        writes.merge("nombre", 1, Integer::sum);
+        String old = this.nombre;
+        this.nombre = nombre;
+        firePropertyChange("nombre", old, nombre);
+    }
+
+    /**
+     * Obtiene el número de repeticiones.
+     *
+     * @return Las repeticiones.
+     */
+    @SharedProperty
+    public int getRepeticiones() {
+        return getIntProperty(REPETICIONES);
+    }
+
+    /**
+     * Establece el número de repeticiones y notifica el cambio si es distinto del
+     * actual.
+     *
+     * @param repeticiones Las nuevas repeticiones.
+     */
+    public void setRepeticiones(int repeticiones) {
+        writes.merge("repeticiones", 1, Integer::sum);
+        setIntProperty(REPETICIONES, repeticiones);
+    }
+
+    /**
+     * Obtiene la lista de etiquetas. Devuelve siempre la misma instancia, de modo
+     * que los demás modelos reciben sus modificaciones como diferencias.
+     *
+     * @return Las etiquetas.
+     */
+    @SharedProperty
+    public SharedList<String> getEtiquetas() {
+        return etiquetas;
+    }
+
+    /**
+     * Sustituye el contenido de la lista de etiquetas por el de otra lista.
+     *
+     * @param etiquetas La lista con el nuevo contenido.
+     */
+    public void setEtiquetas(SharedList<String> etiquetas) {
+        writes.merge("etiquetas", 1, Integer::sum);
+        if (etiquetas != this.etiquetas) {
+            this.etiquetas.setAll(etiquetas);
+        }
+    }
+
+    /**
+     * Devuelve el número de llamadas al setter de una propiedad.
+     *
+     * @param propertyName El nombre de la propiedad.
+     * @return El número de escrituras.
+     */
+    public int getWrites(String propertyName) {
+        return writes.getOrDefault(propertyName, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Borra el peso, el nombre y el error.
+     *
+     * @return {@code true} siempre.
+     */
+    @Override
+    public boolean configurar() {
+        setPeso(null);
+        setNombre(null);
+        error = "";
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Valida que el peso esté informado y no sea negativo.
+     *
+     * @return {@code true} si el peso es válido.
+     */
+    @Override
+    public boolean validar() {
+        if (peso == null || peso < 0) {
+            error = "El peso no puede ser negativo.";
+            return false;
+        }
+        error = "";
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return El último mensaje de error de validación, o una cadena vacía si no hay error.
+     */
+    @Override
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,99 @@
+package es.uned.TFGDavidGiner.demo;
+
+import es.uned.TFGDavidGiner.components.leafs.GraficoRendimiento;
+import es.uned.TFGDavidGiner.core.binding.BindingMetadata;
+import es.uned.TFGDavidGiner.core.binding.PropertyAccessor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Pequeño banco de pruebas que mide el coste por evento de la propagación de una
+ * propiedad compartida entre dos componentes hoja.
+ * <p>
+ * Compara el camino antiguo del sincronizador de {@link es.uned.TFGDavidGiner.core.BaseContainer}
+ * (búsqueda del campo con {@code getDeclaredField}, búsqueda del setter con
+ * {@code getMethod} e invocación con {@code Method.invoke} en cada evento) con el
+ * camino actual, que usa los {@link PropertyAccessor} cacheados por clase.
+ * <p>
+ * El destino es un {@link GraficoRendimiento}, que guarda la propiedad en un campo
+ * propio como hacían todos los componentes cuando se escribió el sincronizador
+ * original; los que la guardan en una ranura primitiva o en su modelo no tienen
+ * el campo que buscaba.
+ * <p>
+ * Se ejecuta como una aplicación normal; no requiere mostrar ninguna ventana.
+ *
+ * @author david
+ * @version 1.0
+ */
+public class BenchmarkSincronizacion {
+
+    /**
+     * Nombre de la propiedad que se propaga en la prueba.
+     */
+    private static final String PROPIEDAD = "pesoMaxPressBanca";
+
+    /**
+     * Número de eventos por ronda de medición.
+     */
+    private static final int EVENTOS = 200_000;
+
+    /**
+     * Número de rondas; las primeras sirven de calentamiento para el JIT.
+     */
+    private static final int RONDAS = 5;
+
+    /**
+     * Constructor privado; la clase solo expone el método {@code main}.
+     */
+    private BenchmarkSincronizacion() {
+    }
+
+    /**
+     * Punto de entrada del banco de pruebas.
+     *
+     * @param args los argumentos de la línea de comandos (no se utilizan).
+     * @throws Exception si falla la invocación por reflexión del camino antiguo.
+     */
+    public static void main(String[] args) throws Exception {
+        GraficoRendimiento destino = new GraficoRendimiento();
+        for (int ronda = 1; ronda <= RONDAS; ronda++) {
+            long reflexion = medirReflexion(destino);
+            long accesor = medirAccesor(destino);
+            System.out.printf("Ronda %d: reflexión %.1f ns/evento, accesor compilado %.1f ns/evento%n",
+                    ronda, (double) reflexion / EVENTOS, (double) accesor / EVENTOS);
+        }
+    }
+
+    /**
+     * Reproduce el trabajo que hacía el sincronizador original en cada evento.
+     *
+     * @param destino El componente de destino.
+     * @return El tiempo total en nanosegundos.
+     * @throws Exception si falla la reflexión.
+     */
+    private static long medirReflexion(GraficoRendimiento destino) throws Exception {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < EVENTOS; i++) {
+            Field campo = destino.getClass().getDeclaredField(PROPIEDAD);
+            String setterName = "set" + PROPIEDAD.substring(0, 1).toUpperCase() + PROPIEDAD.substring(1);
+            Method setter = destino.getClass().getMethod(setterName, campo.getType());
+            setter.invoke(destino, i & 127);
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    /**
+     * Realiza la misma propagación mediante el accesor cacheado.
+     *
+     * @param destino El componente de destino.
+     * @return El tiempo total en nanosegundos.
+     */
+    private static long medirAccesor(GraficoRendimiento destino) {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < EVENTOS; i++) {
+            PropertyAccessor accesor = BindingMetadata.forClass(destino.getClass()).getAccessor(PROPIEDAD);
+            accesor.set(destino, i & 127);
+        }
+        return System.nanoTime() - inicio;
+    }
+}
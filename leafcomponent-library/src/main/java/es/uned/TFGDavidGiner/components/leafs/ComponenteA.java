@@ -5,8 +5,8 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import java.awt.Color;
-import java.util.Set;
 
 /**
  * Componente de hoja que encapsula un {@link javax.swing.JSpinner} para la
@@ -128,6 +128,7 @@ public class ComponenteA extends LeafComponent {
      *
      * @return El valor como un {@link String}.
      */
+    @SharedProperty
     public String getData() {
         return data;
     }
@@ -159,6 +160,7 @@ public class ComponenteA extends LeafComponent {
      *
      * @return El nombre de la propiedad.
      */
+    @SharedProperty
     public String getPropertyName() {
         return propertyName;
     }
@@ -220,22 +222,5 @@ public class ComponenteA extends LeafComponent {
         return error;
     }
 
-    /**
-     * Define el conjunto de propiedades que pueden ser compartidas o enlazadas
-     * con otros componentes del framework.
-     */
-    private static final Set<String> sharedProperties = Set.of("data", "propertyName");
-
-    /**
-     * Devuelve el conjunto de nombres de las propiedades compartidas.
-     *
-     * @return Un {@link Set} con los nombres de las propiedades.
-     */
-    @Override
-    public Set<String> getSharedProperies() {
-        return sharedProperties;
-    }
-
-
 }
 
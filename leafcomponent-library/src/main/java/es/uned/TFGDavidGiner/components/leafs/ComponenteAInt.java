@@ -5,8 +5,8 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import java.awt.Color;
-import java.util.Set;
 
 /**
  * Componente de hoja que encapsula un {@link javax.swing.JSpinner} para gestionar un valor de tipo {@link Integer}.
@@ -42,12 +42,6 @@ public class ComponenteAInt extends LeafComponent {
      */
     private String error = "";
 
-    /**
-     * Define el conjunto de propiedades que pueden ser compartidas o enlazadas
-     * con otros componentes dentro del framework.
-     */
-    private static final Set<String> sharedProperties = Set.of("data", "propertyName");
-    
     /**
      * Campo para la propiedad 'background', expuesto para mecanismos de data binding.
      * Almacena el color de fondo actual del componente.
@@ -133,6 +127,7 @@ public class ComponenteAInt extends LeafComponent {
      * Obtiene el valor de la propiedad principal ('data') del componente.
      * @return El valor actual como un {@code Integer}.
      */
+    @SharedProperty
     public Integer getData() {
         return data;
     }
@@ -164,6 +159,7 @@ public class ComponenteAInt extends LeafComponent {
      *
      * @return El nombre de la propiedad, por ejemplo, "Dato".
      */
+    @SharedProperty
     public String getPropertyName() {
         return propertyName;
     }
@@ -234,15 +230,6 @@ public class ComponenteAInt extends LeafComponent {
     }
     //</editor-fold>
 
-    /**
-     * {@inheritDoc}
-     * @return Un {@link Set} con los nombres de las propiedades compartidas.
-     */
-    @Override
-    public Set<String> getSharedProperies() {
-        return sharedProperties;
-    }
-    
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JSpinner jSpinner1;
     // End of variables declaration//GEN-END:variables
@@ -5,8 +5,8 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import java.awt.Color;
-import java.util.Set;
 
 /**
  * Componente de hoja que encapsula un {@link javax.swing.JSlider} para gestionar
@@ -46,12 +46,6 @@ public class ComponenteB extends LeafComponent {
      */
     private String error = "";
 
-    /**
-     * Define el conjunto de propiedades que pueden ser compartidas o enlazadas
-     * con otros componentes del framework.
-     */
-    private static final Set<String> sharedProperties = Set.of("data", "propertyName");
-
     /**
      * Campo para la propiedad 'background', expuesto para mecanismos de data binding.
      */
@@ -120,6 +114,7 @@ public class ComponenteB extends LeafComponent {
      */
     private void jSlider1StateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_jSlider1StateChanged
         setData(String.valueOf(jSlider1.getValue()));
+        setAdjusting(jSlider1.getValueIsAdjusting());
     }//GEN-LAST:event_jSlider1StateChanged
 
     /**
@@ -141,6 +136,7 @@ public class ComponenteB extends LeafComponent {
      * Obtiene el valor de la propiedad principal ('data') del componente.
      * @return El valor actual como un {@code String}.
      */
+    @SharedProperty
     public String getData() {
         return data;
     }
@@ -175,6 +171,7 @@ public class ComponenteB extends LeafComponent {
      *
      * @return El nombre de la propiedad, por ejemplo, "Dato".
      */
+    @SharedProperty
     public String getPropertyName() {
         return propertyName;
     }
@@ -257,14 +254,5 @@ public class ComponenteB extends LeafComponent {
     }
     //</editor-fold>
 
-    /**
-     * {@inheritDoc}
-     * @return Un {@link Set} con los nombres de las propiedades compartidas.
-     */
-    @Override
-    public Set<String> getSharedProperies() {
-        return sharedProperties;
-    }
- 
 }
 
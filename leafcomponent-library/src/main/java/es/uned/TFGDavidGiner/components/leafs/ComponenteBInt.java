@@ -5,8 +5,8 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import java.awt.Color;
-import java.util.Set;
 
 /**
  * Componente de hoja que encapsula un {@link javax.swing.JSlider} para gestionar
@@ -44,12 +44,6 @@ public class ComponenteBInt extends LeafComponent {
      */
     private String error = "";
 
-    /**
-     * Define el conjunto de propiedades que pueden ser compartidas o enlazadas
-     * con otros componentes del framework.
-     */
-    private static final Set<String> sharedProperties = Set.of("data", "propertyName");
-    
     /**
      * Campo para la propiedad 'background', expuesto para mecanismos de data binding.
      * Almacena el color de fondo actual del componente.
@@ -69,7 +63,6 @@ public class ComponenteBInt extends LeafComponent {
         this.data = this.jSlider1.getValue();
     }
 
-
     /**
      * This method is called from within the constructor to initialize the form.
      * WARNING: Do NOT modify this code. The content of this method is always
@@ -119,7 +112,8 @@ public class ComponenteBInt extends LeafComponent {
     * @param evt El evento de cambio de estado.
     */
     private void jSlider1StateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_jSlider1StateChanged
-        setData(jSlider1.getValue());     
+        setData(jSlider1.getValue());
+        setAdjusting(jSlider1.getValueIsAdjusting());
     }//GEN-LAST:event_jSlider1StateChanged
 
     /**
@@ -141,6 +135,7 @@ public class ComponenteBInt extends LeafComponent {
      * Obtiene el valor de la propiedad principal ('data') del componente.
      * @return El valor actual como un {@code Integer}.
      */
+    @SharedProperty
     public Integer getData() {
         return data;
     }
@@ -170,6 +165,7 @@ public class ComponenteBInt extends LeafComponent {
      *
      * @return El nombre de la propiedad, por ejemplo, "Dato".
      */
+    @SharedProperty
     public String getPropertyName() {
         return propertyName;
     }
@@ -236,14 +232,5 @@ public class ComponenteBInt extends LeafComponent {
     }
     //</editor-fold>
 
-    /**
-     * {@inheritDoc}
-     * @return Un {@link Set} con los nombres de las propiedades compartidas.
-     */
-    @Override
-    public Set<String> getSharedProperies() {
-        return sharedProperties;
-    }
-
 }
 
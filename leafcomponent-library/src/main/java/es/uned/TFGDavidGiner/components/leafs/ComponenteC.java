@@ -5,8 +5,8 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import java.awt.Color;
-import java.util.Set;
 
 /**
  * Componente de hoja que encapsula una {@link javax.swing.JProgressBar} para
@@ -44,12 +44,6 @@ public class ComponenteC extends LeafComponent {
      */
     private String error = "";
 
-    /**
-     * Define el conjunto de propiedades que pueden ser compartidas o enlazadas
-     * con otros componentes del framework.
-     */
-    private static final Set<String> sharedProperties = Set.of("data", "propertyName");
-
     /**
      * Campo para la propiedad 'background', expuesto para mecanismos de data binding.
      */
@@ -108,6 +102,7 @@ public class ComponenteC extends LeafComponent {
      * Obtiene el valor de la propiedad principal ('data') del componente.
      * @return El valor actual como un {@code String}.
      */
+    @SharedProperty
     public String getData() {
         return data;
     }
@@ -144,6 +139,7 @@ public class ComponenteC extends LeafComponent {
      *
      * @return El nombre de la propiedad, por ejemplo, "Dato".
      */
+    @SharedProperty
     public String getPropertyName() {
         return propertyName;
     }
@@ -217,14 +213,5 @@ public class ComponenteC extends LeafComponent {
     }
     //</editor-fold>
 
-    /**
-     * {@inheritDoc}
-     * @return Un {@link Set} con los nombres de las propiedades compartidas.
-     */
-    @Override
-    public Set<String> getSharedProperies() {
-        return sharedProperties;
-    }
-    
 }
 
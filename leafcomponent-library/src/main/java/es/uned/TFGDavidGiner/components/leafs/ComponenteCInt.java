@@ -5,8 +5,8 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import java.awt.Color;
-import java.util.Set;
 
 /**
  * Componente de hoja que encapsula una {@link javax.swing.JProgressBar} para
@@ -45,12 +45,6 @@ public class ComponenteCInt extends LeafComponent {
      */
     private String error = "";
 
-    /**
-     * Define el conjunto de propiedades que pueden ser compartidas o enlazadas
-     * con otros componentes del framework.
-     */
-    private static final Set<String> sharedProperties = Set.of("data", "propertyName");
-    
     /**
      * Campo para la propiedad 'background', expuesto para mecanismos de data binding.
      * Almacena el color de fondo actual del componente.
@@ -102,7 +96,6 @@ public class ComponenteCInt extends LeafComponent {
         );
     }// </editor-fold>//GEN-END:initComponents
 
-
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JProgressBar jProgressBar1;
     // End of variables declaration//GEN-END:variables
@@ -112,6 +105,7 @@ public class ComponenteCInt extends LeafComponent {
      * Obtiene el valor de la propiedad principal ('data') del componente.
      * @return El valor actual como un {@code Integer}.
      */
+    @SharedProperty
     public Integer getData() {
         return data;
     }
@@ -142,6 +136,7 @@ public class ComponenteCInt extends LeafComponent {
      *
      * @return El nombre de la propiedad, por ejemplo, "Dato".
      */
+    @SharedProperty
     public String getPropertyName() {
         return propertyName;
     }
@@ -208,14 +203,5 @@ public class ComponenteCInt extends LeafComponent {
     }
     //</editor-fold>
 
-    /**
-     * {@inheritDoc}
-     * @return Un {@link Set} con los nombres de las propiedades compartidas.
-     */
-    @Override
-    public Set<String> getSharedProperies() {
-        return sharedProperties;
-    }
-
 }
 
@@ -5,8 +5,8 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import java.awt.Color;
-import java.util.Set;
 
 /**
  * Componente de hoja que encapsula un {@link javax.swing.JTextField} para la
@@ -44,12 +44,6 @@ public class ComponenteD extends LeafComponent {
      */
     private String error = "";
 
-    /**
-     * Define el conjunto de propiedades que pueden ser compartidas o enlazadas
-     * con otros componentes del framework.
-     */
-    private static final Set<String> sharedProperties = Set.of("data", "propertyName");
-
     /**
      * Campo para la propiedad 'background', expuesto para mecanismos de data binding.
      * Almacena el color de fondo actual del componente.
@@ -121,6 +115,7 @@ public class ComponenteD extends LeafComponent {
      * Obtiene el valor de la propiedad principal ('data') del componente.
      * @return El valor actual como un {@code String}.
      */
+    @SharedProperty
     public String getData() {
         return data;
     }
@@ -151,6 +146,7 @@ public class ComponenteD extends LeafComponent {
      *
      * @return El nombre de la propiedad, por ejemplo, "Dato".
      */
+    @SharedProperty
     public String getPropertyName() {
         return propertyName;
     }
@@ -168,14 +164,6 @@ public class ComponenteD extends LeafComponent {
         this.propertyName = nombrePropiedad;
     }
     
-    /**
-     * {@inheritDoc}
-     * @return Un {@link Set} con los nombres de las propiedades compartidas.
-     */
-    @Override
-    public Set<String> getSharedProperies() {
-        return sharedProperties;
-    }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Implementación de la Interfaz Validation">
@@ -1,9 +1,10 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.BindingDirection;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import java.awt.Color;
 import java.awt.Graphics;
-import java.util.Set;
 import javax.swing.JPanel;
 
 /**
@@ -16,11 +17,10 @@ public class GraficoRendimiento extends LeafComponent {
     private ChartPanel chartPanel;
 
     // --- Campos para las propiedades compartidas ---
+    // El gráfico solo muestra los pesos: recibe sus cambios, pero nunca los publica.
     private int pesoMaxPressBanca = 0;
     private int pesoMaxSentadilla = 0;
 
-    private static final Set<String> sharedProperties = Set.of("pesoMaxPressBanca", "pesoMaxSentadilla");
-
     public GraficoRendimiento() {
         initComponents();
     }
@@ -33,6 +33,7 @@ public class GraficoRendimiento extends LeafComponent {
 
     // --- Getters y Setters para las propiedades compartidas ---
 
+    @SharedProperty(direction = BindingDirection.SUBSCRIBE)
     public int getPesoMaxPressBanca() {
         //System.out.println("Spinner getPesoMaxPressBanca: " + pesoMaxPressBanca.toString());
         return pesoMaxPressBanca;
@@ -45,6 +46,7 @@ public class GraficoRendimiento extends LeafComponent {
         }
     }
 
+    @SharedProperty(direction = BindingDirection.SUBSCRIBE)
     public int getPesoMaxSentadilla() {
         return pesoMaxSentadilla;
     }
@@ -56,11 +58,6 @@ public class GraficoRendimiento extends LeafComponent {
         }
     }
     
-    @Override
-    public Set<String> getSharedProperies() {
-        return sharedProperties;
-    }
-
     @Override
     public boolean configurar() {
         // Al cancelar, se resetean los valores y se limpia el gráfico.
@@ -1,12 +1,12 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
+import es.uned.TFGDavidGiner.components.modelo.PanelDatosUsuarioModel;
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import java.awt.Color;
 import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Set;
+import java.beans.PropertyChangeListener;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JTextField;
@@ -16,6 +16,9 @@ import javax.swing.UIManager;
  * Componente hoja que encapsula un formulario para editar los datos de un Usuario.
  * Se sincroniza con otros componentes a través de propiedades compartidas y
  * proporciona una lógica de validación para los datos introducidos.
+ * <p>
+ * Los datos y las reglas de validación están en un {@link PanelDatosUsuarioModel};
+ * el componente es una vista sobre el modelo, que se puede usar sin ella.
  */
 public class PanelDatosUsuario extends LeafComponent {
 
@@ -27,10 +30,10 @@ public class PanelDatosUsuario extends LeafComponent {
     private JLabel jLabelNivel;
     private JComboBox<String> jComboBoxNivel;
 
-    // --- Campos para las propiedades compartidas ---
-    private String nombre = "";
-    private String apellido = "";
-    private String nivel = "Principiante";
+    /**
+     * El modelo con los datos del usuario y su validación.
+     */
+    private final PanelDatosUsuarioModel model;
 
     /**
      * Almacena el color de fondo por defecto del componente para poder restaurarlo.
@@ -42,13 +45,27 @@ public class PanelDatosUsuario extends LeafComponent {
      */
     private static final Color ERROR_COLOR = new Color(255, 51, 51); 
     
-    private static final Set<String> sharedProperties = Set.of("nombre", "apellido", "nivel");
-
     public PanelDatosUsuario() {
+        this(new PanelDatosUsuarioModel());
+    }
+
+    /**
+     * Crea el formulario como vista de un modelo existente. Los campos se actualizan
+     * cada vez que cambian los datos del modelo.
+     *
+     * @param model El modelo del formulario.
+     */
+    public PanelDatosUsuario(PanelDatosUsuarioModel model) {
+        this.model = model;
+        setModel(model);
         // Se captura el color por defecto ANTES de que se inicialicen los componentes.
         this.defaultBackgroundColor = UIManager.getColor("Panel.background");
         initComponents();
         actualizarUI(); // Se asegura de que los campos estén desactivados al inicio.
+        PropertyChangeListener refresco = evt -> actualizarUI();
+        model.addPropertyChangeListener("nombre", refresco);
+        model.addPropertyChangeListener("apellido", refresco);
+        model.addPropertyChangeListener("nivel", refresco);
     }
 
     private void initComponents() {
@@ -111,14 +128,14 @@ public class PanelDatosUsuario extends LeafComponent {
     
     /**
     * Actualiza los componentes visuales del formulario (JTextFields, JComboBox)
-    * para que reflejen los valores actuales de las propiedades internas
+    * para que reflejen los valores actuales de las propiedades del modelo
     * (nombre, apellido, nivel). También gestiona la habilitación/deshabilitación
     * de los campos.
     */
     private void actualizarUI() {
-        jTextFieldNombre.setText(this.nombre);
-        jTextFieldApellido.setText(this.apellido);
-        jComboBoxNivel.setSelectedItem(this.nivel);
+        jTextFieldNombre.setText(model.getNombre());
+        jTextFieldApellido.setText(model.getApellido());
+        jComboBoxNivel.setSelectedItem(model.getNivel());
         
 //        boolean enabled = (this.nombre != null && !this.nombre.isEmpty()) || (this.apellido != null && !this.apellido.isEmpty());
 //        jTextFieldNombre.setEnabled(enabled);
@@ -128,39 +145,28 @@ public class PanelDatosUsuario extends LeafComponent {
 
     // --- Getters y Setters para las propiedades compartidas ---
 
-    public String getNombre() { return nombre; }
-    public void setNombre(String nuevoNombre) {
-        String oldValue = this.nombre;
-        if (nuevoNombre != null && !oldValue.equals(nuevoNombre)) {
-            this.nombre = nuevoNombre;
-            actualizarUI();
-            firePropertyChange("nombre", oldValue, nuevoNombre);
-        }
-    }
+    @SharedProperty
+    public String getNombre() { return model.getNombre(); }
+    public void setNombre(String nuevoNombre) { model.setNombre(nuevoNombre); }
 
-    public String getApellido() { return apellido; }
-    public void setApellido(String nuevoApellido) {
-        String oldValue = this.apellido;
-        if (nuevoApellido != null && !oldValue.equals(nuevoApellido)) {
-            this.apellido = nuevoApellido;
-            actualizarUI();
-            firePropertyChange("apellido", oldValue, nuevoApellido);
-        }
-    }
+    @SharedProperty
+    public String getApellido() { return model.getApellido(); }
+    public void setApellido(String nuevoApellido) { model.setApellido(nuevoApellido); }
 
-    public String getNivel() { return nivel; }
-    public void setNivel(String nuevoNivel) {
-        String oldValue = this.nivel;
-        if (nuevoNivel != null && !oldValue.equals(nuevoNivel)) {
-            this.nivel = nuevoNivel;
-            actualizarUI();
-            firePropertyChange("nivel", oldValue, nuevoNivel);
-        }
-    }
+    @SharedProperty
+    public String getNivel() { return model.getNivel(); }
+    public void setNivel(String nuevoNivel) { model.setNivel(nuevoNivel); }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return El modelo del formulario.
+     */
     @Override
-    public Set<String> getSharedProperies() { return sharedProperties; }
-    
+    public PanelDatosUsuarioModel getModel() {
+        return model;
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -177,12 +183,8 @@ public class PanelDatosUsuario extends LeafComponent {
     /**
      * {@inheritDoc}
      * <p>
-     * Comprueba si los datos del formulario son válidos. Las reglas son:
-     * <ul>
-     * <li>El nombre no puede estar vacío.</li>
-     * <li>El apellido no puede estar vacío.</li>
-     * <li>El nivel debe ser uno de los valores predefinidos.</li>
-     * </ul>
+     * Comprueba si los datos del formulario son válidos con las reglas del modelo
+     * ({@link PanelDatosUsuarioModel#getError()}).
      * Si la validación falla, el fondo del componente se pinta de color rojo.
      * @return {@code true} si todos los campos son válidos, {@code false} en caso contrario.
      */
@@ -193,7 +195,7 @@ public class PanelDatosUsuario extends LeafComponent {
             return true;
         }
 
-        if (getError().isEmpty()) {
+        if (model.validar()) {
             setBackground(defaultBackgroundColor);
             return true;
         } else {
@@ -211,19 +213,6 @@ public class PanelDatosUsuario extends LeafComponent {
      */
     @Override
     public String getError() {
-        StringBuilder errors = new StringBuilder();
-        final List<String> NIVELES_VALIDOS = Arrays.asList("Principiante", "Intermedio", "Avanzado");
-
-        if (getNombre() == null || getNombre().trim().isEmpty()) {
-            errors.append("El nombre no puede estar vacío.\n");
-        }
-        if (getApellido() == null || getApellido().trim().isEmpty()) {
-            errors.append("El apellido no puede estar vacío.\n");
-        }
-        if (!NIVELES_VALIDOS.contains(getNivel())) {
-            errors.append("El nivel seleccionado no es válido.\n");
-        }
-        
-        return errors.toString().trim();    
+        return model.getError();
     }
 }
\ No newline at end of file
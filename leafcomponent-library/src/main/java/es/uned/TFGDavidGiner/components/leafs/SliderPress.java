@@ -4,9 +4,11 @@
  */
 package es.uned.TFGDavidGiner.components.leafs;
 
+import es.uned.TFGDavidGiner.components.modelo.SliderPressModel;
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
+import es.uned.TFGDavidGiner.core.interfaces.IPrimitivePropertyListener;
 import java.awt.Color;
-import java.util.Set;
 
 /**
  * Componente de hoja que encapsula un {@link javax.swing.JSlider} para gestionar
@@ -16,6 +18,9 @@ import java.util.Set;
  * lo que garantiza la seguridad de tipos para el dato gestionado. Permite al usuario
  * seleccionar un valor numérico y lo valida para que esté en el rango de 0 a 100,
  * proporcionando retroalimentación visual en caso de error.
+ * <p>
+ * El valor y su validación están en un {@link SliderPressModel}; el componente es
+ * una vista sobre el modelo, que se puede usar sin ella.
  *
  * @author david
  * @version 1.0
@@ -35,48 +40,46 @@ public class SliderPress extends LeafComponent {
     private static final Color ERROR_COLOR = new Color(255, 51, 51); 
 
     /**
-     * Almacena el valor numérico actual del componente.
-     */
-    private int pesoMaxPressBanca = 0;
-
-    /**
-     * Almacena el mensaje de la última validación fallida.
-     */
-    private String error = "";
-
-    /**
-     * Almacena el máximo valor admitido.
-     */
-    private int maxValor = 200;
-
-    /**
-     * Almacena el mínimo valor admitido.
+     * El modelo con el valor del componente y su validación.
      */
-    private int minValor = 0;
+    private final SliderPressModel model;
     
-    /**
-     * Define el conjunto de propiedades que pueden ser compartidas o enlazadas
-     * con otros componentes dentro del framework.
-     */
-    private static final Set<String> sharedProperties = Set.of("pesoMaxPressBanca");
     //</editor-fold>
 
     /**
      * Constructor por defecto.
      * <p>
-     * Inicializa los componentes visuales y establece el valor inicial de la
-     * propiedad 'data' basándose en el valor por defecto del JSlider.
+     * Crea el componente sobre un modelo nuevo.
      */
     public SliderPress() {
+        this(new SliderPressModel());
+    }
+
+    /**
+     * Crea el componente como vista de un modelo existente.
+     * <p>
+     * Inicializa los componentes visuales con los límites y el valor del modelo, y
+     * actualiza el JSlider cada vez que cambia el valor del modelo.
+     *
+     * @param model El modelo del componente.
+     */
+    public SliderPress(SliderPressModel model) {
+        this.model = model;
+        setModel(model);
         initComponents();
         //Asignamos los límites del slider
-        this.jSlider1.setMinimum(minValor);
-        this.jSlider1.setMaximum(maxValor);
-        // Sincroniza el dato interno con el valor inicial del JSlider.
-        this.pesoMaxPressBanca = this.jSlider1.getValue();
+        this.jSlider1.setMinimum(model.getMinValor());
+        this.jSlider1.setMaximum(model.getMaxValor());
+        this.jSlider1.setValue(model.getPesoMaxPressBanca());
+        // El JSlider sigue al modelo, lo cambie esta vista o cualquier otro.
+        model.addPrimitivePropertyListener("pesoMaxPressBanca", new IPrimitivePropertyListener() {
+            @Override
+            public void intPropertyChanged(Object source, int propertyId, int oldValue, int newValue) {
+                jSlider1.setValue(newValue);
+            }
+        });
     }
 
-
     /**
      * This method is called from within the constructor to initialize the form.
      * WARNING: Do NOT modify this code. The content of this method is always
@@ -135,7 +138,8 @@ public class SliderPress extends LeafComponent {
     * @param evt El evento de cambio de estado.
     */
     private void jSlider1StateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_jSlider1StateChanged
-        setPesoMaxPressBanca(jSlider1.getValue());     
+        setPesoMaxPressBanca(jSlider1.getValue());
+        setAdjusting(jSlider1.getValueIsAdjusting());
     }//GEN-LAST:event_jSlider1StateChanged
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
@@ -148,28 +152,31 @@ public class SliderPress extends LeafComponent {
      * Obtiene el valor de la propiedad principal ('data') del componente.
      * @return El valor actual como un {@code Integer}.
      */
+    @SharedProperty
     public int getPesoMaxPressBanca() {
-       // System.out.println("Spinner getPesoMaxPressBanca: " + pesoMaxPressBanca.toString());
-        return pesoMaxPressBanca;
+        return model.getPesoMaxPressBanca();
     }
 
     /**
      * Establece el valor de la propiedad principal ('data') del componente.
      * <p>
-     * Actualiza el estado interno, sincroniza la vista (JSlider) y notifica
-     * a los listeners de que la propiedad 'data' ha cambiado.
+     * Actualiza el modelo, que notifica el cambio a los listeners y a la vista
+     * (JSlider) si el valor es distinto del actual.
      *
      * @param dato El nuevo valor de tipo {@code Integer} para el componente.
      */
-    public void setPesoMaxPressBanca(int dato) {      
-        int oldValue = this.pesoMaxPressBanca;
-        if (oldValue!=dato) {
-            this.pesoMaxPressBanca = dato;
-            // Actualiza la UI para que refleje el nuevo valor.
-            jSlider1.setValue(dato);
-            // Notifica a los listeners del cambio en la propiedad "data".
-            firePropertyChange("pesoMaxPressBanca", oldValue, dato);
-        }
+    public void setPesoMaxPressBanca(int dato) {
+        model.setPesoMaxPressBanca(dato);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return El modelo del componente.
+     */
+    @Override
+    public SliderPressModel getModel() {
+        return model;
     }
     //</editor-fold>
 
@@ -183,10 +190,8 @@ public class SliderPress extends LeafComponent {
     @Override
     public boolean configurar() {
         try {
-            setPesoMaxPressBanca(0);
             setBackground(defaultBackgroundColor);
-            error = "";
-            return true;
+            return model.configurar();
         } catch (Exception e) {
             return false;
         }
@@ -195,22 +200,19 @@ public class SliderPress extends LeafComponent {
     /**
      * {@inheritDoc}
      * <p>
-     * Valida que el valor de la propiedad {@code pesoMaxPressBanca} se encuentre
-     * dentro del rango definido por los campos {@code minValor} y {@code maxValor} (0-200).
+     * Valida el valor con las reglas del modelo ({@link SliderPressModel#validar()}).
      * Si el valor está fuera de rango, cambia el color de fondo del componente
-     * a un color de error y prepara un mensaje descriptivo.
+     * a un color de error.
      *
      * @return {@code true} si el valor es válido, {@code false} en caso contrario.
      */
     @Override
     public boolean validar() {
-        if (pesoMaxPressBanca > maxValor || pesoMaxPressBanca < minValor) {
+        if (!model.validar()) {
             this.setBackground(ERROR_COLOR);
-            error = "";// "Press de banca: El valor debe estar entre " + minValor + " y " + maxValor + ".";
             return false;
         } else {
             setBackground(defaultBackgroundColor);
-            error = "";
             return true;
         }
     }
@@ -221,18 +223,9 @@ public class SliderPress extends LeafComponent {
      */
     @Override
     public String getError() {
-        return error;
+        return model.getError();
     }
     //</editor-fold>
 
-    /**
-     * {@inheritDoc}
-     * @return Un {@link Set} con los nombres de las propiedades compartidas.
-     */
-    @Override
-    public Set<String> getSharedProperies() {
-        return sharedProperties;
-    }
-
 }
 
@@ -5,8 +5,9 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.PropertyKey;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import java.awt.Color;
-import java.util.Set;
 
 /**
  * Componente de hoja que encapsula un {@link javax.swing.JSlider} para gestionar
@@ -35,9 +36,10 @@ public class SliderSquat extends LeafComponent {
     private static final Color ERROR_COLOR = new Color(255, 51, 51); 
 
     /**
-     * Almacena el valor numérico actual del componente.
+     * Clave del valor numérico actual del componente, que se guarda en una ranura
+     * primitiva de {@link LeafComponent} para notificar sus cambios sin envolverlo.
      */
-    private int pesoMaxSentadilla = 0;
+    private static final PropertyKey<Integer> PESO_MAX_SENTADILLA = PropertyKey.of("pesoMaxSentadilla", int.class);
 
     /**
      * Almacena el mensaje de la última validación fallida.
@@ -54,11 +56,6 @@ public class SliderSquat extends LeafComponent {
      */
     private int minValor = 0;
     
-    /**
-     * Define el conjunto de propiedades que pueden ser compartidas o enlazadas
-     * con otros componentes dentro del framework.
-     */
-    private static final Set<String> sharedProperties = Set.of("pesoMaxSentadilla");
     //</editor-fold>
 
     /**
@@ -73,10 +70,9 @@ public class SliderSquat extends LeafComponent {
         this.jSlider1.setMinimum(minValor);
         this.jSlider1.setMaximum(maxValor);
         // Sincroniza el dato interno con el valor inicial del JSlider.
-        this.pesoMaxSentadilla = this.jSlider1.getValue();
+        setIntProperty(PESO_MAX_SENTADILLA, this.jSlider1.getValue());
     }
 
-
     /**
      * This method is called from within the constructor to initialize the form.
      * WARNING: Do NOT modify this code. The content of this method is always
@@ -133,7 +129,8 @@ public class SliderSquat extends LeafComponent {
     * @param evt El evento de cambio de estado.
     */
     private void jSlider1StateChanged(javax.swing.event.ChangeEvent evt) {//GEN-FIRST:event_jSlider1StateChanged
-        setPesoMaxSentadilla(jSlider1.getValue());     
+        setPesoMaxSentadilla(jSlider1.getValue());
+        setAdjusting(jSlider1.getValueIsAdjusting());
     }//GEN-LAST:event_jSlider1StateChanged
 
     // Variables declaration - do not modify//GEN-BEGIN:variables
@@ -146,9 +143,10 @@ public class SliderSquat extends LeafComponent {
      * Obtiene el valor de la propiedad principal ('data') del componente.
      * @return El valor actual como un {@code Integer}.
      */
+    @SharedProperty
     public int getPesoMaxSentadilla() {
        // System.out.println("Spinner getPesoMaxPressBanca: " + pesoMaxPressBanca.toString());
-        return pesoMaxSentadilla;
+        return getIntProperty(PESO_MAX_SENTADILLA);
     }
 
     /**
@@ -160,13 +158,10 @@ public class SliderSquat extends LeafComponent {
      * @param dato El nuevo valor de tipo {@code Integer} para el componente.
      */
     public void setPesoMaxSentadilla(int dato) {
-        int oldValue = this.pesoMaxSentadilla;
-        if (oldValue!=dato) {
-            this.pesoMaxSentadilla = dato;
+        // Solo hay cambio, y por tanto notificación, si el valor es distinto del actual.
+        if (setIntProperty(PESO_MAX_SENTADILLA, dato)) {
             // Actualiza la UI para que refleje el nuevo valor.
             jSlider1.setValue(dato);
-            // Notifica a los listeners del cambio en la propiedad "data".
-            firePropertyChange("pesoMaxSentadilla", oldValue, dato);
         }
     }
     //</editor-fold>
@@ -202,7 +197,8 @@ public class SliderSquat extends LeafComponent {
      */
     @Override
     public boolean validar() {
-        if (pesoMaxSentadilla > maxValor || pesoMaxSentadilla < minValor) {
+        int valor = getPesoMaxSentadilla();
+        if (valor > maxValor || valor < minValor) {
             this.setBackground(ERROR_COLOR);
             error = ""; //Sentadilla: El valor debe estar entre " + minValor + " y " + maxValor + ".";
             return false;
@@ -223,14 +219,5 @@ public class SliderSquat extends LeafComponent {
     }
     //</editor-fold>
 
-    /**
-     * {@inheritDoc}
-     * @return Un {@link Set} con los nombres de las propiedades compartidas.
-     */
-    @Override
-    public Set<String> getSharedProperies() {
-        return sharedProperties;
-    }
-
 }
 
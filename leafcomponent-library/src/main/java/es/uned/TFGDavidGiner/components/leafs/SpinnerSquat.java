@@ -5,8 +5,9 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.PropertyKey;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import java.awt.Color;
-import java.util.Set;
 
 /**
  * Componente de hoja que encapsula un {@link javax.swing.JSpinner} para gestionar un valor de tipo {@link Integer}.
@@ -33,9 +34,10 @@ public class SpinnerSquat extends LeafComponent {
     private static final Color ERROR_COLOR = new Color(255, 51, 51); 
 
     /**
-     * Almacena el valor numérico actual del componente.
+     * Clave del valor numérico actual del componente, que se guarda en una ranura
+     * primitiva de {@link LeafComponent} para notificar sus cambios sin envolverlo.
      */
-    private int pesoMaxSentadilla = 0;
+    private static final PropertyKey<Integer> PESO_MAX_SENTADILLA = PropertyKey.of("pesoMaxSentadilla", int.class);
 
     /**
      * Almacena el mensaje de la última validación fallida.
@@ -52,12 +54,6 @@ public class SpinnerSquat extends LeafComponent {
      */
     private int minValor = 0;
     
-    /**
-     * Define el conjunto de propiedades que pueden ser compartidas o enlazadas
-     * con otros componentes dentro del framework.
-     */
-    private static final Set<String> sharedProperties = Set.of("pesoMaxSentadilla");
-    
     //</editor-fold>
 
     /**
@@ -67,6 +63,8 @@ public class SpinnerSquat extends LeafComponent {
      */
     public SpinnerSquat() {
         initComponents();
+        // Sincroniza el dato interno con el valor inicial del JSpinner.
+        setIntProperty(PESO_MAX_SENTADILLA, (Integer) jSpinner1.getValue());
     }
 
     /**
@@ -135,9 +133,10 @@ public class SpinnerSquat extends LeafComponent {
      * Obtiene el valor de la propiedad principal ('data') del componente.
      * @return El valor actual como un {@code Integer}.
      */
+    @SharedProperty
     public int getPesoMaxSentadilla() {
        // System.out.println("Spinner getPesoMaxPressBanca: " + pesoMaxPressBanca.toString());
-        return pesoMaxSentadilla;
+        return getIntProperty(PESO_MAX_SENTADILLA);
     }
 
     /**
@@ -150,15 +149,10 @@ public class SpinnerSquat extends LeafComponent {
      * @param dato El nuevo valor de tipo {@code Integer} para el componente.
      */
     public void setPesoMaxSentadilla(int dato) {
-        int oldValue = this.pesoMaxSentadilla;
-        // Se comprueba si el valor realmente ha cambiado para evitar bucles de actualización.
-        if (oldValue!=dato) {
-            //System.out.println("Spinner setPesoMaxPressBanca: " + dato.toString());
-            this.pesoMaxSentadilla = dato;
+        // Solo hay cambio, y por tanto notificación, si el valor es distinto del actual.
+        if (setIntProperty(PESO_MAX_SENTADILLA, dato)) {
             // Actualiza la UI para que refleje el nuevo valor.
             jSpinner1.setValue(dato);
-            // Notifica a los listeners del cambio en la propiedad "data".
-            firePropertyChange("pesoMaxSentadilla", oldValue, dato);
         }
     }
 
@@ -195,7 +189,8 @@ public class SpinnerSquat extends LeafComponent {
      */
     @Override
     public boolean validar() {
-        if (pesoMaxSentadilla > maxValor || pesoMaxSentadilla < minValor) {
+        int valor = getPesoMaxSentadilla();
+        if (valor > maxValor || valor < minValor) {
             this.setBackground(ERROR_COLOR);
             error = "Sentadilla: El valor debe estar entre " + minValor + " y " + maxValor + ".";
             return false;
@@ -216,15 +211,6 @@ public class SpinnerSquat extends LeafComponent {
     }
     //</editor-fold>
 
-    /**
-     * {@inheritDoc}
-     * @return Un {@link Set} con los nombres de las propiedades compartidas.
-     */
-    @Override
-    public Set<String> getSharedProperies() {
-        return sharedProperties;
-    }
-    
     // Variables declaration - do not modify//GEN-BEGIN:variables
     private javax.swing.JLabel jLabel1;
     private javax.swing.JSpinner jSpinner1;
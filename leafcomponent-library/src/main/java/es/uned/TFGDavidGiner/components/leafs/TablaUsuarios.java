@@ -1,6 +1,8 @@
 package es.uned.TFGDavidGiner.components.leafs;
 
 import es.uned.TFGDavidGiner.core.LeafComponent;
+import es.uned.TFGDavidGiner.core.binding.SharedList;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
 import es.uned.TFGDavidGiner.components.modelo.Usuario;
 import es.uned.TFGDavidGiner.components.modelo.UsuarioTableModel;
 import java.awt.BorderLayout;
@@ -13,21 +15,23 @@ import java.util.stream.Collectors;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
 import javax.swing.SwingUtilities;
 import javax.swing.table.DefaultTableCellRenderer;
 
-
 public class TablaUsuarios extends LeafComponent {
 
     private JTable tablaUsuarios;
     private UsuarioTableModel tableModel;
 
-    /** La lista de usuarios que se está mostrando y editando actualmente. */
-    private List<Usuario> listaDeUsuarios;
+    /**
+     * La lista de usuarios que se está mostrando y editando actualmente. Es la
+     * propiedad compartida {@code usuarios}: sus modificaciones se propagan como
+     * diferencias y la tabla solo redibuja las filas afectadas.
+     */
+    private final SharedList<Usuario> listaDeUsuarios = new SharedList<>();
     
     /** Una copia de seguridad de la lista original para la operación "Cancelar". */
     private List<Usuario> listaDeUsuariosOriginal;
@@ -48,15 +52,14 @@ public class TablaUsuarios extends LeafComponent {
     private int pesoMaxSentadilla = 0;
     private int selectedUserIndex = -1;
 
-    // Se añaden las nuevas propiedades al conjunto de propiedades compartidas
-    private static final Set<String> sharedProperties = Set.of("nombre", "apellido", "nivel", "pesoMaxPressBanca", "pesoMaxSentadilla");
+    /** Indica si la fila seleccionada debe refrescarse al confirmar el lote de cambios en curso. */
+    private boolean refreshPending = false;
 
     public TablaUsuarios() {
         initComponents();
     }
 
     private void initComponents() {
-        this.listaDeUsuarios = new ArrayList<>();
         this.listaDeUsuariosOriginal = new ArrayList<>();
         
         tableModel = new UsuarioTableModel(this.listaDeUsuarios);
@@ -76,12 +79,18 @@ public class TablaUsuarios extends LeafComponent {
             
             if (this.selectedUserIndex != -1) {
                 Usuario u = listaDeUsuarios.get(this.selectedUserIndex);
-                // Actualiza TODAS las propiedades internas y notifica a los demás.
-                setNombre(u.getNombre());
-                setApellido(u.getApellido());
-                setNivel(u.getNivel());
-                setPesoMaxPressBanca(u.getPesoMaxPressBanca());
-                setPesoMaxSentadilla(u.getPesoMaxSentadilla());
+                // Actualiza TODAS las propiedades internas en un único lote, de modo que
+                // los demás componentes reciben el usuario completo de una sola vez.
+                beginUpdate();
+                try {
+                    setNombre(u.getNombre());
+                    setApellido(u.getApellido());
+                    setNivel(u.getNivel());
+                    setPesoMaxPressBanca(u.getPesoMaxPressBanca());
+                    setPesoMaxSentadilla(u.getPesoMaxSentadilla());
+                } finally {
+                    commitUpdate();
+                }
             }
         });
 
@@ -95,15 +104,35 @@ public class TablaUsuarios extends LeafComponent {
      */
     public void setUsuarios(List<Usuario> usuarios) {
         // Se clona cada usuario para asegurar que la lista original no sea modificada por referencia.
-        this.listaDeUsuarios = usuarios.stream().map(usuario -> usuario.clone()).collect(Collectors.toList());
+        this.listaDeUsuarios.setAll(usuarios.stream().map(usuario -> usuario.clone()).collect(Collectors.toList()));
         this.listaDeUsuariosOriginal = usuarios.stream().map(usuario -> usuario.clone()).collect(Collectors.toList());
-        
-        this.tableModel = new UsuarioTableModel(this.listaDeUsuarios);
-        this.tablaUsuarios.setModel(this.tableModel);
+    }
+
+    /**
+     * Obtiene la lista de usuarios compartida. Devuelve siempre la misma instancia,
+     * de modo que los demás componentes reciben sus modificaciones como diferencias.
+     * @return La lista de usuarios que se está editando.
+     */
+    @SharedProperty
+    public SharedList<Usuario> getUsuarios() {
+        return listaDeUsuarios;
+    }
+
+    /**
+     * Sustituye el contenido de la lista de usuarios por el de otra lista compartida,
+     * sin modificar la copia de seguridad. El motor de enlace lo usa cuando no puede
+     * aplicar una diferencia (por ejemplo, al mostrar la tabla si estaba oculta).
+     * @param usuarios La lista con el nuevo contenido.
+     */
+    public void setUsuarios(SharedList<Usuario> usuarios) {
+        if (usuarios != listaDeUsuarios) {
+            listaDeUsuarios.setAll(usuarios);
+        }
     }
 
     // --- Getters y Setters para las propiedades compartidas ---
     
+    @SharedProperty
     public String getNombre() { return nombre; }
     public void setNombre(String nuevoNombre) {
         String oldValue = this.nombre;
@@ -111,12 +140,13 @@ public class TablaUsuarios extends LeafComponent {
             this.nombre = nuevoNombre;
             if (selectedUserIndex != -1) {
                 listaDeUsuarios.get(selectedUserIndex).setNombre(nuevoNombre);
-                SwingUtilities.invokeLater(() -> tableModel.fireTableRowsUpdated(selectedUserIndex, selectedUserIndex));
+                refreshSelectedRow();
             }
             firePropertyChange("nombre", oldValue, nuevoNombre);
         }
     }
 
+    @SharedProperty
     public String getApellido() { return apellido; }
     public void setApellido(String nuevoApellido) {
         String oldValue = this.apellido;
@@ -124,12 +154,13 @@ public class TablaUsuarios extends LeafComponent {
             this.apellido = nuevoApellido;
             if (selectedUserIndex != -1) {
                 listaDeUsuarios.get(selectedUserIndex).setApellido(nuevoApellido);
-                SwingUtilities.invokeLater(() -> tableModel.fireTableRowsUpdated(selectedUserIndex, selectedUserIndex));
+                refreshSelectedRow();
             }
             firePropertyChange("apellido", oldValue, nuevoApellido);
         }
     }
 
+    @SharedProperty
     public String getNivel() { return nivel; }
     public void setNivel(String nuevoNivel) {
         String oldValue = this.nivel;
@@ -137,12 +168,13 @@ public class TablaUsuarios extends LeafComponent {
             this.nivel = nuevoNivel;
             if (selectedUserIndex != -1) {
                 listaDeUsuarios.get(selectedUserIndex).setNivel(nuevoNivel);
-                SwingUtilities.invokeLater(() -> tableModel.fireTableRowsUpdated(selectedUserIndex, selectedUserIndex));
+                refreshSelectedRow();
             }
             firePropertyChange("nivel", oldValue, nuevoNivel);
         }
     }
     
+    @SharedProperty
     public int getPesoMaxPressBanca() { return pesoMaxPressBanca; }
     public void setPesoMaxPressBanca(int nuevoPeso) {
         int oldValue = this.pesoMaxPressBanca;
@@ -150,12 +182,13 @@ public class TablaUsuarios extends LeafComponent {
             this.pesoMaxPressBanca = nuevoPeso;
             if (selectedUserIndex != -1) {
                 listaDeUsuarios.get(selectedUserIndex).setPesoMaxPressBanca(nuevoPeso);
-                SwingUtilities.invokeLater(() -> tableModel.fireTableRowsUpdated(selectedUserIndex, selectedUserIndex));
+                refreshSelectedRow();
             }
             firePropertyChange("pesoMaxPressBanca", oldValue, nuevoPeso);
         }
     }
 
+    @SharedProperty
     public int getPesoMaxSentadilla() { return pesoMaxSentadilla; }
     public void setPesoMaxSentadilla(int nuevoPeso) {
         int oldValue = this.pesoMaxSentadilla;
@@ -163,14 +196,40 @@ public class TablaUsuarios extends LeafComponent {
             this.pesoMaxSentadilla = nuevoPeso;
             if (selectedUserIndex != -1) {
                 listaDeUsuarios.get(selectedUserIndex).setPesoMaxSentadilla(nuevoPeso);
-                SwingUtilities.invokeLater(() -> tableModel.fireTableRowsUpdated(selectedUserIndex, selectedUserIndex));
+                refreshSelectedRow();
             }
             firePropertyChange("pesoMaxSentadilla", oldValue, nuevoPeso);
         }
     }
 
+    /**
+     * Confirma el lote de cambios y, si alguna propiedad ha modificado el usuario
+     * seleccionado, refresca su fila una sola vez.
+     */
     @Override
-    public Set<String> getSharedProperies() { return sharedProperties; }
+    public void commitUpdate() {
+        super.commitUpdate();
+        if (!isUpdating() && refreshPending) {
+            refreshPending = false;
+            final int row = selectedUserIndex;
+            if (row != -1) {
+                SwingUtilities.invokeLater(() -> tableModel.fireTableRowsUpdated(row, row));
+            }
+        }
+    }
+
+    /**
+     * Refresca la fila del usuario seleccionado o, si hay un lote de cambios en
+     * curso, lo deja pendiente hasta {@link #commitUpdate()}.
+     */
+    private void refreshSelectedRow() {
+        if (isUpdating()) {
+            refreshPending = true;
+        } else {
+            SwingUtilities.invokeLater(() -> tableModel.fireTableRowsUpdated(selectedUserIndex, selectedUserIndex));
+        }
+    }
+
     // --- Lógica de Validación y Configuración ---
 
     /**
@@ -179,12 +238,10 @@ public class TablaUsuarios extends LeafComponent {
     @Override
     public boolean configurar() {
         // Se clona la lista original de vuelta a la lista de trabajo.
-        this.listaDeUsuarios = this.listaDeUsuariosOriginal.stream()
+        this.listaDeUsuarios.setAll(this.listaDeUsuariosOriginal.stream()
                                     .map(usuario -> usuario.clone())
-                                    .collect(Collectors.toList());
+                                    .collect(Collectors.toList()));
         
-        tableModel = new UsuarioTableModel(this.listaDeUsuarios);
-        tablaUsuarios.setModel(tableModel);
         validationErrors.clear(); // Se limpian los errores visuales.
         
         //Se resetea el estado interno del componente ANTES de cualquier re-selección.
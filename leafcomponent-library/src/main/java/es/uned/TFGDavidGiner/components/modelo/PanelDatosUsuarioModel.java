@@ -0,0 +1,110 @@
+package es.uned.TFGDavidGiner.components.modelo;
+
+import es.uned.TFGDavidGiner.core.LeafModel;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Modelo del componente {@link es.uned.TFGDavidGiner.components.leafs.PanelDatosUsuario}:
+ * los datos de un usuario (nombre, apellido y nivel) y sus reglas de validación,
+ * sin ninguna dependencia de Swing.
+ *
+ * @author david
+ * @version 1.0
+ */
+public class PanelDatosUsuarioModel extends LeafModel {
+
+    /**
+     * Los niveles válidos, en el orden en que se muestran.
+     */
+    public static final List<String> NIVELES_VALIDOS = Collections.unmodifiableList(
+            Arrays.asList("Principiante", "Intermedio", "Avanzado"));
+
+    // --- Campos para las propiedades compartidas ---
+    private String nombre = "";
+    private String apellido = "";
+    private String nivel = "Principiante";
+
+    // --- Getters y Setters para las propiedades compartidas ---
+
+    @SharedProperty
+    public String getNombre() { return nombre; }
+    public void setNombre(String nuevoNombre) {
+        String oldValue = this.nombre;
+        if (nuevoNombre != null && !oldValue.equals(nuevoNombre)) {
+            this.nombre = nuevoNombre;
+            firePropertyChange("nombre", oldValue, nuevoNombre);
+        }
+    }
+
+    @SharedProperty
+    public String getApellido() { return apellido; }
+    public void setApellido(String nuevoApellido) {
+        String oldValue = this.apellido;
+        if (nuevoApellido != null && !oldValue.equals(nuevoApellido)) {
+            this.apellido = nuevoApellido;
+            firePropertyChange("apellido", oldValue, nuevoApellido);
+        }
+    }
+
+    @SharedProperty
+    public String getNivel() { return nivel; }
+    public void setNivel(String nuevoNivel) {
+        String oldValue = this.nivel;
+        if (nuevoNivel != null && !oldValue.equals(nuevoNivel)) {
+            this.nivel = nuevoNivel;
+            firePropertyChange("nivel", oldValue, nuevoNivel);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los datos se conservan: el modelo no tiene estado de validación que limpiar.
+     */
+    @Override
+    public boolean configurar() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Los datos son válidos si {@link #getError()} no encuentra ningún error.
+     */
+    @Override
+    public boolean validar() {
+        return getError().isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Devuelve una cadena con todos los errores de validación encontrados, uno por
+     * línea. Las reglas son:
+     * <ul>
+     * <li>El nombre no puede estar vacío.</li>
+     * <li>El apellido no puede estar vacío.</li>
+     * <li>El nivel debe ser uno de los valores predefinidos.</li>
+     * </ul>
+     * @return Una cadena con los errores, o una cadena vacía si los datos son válidos.
+     */
+    @Override
+    public String getError() {
+        StringBuilder errors = new StringBuilder();
+
+        if (getNombre() == null || getNombre().trim().isEmpty()) {
+            errors.append("El nombre no puede estar vacío.\n");
+        }
+        if (getApellido() == null || getApellido().trim().isEmpty()) {
+            errors.append("El apellido no puede estar vacío.\n");
+        }
+        if (!NIVELES_VALIDOS.contains(getNivel())) {
+            errors.append("El nivel seleccionado no es válido.\n");
+        }
+
+        return errors.toString().trim();
+    }
+}
@@ -0,0 +1,126 @@
+package es.uned.TFGDavidGiner.components.modelo;
+
+import es.uned.TFGDavidGiner.core.LeafModel;
+import es.uned.TFGDavidGiner.core.binding.PropertyKey;
+import es.uned.TFGDavidGiner.core.binding.SharedProperty;
+
+/**
+ * Modelo del componente {@link es.uned.TFGDavidGiner.components.leafs.SliderPress}:
+ * el peso máximo en press de banca y su validación, sin ninguna dependencia de Swing.
+ * <p>
+ * El valor se guarda en una ranura primitiva de {@link LeafModel}, de modo que sus
+ * cambios se propagan sin envolverlo, y es válido si está entre
+ * {@link #getMinValor()} y {@link #getMaxValor()}.
+ *
+ * @author david
+ * @version 1.0
+ */
+public class SliderPressModel extends LeafModel {
+
+    /**
+     * Clave del peso máximo en press de banca.
+     */
+    private static final PropertyKey<Integer> PESO_MAX_PRESS_BANCA = PropertyKey.of("pesoMaxPressBanca", int.class);
+
+    /**
+     * Almacena el mensaje de la última validación fallida.
+     */
+    private String error = "";
+
+    /**
+     * Almacena el máximo valor admitido.
+     */
+    private final int maxValor = 200;
+
+    /**
+     * Almacena el mínimo valor admitido.
+     */
+    private final int minValor = 0;
+
+    /**
+     * Crea un modelo con el peso a 0.
+     */
+    public SliderPressModel() {
+        // Escribir el valor inicial reserva la ranura de la propiedad.
+        setIntProperty(PESO_MAX_PRESS_BANCA, 0);
+    }
+
+    /**
+     * Obtiene el peso máximo en press de banca.
+     *
+     * @return El peso, en kg.
+     */
+    @SharedProperty
+    public int getPesoMaxPressBanca() {
+        return getIntProperty(PESO_MAX_PRESS_BANCA);
+    }
+
+    /**
+     * Establece el peso máximo en press de banca y notifica el cambio si es distinto
+     * del actual.
+     *
+     * @param dato El nuevo peso, en kg.
+     */
+    public void setPesoMaxPressBanca(int dato) {
+        setIntProperty(PESO_MAX_PRESS_BANCA, dato);
+    }
+
+    /**
+     * Devuelve el mínimo valor admitido.
+     *
+     * @return El mínimo, en kg.
+     */
+    public int getMinValor() {
+        return minValor;
+    }
+
+    /**
+     * Devuelve el máximo valor admitido.
+     *
+     * @return El máximo, en kg.
+     */
+    public int getMaxValor() {
+        return maxValor;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Restablece el peso a 0 y borra el error.
+     *
+     * @return {@code true} siempre.
+     */
+    @Override
+    public boolean configurar() {
+        setPesoMaxPressBanca(0);
+        error = "";
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Valida que el peso se encuentre dentro del rango definido por los campos
+     * {@code minValor} y {@code maxValor} (0-200).
+     *
+     * @return {@code true} si el valor es válido, {@code false} en caso contrario.
+     */
+    @Override
+    public boolean validar() {
+        int valor = getPesoMaxPressBanca();
+        if (valor > maxValor || valor < minValor) {
+            error = "";// "Press de banca: El valor debe estar entre " + minValor + " y " + maxValor + ".";
+            return false;
+        }
+        error = "";
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @return El último mensaje de error de validación, o una cadena vacía si no hay error.
+     */
+    @Override
+    public String getError() {
+        return error;
+    }
+}
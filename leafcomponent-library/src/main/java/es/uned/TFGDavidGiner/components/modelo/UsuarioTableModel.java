@@ -1,11 +1,16 @@
 package es.uned.TFGDavidGiner.components.modelo;
 
+import es.uned.TFGDavidGiner.core.binding.ListChange;
+import es.uned.TFGDavidGiner.core.binding.SharedList;
 import java.util.List;
 import javax.swing.table.AbstractTableModel;
 
 /**
  * Un TableModel personalizado que trabaja directamente con una lista de objetos Usuario.
  * Esto asegura que la JTable siempre muestre los datos más actualizados.
+ * <p>
+ * Si la lista es una {@link SharedList}, el modelo escucha sus modificaciones y
+ * notifica a la tabla solo las filas afectadas, sin reconstruir el modelo.
  */
 public class UsuarioTableModel extends AbstractTableModel {
 
@@ -14,6 +19,30 @@ public class UsuarioTableModel extends AbstractTableModel {
 
     public UsuarioTableModel(List<Usuario> usuarios) {
         this.usuarios = usuarios;
+        if (usuarios instanceof SharedList) {
+            ((SharedList<Usuario>) usuarios).addListChangeListener(this::listChanged);
+        }
+    }
+
+    /**
+     * Traduce una modificación de la lista en el evento de tabla correspondiente.
+     *
+     * @param change La modificación, ya aplicada a la lista.
+     */
+    private void listChanged(ListChange<? extends Usuario> change) {
+        switch (change.getKind()) {
+            case INSERT:
+                fireTableRowsInserted(change.getFrom(), change.getTo() - 1);
+                break;
+            case REMOVE:
+                fireTableRowsDeleted(change.getFrom(), change.getTo() - 1);
+                break;
+            case UPDATE:
+                fireTableRowsUpdated(change.getFrom(), change.getTo() - 1);
+                break;
+            default:
+                fireTableDataChanged();
+        }
     }
 
     @Override
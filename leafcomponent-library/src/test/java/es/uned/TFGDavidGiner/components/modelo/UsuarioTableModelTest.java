@@ -0,0 +1,94 @@
+package es.uned.TFGDavidGiner.components.modelo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import es.uned.TFGDavidGiner.core.binding.SharedList;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.event.TableModelEvent;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Pruebas de {@link UsuarioTableModel} sobre una {@link SharedList}: cada
+ * modificación de la lista se traduce en el evento de tabla de las filas afectadas.
+ *
+ * @author david
+ * @version 1.0
+ */
+class UsuarioTableModelTest {
+
+    /**
+     * Las inserciones, eliminaciones y actualizaciones notifican solo sus filas, y
+     * una sustitución completa notifica un cambio de todos los datos.
+     */
+    @Test
+    void translatesListChangesIntoRowEvents() {
+        SharedList<Usuario> usuarios = new SharedList<>(List.of(usuario("Ana"), usuario("Luis")));
+        UsuarioTableModel model = new UsuarioTableModel(usuarios);
+        List<String> events = new ArrayList<>();
+        model.addTableModelListener(e -> events.add(describe(e)));
+
+        usuarios.addAll(1, List.of(usuario("Eva"), usuario("Juan")));
+        usuarios.remove(0);
+        usuarios.update(2);
+        usuarios.setAll(List.of(usuario("Pepe")));
+
+        assertEquals(List.of(
+                "INSERT 1-2",
+                "DELETE 0-0",
+                "UPDATE 2-2",
+                "UPDATE 0-" + Integer.MAX_VALUE), events);
+        assertEquals(1, model.getRowCount());
+        assertEquals("Pepe", model.getValueAt(0, 0));
+    }
+
+    /**
+     * Una modificación aplicada desde otra lista, como hace el motor de enlace, se
+     * traduce igual que una hecha sobre la propia lista.
+     */
+    @Test
+    void translatesAppliedChanges() {
+        SharedList<Usuario> origen = new SharedList<>(List.of(usuario("Ana")));
+        SharedList<Usuario> usuarios = new SharedList<>(origen);
+        UsuarioTableModel model = new UsuarioTableModel(usuarios);
+        List<String> events = new ArrayList<>();
+        model.addTableModelListener(e -> events.add(describe(e)));
+        origen.addListChangeListener(usuarios::apply);
+
+        origen.add(usuario("Eva"));
+
+        assertEquals(List.of("INSERT 1-1"), events);
+        assertEquals("Eva", model.getValueAt(1, 0));
+    }
+
+    /**
+     * Crea un usuario de prueba.
+     *
+     * @param nombre El nombre del usuario.
+     * @return El usuario.
+     */
+    private static Usuario usuario(String nombre) {
+        return new Usuario(nombre, "García", "Intermedio", 80, 100);
+    }
+
+    /**
+     * Describe un evento de tabla con su tipo y su rango de filas.
+     *
+     * @param e El evento.
+     * @return El tipo y las filas primera y última.
+     */
+    private static String describe(TableModelEvent e) {
+        String type;
+        switch (e.getType()) {
+            case TableModelEvent.INSERT:
+                type = "INSERT";
+                break;
+            case TableModelEvent.DELETE:
+                type = "DELETE";
+                break;
+            default:
+                type = "UPDATE";
+        }
+        return type + " " + e.getFirstRow() + "-" + e.getLastRow();
+    }
+}